@@ -21,7 +21,10 @@ import org.operaton.bpm.client.backoff.BackoffStrategy;
 import org.operaton.bpm.client.backoff.ExponentialBackoffStrategy;
 import org.operaton.bpm.client.exception.ExternalTaskClientException;
 import org.operaton.bpm.client.interceptor.ClientRequestInterceptor;
+import org.operaton.bpm.client.task.ExternalTask;
+import org.operaton.bpm.client.task.ExternalTaskService;
 
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
 /**
@@ -69,6 +72,41 @@ public interface ExternalTaskClientBuilder {
    */
   ExternalTaskClientBuilder maxTasks(int maxTasks);
 
+  /**
+   * Specifies the maximum amount of fetched tasks that are handled at the same time.
+   * This information is optional. By default, the fetched tasks are handled one after
+   * another on the thread that fetches them.
+   * <p>
+   * If given, the handlers run on a pool of worker threads (or on the {@link #handlerExecutor(ExecutorService)})
+   * and a fetch and lock request only asks for as many tasks as there are free slots, so a
+   * locked task never waits for a worker. Consider raising the connection limits of the
+   * http client via {@link #customizeHttpClient(Consumer)} accordingly.
+   *
+   * @param maxConcurrentTasks which are handled at the same time
+   * @return the builder
+   */
+  ExternalTaskClientBuilder maxConcurrentTasks(int maxConcurrentTasks);
+
+  /**
+   * Specifies the maximum amount of tasks of one topic that are handled at the same time.
+   * This information is optional and enables concurrent handling, see {@link #maxConcurrentTasks(int)}.
+   * Tasks the engine returns beyond this limit are unlocked immediately.
+   *
+   * @param maxTasksPerTopic which are handled at the same time per topic
+   * @return the builder
+   */
+  ExternalTaskClientBuilder maxTasksPerTopic(int maxTasksPerTopic);
+
+  /**
+   * Specifies the executor to run the handlers on, e.g. an executor that creates a virtual
+   * thread per task. This information is optional and enables concurrent handling, see
+   * {@link #maxConcurrentTasks(int)}. The executor is not shut down by the client.
+   *
+   * @param handlerExecutor which runs the external task handlers
+   * @return the builder
+   */
+  ExternalTaskClientBuilder handlerExecutor(ExecutorService handlerExecutor);
+
   /**
    * Specifies whether tasks should be fetched based on their priority or arbitrarily.
    * This information is optional. Default is <code>true</code>.
@@ -153,6 +191,32 @@ public interface ExternalTaskClientBuilder {
    */
   ExternalTaskClientBuilder lockDuration(long lockDuration);
 
+  /**
+   * Enables the automatic extension of the locks of fetched tasks until they are completed,
+   * failed, unlocked or their handler returns. A lock is extended by its lock duration when
+   * two thirds of it have passed, so a short {@link #lockDuration(long)} can be used for
+   * long-running handlers, and tasks of a crashed client become available again quickly.
+   *
+   * @return the builder
+   */
+  ExternalTaskClientBuilder enableAutoLockExtension();
+
+  /**
+   * Buffers the completions of external tasks and sends them to the engine in batches,
+   * which completes many tasks with one request and one transaction. A batch is sent as
+   * soon as it contains the given amount of completions, or when the flush interval has
+   * passed since its first completion. Remaining completions are sent when the client stops.
+   * <p>
+   * Since {@link ExternalTaskService#complete(ExternalTask)} returns before the task is
+   * completed, a task that cannot be completed is logged instead of raising an exception.
+   * It becomes available again once its lock expires.
+   *
+   * @param batchSize the maximum amount of completions sent with one request, must be greater than zero
+   * @param flushInterval the maximum time in milliseconds a completion is buffered, must be greater than zero
+   * @return the builder
+   */
+  ExternalTaskClientBuilder bufferCompletions(int batchSize, long flushInterval);
+
   /**
    * Disables immediate fetching for external tasks after calling {@link #build} to bootstrap the client.
    * To start fetching {@link ExternalTaskClient#start()} must be called.
@@ -198,6 +262,7 @@ public interface ExternalTaskClientBuilder {
    *   <li> if base url is null or string is empty
    *   <li> if hostname cannot be retrieved
    *   <li> if maximum amount of tasks is not greater than zero
+   *   <li> if maximum amount of concurrently handled tasks (per topic) is not greater than zero
    *   <li> if maximum asynchronous response timeout is not greater than zero
    *   <li> if lock duration is not greater than zero
    * </ul>
@@ -24,6 +24,9 @@ import org.operaton.bpm.client.task.OrderingConfig;
 import org.operaton.bpm.client.task.ExternalTask;
 import org.operaton.bpm.client.task.impl.ExternalTaskImpl;
 import org.operaton.bpm.client.task.impl.dto.BpmnErrorRequestDto;
+import org.operaton.bpm.client.task.impl.dto.CompleteBatchItemDto;
+import org.operaton.bpm.client.task.impl.dto.CompleteBatchRequestDto;
+import org.operaton.bpm.client.task.impl.dto.CompleteBatchResultDto;
 import org.operaton.bpm.client.task.impl.dto.CompleteRequestDto;
 import org.operaton.bpm.client.task.impl.dto.ExtendLockRequestDto;
 import org.operaton.bpm.client.task.impl.dto.FailureRequestDto;
@@ -49,6 +52,7 @@ public class EngineClient {
   public static final String SET_VARIABLES_RESOURCE_PATH = EXTERNAL_TASK__PROCESS_RESOURCE_PATH + "/" + ID_PATH_PARAM + "/variables";
   public static final String UNLOCK_RESOURCE_PATH = ID_RESOURCE_PATH + "/unlock";
   public static final String COMPLETE_RESOURCE_PATH = ID_RESOURCE_PATH + "/complete";
+  public static final String COMPLETE_BATCH_RESOURCE_PATH = EXTERNAL_TASK_RESOURCE_PATH + "/complete";
   public static final String FAILURE_RESOURCE_PATH = ID_RESOURCE_PATH + "/failure";
   public static final String BPMN_ERROR_RESOURCE_PATH = ID_RESOURCE_PATH + "/bpmnError";
   public static final String NAME_PATH_PARAM = "{name}";
@@ -82,6 +86,10 @@ public class EngineClient {
   }
 
   public List<ExternalTask> fetchAndLock(List<TopicRequestDto> topics)  {
+    return fetchAndLock(topics, maxTasks);
+  }
+
+  public List<ExternalTask> fetchAndLock(List<TopicRequestDto> topics, int maxTasks)  {
     FetchAndLockRequestDto payload = new FetchAndLockRequestDto(workerId, maxTasks, asyncResponseTimeout,
         topics, usePriority, orderingConfig);
 
@@ -113,6 +121,20 @@ public class EngineClient {
     engineInteraction.postRequest(resourceUrl, payload, Void.class);
   }
 
+  public CompleteBatchItemDto createCompleteBatchItem(String taskId, Map<String, Object> variables, Map<String, Object> localVariables) {
+    Map<String, TypedValueField> typedValueDtoMap = typedValues.serializeVariables(variables);
+    Map<String, TypedValueField> localTypedValueDtoMap = typedValues.serializeVariables(localVariables);
+
+    return new CompleteBatchItemDto(taskId, typedValueDtoMap, localTypedValueDtoMap);
+  }
+
+  public List<CompleteBatchResultDto> completeBatch(List<CompleteBatchItemDto> tasks)  {
+    CompleteBatchRequestDto payload = new CompleteBatchRequestDto(workerId, tasks);
+    String resourceUrl = baseUrl + COMPLETE_BATCH_RESOURCE_PATH;
+    CompleteBatchResultDto[] results = engineInteraction.postRequest(resourceUrl, payload, CompleteBatchResultDto[].class);
+    return Arrays.asList(results);
+  }
+
   public void setVariables(String processId, Map<String, Object> variables)  {
     Map<String, TypedValueField> typedValueDtoMap = typedValues.serializeVariables(variables);
     SetVariablesRequestDto payload = new SetVariablesRequestDto(workerId, typedValueDtoMap);
@@ -159,6 +181,10 @@ public class EngineClient {
     return baseUrl;
   }
 
+  public int getMaxTasks() {
+    return maxTasks;
+  }
+
   public String getWorkerId() {
     return workerId;
   }
@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
@@ -74,6 +75,9 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
   protected String baseUrl;
   protected String workerId;
   protected int maxTasks;
+  protected Integer maxConcurrentTasks;
+  protected Integer maxTasksPerTopic;
+  protected ExecutorService handlerExecutor;
   protected boolean usePriority;
   protected OrderingConfig orderingConfig = OrderingConfig.empty();
   protected Long asyncResponseTimeout;
@@ -92,6 +96,9 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
 
   protected List<ClientRequestInterceptor> interceptors;
   protected boolean isAutoFetchingEnabled;
+  protected boolean isAutoLockExtensionEnabled;
+  protected Integer completionBatchSize;
+  protected long completionFlushInterval;
   protected BackoffStrategy backoffStrategy;
   protected boolean isBackoffStrategyDisabled;
 
@@ -128,6 +135,21 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
     return this;
   }
 
+  public ExternalTaskClientBuilder maxConcurrentTasks(int maxConcurrentTasks) {
+    this.maxConcurrentTasks = maxConcurrentTasks;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder maxTasksPerTopic(int maxTasksPerTopic) {
+    this.maxTasksPerTopic = maxTasksPerTopic;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder handlerExecutor(ExecutorService handlerExecutor) {
+    this.handlerExecutor = handlerExecutor;
+    return this;
+  }
+
   public ExternalTaskClientBuilder usePriority(boolean usePriority) {
     this.usePriority = usePriority;
     return this;
@@ -166,6 +188,17 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
     return this;
   }
 
+  public ExternalTaskClientBuilder enableAutoLockExtension() {
+    this.isAutoLockExtensionEnabled = true;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder bufferCompletions(int batchSize, long flushInterval) {
+    this.completionBatchSize = batchSize;
+    this.completionFlushInterval = flushInterval;
+    return this;
+  }
+
   public ExternalTaskClientBuilder disableAutoFetching() {
     this.isAutoFetchingEnabled = false;
     return this;
@@ -201,6 +234,23 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
       throw LOG.maxTasksNotGreaterThanZeroException(maxTasks);
     }
 
+    if (maxConcurrentTasks != null && maxConcurrentTasks <= 0) {
+      throw LOG.maxConcurrentTasksNotGreaterThanZeroException(maxConcurrentTasks);
+    }
+
+    if (maxTasksPerTopic != null && maxTasksPerTopic <= 0) {
+      throw LOG.maxTasksPerTopicNotGreaterThanZeroException(maxTasksPerTopic);
+    }
+
+    if (completionBatchSize != null) {
+      if (completionBatchSize <= 0) {
+        throw LOG.completionBatchSizeNotGreaterThanZeroException(completionBatchSize);
+      }
+      if (completionFlushInterval <= 0L) {
+        throw LOG.completionFlushIntervalNotGreaterThanZeroException(completionFlushInterval);
+      }
+    }
+
     if (asyncResponseTimeout != null && asyncResponseTimeout <= 0) {
       throw LOG.asyncResponseTimeoutNotGreaterThanZeroException(asyncResponseTimeout);
     }
@@ -316,6 +366,24 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
       topicSubscriptionManager.disableBackoffStrategy();
     }
 
+    if (isAutoLockExtensionEnabled) {
+      topicSubscriptionManager.enableLeaseManager();
+    }
+
+    if (completionBatchSize != null) {
+      topicSubscriptionManager.enableCompletionBuffer(completionBatchSize, completionFlushInterval);
+    }
+
+    if (isConcurrentHandlingEnabled()) {
+      topicSubscriptionManager.setMaxConcurrentTasks(maxConcurrentTasks != null ? maxConcurrentTasks : maxTasks);
+      if (maxTasksPerTopic != null) {
+        topicSubscriptionManager.setMaxTasksPerTopic(maxTasksPerTopic);
+      }
+      if (handlerExecutor != null) {
+        topicSubscriptionManager.setHandlerExecutor(handlerExecutor);
+      }
+    }
+
     if (isAutoFetchingEnabled()) {
       topicSubscriptionManager.start();
     }
@@ -416,6 +484,10 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
     return isAutoFetchingEnabled;
   }
 
+  protected boolean isConcurrentHandlingEnabled() {
+    return maxConcurrentTasks != null || maxTasksPerTopic != null || handlerExecutor != null;
+  }
+
   protected BackoffStrategy getBackoffStrategy() {
     return backoffStrategy;
   }
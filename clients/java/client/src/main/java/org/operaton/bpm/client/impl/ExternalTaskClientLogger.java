@@ -30,6 +30,8 @@ import org.operaton.bpm.client.exception.ValueMapperException;
 import org.operaton.bpm.client.spi.DataFormat;
 import org.operaton.bpm.client.spi.DataFormatConfigurator;
 import org.operaton.bpm.client.spi.DataFormatProvider;
+import org.operaton.bpm.client.task.impl.ExternalTaskCompletionBufferLogger;
+import org.operaton.bpm.client.task.impl.ExternalTaskLeaseManagerLogger;
 import org.operaton.bpm.client.topic.impl.TopicSubscriptionManagerLogger;
 import org.operaton.bpm.client.variable.impl.format.json.JacksonJsonLogger;
 import org.operaton.bpm.client.variable.impl.format.serializable.SerializableLogger;
@@ -63,6 +65,12 @@ public class ExternalTaskClientLogger extends BaseLogger {
   public static final SerializableLogger SERIALIZABLE_FORMAT_LOGGER =
       createLogger(SerializableLogger.class, PROJECT_CODE, PROJECT_LOGGER, "06");
 
+  public static final ExternalTaskLeaseManagerLogger LEASE_MANAGER_LOGGER =
+      createLogger(ExternalTaskLeaseManagerLogger.class, PROJECT_CODE, PROJECT_LOGGER, "07");
+
+  public static final ExternalTaskCompletionBufferLogger COMPLETION_BUFFER_LOGGER =
+      createLogger(ExternalTaskCompletionBufferLogger.class, PROJECT_CODE, PROJECT_LOGGER, "08");
+
   public void logError(String id, String messageTemplate, Throwable t) {
     if (delegateLogger.isErrorEnabled()) {
       String msg = formatMessageTemplate(id, messageTemplate);
@@ -252,4 +260,24 @@ public class ExternalTaskClientLogger extends BaseLogger {
         "030", "Null value is not allowed as '{}'", parameterName));
   }
 
+  public ExternalTaskClientException maxConcurrentTasksNotGreaterThanZeroException(Integer maxConcurrentTasks) {
+    return new ExternalTaskClientException(exceptionMessage(
+        "032", "Maximum amount of concurrently handled tasks must be greater than zero, but was '{}'", maxConcurrentTasks));
+  }
+
+  public ExternalTaskClientException maxTasksPerTopicNotGreaterThanZeroException(Integer maxTasksPerTopic) {
+    return new ExternalTaskClientException(exceptionMessage(
+        "033", "Maximum amount of concurrently handled tasks per topic must be greater than zero, but was '{}'", maxTasksPerTopic));
+  }
+
+  public ExternalTaskClientException completionBatchSizeNotGreaterThanZeroException(int batchSize) {
+    return new ExternalTaskClientException(exceptionMessage(
+        "034", "Completion batch size must be greater than zero, but was '{}'", batchSize));
+  }
+
+  public ExternalTaskClientException completionFlushIntervalNotGreaterThanZeroException(long flushInterval) {
+    return new ExternalTaskClientException(exceptionMessage(
+        "035", "Completion flush interval must be greater than zero, but was '{}'", flushInterval));
+  }
+
 }
@@ -0,0 +1,268 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.client.task.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.operaton.bpm.client.impl.EngineClient;
+import org.operaton.bpm.client.impl.ExternalTaskClientLogger;
+import org.operaton.bpm.client.task.impl.dto.CompleteBatchItemDto;
+import org.operaton.bpm.client.task.impl.dto.CompleteBatchResultDto;
+import org.operaton.bpm.client.task.impl.dto.ExceptionResponseDto;
+
+/**
+ * Collects the completions of external tasks and sends them to the engine in batches,
+ * so that many tasks are completed with one request and one transaction.
+ *
+ * <p>A batch is sent as soon as it contains the maximum amount of completions, by the
+ * thread that adds the last completion. Otherwise, it is sent when the flush interval has
+ * passed since its first completion was added. Remaining completions are sent when the
+ * buffer is stopped.</p>
+ *
+ * <p>Since the completions are sent asynchronously, a task that cannot be completed is
+ * only logged. It becomes available again once its lock expires.</p>
+ *
+ * <p>The lock of a buffered task is still extended by the {@link ExternalTaskLeaseManager}.
+ * Its lease ends when the response of its batch has arrived or the batch has failed.</p>
+ */
+public class ExternalTaskCompletionBuffer implements Runnable {
+
+  protected static final ExternalTaskCompletionBufferLogger LOG = ExternalTaskClientLogger.COMPLETION_BUFFER_LOGGER;
+
+  protected ReentrantLock BUFFER_MONITOR = new ReentrantLock(false);
+  protected Condition IS_WAITING = BUFFER_MONITOR.newCondition();
+  protected AtomicBoolean isRunning = new AtomicBoolean(false);
+
+  protected EngineClient engineClient;
+  protected ExternalTaskLeaseManager leaseManager;
+  protected int batchSize;
+  protected long flushInterval;
+
+  /** the ids of the tasks whose completions are buffered or being sent */
+  protected Set<String> pendingTaskIds = ConcurrentHashMap.newKeySet();
+
+  /** guarded by {@link #BUFFER_MONITOR} */
+  protected List<CompleteBatchItemDto> completions = new ArrayList<>();
+  /** the time in milliseconds the first buffered completion was added, guarded by {@link #BUFFER_MONITOR} */
+  protected long firstAddedAt;
+
+  protected Thread thread;
+
+  public ExternalTaskCompletionBuffer(EngineClient engineClient, int batchSize, long flushInterval) {
+    this.engineClient = engineClient;
+    this.batchSize = batchSize;
+    this.flushInterval = flushInterval;
+  }
+
+  public void add(CompleteBatchItemDto completion) {
+    List<CompleteBatchItemDto> batch = null;
+    pendingTaskIds.add(completion.getExternalTaskId());
+
+    BUFFER_MONITOR.lock();
+    try {
+      if (completions.isEmpty()) {
+        firstAddedAt = System.currentTimeMillis();
+        IS_WAITING.signal();
+      }
+      completions.add(completion);
+
+      if (completions.size() >= batchSize) {
+        batch = drain();
+      }
+    }
+    finally {
+      BUFFER_MONITOR.unlock();
+    }
+
+    if (batch != null) {
+      completeBatch(batch);
+    }
+  }
+
+  /**
+   * Sends all buffered completions.
+   */
+  public void flush() {
+    List<CompleteBatchItemDto> batch;
+
+    BUFFER_MONITOR.lock();
+    try {
+      batch = drain();
+    }
+    finally {
+      BUFFER_MONITOR.unlock();
+    }
+
+    if (!batch.isEmpty()) {
+      completeBatch(batch);
+    }
+  }
+
+  public void run() {
+    while (isRunning.get()) {
+      try {
+        List<CompleteBatchItemDto> batch = awaitDueBatch();
+        if (batch != null) {
+          completeBatch(batch);
+        }
+      }
+      catch (Throwable e) {
+        LOG.exceptionWhileFlushing(e);
+      }
+    }
+  }
+
+  /**
+   * Waits until the flush interval of the buffered completions has passed.
+   *
+   * @return the buffered completions, or <code>null</code> if they are not due yet
+   */
+  protected List<CompleteBatchItemDto> awaitDueBatch() {
+    BUFFER_MONITOR.lock();
+    try {
+      if (!isRunning.get()) {
+        return null;
+      }
+
+      if (completions.isEmpty()) {
+        IS_WAITING.await();
+        return null;
+      }
+
+      long waitTime = firstAddedAt + flushInterval - System.currentTimeMillis();
+      if (waitTime > 0) {
+        IS_WAITING.await(waitTime, TimeUnit.MILLISECONDS);
+        return null;
+      }
+
+      return drain();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.exceptionWhileFlushing(e);
+      return null;
+    }
+    finally {
+      BUFFER_MONITOR.unlock();
+    }
+  }
+
+  /**
+   * Must be called while holding {@link #BUFFER_MONITOR}.
+   */
+  protected List<CompleteBatchItemDto> drain() {
+    List<CompleteBatchItemDto> batch = completions;
+    completions = new ArrayList<>();
+    return batch;
+  }
+
+  protected void completeBatch(List<CompleteBatchItemDto> batch) {
+    LOG.completeBatch(batch.size());
+
+    try {
+      List<CompleteBatchResultDto> results = engineClient.completeBatch(batch);
+
+      for (CompleteBatchResultDto result : results) {
+        if (!result.isSuccessful()) {
+          ExceptionResponseDto error = result.getError();
+          LOG.completionFailed(result.getExternalTaskId(),
+              error != null ? error.getType() : null,
+              error != null ? error.getMessage() : null);
+        }
+      }
+    }
+    catch (Throwable e) {
+      LOG.exceptionWhileCompletingBatch(batch.size(), e);
+    }
+    finally {
+      for (CompleteBatchItemDto completion : batch) {
+        String taskId = completion.getExternalTaskId();
+        pendingTaskIds.remove(taskId);
+        if (leaseManager != null) {
+          leaseManager.release(taskId);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return <code>true</code> if the completion of the task is buffered or being sent
+   */
+  public boolean isPending(String taskId) {
+    return pendingTaskIds.contains(taskId);
+  }
+
+  protected void resume() {
+    BUFFER_MONITOR.lock();
+    try {
+      IS_WAITING.signal();
+    }
+    finally {
+      BUFFER_MONITOR.unlock();
+    }
+  }
+
+  public synchronized void start() {
+    if (isRunning.compareAndSet(false, true)) {
+      thread = new Thread(this, ExternalTaskCompletionBuffer.class.getSimpleName());
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  /**
+   * Stops the buffer and sends the remaining completions.
+   */
+  public synchronized void stop() {
+    if (isRunning.compareAndSet(true, false)) {
+      resume();
+
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        LOG.exceptionWhileShuttingDown(e);
+      }
+    }
+
+    flush();
+  }
+
+  public boolean isRunning() {
+    return isRunning.get();
+  }
+
+  public void setLeaseManager(ExternalTaskLeaseManager leaseManager) {
+    this.leaseManager = leaseManager;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public long getFlushInterval() {
+    return flushInterval;
+  }
+
+}
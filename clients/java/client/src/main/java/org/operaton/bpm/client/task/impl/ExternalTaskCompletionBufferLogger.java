@@ -0,0 +1,51 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.client.task.impl;
+
+import org.operaton.bpm.client.impl.ExternalTaskClientLogger;
+
+public class ExternalTaskCompletionBufferLogger extends ExternalTaskClientLogger {
+
+  protected void completeBatch(int taskCount) {
+    logDebug(
+      "001",
+      String.format("Complete %d external tasks", taskCount));
+  }
+
+  protected void completionFailed(String taskId, String errorType, String errorMessage) {
+    logWarn(
+      "002",
+      String.format("External task '%s' could not be completed: %s: %s", taskId, errorType, errorMessage));
+  }
+
+  protected void exceptionWhileCompletingBatch(int taskCount, Throwable e) {
+    logError(
+      "003",
+      String.format("Exception while completing %d external tasks, they are available again once their locks expire.", taskCount), e);
+  }
+
+  protected void exceptionWhileFlushing(Throwable e) {
+    logError(
+      "004", "Exception while flushing completions.", e);
+  }
+
+  protected void exceptionWhileShuttingDown(InterruptedException e) {
+    logError(
+      "005", "Exception while shutting down:", e);
+  }
+
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.client.task.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.operaton.bpm.client.impl.EngineClient;
+import org.operaton.bpm.client.impl.ExternalTaskClientLogger;
+
+/**
+ * Extends the locks of the external tasks the client works on, so that tasks can be
+ * locked for a short duration and are released quickly when the client crashes.
+ *
+ * <p>A lease is extended by its lock duration when two thirds of it have passed. Each
+ * extension round also extends all other leases that are half way through, so the
+ * leases of tasks fetched together are extended together.</p>
+ *
+ * <p>A lease ends when the task is completed, failed, unlocked or its handler returns.
+ * If the lock of a task cannot be extended, the lease ends as well.</p>
+ */
+public class ExternalTaskLeaseManager implements Runnable {
+
+  protected static final ExternalTaskLeaseManagerLogger LOG = ExternalTaskClientLogger.LEASE_MANAGER_LOGGER;
+
+  protected ReentrantLock LEASE_MONITOR = new ReentrantLock(false);
+  protected Condition IS_WAITING = LEASE_MONITOR.newCondition();
+  protected AtomicBoolean isRunning = new AtomicBoolean(false);
+
+  protected EngineClient engineClient;
+  protected Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+  protected Thread thread;
+
+  public ExternalTaskLeaseManager(EngineClient engineClient) {
+    this.engineClient = engineClient;
+  }
+
+  /**
+   * Starts extending the lock of the given task.
+   *
+   * @param lockedAt the time in milliseconds at which the lock was requested
+   */
+  public void register(String taskId, long lockDuration, long lockedAt) {
+    leases.put(taskId, new Lease(taskId, lockDuration, lockedAt + lockDuration));
+    resume();
+  }
+
+  /**
+   * Takes a lock extension done by the handler into account.
+   */
+  public void lockExtended(String taskId, long newDuration, long extendedAt) {
+    Lease lease = leases.get(taskId);
+    if (lease != null) {
+      lease.expiresAt = extendedAt + newDuration;
+      resume();
+    }
+  }
+
+  public void release(String taskId) {
+    leases.remove(taskId);
+  }
+
+  public boolean isLeased(String taskId) {
+    return leases.containsKey(taskId);
+  }
+
+  public void run() {
+    while (isRunning.get()) {
+      try {
+        extendDueLocks();
+        suspend(nextExtensionTime() - System.currentTimeMillis());
+      }
+      catch (Throwable e) {
+        LOG.exceptionWhileExtendingLocks(e);
+      }
+    }
+  }
+
+  protected void extendDueLocks() {
+    long now = System.currentTimeMillis();
+
+    List<Lease> dueLeases = new ArrayList<>();
+    boolean isExtensionDue = false;
+    for (Lease lease : leases.values()) {
+      if (lease.extensionTime() <= now) {
+        isExtensionDue = true;
+      }
+      if (lease.batchTime() <= now) {
+        dueLeases.add(lease);
+      }
+    }
+
+    if (isExtensionDue) {
+      LOG.extendLock(dueLeases.size());
+      for (Lease lease : dueLeases) {
+        extendLock(lease);
+      }
+    }
+  }
+
+  protected void extendLock(Lease lease) {
+    long extendedAt = System.currentTimeMillis();
+    try {
+      engineClient.extendLock(lease.taskId, lease.lockDuration);
+      lease.expiresAt = extendedAt + lease.lockDuration;
+    } catch (Throwable e) {
+      // the lock is lost, e.g. the task is completed or locked by another worker
+      leases.remove(lease.taskId, lease);
+      LOG.exceptionWhileExtendingLock(lease.taskId, e);
+    }
+  }
+
+  protected long nextExtensionTime() {
+    long nextExtensionTime = Long.MAX_VALUE;
+    for (Lease lease : leases.values()) {
+      nextExtensionTime = Math.min(nextExtensionTime, lease.extensionTime());
+    }
+    return nextExtensionTime;
+  }
+
+  protected void suspend(long waitTime) {
+    if (waitTime > 0 && isRunning.get()) {
+      LEASE_MONITOR.lock();
+      try {
+        if (isRunning.get()) {
+          IS_WAITING.await(waitTime, TimeUnit.MILLISECONDS);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        LOG.exceptionWhileExtendingLocks(e);
+      }
+      finally {
+        LEASE_MONITOR.unlock();
+      }
+    }
+  }
+
+  protected void resume() {
+    LEASE_MONITOR.lock();
+    try {
+      IS_WAITING.signal();
+    }
+    finally {
+      LEASE_MONITOR.unlock();
+    }
+  }
+
+  public synchronized void start() {
+    if (isRunning.compareAndSet(false, true)) {
+      thread = new Thread(this, ExternalTaskLeaseManager.class.getSimpleName());
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  public synchronized void stop() {
+    if (isRunning.compareAndSet(true, false)) {
+      resume();
+
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        LOG.exceptionWhileShuttingDown(e);
+      }
+    }
+  }
+
+  public boolean isRunning() {
+    return isRunning.get();
+  }
+
+  protected static class Lease {
+
+    protected final String taskId;
+    protected final long lockDuration;
+    protected volatile long expiresAt;
+
+    protected Lease(String taskId, long lockDuration, long expiresAt) {
+      this.taskId = taskId;
+      this.lockDuration = lockDuration;
+      this.expiresAt = expiresAt;
+    }
+
+    /** the lock is extended when two thirds of it have passed */
+    protected long extensionTime() {
+      return expiresAt - lockDuration / 3;
+    }
+
+    /** the lock is extended along with others when half of it has passed */
+    protected long batchTime() {
+      return expiresAt - lockDuration / 2;
+    }
+
+  }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.client.task.impl;
+
+import org.operaton.bpm.client.impl.ExternalTaskClientLogger;
+
+public class ExternalTaskLeaseManagerLogger extends ExternalTaskClientLogger {
+
+  protected void extendLock(int taskCount) {
+    logDebug(
+      "001",
+      String.format("Extend locks of %d external tasks", taskCount));
+  }
+
+  protected void exceptionWhileExtendingLock(String taskId, Throwable e) {
+    logError(
+      "002",
+      String.format("Exception while extending the lock of external task '%s', no longer extending it.", taskId), e);
+  }
+
+  protected void exceptionWhileExtendingLocks(Throwable e) {
+    logError(
+      "003", "Exception while extending locks.", e);
+  }
+
+  protected void exceptionWhileShuttingDown(InterruptedException e) {
+    logError(
+      "004", "Exception while shutting down:", e);
+  }
+
+}
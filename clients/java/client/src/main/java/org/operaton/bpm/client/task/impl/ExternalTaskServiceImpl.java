@@ -32,11 +32,21 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
   protected static final ExternalTaskClientLogger LOG = ExternalTaskClientLogger.CLIENT_LOGGER;
 
   protected EngineClient engineClient;
+  protected ExternalTaskLeaseManager leaseManager;
+  protected ExternalTaskCompletionBuffer completionBuffer;
 
   public ExternalTaskServiceImpl(EngineClient engineClient) {
     this.engineClient = engineClient;
   }
 
+  public void setLeaseManager(ExternalTaskLeaseManager leaseManager) {
+    this.leaseManager = leaseManager;
+  }
+
+  public void setCompletionBuffer(ExternalTaskCompletionBuffer completionBuffer) {
+    this.completionBuffer = completionBuffer;
+  }
+
   @Override
   public void lock(ExternalTask externalTask, long lockDuration) {
     lock(externalTask.getId(), lockDuration);
@@ -53,6 +63,7 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
 
   @Override
   public void unlock(ExternalTask externalTask) {
+    releaseLease(externalTask.getId());
     try {
       engineClient.unlock(externalTask.getId());
     } catch (EngineClientException e) {
@@ -95,6 +106,13 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
   }
 
   public void complete(String externalTaskId, Map<String, Object> variables, Map<String, Object> localVariables) {
+    if (completionBuffer != null) {
+      // the buffer releases the lease once the batch has been sent
+      completionBuffer.add(engineClient.createCompleteBatchItem(externalTaskId, variables, localVariables));
+      return;
+    }
+
+    releaseLease(externalTaskId);
     try {
       engineClient.complete(externalTaskId, variables, localVariables);
     } catch (EngineClientException e) {
@@ -116,6 +134,7 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
 
   @Override
   public void handleFailure(String externalTaskId, String errorMessage, String errorDetails, int retries, long retryTimeout, Map<String, Object> variables, Map<String, Object> locaclVariables) {
+    releaseLease(externalTaskId);
     try {
       engineClient.failure(externalTaskId, errorMessage, errorDetails, retries, retryTimeout, variables, locaclVariables);
     } catch (EngineClientException e) {
@@ -140,6 +159,7 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
 
   @Override
   public void handleBpmnError(String externalTaskId, String errorCode, String errorMessage, Map<String, Object> variables) {
+    releaseLease(externalTaskId);
     try {
       engineClient.bpmnError(externalTaskId, errorCode, errorMessage, variables);
     } catch (EngineClientException e) {
@@ -154,10 +174,23 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
 
   @Override
   public void extendLock(String externalTaskId, long newDuration) {
+    long extendedAt = System.currentTimeMillis();
     try {
       engineClient.extendLock(externalTaskId, newDuration);
     } catch (EngineClientException e) {
       throw LOG.handledEngineClientException("extending lock", e);
     }
+    if (leaseManager != null) {
+      leaseManager.lockExtended(externalTaskId, newDuration, extendedAt);
+    }
+  }
+
+  /**
+   * Ends the lease before the task is finished, so that no lock extension follows.
+   */
+  protected void releaseLease(String externalTaskId) {
+    if (leaseManager != null) {
+      leaseManager.release(externalTaskId);
+    }
   }
 }
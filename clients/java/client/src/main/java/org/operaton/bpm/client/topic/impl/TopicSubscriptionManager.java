@@ -21,8 +21,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -35,6 +40,8 @@ import org.operaton.bpm.client.impl.ExternalTaskClientLogger;
 import org.operaton.bpm.client.task.ExternalTask;
 import org.operaton.bpm.client.task.ExternalTaskHandler;
 import org.operaton.bpm.client.task.impl.ExternalTaskImpl;
+import org.operaton.bpm.client.task.impl.ExternalTaskCompletionBuffer;
+import org.operaton.bpm.client.task.impl.ExternalTaskLeaseManager;
 import org.operaton.bpm.client.task.impl.ExternalTaskServiceImpl;
 import org.operaton.bpm.client.topic.TopicSubscription;
 import org.operaton.bpm.client.topic.impl.dto.FetchAndLockResponseDto;
@@ -52,6 +59,7 @@ public class TopicSubscriptionManager implements Runnable {
 
   protected ReentrantLock ACQUISITION_MONITOR = new ReentrantLock(false);
   protected Condition IS_WAITING = ACQUISITION_MONITOR.newCondition();
+  protected Condition IS_WAITING_FOR_SLOT = ACQUISITION_MONITOR.newCondition();
   protected AtomicBoolean isRunning = new AtomicBoolean(false);
 
   protected ExternalTaskServiceImpl externalTaskService;
@@ -61,6 +69,7 @@ public class TopicSubscriptionManager implements Runnable {
   protected CopyOnWriteArrayList<TopicSubscription> subscriptions;
   protected List<TopicRequestDto> taskTopicRequests;
   protected Map<String, ExternalTaskHandler> externalTaskHandlers;
+  protected Map<String, Long> lockDurations;
 
   protected Thread thread;
 
@@ -71,11 +80,30 @@ public class TopicSubscriptionManager implements Runnable {
 
   protected long clientLockDuration;
 
+  /**
+   * Number of tasks handled at the same time; if zero, tasks are handled one
+   * after another on the acquisition thread.
+   */
+  protected int maxConcurrentTasks;
+  /** Number of tasks of one topic handled at the same time; zero means no limit. */
+  protected int maxTasksPerTopic;
+  protected ExecutorService handlerExecutor;
+  protected boolean isHandlerExecutorOwned;
+
+  /** extends the locks of the tasks in progress; null if disabled */
+  protected ExternalTaskLeaseManager leaseManager;
+  protected ExternalTaskCompletionBuffer completionBuffer;
+
+  /** tasks in progress, guarded by {@link #ACQUISITION_MONITOR} */
+  protected int inFlightTasks;
+  protected Map<String, Integer> inFlightTasksByTopic = new HashMap<>();
+
   public TopicSubscriptionManager(EngineClient engineClient, TypedValues typedValues, long clientLockDuration) {
     this.engineClient = engineClient;
     this.subscriptions = new CopyOnWriteArrayList<>();
     this.taskTopicRequests = new ArrayList<>();
     this.externalTaskHandlers = new HashMap<>();
+    this.lockDurations = new HashMap<>();
     this.clientLockDuration = clientLockDuration;
     this.typedValues = typedValues;
     this.externalTaskService = new ExternalTaskServiceImpl(engineClient);
@@ -96,9 +124,18 @@ public class TopicSubscriptionManager implements Runnable {
   protected void acquire() {
     taskTopicRequests.clear();
     externalTaskHandlers.clear();
+    lockDurations.clear();
+
+    if (isConcurrent()) {
+      awaitFreeSlot();
+      if (!isRunning.get()) {
+        return;
+      }
+    }
     subscriptions.forEach(this::prepareAcquisition);
 
     if (!taskTopicRequests.isEmpty()) {
+      long lockedAt = System.currentTimeMillis();
       FetchAndLockResponseDto fetchAndLockResponse = fetchAndLock(taskTopicRequests);
 
       fetchAndLockResponse.getExternalTasks().forEach(externalTask -> {
@@ -106,7 +143,7 @@ public class TopicSubscriptionManager implements Runnable {
         ExternalTaskHandler taskHandler = externalTaskHandlers.get(topicName);
 
         if (taskHandler != null) {
-          handleExternalTask(externalTask, taskHandler);
+          dispatchExternalTask(externalTask, taskHandler, lockedAt);
         }
         else {
           LOG.taskHandlerIsNull(topicName);
@@ -120,12 +157,17 @@ public class TopicSubscriptionManager implements Runnable {
   }
 
   protected void prepareAcquisition(TopicSubscription subscription) {
+    if (isConcurrent() && freeSlots(subscription.getTopicName()) == 0) {
+      return;
+    }
+
     TopicRequestDto taskTopicRequest = TopicRequestDto.fromTopicSubscription(subscription, clientLockDuration);
     taskTopicRequests.add(taskTopicRequest);
 
     String topicName = subscription.getTopicName();
     ExternalTaskHandler externalTaskHandler = subscription.getExternalTaskHandler();
     externalTaskHandlers.put(topicName, externalTaskHandler);
+    lockDurations.put(topicName, taskTopicRequest.getLockDuration());
   }
 
   protected FetchAndLockResponseDto fetchAndLock(List<TopicRequestDto> subscriptions) {
@@ -133,7 +175,11 @@ public class TopicSubscriptionManager implements Runnable {
 
     try {
       LOG.fetchAndLock(subscriptions);
-      externalTasks = engineClient.fetchAndLock(subscriptions);
+      if (isConcurrent()) {
+        externalTasks = engineClient.fetchAndLock(subscriptions, fetchableTasks(subscriptions));
+      } else {
+        externalTasks = engineClient.fetchAndLock(subscriptions);
+      }
 
     } catch (EngineClientException ex) {
       LOG.exceptionWhilePerformingFetchAndLock(ex);
@@ -143,6 +189,137 @@ public class TopicSubscriptionManager implements Runnable {
     return new FetchAndLockResponseDto(externalTasks);
   }
 
+  /**
+   * @return the number of tasks to request, so that every fetched task gets a
+   *   free slot immediately and no lock expires while a task waits for a worker
+   */
+  protected int fetchableTasks(List<TopicRequestDto> topicRequests) {
+    ACQUISITION_MONITOR.lock();
+    try {
+      int fetchableTasks = Math.min(engineClient.getMaxTasks(), maxConcurrentTasks - inFlightTasks);
+      if (maxTasksPerTopic > 0) {
+        int freeTopicSlots = 0;
+        for (TopicRequestDto topicRequest : topicRequests) {
+          freeTopicSlots += freeSlots(topicRequest.getTopicName());
+        }
+        fetchableTasks = Math.min(fetchableTasks, freeTopicSlots);
+      }
+      return Math.max(fetchableTasks, 1);
+    } finally {
+      ACQUISITION_MONITOR.unlock();
+    }
+  }
+
+  protected void dispatchExternalTask(ExternalTask externalTask, ExternalTaskHandler taskHandler, long lockedAt) {
+    String topicName = externalTask.getTopicName();
+    if (isConcurrent() && !reserveSlot(topicName)) {
+      // the engine returned more tasks for this topic than it has free slots
+      unlockSurplusTask(externalTask);
+      return;
+    }
+
+    if (leaseManager != null) {
+      // tasks waiting for their turn are covered as well
+      leaseManager.register(externalTask.getId(), lockDurations.get(topicName), lockedAt);
+    }
+
+    if (!isConcurrent()) {
+      handleExternalTask(externalTask, taskHandler);
+      return;
+    }
+
+    try {
+      handlerExecutor.execute(() -> {
+        try {
+          handleExternalTask(externalTask, taskHandler);
+        } finally {
+          releaseSlot(topicName);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      releaseSlot(topicName);
+      releaseLease(externalTask);
+      unlockSurplusTask(externalTask);
+    }
+  }
+
+  protected void unlockSurplusTask(ExternalTask externalTask) {
+    LOG.unlockSurplusTask(externalTask.getTopicName(), externalTask.getId());
+    try {
+      engineClient.unlock(externalTask.getId());
+    } catch (Throwable e) {
+      LOG.exceptionWhileUnlockingSurplusTask(externalTask.getId(), e);
+    }
+  }
+
+  protected boolean isConcurrent() {
+    return maxConcurrentTasks > 0;
+  }
+
+  /**
+   * Blocks the acquisition until a task can be handled for at least one subscribed topic.
+   */
+  protected void awaitFreeSlot() {
+    ACQUISITION_MONITOR.lock();
+    try {
+      while (isRunning.get() && !hasFreeSlot()) {
+        IS_WAITING_FOR_SLOT.await();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.exceptionWhileAcquiringTasks(e);
+    } finally {
+      ACQUISITION_MONITOR.unlock();
+    }
+  }
+
+  protected boolean hasFreeSlot() {
+    for (TopicSubscription subscription : subscriptions) {
+      if (freeSlots(subscription.getTopicName()) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  protected int freeSlots(String topicName) {
+    ACQUISITION_MONITOR.lock();
+    try {
+      int freeSlots = maxConcurrentTasks - inFlightTasks;
+      if (maxTasksPerTopic > 0) {
+        freeSlots = Math.min(freeSlots, maxTasksPerTopic - inFlightTasksByTopic.getOrDefault(topicName, 0));
+      }
+      return Math.max(freeSlots, 0);
+    } finally {
+      ACQUISITION_MONITOR.unlock();
+    }
+  }
+
+  protected boolean reserveSlot(String topicName) {
+    ACQUISITION_MONITOR.lock();
+    try {
+      if (freeSlots(topicName) == 0) {
+        return false;
+      }
+      inFlightTasks++;
+      inFlightTasksByTopic.merge(topicName, 1, Integer::sum);
+      return true;
+    } finally {
+      ACQUISITION_MONITOR.unlock();
+    }
+  }
+
+  protected void releaseSlot(String topicName) {
+    ACQUISITION_MONITOR.lock();
+    try {
+      inFlightTasks--;
+      inFlightTasksByTopic.computeIfPresent(topicName, (topic, count) -> count > 1 ? count - 1 : null);
+      IS_WAITING_FOR_SLOT.signal();
+    } finally {
+      ACQUISITION_MONITOR.unlock();
+    }
+  }
+
   @SuppressWarnings("rawtypes")
   protected void handleExternalTask(ExternalTask externalTask, ExternalTaskHandler taskHandler) {
     ExternalTaskImpl task = (ExternalTaskImpl) externalTask;
@@ -157,6 +334,16 @@ public class TopicSubscriptionManager implements Runnable {
       LOG.exceptionOnExternalTaskServiceMethodInvocation(task.getTopicName(), e);
     } catch (Throwable e) {
       LOG.exceptionWhileExecutingExternalTaskHandler(task.getTopicName(), e);
+    } finally {
+      releaseLease(task);
+    }
+  }
+
+  protected void releaseLease(ExternalTask externalTask) {
+    String taskId = externalTask.getId();
+    // a buffered completion keeps the lease until its batch has been sent
+    if (leaseManager != null && (completionBuffer == null || !completionBuffer.isPending(taskId))) {
+      leaseManager.release(taskId);
     }
   }
 
@@ -166,15 +353,43 @@ public class TopicSubscriptionManager implements Runnable {
 
       try {
         thread.join();
+
+        if (isHandlerExecutorOwned && handlerExecutor != null) {
+          // let the handlers finish the tasks they locked
+          handlerExecutor.shutdown();
+          handlerExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+          handlerExecutor = null;
+        }
       } catch (InterruptedException e) {
         Thread.currentThread().interrupt();
         LOG.exceptionWhileShuttingDown(e);
       }
+
+      if (completionBuffer != null) {
+        completionBuffer.stop();
+      }
+
+      if (leaseManager != null) {
+        leaseManager.stop();
+      }
     }
   }
 
   public synchronized void start() {
     if (isRunning.compareAndSet(false, true)) {
+      if (leaseManager != null) {
+        leaseManager.start();
+      }
+
+      if (completionBuffer != null) {
+        completionBuffer.start();
+      }
+
+      if (isConcurrent() && handlerExecutor == null) {
+        handlerExecutor = Executors.newFixedThreadPool(maxConcurrentTasks, new HandlerThreadFactory());
+        isHandlerExecutorOwned = true;
+      }
+
       thread = new Thread(this, TopicSubscriptionManager.class.getSimpleName());
       thread.start();
     }
@@ -249,6 +464,7 @@ public class TopicSubscriptionManager implements Runnable {
     ACQUISITION_MONITOR.lock();
     try {
       IS_WAITING.signal();
+      IS_WAITING_FOR_SLOT.signal();
     }
     finally {
       ACQUISITION_MONITOR.unlock();
@@ -259,4 +475,54 @@ public class TopicSubscriptionManager implements Runnable {
     this.isBackoffStrategyDisabled.set(true);
   }
 
+  public void enableLeaseManager() {
+    leaseManager = new ExternalTaskLeaseManager(engineClient);
+    externalTaskService.setLeaseManager(leaseManager);
+    if (completionBuffer != null) {
+      completionBuffer.setLeaseManager(leaseManager);
+    }
+  }
+
+  public ExternalTaskLeaseManager getLeaseManager() {
+    return leaseManager;
+  }
+
+  public void enableCompletionBuffer(int batchSize, long flushInterval) {
+    completionBuffer = new ExternalTaskCompletionBuffer(engineClient, batchSize, flushInterval);
+    completionBuffer.setLeaseManager(leaseManager);
+    externalTaskService.setCompletionBuffer(completionBuffer);
+  }
+
+  public ExternalTaskCompletionBuffer getCompletionBuffer() {
+    return completionBuffer;
+  }
+
+  public void setMaxConcurrentTasks(int maxConcurrentTasks) {
+    this.maxConcurrentTasks = maxConcurrentTasks;
+  }
+
+  public void setMaxTasksPerTopic(int maxTasksPerTopic) {
+    this.maxTasksPerTopic = maxTasksPerTopic;
+  }
+
+  /**
+   * Sets the executor that runs the handlers if tasks are handled concurrently.
+   * The executor is not shut down when the client stops.
+   */
+  public void setHandlerExecutor(ExecutorService handlerExecutor) {
+    this.handlerExecutor = handlerExecutor;
+    this.isHandlerExecutorOwned = false;
+  }
+
+  protected static class HandlerThreadFactory implements ThreadFactory {
+
+    protected final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      return new Thread(runnable, TopicSubscriptionManager.class.getSimpleName() + "-handler-" + threadNumber.getAndIncrement());
+    }
+
+  }
+
 }
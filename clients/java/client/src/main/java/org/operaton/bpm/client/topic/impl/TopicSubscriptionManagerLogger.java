@@ -72,4 +72,16 @@ public class TopicSubscriptionManagerLogger extends ExternalTaskClientLogger {
       String.format("Fetch and lock new external tasks for %d topics", subscriptions.size()));
   }
 
+  protected void unlockSurplusTask(String topicName, String taskId) {
+    logDebug(
+      "009",
+      String.format("No free handler slot for external task '%s' of topic '%s', unlocking it.", taskId, topicName));
+  }
+
+  protected void exceptionWhileUnlockingSurplusTask(String taskId, Throwable e) {
+    logError(
+      "010",
+      String.format("Exception while unlocking external task '%s'.", taskId), e);
+  }
+
 }
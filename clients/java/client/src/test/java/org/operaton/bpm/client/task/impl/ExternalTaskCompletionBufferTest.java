@@ -0,0 +1,207 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.client.task.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.operaton.bpm.client.impl.EngineClient;
+import org.operaton.bpm.client.task.impl.dto.CompleteBatchItemDto;
+import org.operaton.bpm.client.task.impl.dto.CompleteBatchResultDto;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ExternalTaskCompletionBufferTest {
+
+  protected EngineClient engineClient;
+  protected ExternalTaskCompletionBuffer completionBuffer;
+
+  @Before
+  public void setUp() {
+    engineClient = mock(EngineClient.class);
+    when(engineClient.completeBatch(anyList())).thenReturn(Collections.emptyList());
+  }
+
+  @After
+  public void tearDown() {
+    if (completionBuffer != null) {
+      completionBuffer.stop();
+    }
+  }
+
+  @Test
+  public void shouldCompleteWhenBatchIsFull() {
+    // given
+    completionBuffer = new ExternalTaskCompletionBuffer(engineClient, 2, 60_000);
+
+    // when
+    completionBuffer.add(completion("task1"));
+    completionBuffer.add(completion("task2"));
+    completionBuffer.add(completion("task3"));
+
+    // then
+    assertThat(completedTaskIds(1)).containsExactly("task1", "task2");
+  }
+
+  @Test
+  public void shouldCompleteWhenFlushIntervalHasPassed() {
+    // given
+    completionBuffer = new ExternalTaskCompletionBuffer(engineClient, 100, 100);
+    completionBuffer.start();
+
+    // when
+    completionBuffer.add(completion("task1"));
+    completionBuffer.add(completion("task2"));
+
+    // then
+    verify(engineClient, timeout(5_000)).completeBatch(anyList());
+    assertThat(completedTaskIds(1)).containsExactly("task1", "task2");
+  }
+
+  @Test
+  public void shouldNotCompleteBeforeFlushIntervalHasPassed() {
+    // given
+    completionBuffer = new ExternalTaskCompletionBuffer(engineClient, 100, 60_000);
+    completionBuffer.start();
+
+    // when
+    completionBuffer.add(completion("task1"));
+
+    // then
+    verify(engineClient, after(300).never()).completeBatch(anyList());
+  }
+
+  @Test
+  public void shouldCompleteRemainingTasksOnStop() {
+    // given
+    completionBuffer = new ExternalTaskCompletionBuffer(engineClient, 100, 60_000);
+    completionBuffer.start();
+    completionBuffer.add(completion("task1"));
+
+    // when
+    completionBuffer.stop();
+
+    // then
+    assertThat(completionBuffer.isRunning()).isFalse();
+    assertThat(completedTaskIds(1)).containsExactly("task1");
+  }
+
+  @Test
+  public void shouldContinueAfterFailedBatch() {
+    // given
+    when(engineClient.completeBatch(anyList()))
+        .thenThrow(new RuntimeException("connection refused"))
+        .thenReturn(Arrays.asList(failedResult("task2")));
+    completionBuffer = new ExternalTaskCompletionBuffer(engineClient, 1, 60_000);
+
+    // when
+    completionBuffer.add(completion("task1"));
+    completionBuffer.add(completion("task2"));
+
+    // then
+    assertThat(completedTaskIds(2)).containsExactly("task1", "task2");
+  }
+
+  @Test
+  public void shouldNotCompleteEmptyBatch() {
+    // given
+    completionBuffer = new ExternalTaskCompletionBuffer(engineClient, 100, 60_000);
+
+    // when
+    completionBuffer.flush();
+
+    // then
+    verify(engineClient, never()).completeBatch(any());
+  }
+
+  @Test
+  public void shouldKeepLeaseUntilBatchIsSent() {
+    // given
+    ExternalTaskLeaseManager leaseManager = new ExternalTaskLeaseManager(engineClient);
+    leaseManager.register("task1", 60_000, System.currentTimeMillis());
+    completionBuffer = new ExternalTaskCompletionBuffer(engineClient, 100, 60_000);
+    completionBuffer.setLeaseManager(leaseManager);
+
+    // when
+    completionBuffer.add(completion("task1"));
+
+    // then
+    assertThat(completionBuffer.isPending("task1")).isTrue();
+    assertThat(leaseManager.isLeased("task1")).isTrue();
+
+    // when
+    completionBuffer.flush();
+
+    // then
+    assertThat(completionBuffer.isPending("task1")).isFalse();
+    assertThat(leaseManager.isLeased("task1")).isFalse();
+  }
+
+  @Test
+  public void shouldReleaseLeaseAfterFailedBatch() {
+    // given
+    when(engineClient.completeBatch(anyList())).thenThrow(new RuntimeException("connection refused"));
+    ExternalTaskLeaseManager leaseManager = new ExternalTaskLeaseManager(engineClient);
+    leaseManager.register("task1", 60_000, System.currentTimeMillis());
+    completionBuffer = new ExternalTaskCompletionBuffer(engineClient, 1, 60_000);
+    completionBuffer.setLeaseManager(leaseManager);
+
+    // when
+    completionBuffer.add(completion("task1"));
+
+    // then
+    assertThat(completionBuffer.isPending("task1")).isFalse();
+    assertThat(leaseManager.isLeased("task1")).isFalse();
+  }
+
+  protected CompleteBatchItemDto completion(String taskId) {
+    return new CompleteBatchItemDto(taskId, null, null);
+  }
+
+  protected CompleteBatchResultDto failedResult(String taskId) {
+    CompleteBatchResultDto result = new CompleteBatchResultDto();
+    result.setExternalTaskId(taskId);
+    result.setSuccessful(false);
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<String> completedTaskIds(int batchCount) {
+    ArgumentCaptor<List<CompleteBatchItemDto>> captor = ArgumentCaptor.forClass(List.class);
+    verify(engineClient, times(batchCount)).completeBatch(captor.capture());
+    return captor.getAllValues().stream()
+        .flatMap(List::stream)
+        .map(CompleteBatchItemDto::getExternalTaskId)
+        .collect(Collectors.toList());
+  }
+
+}
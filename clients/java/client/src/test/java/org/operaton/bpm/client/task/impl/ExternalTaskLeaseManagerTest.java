@@ -0,0 +1,149 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.client.task.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import org.operaton.bpm.client.impl.EngineClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExternalTaskLeaseManagerTest {
+
+  protected static final long LOCK_DURATION = 300;
+
+  protected EngineClient engineClient;
+  protected ExternalTaskLeaseManager leaseManager;
+
+  @Before
+  public void setUp() {
+    engineClient = mock(EngineClient.class);
+    leaseManager = new ExternalTaskLeaseManager(engineClient);
+  }
+
+  @After
+  public void tearDown() {
+    leaseManager.stop();
+  }
+
+  @Test
+  public void shouldExtendLockBeforeExpiry() {
+    // given
+    leaseManager.start();
+
+    // when
+    leaseManager.register("task", LOCK_DURATION, System.currentTimeMillis());
+
+    // then
+    verify(engineClient, timeout(5_000).atLeast(2)).extendLock("task", LOCK_DURATION);
+    assertThat(leaseManager.isLeased("task")).isTrue();
+  }
+
+  @Test
+  public void shouldExtendHalfExpiredLocksAlongWithDueLocks() {
+    // given
+    long now = System.currentTimeMillis();
+    leaseManager.register("due", LOCK_DURATION, now - 250);
+    leaseManager.register("halfExpired", LOCK_DURATION, now - 170);
+    leaseManager.register("fresh", LOCK_DURATION, now);
+
+    // when
+    leaseManager.extendDueLocks();
+
+    // then
+    verify(engineClient).extendLock("due", LOCK_DURATION);
+    verify(engineClient).extendLock("halfExpired", LOCK_DURATION);
+    verify(engineClient, never()).extendLock("fresh", LOCK_DURATION);
+  }
+
+  @Test
+  public void shouldNotExtendHalfExpiredLocksAlone() {
+    // given
+    leaseManager.register("halfExpired", LOCK_DURATION, System.currentTimeMillis() - 170);
+
+    // when
+    leaseManager.extendDueLocks();
+
+    // then
+    verify(engineClient, never()).extendLock(anyString(), anyLong());
+  }
+
+  @Test
+  public void shouldNotExtendReleasedLease() {
+    // given
+    leaseManager.register("task", LOCK_DURATION, System.currentTimeMillis() - 250);
+
+    // when
+    leaseManager.release("task");
+    leaseManager.extendDueLocks();
+
+    // then
+    verify(engineClient, never()).extendLock(anyString(), anyLong());
+    assertThat(leaseManager.isLeased("task")).isFalse();
+  }
+
+  @Test
+  public void shouldEndLeaseIfLockCannotBeExtended() {
+    // given
+    doThrow(new RuntimeException("lock lost")).when(engineClient).extendLock("task", LOCK_DURATION);
+    leaseManager.register("task", LOCK_DURATION, System.currentTimeMillis() - 250);
+
+    // when
+    leaseManager.extendDueLocks();
+
+    // then
+    assertThat(leaseManager.isLeased("task")).isFalse();
+  }
+
+  @Test
+  public void shouldEndLeaseOnCompletion() {
+    // given
+    ExternalTaskServiceImpl externalTaskService = new ExternalTaskServiceImpl(engineClient);
+    externalTaskService.setLeaseManager(leaseManager);
+    leaseManager.register("task", LOCK_DURATION, System.currentTimeMillis());
+
+    // when
+    externalTaskService.complete("task", null, null);
+
+    // then
+    assertThat(leaseManager.isLeased("task")).isFalse();
+  }
+
+  @Test
+  public void shouldTakeManualExtensionIntoAccount() {
+    // given
+    ExternalTaskServiceImpl externalTaskService = new ExternalTaskServiceImpl(engineClient);
+    externalTaskService.setLeaseManager(leaseManager);
+    leaseManager.register("task", LOCK_DURATION, System.currentTimeMillis() - 250);
+
+    // when
+    externalTaskService.extendLock("task", 10_000);
+    leaseManager.extendDueLocks();
+
+    // then
+    verify(engineClient, never()).extendLock("task", LOCK_DURATION);
+  }
+
+}
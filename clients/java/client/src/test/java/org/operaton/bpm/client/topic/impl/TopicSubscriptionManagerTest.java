@@ -0,0 +1,254 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.client.topic.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.operaton.bpm.client.impl.EngineClient;
+import org.operaton.bpm.client.task.ExternalTask;
+import org.operaton.bpm.client.task.ExternalTaskHandler;
+import org.operaton.bpm.client.task.impl.ExternalTaskImpl;
+import org.operaton.bpm.client.task.impl.dto.CompleteBatchItemDto;
+import org.operaton.bpm.client.topic.impl.dto.TopicRequestDto;
+import org.operaton.bpm.client.variable.impl.DefaultValueMappers;
+import org.operaton.bpm.client.variable.impl.TypedValues;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class TopicSubscriptionManagerTest {
+
+  protected EngineClient engineClient;
+  protected TopicSubscriptionManager topicSubscriptionManager;
+  protected CountDownLatch handlersStarted;
+  protected CountDownLatch handlersReleased;
+  protected ExecutorService handlerExecutor;
+
+  @Before
+  public void setUp() {
+    engineClient = mock(EngineClient.class);
+    when(engineClient.getMaxTasks()).thenReturn(10);
+
+    topicSubscriptionManager = new TopicSubscriptionManager(engineClient,
+        new TypedValues(new DefaultValueMappers("application/json")), 20_000);
+    topicSubscriptionManager.disableBackoffStrategy();
+    handlersReleased = new CountDownLatch(1);
+    handlerExecutor = Executors.newCachedThreadPool();
+  }
+
+  @After
+  public void tearDown() {
+    handlersReleased.countDown();
+    handlerExecutor.shutdownNow();
+  }
+
+  @Test
+  public void shouldHandleTasksConcurrently() throws InterruptedException {
+    // given
+    configureConcurrency(2, 0);
+    subscribe("foo");
+    returnTasks(task("1", "foo"), task("2", "foo"));
+
+    // when
+    topicSubscriptionManager.acquire();
+
+    // then
+    // both handlers run at the same time
+    assertThat(handlersStarted.await(10, TimeUnit.SECONDS)).isTrue();
+    verify(engineClient).fetchAndLock(anyList(), eq(2));
+  }
+
+  @Test
+  public void shouldFetchOnlyForFreeSlots() throws InterruptedException {
+    // given
+    configureConcurrency(3, 0);
+    subscribe("foo");
+    returnTasks(task("1", "foo"));
+    topicSubscriptionManager.acquire();
+    assertThat(handlersStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+    // when
+    returnTasks();
+    topicSubscriptionManager.acquire();
+
+    // then
+    verify(engineClient).fetchAndLock(anyList(), eq(3));
+    verify(engineClient).fetchAndLock(anyList(), eq(2));
+  }
+
+  @Test
+  public void shouldFreeSlotAfterHandling() throws InterruptedException {
+    // given
+    configureConcurrency(1, 0);
+    subscribe("foo");
+    returnTasks(task("1", "foo"));
+    topicSubscriptionManager.acquire();
+    assertThat(handlersStarted.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(topicSubscriptionManager.freeSlots("foo")).isZero();
+
+    // when
+    handlersReleased.countDown();
+
+    // then
+    topicSubscriptionManager.awaitFreeSlot();
+    assertThat(topicSubscriptionManager.freeSlots("foo")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotRequestTopicWithoutFreeSlot() throws InterruptedException {
+    // given
+    configureConcurrency(4, 1);
+    subscribe("foo");
+    subscribe("bar");
+    returnTasks(task("1", "foo"));
+    topicSubscriptionManager.acquire();
+    assertThat(handlersStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+    // when
+    returnTasks();
+    topicSubscriptionManager.acquire();
+
+    // then
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<TopicRequestDto>> topicRequests = ArgumentCaptor.forClass(List.class);
+    verify(engineClient).fetchAndLock(topicRequests.capture(), eq(1));
+    assertThat(topicRequests.getValue())
+        .extracting(TopicRequestDto::getTopicName)
+        .containsExactly("bar");
+  }
+
+  @Test
+  public void shouldUnlockTasksBeyondTopicLimit() throws InterruptedException {
+    // given
+    configureConcurrency(4, 1);
+    subscribe("foo");
+    subscribe("bar");
+    returnTasks(task("1", "foo"), task("2", "foo"));
+    handlersStarted = new CountDownLatch(1);
+
+    // when
+    topicSubscriptionManager.acquire();
+
+    // then
+    assertThat(handlersStarted.await(10, TimeUnit.SECONDS)).isTrue();
+    verify(engineClient).unlock("2");
+    verify(engineClient, never()).unlock("1");
+  }
+
+  @Test
+  public void shouldLeaseTaskWhileHandling() throws InterruptedException {
+    // given
+    topicSubscriptionManager.enableLeaseManager();
+    configureConcurrency(1, 0);
+    subscribe("foo");
+    returnTasks(task("1", "foo"));
+
+    // when
+    topicSubscriptionManager.acquire();
+
+    // then
+    assertThat(handlersStarted.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(topicSubscriptionManager.getLeaseManager().isLeased("1")).isTrue();
+
+    // when
+    handlersReleased.countDown();
+    topicSubscriptionManager.awaitFreeSlot();
+
+    // then
+    assertThat(topicSubscriptionManager.getLeaseManager().isLeased("1")).isFalse();
+  }
+
+  @Test
+  public void shouldKeepLeaseOfBufferedCompletionUntilBatchIsSent() throws InterruptedException {
+    // given
+    topicSubscriptionManager.enableLeaseManager();
+    topicSubscriptionManager.enableCompletionBuffer(100, 60_000);
+    when(engineClient.createCompleteBatchItem("1", null, null)).thenReturn(new CompleteBatchItemDto("1", null, null));
+    configureConcurrency(1, 0);
+    topicSubscriptionManager.subscriptions.add(new TopicSubscriptionImpl("foo", null,
+        (externalTask, externalTaskService) -> externalTaskService.complete(externalTask), topicSubscriptionManager, null, null));
+    returnTasks(task("1", "foo"));
+
+    // when
+    topicSubscriptionManager.acquire();
+    topicSubscriptionManager.awaitFreeSlot();
+
+    // then
+    assertThat(topicSubscriptionManager.getLeaseManager().isLeased("1")).isTrue();
+
+    // when
+    topicSubscriptionManager.getCompletionBuffer().flush();
+
+    // then
+    assertThat(topicSubscriptionManager.getLeaseManager().isLeased("1")).isFalse();
+  }
+
+  protected void configureConcurrency(int maxConcurrentTasks, int maxTasksPerTopic) {
+    topicSubscriptionManager.setMaxConcurrentTasks(maxConcurrentTasks);
+    topicSubscriptionManager.setMaxTasksPerTopic(maxTasksPerTopic);
+    topicSubscriptionManager.setHandlerExecutor(handlerExecutor);
+    // acquire on the test thread
+    topicSubscriptionManager.isRunning.set(true);
+  }
+
+  protected void subscribe(String topicName) {
+    topicSubscriptionManager.subscriptions.add(
+        new TopicSubscriptionImpl(topicName, null, blockingHandler(), topicSubscriptionManager, null, null));
+  }
+
+  protected ExternalTaskHandler blockingHandler() {
+    return (externalTask, externalTaskService) -> {
+      handlersStarted.countDown();
+      try {
+        handlersReleased.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    };
+  }
+
+  protected void returnTasks(ExternalTask... externalTasks) {
+    handlersStarted = new CountDownLatch(externalTasks.length);
+    List<ExternalTask> response = externalTasks.length == 0 ? Collections.emptyList() : Arrays.asList(externalTasks);
+    when(engineClient.fetchAndLock(anyList(), anyInt())).thenReturn(response);
+  }
+
+  protected ExternalTask task(String id, String topicName) {
+    ExternalTaskImpl externalTask = new ExternalTaskImpl();
+    externalTask.setId(id);
+    externalTask.setTopicName(topicName);
+    externalTask.setVariables(Collections.emptyMap());
+    return externalTask;
+  }
+
+}
@@ -0,0 +1,12 @@
+<#-- This parameter is shared between the GET lists that support keyset pagination -->
+  <@lib.parameter
+      name = "after"
+      location = "query"
+      type = "string"
+      last = last
+      desc = "Keyset pagination of results. Returns the results following the given cursor; an
+              empty value returns the first page. If the page contains `maxResults` results,
+              the `Link` header of the response contains the URL of the next page (relation `next`).
+              Cannot be combined with `firstResult` and only supported if the results are not sorted
+              or sorted by ${keysetSortProperties}. A cursor is only valid for the sorting of the
+              request that returned it."/>
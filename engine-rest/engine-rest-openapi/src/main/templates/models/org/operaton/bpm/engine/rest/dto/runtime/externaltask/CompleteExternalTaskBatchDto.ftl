@@ -0,0 +1,13 @@
+<#macro dto_macro docsUrl="">
+<@lib.dto extends = "HandleExternalTaskDto" >
+
+  <@lib.property
+      name = "tasks"
+      type = "array"
+      dto = "CompleteExternalTaskBatchItemDto"
+      last = true
+      desc = "**Mandatory.** A JSON array of the external tasks to complete. Each element has the following properties:" />
+
+</@lib.dto>
+
+</#macro>
@@ -0,0 +1,25 @@
+<#macro dto_macro docsUrl="">
+<@lib.dto>
+
+  <@lib.property
+      name = "externalTaskId"
+      type = "string"
+      desc = "The id of the external task." />
+
+  <@lib.property
+      name = "successful"
+      type = "boolean"
+      desc = "`true` if the external task was completed." />
+
+  <@lib.property
+      name = "error"
+      type = "ref"
+      dto = "ExceptionDto"
+      last = true
+      desc = "The reason why the external task could not be completed, `null` if it was completed.
+              See the [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+              for the error format." />
+
+</@lib.dto>
+
+</#macro>
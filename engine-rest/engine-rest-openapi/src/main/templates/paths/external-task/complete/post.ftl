@@ -0,0 +1,80 @@
+<#macro endpoint_macro docsUrl="">
+{
+
+  <@lib.endpointInfo
+      id = "completeExternalTaskBatch"
+      tag = "External Task"
+      summary = "Complete Batch"
+      desc = "Completes many external tasks of one worker in one transaction and updates process variables.
+              Every external task gets its own result: a task that does not exist, is locked by a different
+              worker, is suspended or may not be updated by the current user does not prevent the completion
+              of the other tasks. If the process instance of a task cannot be resumed successfully, the tasks
+              are completed one by one, so that only the failing tasks are reported as failed." />
+
+  <@lib.requestBody
+      mediaType = "application/json"
+      dto = "CompleteExternalTaskBatchDto"
+      examples = ['"example-1": {
+                       "summary": "POST /external-task/complete",
+                       "value": {
+                         "workerId": "aWorker",
+                         "tasks": [
+                           {
+                             "externalTaskId": "anExternalTaskId",
+                             "variables": {
+                               "aVariable": {
+                                 "value": "aStringValue"
+                               }
+                             }
+                           },
+                           {
+                             "externalTaskId": "anotherExternalTaskId",
+                             "localVariables": {
+                               "aLocalVariable": {
+                                 "value": 42
+                               }
+                             }
+                           }
+                         ]
+                       }
+                     }'] />
+
+  "responses" : {
+
+    <@lib.response
+        code = "200"
+        dto = "ExternalTaskCompletionResultDto"
+        array = true
+        desc = "Request successful. Contains one result per external task, in the order of the request."
+        examples = ['"example-1": {
+                       "summary": "POST /external-task/complete",
+                       "value": [
+                         {
+                           "externalTaskId": "anExternalTaskId",
+                           "successful": true,
+                           "error": null
+                         },
+                         {
+                           "externalTaskId": "anotherExternalTaskId",
+                           "successful": false,
+                           "error": {
+                             "type": "NotFoundException",
+                             "message": "Cannot find external task with id anotherExternalTaskId",
+                             "code": 0
+                           }
+                         }
+                       ]
+                     }'] />
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        last = true
+        desc = "Returned if no tasks or no worker id are given. See the
+                [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+                for the error response format." />
+
+  }
+}
+
+</#macro>
@@ -18,6 +18,9 @@
 
     <#include "/lib/commons/pagination-params.ftl" >
 
+    <#assign keysetSortProperties = "`instanceId` or `startTime`" >
+    <#include "/lib/commons/keyset-pagination-param.ftl" >
+
     <@lib.parameters
         object = params
         skip = ["orQueries"] <#-- OR Queries not available in GET -->
@@ -0,0 +1,57 @@
+<#macro endpoint_macro docsUrl="">
+{
+  <@lib.endpointInfo
+      id = "streamHistoricProcessInstances"
+      tag = "Historic Process Instance"
+      summary = "Stream List"
+      desc = "Streams all historic process instances that fulfill the given parameters as
+              newline-delimited JSON (one instance per line). In contrast to the
+              [Get Process Instances](${docsUrl}/reference/rest/history/process-instance/get-process-instance-query/)
+              method, the result is not paginated and not subject to the query max results limit;
+              it is read from the database in chunks of `fetchSize` rows.
+              Takes the same filter parameters as the Get Process Instances method." />
+
+  "parameters" : [
+
+    <#assign requestMethod="GET"/>
+    <#include "/lib/commons/history-process-instance.ftl" >
+
+    <#assign last = false >
+    <#include "/lib/commons/sort-params.ftl" >
+
+    <@lib.parameter
+        name = "fetchSize"
+        type = "integer"
+        format = "int32"
+        location = "query"
+        desc = "The number of rows fetched from the database at once. Must be greater than 0.
+                Defaults to `1000`." />
+
+    <@lib.parameters
+        object = params
+        skip = ["orQueries"] <#-- OR Queries not available in GET -->
+        last = true />
+
+  ],
+  "responses" : {
+    <@lib.multiTypeResponse
+        code = "200"
+        desc = "Request successful."
+        types = [
+          {
+            "dto": "HistoricProcessInstanceDto",
+            "mediaType": "application/x-ndjson"
+          }
+        ] />
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        desc = "Returned if some of the query parameters are invalid, for example if a `sortOrder`
+                parameter is supplied, but no `sortBy`, or if `fetchSize` is not greater than 0.
+                See the [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+                for the error response format."
+        last = true />
+  }
+}
+</#macro>
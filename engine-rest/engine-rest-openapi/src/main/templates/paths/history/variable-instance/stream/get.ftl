@@ -0,0 +1,63 @@
+<#macro endpoint_macro docsUrl="">
+{
+  <@lib.endpointInfo
+      id = "streamHistoricVariableInstances"
+      tag = "Historic Variable Instance"
+      summary = "Stream Variable Instances"
+      desc = "Streams all historic variable instances that fulfill the given parameters as
+              newline-delimited JSON (one variable instance per line). In contrast to the
+              [Get Variable Instances](${docsUrl}/reference/rest/history/variable-instance/get-variable-instance-query/)
+              method, the result is not paginated and not subject to the query max results limit;
+              it is read from the database in chunks of `fetchSize` rows. Values that are
+              stored as byte arrays, i.e. binary values and serialized objects, are not included."
+  />
+
+  "parameters" : [
+
+    <#assign last = false >
+    <#assign requestMethod="GET"/>
+    <#include "/lib/commons/historic-variable-instance-query-params.ftl" >
+    <@lib.parameters
+        object = params
+        last = last
+    />
+    <#include "/lib/commons/sort-params.ftl">
+
+    <@lib.parameter
+        name = "fetchSize"
+        type = "integer"
+        format = "int32"
+        location = "query"
+        desc = "The number of rows fetched from the database at once. Must be greater than 0.
+                Defaults to `1000`."
+        last = true />
+
+  ],
+
+  "responses": {
+
+    <@lib.multiTypeResponse
+        code = "200"
+        desc = "Request successful."
+        types = [
+          {
+            "dto": "HistoricVariableInstanceDto",
+            "mediaType": "application/x-ndjson"
+          }
+        ]
+    />
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        desc = "Returned if some of the query parameters are invalid, for example if a `sortOrder`
+                parameter is supplied, but no `sortBy`, or if `fetchSize` is not greater than 0.
+                See the [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+                for the error response format."
+        last = true
+    />
+
+  }
+
+}
+</#macro>
@@ -25,9 +25,12 @@
                               '"caseExecutionVariable"', '"caseInstanceVariable"' ] >
     <#include "/lib/commons/sort-params.ftl" >
 
-    <#assign last = true >
     <#include "/lib/commons/pagination-params.ftl" >
 
+    <#assign last = true >
+    <#assign keysetSortProperties = "`id`, `created` or `priority`" >
+    <#include "/lib/commons/keyset-pagination-param.ftl" >
+
   ],
 
   "responses" : {
@@ -34,6 +34,8 @@ import javax.ws.rs.core.UriInfo;
 
 import org.operaton.bpm.engine.rest.dto.CountResultDto;
 import org.operaton.bpm.engine.rest.dto.batch.BatchDto;
+import org.operaton.bpm.engine.rest.dto.externaltask.CompleteExternalTaskBatchDto;
+import org.operaton.bpm.engine.rest.dto.externaltask.ExternalTaskCompletionResultDto;
 import org.operaton.bpm.engine.rest.dto.externaltask.ExternalTaskDto;
 import org.operaton.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
 import org.operaton.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
@@ -78,6 +80,12 @@ public interface ExternalTaskRestService {
   @Produces(MediaType.APPLICATION_JSON)
   void fetchAndLock(FetchExternalTasksExtendedDto dto, @Suspended final AsyncResponse asyncResponse);
 
+  @POST
+  @Path("/complete")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  List<ExternalTaskCompletionResultDto> completeBatch(CompleteExternalTaskBatchDto dto);
+
   @Path("/{id}")
   ExternalTaskResource getExternalTask(@PathParam("id") String externalTaskId);
 
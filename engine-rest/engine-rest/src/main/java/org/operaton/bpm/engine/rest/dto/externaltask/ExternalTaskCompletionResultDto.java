@@ -0,0 +1,67 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.rest.dto.externaltask;
+
+import org.operaton.bpm.engine.ProcessEngineException;
+import org.operaton.bpm.engine.externaltask.ExternalTaskCompletionResult;
+import org.operaton.bpm.engine.rest.dto.ExceptionDto;
+
+public class ExternalTaskCompletionResultDto {
+
+  protected String externalTaskId;
+  protected boolean successful;
+  protected ExceptionDto error;
+
+  public static ExternalTaskCompletionResultDto fromExternalTaskCompletionResult(ExternalTaskCompletionResult result) {
+    ExternalTaskCompletionResultDto dto = new ExternalTaskCompletionResultDto();
+    dto.externalTaskId = result.getExternalTaskId();
+    dto.successful = result.isSuccessful();
+
+    ProcessEngineException exception = result.getException();
+    if (exception != null) {
+      dto.error = ExceptionDto.fromException(exception);
+      dto.error.setCode(exception.getCode());
+    }
+
+    return dto;
+  }
+
+  public String getExternalTaskId() {
+    return externalTaskId;
+  }
+
+  public void setExternalTaskId(String externalTaskId) {
+    this.externalTaskId = externalTaskId;
+  }
+
+  public boolean isSuccessful() {
+    return successful;
+  }
+
+  public void setSuccessful(boolean successful) {
+    this.successful = successful;
+  }
+
+  public ExceptionDto getError() {
+    return error;
+  }
+
+  public void setError(ExceptionDto error) {
+    this.error = error;
+  }
+
+}
@@ -38,6 +38,7 @@ import org.operaton.bpm.engine.rest.dto.batch.BatchDto;
 import org.operaton.bpm.engine.rest.dto.history.DeleteHistoricProcessInstancesDto;
 import org.operaton.bpm.engine.rest.dto.history.HistoricProcessInstanceDto;
 import org.operaton.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
+import org.operaton.bpm.engine.rest.util.QueryUtil;
 import org.operaton.bpm.engine.rest.dto.history.batch.removaltime.SetRemovalTimeToHistoricProcessInstancesDto;
 import org.operaton.bpm.engine.rest.sub.history.HistoricProcessInstanceResource;
 
@@ -76,6 +77,19 @@ public interface HistoricProcessInstanceRestService {
   List<HistoricProcessInstanceDto> queryHistoricProcessInstances(HistoricProcessInstanceQueryDto query, @QueryParam("firstResult") Integer firstResult,
       @QueryParam("maxResults") Integer maxResults);
 
+  /**
+   * Streams the historic process instances that match the query as newline
+   * delimited JSON while they are read from the database.
+   *
+   * @param uriInfo
+   * @param fetchSize
+   * @return
+   */
+  @GET
+  @Path("/stream")
+  @Produces(QueryUtil.APPLICATION_NDJSON)
+  Response streamHistoricProcessInstances(@Context UriInfo uriInfo, @QueryParam("fetchSize") Integer fetchSize);
+
   @GET
   @Path("/count")
   @Produces(MediaType.APPLICATION_JSON)
@@ -22,10 +22,12 @@ import org.operaton.bpm.engine.rest.dto.history.HistoricVariableInstanceDto;
 import org.operaton.bpm.engine.rest.dto.history.HistoricVariableInstanceQueryDto;
 import org.operaton.bpm.engine.rest.sub.VariableResource;
 import org.operaton.bpm.engine.rest.sub.history.HistoricVariableInstanceResource;
+import org.operaton.bpm.engine.rest.util.QueryUtil;
 
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
@@ -70,6 +72,22 @@ public interface HistoricVariableInstanceRestService {
       @QueryParam("maxResults") Integer maxResults,
       @QueryParam(VariableResource.DESERIALIZE_VALUES_QUERY_PARAM) @DefaultValue("true") boolean deserializeValues);
 
+  /**
+   * Streams the historic variable instances that match the query as newline
+   * delimited JSON while they are read from the database. Values that are stored
+   * in byte arrays, i.e. binary values and serialized objects, are not included.
+   *
+   * @param uriInfo
+   * @param fetchSize
+   * @return
+   */
+  @GET
+  @Path("/stream")
+  @Produces(QueryUtil.APPLICATION_NDJSON)
+  Response streamHistoricVariableInstances(
+      @Context UriInfo uriInfo,
+      @QueryParam("fetchSize") Integer fetchSize);
+
   @GET
   @Path("/count")
   @Produces(MediaType.APPLICATION_JSON)
@@ -27,13 +27,20 @@ import org.operaton.bpm.engine.ExternalTaskService;
 import org.operaton.bpm.engine.ProcessEngine;
 import org.operaton.bpm.engine.batch.Batch;
 import org.operaton.bpm.engine.exception.NotFoundException;
+import org.operaton.bpm.engine.exception.NullValueException;
+import org.operaton.bpm.engine.externaltask.CompleteExternalTaskBatchBuilder;
 import org.operaton.bpm.engine.externaltask.ExternalTask;
+import org.operaton.bpm.engine.externaltask.ExternalTaskCompletionResult;
 import org.operaton.bpm.engine.externaltask.ExternalTaskQuery;
 import org.operaton.bpm.engine.externaltask.UpdateExternalTaskRetriesBuilder;
 import org.operaton.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.operaton.bpm.engine.rest.ExternalTaskRestService;
 import org.operaton.bpm.engine.rest.dto.CountResultDto;
+import org.operaton.bpm.engine.rest.dto.VariableValueDto;
 import org.operaton.bpm.engine.rest.dto.batch.BatchDto;
+import org.operaton.bpm.engine.rest.dto.externaltask.CompleteExternalTaskBatchDto;
+import org.operaton.bpm.engine.rest.dto.externaltask.CompleteExternalTaskBatchItemDto;
+import org.operaton.bpm.engine.rest.dto.externaltask.ExternalTaskCompletionResultDto;
 import org.operaton.bpm.engine.rest.dto.externaltask.ExternalTaskDto;
 import org.operaton.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
 import org.operaton.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
@@ -104,6 +111,36 @@ public class ExternalTaskRestServiceImpl extends AbstractRestProcessEngineAware
     fetchAndLockHandler.addPendingRequest(dto, asyncResponse, getProcessEngine());
   }
 
+  @Override
+  public List<ExternalTaskCompletionResultDto> completeBatch(CompleteExternalTaskBatchDto dto) {
+    if (dto == null || dto.getTasks() == null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "The external tasks to complete cannot be null.");
+    }
+
+    ProcessEngine engine = getProcessEngine();
+    ObjectMapper objectMapper = getObjectMapper();
+
+    List<ExternalTaskCompletionResult> results;
+    try {
+      CompleteExternalTaskBatchBuilder builder = engine.getExternalTaskService().completeBatch(dto.getWorkerId());
+      for (CompleteExternalTaskBatchItemDto task : dto.getTasks()) {
+        builder.complete(task.getExternalTaskId(),
+            VariableValueDto.toMap(task.getVariables(), engine, objectMapper),
+            VariableValueDto.toMap(task.getLocalVariables(), engine, objectMapper));
+      }
+      results = builder.execute();
+    }
+    catch (NullValueException | BadUserRequestException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e.getMessage());
+    }
+
+    List<ExternalTaskCompletionResultDto> resultDtos = new ArrayList<>();
+    for (ExternalTaskCompletionResult result : results) {
+      resultDtos.add(ExternalTaskCompletionResultDto.fromExternalTaskCompletionResult(result));
+    }
+    return resultDtos;
+  }
+
   @Override
   public ExternalTaskResource getExternalTask(String externalTaskId) {
     return new ExternalTaskResourceImpl(getProcessEngine(), externalTaskId, getObjectMapper());
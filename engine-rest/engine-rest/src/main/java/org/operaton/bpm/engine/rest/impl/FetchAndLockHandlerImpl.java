@@ -17,10 +17,22 @@
 package org.operaton.bpm.engine.rest.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.servlet.ServletContext;
@@ -32,6 +44,7 @@ import org.operaton.bpm.engine.ProcessEngine;
 import org.operaton.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.operaton.bpm.engine.externaltask.LockedExternalTask;
 import org.operaton.bpm.engine.impl.ProcessEngineImpl;
+import org.operaton.bpm.engine.impl.externaltask.ExternalTaskNotificationListener;
 import org.operaton.bpm.engine.impl.identity.Authentication;
 import org.operaton.bpm.engine.impl.util.ClockUtil;
 import org.operaton.bpm.engine.impl.util.SingleConsumerCondition;
@@ -51,6 +64,10 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
   private static final Logger LOG = Logger.getLogger(FetchAndLockHandlerImpl.class.getName());
 
   protected static final String UNIQUE_WORKER_REQUEST_PARAM_NAME = "fetch-and-lock-unique-worker-request";
+  protected static final String QUEUE_CAPACITY_PARAM_NAME = "fetch-and-lock-queue-capacity";
+  protected static final String HANDLER_THREADS_PARAM_NAME = "fetch-and-lock-handler-threads";
+
+  protected static final int DEFAULT_QUEUE_CAPACITY = 200;
 
   protected static final long PENDING_REQUEST_FETCH_INTERVAL = 30L * 1000;
   protected static final long MAX_BACK_OFF_TIME = Long.MAX_VALUE;
@@ -58,10 +75,25 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
   protected SingleConsumerCondition condition;
 
-  protected BlockingQueue<FetchAndLockRequest> queue = new ArrayBlockingQueue<>(200);
-  protected List<FetchAndLockRequest> pendingRequests = new ArrayList<>();
+  /** the topics of the external tasks that became available since the last acquisition */
+  protected Set<String> availableTopicNames = ConcurrentHashMap.newKeySet();
+
+  protected ExternalTaskNotificationListener notificationListener = topicNames -> {
+    availableTopicNames.addAll(topicNames);
+    condition.signal();
+  };
+
+  protected long nextPendingRequestFetchTime = 0;
+
+  protected BlockingQueue<FetchAndLockRequest> queue = new ArrayBlockingQueue<>(DEFAULT_QUEUE_CAPACITY);
+  /** the pending requests grouped by the external tasks they fetch, in the order of their arrival */
+  protected Map<Object, FetchAndLockRequestGroup> pendingRequestGroups = new LinkedHashMap<>();
   protected List<FetchAndLockRequest> newRequests = new ArrayList<>();
 
+  /** the number of threads that fetch for the pending request groups in parallel */
+  protected int handlerThreads = 1;
+  protected ExecutorService fetchExecutor;
+
   protected Thread handlerThread = new Thread(this, this.getClass().getSimpleName());
 
   protected volatile boolean isRunning = false;
@@ -91,24 +123,126 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
     queue.drainTo(newRequests);
 
+    Set<FetchAndLockRequest> addedRequests = new HashSet<>(newRequests);
     if (!newRequests.isEmpty()) {
       if (isUniqueWorkerRequest) {
         removeDuplicates();
       }
 
-      pendingRequests.addAll(newRequests);
+      for (FetchAndLockRequest newRequest : newRequests) {
+        pendingRequestGroups
+          .computeIfAbsent(FetchAndLockRequestGroup.getKey(newRequest), key -> new FetchAndLockRequestGroup(key, newRequest))
+          .getRequests()
+          .add(newRequest);
+      }
       newRequests.clear();
     }
 
-    LOG.log(Level.FINEST, "Number of pending requests {0}", pendingRequests.size());
+    LOG.log(Level.FINEST, "Number of pending request groups {0}", pendingRequestGroups.size());
+
+    // a wake up by notifications only re-runs the requests for the notified topics,
+    // any other wake up (new request, timeout, periodic fetch) re-runs all requests
+    Set<String> notifiedTopicNames = drainAvailableTopicNames();
+    long currentTime = ClockUtil.getCurrentTime().getTime();
+    boolean fetchAll = notifiedTopicNames.isEmpty() || currentTime >= nextPendingRequestFetchTime;
+    if (fetchAll) {
+      nextPendingRequestFetchTime = currentTime + PENDING_REQUEST_FETCH_INTERVAL;
+    }
+
+    long backoffTime = fetchPendingRequestGroups(notifiedTopicNames, fetchAll, addedRequests); //timestamp
 
-    long backoffTime = MAX_BACK_OFF_TIME; //timestamp
+    pendingRequestGroups.values().removeIf(FetchAndLockRequestGroup::isEmpty);
 
-    Iterator<FetchAndLockRequest> iterator = pendingRequests.iterator();
+    final long waitTime = Math.max(0, backoffTime);
+
+    if (pendingRequestGroups.isEmpty()) {
+      suspend(waitTime);
+    }
+    else {
+      // if there are pending requests, try fetch periodically to ensure tasks created on other
+      // cluster nodes that are not notified and tasks with expired locks can be fetched in a timely manner
+      long msUntilPendingRequestFetch = Math.max(0, nextPendingRequestFetchTime - currentTime);
+      suspend(Math.min(msUntilPendingRequestFetch, waitTime));
+    }
+  }
+
+  /**
+   * Fetches for the pending request groups, in parallel if there are several handler threads.
+   *
+   * @return the time in milliseconds until the first pending request times out
+   */
+  protected long fetchPendingRequestGroups(Set<String> notifiedTopicNames, boolean fetchAll, Set<FetchAndLockRequest> addedRequests) {
+    long backoffTime = MAX_BACK_OFF_TIME;
+
+    if (fetchExecutor == null) {
+      for (FetchAndLockRequestGroup group : pendingRequestGroups.values()) {
+        boolean isNotified = fetchAll || group.hasAnyTopic(notifiedTopicNames);
+        backoffTime = Math.min(backoffTime, fetchPendingRequests(group, isNotified, addedRequests));
+      }
+    }
+    else {
+      List<Callable<Long>> fetches = new ArrayList<>();
+      for (FetchAndLockRequestGroup group : pendingRequestGroups.values()) {
+        boolean isNotified = fetchAll || group.hasAnyTopic(notifiedTopicNames);
+        fetches.add(() -> fetchPendingRequests(group, isNotified, addedRequests));
+      }
+
+      try {
+        for (Future<Long> fetch : fetchExecutor.invokeAll(fetches)) {
+          backoffTime = Math.min(backoffTime, getBackoffTime(fetch));
+        }
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    return backoffTime;
+  }
+
+  protected long getBackoffTime(Future<Long> fetch) throws InterruptedException {
+    try {
+      return fetch.get();
+    }
+    catch (ExecutionException e) {
+      LOG.log(Level.WARNING, "Fetching tasks for pending requests failed", e.getCause());
+      // try again right away
+      return 0;
+    }
+  }
+
+  /**
+   * Fetches for the requests of a group in the order of their arrival, until a fetch returns
+   * fewer tasks than requested. The remaining requests of the group are not fetched for, since
+   * they would not get any task either. Requests are fetched for if they are new or expired,
+   * or if the group is notified.
+   *
+   * @return the time in milliseconds until the first remaining request of the group times out
+   */
+  protected long fetchPendingRequests(FetchAndLockRequestGroup group, boolean isNotified, Set<FetchAndLockRequest> addedRequests) {
+    long backoffTime = MAX_BACK_OFF_TIME;
+    boolean isDrained = false;
+
+    Iterator<FetchAndLockRequest> iterator = group.getRequests().iterator();
     while (iterator.hasNext()) {
 
       FetchAndLockRequest pendingRequest = iterator.next();
 
+      if (isDrained && isExpired(pendingRequest)) {
+        pendingRequest.getAsyncResponse().resume(Collections.emptyList());
+
+        LOG.log(Level.FINEST, "Resume and remove expired request {0}", pendingRequest);
+
+        iterator.remove();
+        continue;
+      }
+
+      if (isDrained || !(isNotified || addedRequests.contains(pendingRequest) || isExpired(pendingRequest))) {
+        final long msUntilTimeout = pendingRequest.getTimeoutTimestamp() - ClockUtil.getCurrentTime().getTime();
+        backoffTime = Math.min(backoffTime, msUntilTimeout);
+        continue;
+      }
+
       LOG.log(Level.FINEST, "Fetching tasks for request {0}", pendingRequest);
 
       FetchAndLockResult result = tryFetchAndLock(pendingRequest);
@@ -118,6 +252,7 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
       if (result.wasSuccessful()) {
 
         List<LockedExternalTaskDto> lockedTasks = result.getTasks();
+        isDrained = lockedTasks.size() < pendingRequest.getDto().getMaxTasks();
 
         if (!lockedTasks.isEmpty() || isExpired(pendingRequest)) {
           AsyncResponse asyncResponse = pendingRequest.getAsyncResponse();
@@ -143,32 +278,37 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
       }
     }
 
-    final long waitTime = Math.max(0, backoffTime);
+    return backoffTime;
+  }
 
-    if (pendingRequests.isEmpty()) {
-      suspend(waitTime);
-    }
-    else {
-      // if there are pending requests, try fetch periodically to ensure tasks created on other
-      // cluster nodes and tasks with expired timeouts can be fetched in a timely manner
-      suspend(Math.min(PENDING_REQUEST_FETCH_INTERVAL, waitTime));
+  protected Set<String> drainAvailableTopicNames() {
+    Set<String> topicNames = new HashSet<>();
+    Iterator<String> iterator = availableTopicNames.iterator();
+    while (iterator.hasNext()) {
+      topicNames.add(iterator.next());
+      iterator.remove();
     }
+    return topicNames;
   }
 
   protected void removeDuplicates() {
+    Set<String> workerIds = new HashSet<>();
     for (FetchAndLockRequest newRequest : newRequests) {
-      // remove any request from pendingRequests with the same worker id
-      Iterator<FetchAndLockRequest> iterator = pendingRequests.iterator();
+      workerIds.add(newRequest.getDto().getWorkerId());
+    }
+
+    // remove any pending request with the same worker id as a new request
+    for (FetchAndLockRequestGroup group : pendingRequestGroups.values()) {
+      Iterator<FetchAndLockRequest> iterator = group.getRequests().iterator();
       while (iterator.hasNext()) {
         FetchAndLockRequest pendingRequest = iterator.next();
-        if (pendingRequest.getDto().getWorkerId().equals(newRequest.getDto().getWorkerId())) {
+        if (workerIds.contains(pendingRequest.getDto().getWorkerId())) {
           AsyncResponse asyncResponse = pendingRequest.getAsyncResponse();
           asyncResponse.cancel();
 
           iterator.remove();
         }
       }
-
     }
   }
 
@@ -179,15 +319,16 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     }
 
     isRunning = true;
+    initFetchExecutor();
     handlerThread.start();
 
-    ProcessEngineImpl.EXT_TASK_CONDITIONS.addConsumer(condition);
+    ProcessEngineImpl.EXT_TASK_NOTIFICATION_LISTENERS.addListener(notificationListener);
   }
 
   @Override
   public void shutdown() {
     try {
-      ProcessEngineImpl.EXT_TASK_CONDITIONS.removeConsumer(condition);
+      ProcessEngineImpl.EXT_TASK_NOTIFICATION_LISTENERS.removeListener(notificationListener);
     }
     finally {
       isRunning = false;
@@ -199,6 +340,22 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     } catch (InterruptedException e) {
       LOG.log(Level.WARNING, "Shutting down the handler thread failed", e);
     }
+
+    if (fetchExecutor != null) {
+      fetchExecutor.shutdown();
+      fetchExecutor = null;
+    }
+  }
+
+  protected void initFetchExecutor() {
+    if (handlerThreads > 1 && fetchExecutor == null) {
+      AtomicInteger threadCount = new AtomicInteger();
+      fetchExecutor = Executors.newFixedThreadPool(handlerThreads, runnable -> {
+        Thread thread = new Thread(runnable, getClass().getSimpleName() + "-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
   }
 
   protected void suspend(long millis) {
@@ -274,7 +431,7 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
   }
 
   protected void rejectPendingRequests() {
-    for (FetchAndLockRequest pendingRequest : pendingRequests) {
+    for (FetchAndLockRequest pendingRequest : getPendingRequests()) {
       AsyncResponse asyncResponse = pendingRequest.getAsyncResponse();
       asyncResponse.resume(new RestException(Status.INTERNAL_SERVER_ERROR, "Request rejected due to shutdown of application server."));
     }
@@ -344,6 +501,8 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
       if (servletContext != null) {
         parseUniqueWorkerRequestParam(servletContext.getInitParameter(UNIQUE_WORKER_REQUEST_PARAM_NAME));
+        parseQueueCapacityParam(servletContext.getInitParameter(QUEUE_CAPACITY_PARAM_NAME));
+        parseHandlerThreadsParam(servletContext.getInitParameter(HANDLER_THREADS_PARAM_NAME));
       }
     }
   }
@@ -356,7 +515,27 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     }
   }
 
+  protected void parseQueueCapacityParam(String queueCapacityParam) {
+    int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    if (queueCapacityParam != null) {
+      queueCapacity = Integer.parseInt(queueCapacityParam);
+    }
+    queue = new ArrayBlockingQueue<>(queueCapacity);
+  }
+
+  protected void parseHandlerThreadsParam(String handlerThreadsParam) {
+    if (handlerThreadsParam != null) {
+      handlerThreads = Integer.parseInt(handlerThreadsParam);
+    } else {
+      handlerThreads = 1; // default configuration
+    }
+  }
+
   public List<FetchAndLockRequest> getPendingRequests() {
+    List<FetchAndLockRequest> pendingRequests = new ArrayList<>();
+    for (FetchAndLockRequestGroup group : pendingRequestGroups.values()) {
+      pendingRequests.addAll(group.getRequests());
+    }
     return pendingRequests;
   }
 }
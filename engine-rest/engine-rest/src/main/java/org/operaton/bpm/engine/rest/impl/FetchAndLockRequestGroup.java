@@ -0,0 +1,124 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.rest.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.operaton.bpm.engine.impl.identity.Authentication;
+import org.operaton.bpm.engine.rest.dto.externaltask.FetchExternalTasksDto.FetchExternalTaskTopicDto;
+
+/**
+ * The pending fetch and lock requests that fetch the same external tasks: requests to
+ * the same process engine with the same authentication for the same topics and filters.
+ * They only differ in the worker, the number of tasks and how the tasks are locked and
+ * returned. If a fetch for one request of the group returns fewer tasks than requested,
+ * a fetch for the other requests would not return any task either.
+ */
+public class FetchAndLockRequestGroup {
+
+  protected Object key;
+  protected Set<String> topicNames = new HashSet<>();
+  protected Set<FetchAndLockRequest> requests = new LinkedHashSet<>();
+
+  public FetchAndLockRequestGroup(Object key, FetchAndLockRequest request) {
+    this.key = key;
+
+    List<FetchExternalTaskTopicDto> topics = request.getDto().getTopics();
+    if (topics != null) {
+      for (FetchExternalTaskTopicDto topic : topics) {
+        topicNames.add(topic.getTopicName());
+      }
+    }
+  }
+
+  public static Object getKey(FetchAndLockRequest request) {
+    Authentication authentication = request.getAuthentication();
+    String userId = null;
+    Set<String> groupIds = null;
+    Set<String> tenantIds = null;
+    if (authentication != null) {
+      userId = authentication.getUserId();
+      groupIds = toSet(authentication.getGroupIds());
+      tenantIds = toSet(authentication.getTenantIds());
+    }
+
+    Set<Object> topicKeys = new HashSet<>();
+    List<FetchExternalTaskTopicDto> topics = request.getDto().getTopics();
+    if (topics != null) {
+      for (FetchExternalTaskTopicDto topic : topics) {
+        // the properties that select the tasks of the topic
+        topicKeys.add(Arrays.asList(
+            topic.getTopicName(),
+            topic.getBusinessKey(),
+            topic.getProcessDefinitionId(),
+            toSet(topic.getProcessDefinitionIdIn()),
+            topic.getProcessDefinitionKey(),
+            toSet(topic.getProcessDefinitionKeyIn()),
+            topic.getProcessDefinitionVersionTag(),
+            topic.getProcessVariables(),
+            topic.isWithoutTenantId(),
+            toSet(topic.getTenantIdIn())));
+      }
+    }
+
+    return Arrays.asList(request.getProcessEngineName(), userId, groupIds, tenantIds, topicKeys);
+  }
+
+  protected static Set<String> toSet(Collection<String> values) {
+    return values != null ? new HashSet<>(values) : null;
+  }
+
+  protected static Set<String> toSet(String[] values) {
+    return values != null ? new HashSet<>(Arrays.asList(values)) : null;
+  }
+
+  public Object getKey() {
+    return key;
+  }
+
+  public Set<String> getTopicNames() {
+    return topicNames;
+  }
+
+  public boolean hasAnyTopic(Set<String> topicNames) {
+    for (String topicName : this.topicNames) {
+      if (topicNames.contains(topicName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public Set<FetchAndLockRequest> getRequests() {
+    return requests;
+  }
+
+  public boolean isEmpty() {
+    return requests.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return "FetchAndLockRequestGroup [topicNames=" + topicNames + ", requests=" + requests.size() + "]";
+  }
+
+}
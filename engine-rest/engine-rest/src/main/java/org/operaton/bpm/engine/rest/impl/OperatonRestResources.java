@@ -25,6 +25,7 @@ import org.operaton.bpm.engine.rest.exception.ProcessEngineExceptionHandler;
 import org.operaton.bpm.engine.rest.exception.RestExceptionHandler;
 import org.operaton.bpm.engine.rest.hal.JacksonHalJsonProvider;
 import org.operaton.bpm.engine.rest.mapper.JacksonConfigurator;
+import org.operaton.bpm.engine.rest.mapper.KeysetPageLinkFilter;
 import org.operaton.bpm.engine.rest.mapper.MultipartPayloadProvider;
 
 import java.util.HashSet;
@@ -54,6 +55,7 @@ public class OperatonRestResources {
     CONFIGURATION_CLASSES.add(RestExceptionHandler.class);
     CONFIGURATION_CLASSES.add(MultipartPayloadProvider.class);
     CONFIGURATION_CLASSES.add(JacksonHalJsonProvider.class);
+    CONFIGURATION_CLASSES.add(KeysetPageLinkFilter.class);
     CONFIGURATION_CLASSES.add(ExceptionHandler.class);
   }
 
@@ -56,9 +56,15 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
     Variant variant = request.selectVariant(VARIANTS);
     if (variant != null) {
       if (MediaType.APPLICATION_JSON_TYPE.equals(variant.getMediaType())) {
+        if (QueryUtil.isKeysetPagination(uriInfo)) {
+          return getJsonTasksAfter(uriInfo, firstResult, maxResults);
+        }
         return getJsonTasks(uriInfo, firstResult, maxResults);
       }
       else if (Hal.APPLICATION_HAL_JSON_TYPE.equals(variant.getMediaType())) {
+        if (QueryUtil.isKeysetPagination(uriInfo)) {
+          throw new InvalidRequestException(Status.BAD_REQUEST, "Parameter " + QueryUtil.AFTER_QUERY_PARAM + " is not supported for " + Hal.APPLICATION_HAL_JSON);
+        }
         return getHalTasks(uriInfo, firstResult, maxResults);
       }
     }
@@ -70,6 +76,15 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
     return queryTasks(queryDto, firstResult, maxResults);
   }
 
+  public List<TaskDto> getJsonTasksAfter(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
+    TaskQueryDto queryDto = new TaskQueryDto(getObjectMapper(), uriInfo.getQueryParameters());
+    TaskQuery query = queryDto.toQuery(getProcessEngine());
+
+    // enable initialization of form key:
+    query.initializeFormKeys();
+    return QueryUtil.listAfter(uriInfo, firstResult, maxResults, query::listAfter, query::cursorOf, TaskDto::fromEntity);
+  }
+
   public HalTaskList getHalTasks(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
     TaskQueryDto queryDto = new TaskQueryDto(getObjectMapper(), uriInfo.getQueryParameters());
 
@@ -25,6 +25,7 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.core.Variant;
 import org.operaton.bpm.engine.BadUserRequestException;
@@ -74,6 +75,11 @@ import org.operaton.bpm.engine.rest.util.URLEncodingUtil;
   @Override
   public List<HistoricProcessInstanceDto> getHistoricProcessInstances(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
     HistoricProcessInstanceQueryDto queryHistoriProcessInstanceDto = new HistoricProcessInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
+    if (QueryUtil.isKeysetPagination(uriInfo)) {
+      HistoricProcessInstanceQuery query = queryHistoriProcessInstanceDto.toQuery(processEngine);
+      return QueryUtil.listAfter(uriInfo, firstResult, maxResults, query::listAfter, query::cursorOf,
+          HistoricProcessInstanceDto::fromHistoricProcessInstance);
+    }
     return queryHistoricProcessInstances(queryHistoriProcessInstanceDto, firstResult, maxResults);
   }
 
@@ -92,6 +98,16 @@ import org.operaton.bpm.engine.rest.util.URLEncodingUtil;
     return historicProcessInstanceDtoResults;
   }
 
+  @Override
+  public Response streamHistoricProcessInstances(UriInfo uriInfo, Integer fetchSize) {
+    HistoricProcessInstanceQueryDto queryDto = new HistoricProcessInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
+    HistoricProcessInstanceQuery query = queryDto.toQuery(processEngine);
+
+    StreamingOutput output = QueryUtil.stream(query, fetchSize, HistoricProcessInstanceDto::fromHistoricProcessInstance, objectMapper);
+
+    return Response.ok(output, QueryUtil.APPLICATION_NDJSON).build();
+  }
+
   @Override
   public CountResultDto getHistoricProcessInstancesCount(UriInfo uriInfo) {
     HistoricProcessInstanceQueryDto queryDto = new HistoricProcessInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
@@ -19,6 +19,8 @@ package org.operaton.bpm.engine.rest.impl.history;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
 import java.util.List;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import org.operaton.bpm.engine.ProcessEngine;
 import org.operaton.bpm.engine.history.HistoricVariableInstance;
@@ -74,6 +76,19 @@ public class HistoricVariableInstanceRestServiceImpl implements HistoricVariable
     return historicVariableInstanceDtoResults;
   }
 
+  @Override
+  public Response streamHistoricVariableInstances(UriInfo uriInfo, Integer fetchSize) {
+    HistoricVariableInstanceQueryDto queryDto = new HistoricVariableInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
+    HistoricVariableInstanceQuery query = queryDto.toQuery(processEngine);
+    // values stored in byte arrays cannot be fetched while the results are streamed
+    query.disableBinaryFetching();
+    query.disableCustomObjectDeserialization();
+
+    StreamingOutput output = QueryUtil.stream(query, fetchSize, HistoricVariableInstanceDto::fromHistoricVariableInstance, objectMapper);
+
+    return Response.ok(output, QueryUtil.APPLICATION_NDJSON).build();
+  }
+
   @Override
   public CountResultDto getHistoricVariableInstancesCount(UriInfo uriInfo) {
     HistoricVariableInstanceQueryDto queryDto = new HistoricVariableInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
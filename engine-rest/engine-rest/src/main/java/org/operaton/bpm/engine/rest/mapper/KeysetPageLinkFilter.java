@@ -0,0 +1,53 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.rest.mapper;
+
+import java.net.URI;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.ext.Provider;
+
+import org.operaton.bpm.engine.rest.util.KeysetPage;
+import org.operaton.bpm.engine.rest.util.QueryUtil;
+
+/**
+ * Adds a <code>Link</code> header with relation <code>next</code> to responses containing
+ * a {@link KeysetPage}, so that the body of a list resource keeps its shape when
+ * it is requested with the {@value QueryUtil#AFTER_QUERY_PARAM} query parameter.
+ */
+@Provider
+public class KeysetPageLinkFilter implements ContainerResponseFilter {
+
+  public static final String LINK_HEADER = "Link";
+
+  @Override
+  public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+    Object entity = responseContext.getEntity();
+    if (entity instanceof KeysetPage) {
+      String nextCursor = ((KeysetPage<?>) entity).getNextCursor();
+      if (nextCursor != null) {
+        URI next = requestContext.getUriInfo().getRequestUriBuilder()
+            .replaceQueryParam(QueryUtil.AFTER_QUERY_PARAM, nextCursor)
+            .build();
+        responseContext.getHeaders().add(LINK_HEADER, "<" + next + ">; rel=\"next\"");
+      }
+    }
+  }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.rest.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Page of a list resource selected with keyset pagination, see
+ * {@link QueryUtil#listAfter(javax.ws.rs.core.UriInfo, Integer, Integer, java.util.function.BiFunction, java.util.function.Function, java.util.function.Function)}.
+ * The page is serialized like any other list; the cursor of the following page
+ * is sent in a <code>Link</code> header by the {@link org.operaton.bpm.engine.rest.mapper.KeysetPageLinkFilter}.
+ */
+public class KeysetPage<T> extends ArrayList<T> {
+
+  private static final long serialVersionUID = 1L;
+
+  protected final String nextCursor;
+
+  public KeysetPage(Collection<? extends T> results, String nextCursor) {
+    super(results);
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * @return the cursor of the last result if the page is full, otherwise null
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+}
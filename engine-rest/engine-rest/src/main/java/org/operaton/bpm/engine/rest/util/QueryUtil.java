@@ -16,11 +16,36 @@
  */
 package org.operaton.bpm.engine.rest.util;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
+
 import org.operaton.bpm.engine.query.Query;
+import org.operaton.bpm.engine.rest.exception.InvalidRequestException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class QueryUtil {
 
+  /**
+   * Newline delimited JSON: one JSON object per line.
+   */
+  public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+  public static final int DEFAULT_STREAM_FETCH_SIZE = 1000;
+
+  /**
+   * Query parameter of list resources that selects keyset pagination: the results following
+   * the given cursor are returned, an empty value selects the first page.
+   */
+  public static final String AFTER_QUERY_PARAM = "after";
+
   private QueryUtil() {}
 
   public static <T extends Query<?,?>, U> List<U> list(Query<T, U> query, Integer firstResult, Integer maxResults) {
@@ -42,4 +67,67 @@ public class QueryUtil {
     }
     return query.listPage(firstResult, maxResults);
   }
+
+  public static boolean isKeysetPagination(UriInfo uriInfo) {
+    return uriInfo.getQueryParameters().containsKey(AFTER_QUERY_PARAM);
+  }
+
+  /**
+   * Returns the page following the cursor of the {@value #AFTER_QUERY_PARAM} query parameter.
+   * If the page is full, it carries the cursor of its last result, which the
+   * {@link org.operaton.bpm.engine.rest.mapper.KeysetPageLinkFilter} sends as <code>Link</code>
+   * header with relation <code>next</code>.
+   *
+   * @param listAfter executes the query for a cursor and a page size, see e.g.
+   *          {@link org.operaton.bpm.engine.task.TaskQuery#listAfter(String, int)}
+   * @param cursorOf returns the cursor of a result, see e.g.
+   *          {@link org.operaton.bpm.engine.task.TaskQuery#cursorOf(org.operaton.bpm.engine.task.Task)}
+   */
+  public static <U, D> KeysetPage<D> listAfter(UriInfo uriInfo, Integer firstResult, Integer maxResults,
+      BiFunction<String, Integer, List<U>> listAfter, Function<U, String> cursorOf, Function<U, D> toDto) {
+    if (firstResult != null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "firstResult cannot be combined with " + AFTER_QUERY_PARAM);
+    }
+
+    String after = uriInfo.getQueryParameters().getFirst(AFTER_QUERY_PARAM);
+    String cursor = after == null || after.isEmpty() ? null : after;
+    int pageSize = maxResults != null ? maxResults : Integer.MAX_VALUE;
+
+    List<U> results = listAfter.apply(cursor, pageSize);
+    List<D> dtos = results.stream().map(toDto).collect(Collectors.toList());
+
+    String nextCursor = null;
+    if (!results.isEmpty() && results.size() == pageSize) {
+      nextCursor = cursorOf.apply(results.get(results.size() - 1));
+    }
+    return new KeysetPage<>(dtos, nextCursor);
+  }
+
+  /**
+   * Writes the results of the query as newline delimited JSON while they are read
+   * from the database, see {@link Query#forEach(java.util.function.Consumer, int)}.
+   */
+  public static <T extends Query<?,?>, U> StreamingOutput stream(Query<T, U> query, Integer fetchSize,
+      Function<U, ?> toDto, ObjectMapper objectMapper) {
+    int streamFetchSize = fetchSize != null ? fetchSize : DEFAULT_STREAM_FETCH_SIZE;
+    if (streamFetchSize <= 0) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "fetchSize must be greater than 0");
+    }
+
+    return output -> {
+      try {
+        query.forEach(result -> {
+          try {
+            output.write(objectMapper.writeValueAsBytes(toDto.apply(result)));
+            output.write('\n');
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }, streamFetchSize);
+
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    };
+  }
 }
@@ -41,6 +41,7 @@ import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 
 import io.restassured.http.ContentType;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -53,7 +54,10 @@ import org.operaton.bpm.engine.ExternalTaskService;
 import org.operaton.bpm.engine.ProcessEngineException;
 import org.operaton.bpm.engine.batch.Batch;
 import org.operaton.bpm.engine.exception.NotFoundException;
+import org.operaton.bpm.engine.exception.NullValueException;
+import org.operaton.bpm.engine.externaltask.CompleteExternalTaskBatchBuilder;
 import org.operaton.bpm.engine.externaltask.ExternalTask;
+import org.operaton.bpm.engine.externaltask.ExternalTaskCompletionResult;
 import org.operaton.bpm.engine.externaltask.ExternalTaskQuery;
 import org.operaton.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.operaton.bpm.engine.externaltask.LockedExternalTask;
@@ -102,6 +106,7 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
   protected static final String FETCH_EXTERNAL_TASK_URL = EXTERNAL_TASK_URL + "/fetchAndLock";
   protected static final String SINGLE_EXTERNAL_TASK_URL = EXTERNAL_TASK_URL + "/{id}";
   protected static final String COMPLETE_EXTERNAL_TASK_URL = SINGLE_EXTERNAL_TASK_URL + "/complete";
+  protected static final String COMPLETE_EXTERNAL_TASK_BATCH_URL = EXTERNAL_TASK_URL + "/complete";
   protected static final String GET_EXTERNAL_TASK_ERROR_DETAILS_URL = SINGLE_EXTERNAL_TASK_URL + "/errorDetails";
   protected static final String HANDLE_EXTERNAL_TASK_FAILURE_URL = SINGLE_EXTERNAL_TASK_URL + "/failure";
   protected static final String HANDLE_EXTERNAL_TASK_BPMN_ERROR_URL = SINGLE_EXTERNAL_TASK_URL + "/bpmnError";
@@ -127,6 +132,8 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
 
   protected UpdateExternalTaskRetriesBuilder updateRetriesBuilder;
 
+  protected CompleteExternalTaskBatchBuilder completeBatchBuilder;
+
   @Before
   public void setUpRuntimeData() {
     externalTaskService = mock(ExternalTaskService.class);
@@ -186,6 +193,10 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
     when(updateRetriesBuilder.historicProcessInstanceQuery(any())).thenReturn(updateRetriesBuilder);
     when(updateRetriesBuilder.setAsync(anyInt())).thenReturn(batch);
 
+    completeBatchBuilder = mock(CompleteExternalTaskBatchBuilder.class);
+    when(externalTaskService.completeBatch(any())).thenReturn(completeBatchBuilder);
+    when(completeBatchBuilder.complete(any(), any(), any())).thenReturn(completeBatchBuilder);
+
     // querying
     externalTaskQueryMock = mock(ExternalTaskQuery.class);
     when(externalTaskQueryMock.externalTaskId(any())).thenReturn(externalTaskQueryMock);
@@ -935,6 +946,94 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
     verifyNoMoreInteractions(externalTaskService);
   }
 
+  @Test
+  public void testCompleteBatch() {
+    ExternalTaskCompletionResult successfulResult = mock(ExternalTaskCompletionResult.class);
+    when(successfulResult.getExternalTaskId()).thenReturn("anExternalTaskId");
+    when(successfulResult.isSuccessful()).thenReturn(true);
+
+    ExternalTaskCompletionResult failedResult = mock(ExternalTaskCompletionResult.class);
+    when(failedResult.getExternalTaskId()).thenReturn("anotherExternalTaskId");
+    when(failedResult.getException()).thenReturn(new NotFoundException("Cannot find external task with id anotherExternalTaskId"));
+
+    when(completeBatchBuilder.execute()).thenReturn(Arrays.asList(successfulResult, failedResult));
+
+    Map<String, Object> firstTask = new HashMap<>();
+    firstTask.put("externalTaskId", "anExternalTaskId");
+    firstTask.put("variables", VariablesBuilder.create().variable("var1", "val1").getVariables());
+
+    Map<String, Object> secondTask = new HashMap<>();
+    secondTask.put("externalTaskId", "anotherExternalTaskId");
+
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("tasks", Arrays.asList(firstTask, secondTask));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].externalTaskId", equalTo("anExternalTaskId"))
+      .body("[0].successful", equalTo(true))
+      .body("[0].error", Matchers.nullValue())
+      .body("[1].externalTaskId", equalTo("anotherExternalTaskId"))
+      .body("[1].successful", equalTo(false))
+      .body("[1].error.type", equalTo(NotFoundException.class.getSimpleName()))
+      .body("[1].error.message", equalTo("Cannot find external task with id anotherExternalTaskId"))
+    .when()
+      .post(COMPLETE_EXTERNAL_TASK_BATCH_URL);
+
+    verify(externalTaskService).completeBatch("aWorkerId");
+    verify(completeBatchBuilder).complete(
+        eq("anExternalTaskId"),
+        argThat(EqualsVariableMap.matches()
+          .matcher("var1", EqualsUntypedValue.matcher().value("val1"))),
+        eq((Map<String, Object>) null));
+    verify(completeBatchBuilder).complete("anotherExternalTaskId", null, null);
+    verify(completeBatchBuilder).execute();
+    verifyNoMoreInteractions(externalTaskService, completeBatchBuilder);
+  }
+
+  @Test
+  public void testCompleteBatchWithoutTasks() {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("workerId", "aWorkerId");
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("The external tasks to complete cannot be null."))
+    .when()
+      .post(COMPLETE_EXTERNAL_TASK_BATCH_URL);
+
+    verifyNoMoreInteractions(externalTaskService);
+  }
+
+  @Test
+  public void testCompleteBatchWithoutWorkerId() {
+    when(completeBatchBuilder.execute()).thenThrow(new NullValueException("workerId is null"));
+
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("tasks", Collections.emptyList());
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("workerId is null"))
+    .when()
+      .post(COMPLETE_EXTERNAL_TASK_BATCH_URL);
+  }
+
   @Test
   public void testCompleteWithLocalVariables() {
     Map<String, Object> parameters = new HashMap<>();
@@ -23,8 +23,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -40,11 +44,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response.Status;
 
 import org.operaton.bpm.engine.BadUserRequestException;
+import org.operaton.bpm.engine.exception.NotValidException;
 import org.operaton.bpm.engine.history.HistoricProcessInstance;
 import org.operaton.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.operaton.bpm.engine.impl.calendar.DateTimeUtil;
@@ -79,6 +85,7 @@ public class HistoricProcessInstanceRestServiceQueryTest extends AbstractRestSer
 
   protected static final String HISTORIC_PROCESS_INSTANCE_RESOURCE_URL = TEST_RESOURCE_ROOT_PATH + "/history/process-instance";
   protected static final String HISTORIC_PROCESS_INSTANCE_COUNT_RESOURCE_URL = HISTORIC_PROCESS_INSTANCE_RESOURCE_URL + "/count";
+  protected static final String HISTORIC_PROCESS_INSTANCE_STREAM_RESOURCE_URL = HISTORIC_PROCESS_INSTANCE_RESOURCE_URL + "/stream";
 
   protected HistoricProcessInstanceQuery mockedQuery;
 
@@ -2316,4 +2323,123 @@ public class HistoricProcessInstanceRestServiceQueryTest extends AbstractRestSer
     verify(mockedQuery).rootProcessInstances();
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testStreamQuery() {
+    doAnswer(invocation -> {
+      Consumer<HistoricProcessInstance> action = invocation.getArgument(0);
+      MockProvider.createMockHistoricProcessInstances().forEach(action);
+      return null;
+    }).when(mockedQuery).forEach(any(), anyInt());
+
+    Response response = given()
+        .queryParam("processInstanceId", MockProvider.EXAMPLE_PROCESS_INSTANCE_ID)
+        .queryParam("fetchSize", 50)
+      .then()
+        .expect()
+          .statusCode(Status.OK.getStatusCode())
+          .contentType("application/x-ndjson")
+        .when()
+          .get(HISTORIC_PROCESS_INSTANCE_STREAM_RESOURCE_URL);
+
+    InOrder inOrder = inOrder(mockedQuery);
+    inOrder.verify(mockedQuery).processInstanceId(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID);
+    inOrder.verify(mockedQuery).forEach(any(Consumer.class), eq(50));
+
+    String[] lines = response.asString().split("\n");
+    assertThat(lines).hasSize(1);
+    assertThat(from(lines[0]).getString("id")).isEqualTo(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID);
+    assertThat(from(lines[0]).getString("state")).isEqualTo(MockProvider.EXAMPLE_HISTORIC_PROCESS_INSTANCE_STATE);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testStreamQueryWithInvalidFetchSize() {
+    given()
+      .queryParam("fetchSize", 0)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+        .body("message", equalTo("fetchSize must be greater than 0"))
+      .when()
+        .get(HISTORIC_PROCESS_INSTANCE_STREAM_RESOURCE_URL);
+
+    verify(mockedQuery, never()).forEach(any(Consumer.class), anyInt());
+  }
+
+  @Test
+  public void testKeysetPagination() {
+    List<HistoricProcessInstance> mockInstances = MockProvider.createMockHistoricProcessInstances();
+    when(mockedQuery.listAfter("aCursor", 1)).thenReturn(mockInstances);
+    when(mockedQuery.cursorOf(mockInstances.get(0))).thenReturn("aNextCursor");
+
+    given()
+      .queryParam("after", "aCursor")
+      .queryParam("maxResults", 1)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .header("Link", containsString("after=aNextCursor"))
+        .header("Link", containsString("rel=\"next\""))
+        .body("[0].id", equalTo(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID))
+      .when()
+        .get(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+
+    verify(mockedQuery).listAfter("aCursor", 1);
+    verify(mockedQuery, never()).listPage(anyInt(), anyInt());
+  }
+
+  @Test
+  public void testKeysetPaginationFirstPage() {
+    when(mockedQuery.listAfter(null, 10)).thenReturn(MockProvider.createMockHistoricProcessInstances());
+
+    given()
+      .queryParam("after", "")
+      .queryParam("maxResults", 10)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .header("Link", (String) null)
+        .body("size()", equalTo(1))
+      .when()
+        .get(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+
+    verify(mockedQuery).listAfter(null, 10);
+  }
+
+  @Test
+  public void testKeysetPaginationWithFirstResult() {
+    given()
+      .queryParam("after", "aCursor")
+      .queryParam("firstResult", 10)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+        .body("message", equalTo("firstResult cannot be combined with after"))
+      .when()
+        .get(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+  }
+
+  @Test
+  public void testKeysetPaginationWithCursorOfOtherOrdering() {
+    String message = "Cursor 'aCursor' does not match the ordering of the query";
+    when(mockedQuery.listAfter("aCursor", 10)).thenThrow(new NotValidException(message));
+
+    given()
+      .queryParam("after", "aCursor")
+      .queryParam("maxResults", 10)
+      .queryParam("sortBy", "startTime")
+      .queryParam("sortOrder", "asc")
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .body("type", equalTo(NotValidException.class.getSimpleName()))
+        .body("message", equalTo(message))
+      .when()
+        .get(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+  }
+
 }
@@ -21,6 +21,7 @@ import static org.hamcrest.core.Is.is;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.doNothing;
@@ -37,6 +38,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.Response.Status;
 import org.operaton.bpm.engine.ExternalTaskService;
@@ -428,11 +430,169 @@ public class FetchAndLockHandlerTest {
     assertThat(argumentCaptor.getValue().getMessage(), is("Request rejected due to shutdown of application server."));
   }
 
-  protected FetchExternalTasksExtendedDto createDto(Long responseTimeout, String workerId) {
+  @Test
+  public void shouldOnlyFetchPendingRequestsOfNotifiedTopics() {
+    // given
+    doReturn(Collections.emptyList()).when(externalTaskQueryTopicBuilder).execute();
+
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "aWorkerId", "aTopicName"),
+        mock(AsyncResponse.class), processEngine);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "anotherWorkerId", "anotherTopicName"),
+        mock(AsyncResponse.class), processEngine);
+    handler.acquire();
+
+    // when
+    handler.notificationListener.onExternalTasksAvailable(Set.of("anotherTopicName"));
+    handler.acquire();
+
+    // then
+    verify(externalTaskQueryTopicBuilder, times(2)).topic(eq("aTopicName"), anyLong());
+    verify(externalTaskQueryTopicBuilder, times(3)).topic(eq("anotherTopicName"), anyLong());
+    assertThat(handler.getPendingRequests().size(), is(2));
+  }
+
+  @Test
+  public void shouldFetchAllPendingRequestsWhenPeriodicFetchIsDue() {
+    // given
+    doReturn(Collections.emptyList()).when(externalTaskQueryTopicBuilder).execute();
+
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "aWorkerId", "aTopicName"),
+        mock(AsyncResponse.class), processEngine);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "anotherWorkerId", "anotherTopicName"),
+        mock(AsyncResponse.class), processEngine);
+    handler.acquire();
+
+    addSecondsToClock(30);
+
+    // when
+    handler.notificationListener.onExternalTasksAvailable(Set.of("anotherTopicName"));
+    handler.acquire();
+
+    // then
+    verify(externalTaskQueryTopicBuilder, times(3)).topic(eq("aTopicName"), anyLong());
+    verify(externalTaskQueryTopicBuilder, times(3)).topic(eq("anotherTopicName"), anyLong());
+  }
+
+  @Test
+  public void shouldSuspendUntilPeriodicFetchAfterNotification() {
+    // given
+    doReturn(Collections.emptyList()).when(externalTaskQueryTopicBuilder).execute();
+
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT), mock(AsyncResponse.class), processEngine);
+    handler.acquire();
+
+    addSecondsToClock(10);
+
+    // when
+    handler.notificationListener.onExternalTasksAvailable(Set.of("anotherTopicName"));
+    handler.acquire();
+
+    // then
+    verify(handler).suspend(FetchAndLockHandlerImpl.PENDING_REQUEST_FETCH_INTERVAL - 10000);
+  }
+
+  @Test
+  public void shouldFetchOncePerRequestGroupWithoutTasks() {
+    // given
+    doReturn(Collections.emptyList()).when(externalTaskQueryTopicBuilder).execute();
+
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "aWorkerId"), mock(AsyncResponse.class), processEngine);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "anotherWorkerId"), mock(AsyncResponse.class), processEngine);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "aThirdWorkerId"), mock(AsyncResponse.class), processEngine);
+
+    // when
+    handler.acquire();
+
+    // then
+    verify(externalTaskQueryTopicBuilder, times(4)).execute();
+    assertThat(handler.getPendingRequests().size(), is(3));
+    assertThat(handler.pendingRequestGroups.size(), is(1));
+  }
+
+  @Test
+  public void shouldFetchForRequestsOfGroupInOrderOfArrival() {
+    // given
+    when(externalTaskQueryTopicBuilder.execute()).thenReturn(
+        Collections.emptyList(),
+        Collections.emptyList(),
+        Collections.emptyList(),
+        Collections.nCopies(5, lockedExternalTaskMock),
+        Collections.nCopies(2, lockedExternalTaskMock));
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "aWorkerId"), asyncResponse, processEngine);
+    AsyncResponse anotherAsyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "anotherWorkerId"), anotherAsyncResponse, processEngine);
+    AsyncResponse aThirdAsyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "aThirdWorkerId"), aThirdAsyncResponse, processEngine);
+
+    // when
+    handler.acquire();
+
+    // then
+    verify(asyncResponse).resume(argThat(IsCollectionWithSize.hasSize(5)));
+    verify(anotherAsyncResponse).resume(argThat(IsCollectionWithSize.hasSize(2)));
+    verify(aThirdAsyncResponse, never()).resume(any());
+    verify(externalTaskQueryTopicBuilder, times(5)).execute();
+    assertThat(handler.getPendingRequests().size(), is(1));
+  }
+
+  @Test
+  public void shouldResumeAsyncResponseDueToQueueCapacityExceeded() {
+    // given
+    doReturn(Collections.emptyList()).when(externalTaskQueryTopicBuilder).execute();
+
+    handler.parseQueueCapacityParam("1");
+    handler.addPendingRequest(createDto(5000L, "aWorkerId"), mock(AsyncResponse.class), processEngine);
+
+    // when
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(5000L, "anotherWorkerId"), asyncResponse, processEngine);
+
+    // then
+    verify(asyncResponse).resume(any(InvalidRequestException.class));
+  }
+
+  @Test
+  public void shouldFetchForRequestGroupsInParallel() {
+    // given
+    handler.parseHandlerThreadsParam("2");
+    handler.initFetchExecutor();
+
+    try {
+      doReturn(Collections.emptyList()).when(externalTaskQueryTopicBuilder).execute();
+
+      AsyncResponse asyncResponse = mock(AsyncResponse.class);
+      handler.addPendingRequest(createDto(5000L, "aWorkerId", "aTopicName"), asyncResponse, processEngine);
+      AsyncResponse anotherAsyncResponse = mock(AsyncResponse.class);
+      handler.addPendingRequest(createDto(5000L, "anotherWorkerId", "anotherTopicName"), anotherAsyncResponse, processEngine);
+      handler.acquire();
+
+      // assume
+      assertThat(handler.pendingRequestGroups.size(), is(2));
+
+      doReturn(Collections.singletonList(lockedExternalTaskMock)).when(externalTaskQueryTopicBuilder).execute();
+
+      // when
+      handler.notificationListener.onExternalTasksAvailable(Set.of("aTopicName", "anotherTopicName"));
+      handler.acquire();
+
+      // then
+      verify(asyncResponse).resume(argThat(IsCollectionWithSize.hasSize(1)));
+      verify(anotherAsyncResponse).resume(argThat(IsCollectionWithSize.hasSize(1)));
+      assertThat(handler.getPendingRequests().size(), is(0));
+      verify(handler).suspend(Long.MAX_VALUE);
+    }
+    finally {
+      handler.fetchExecutor.shutdown();
+    }
+  }
+
+  protected FetchExternalTasksExtendedDto createDto(Long responseTimeout, String workerId, String topicName) {
     FetchExternalTasksExtendedDto externalTask = new FetchExternalTasksExtendedDto();
 
     FetchExternalTasksExtendedDto.FetchExternalTaskTopicDto topic = new FetchExternalTasksExtendedDto.FetchExternalTaskTopicDto();
-    topic.setTopicName("aTopicName");
+    topic.setTopicName(topicName);
     topic.setLockDuration(12354L);
 
     externalTask.setMaxTasks(5);
@@ -446,6 +606,10 @@ public class FetchAndLockHandlerTest {
     return externalTask;
   }
 
+  protected FetchExternalTasksExtendedDto createDto(Long responseTimeout, String workerId) {
+    return createDto(responseTimeout, workerId, "aTopicName");
+  }
+
   protected FetchExternalTasksExtendedDto createDto(Long responseTimeout) {
     return createDto(responseTimeout, "aWorkerId");
   }
@@ -23,6 +23,7 @@ import org.operaton.bpm.engine.authorization.Permissions;
 import org.operaton.bpm.engine.authorization.Resources;
 import org.operaton.bpm.engine.batch.Batch;
 import org.operaton.bpm.engine.exception.NotFoundException;
+import org.operaton.bpm.engine.externaltask.CompleteExternalTaskBatchBuilder;
 import org.operaton.bpm.engine.externaltask.ExternalTask;
 import org.operaton.bpm.engine.externaltask.ExternalTaskQuery;
 import org.operaton.bpm.engine.externaltask.ExternalTaskQueryBuilder;
@@ -177,6 +178,24 @@ public interface ExternalTaskService {
    */
   public void complete(String externalTaskId, String workerId, Map<String, Object> variables, Map<String, Object> localVariables);
 
+  /**
+   * <p>Completes many external tasks on behalf of a worker in one transaction.
+   * The tasks must be assigned to the worker. Every task gets its own
+   * result, so that a task that cannot be completed does not prevent the
+   * completion of the other tasks.</p>
+   *
+   * <p>The following permissions are required for every task, a task the
+   * current user is not authorized for is reported as failed:</p>
+   *   <ul>
+   *     <li>{@link Permissions#UPDATE} on {@link Resources#PROCESS_INSTANCE}</li>
+   *     <li>{@link Permissions#UPDATE_INSTANCE} on {@link Resources#PROCESS_DEFINITION}</li>
+   *   </ul>
+   *
+   * @param workerId the id of the worker that completes the tasks
+   * @return a builder to define and execute the completion of the tasks
+   */
+  public CompleteExternalTaskBatchBuilder completeBatch(String workerId);
+
   /**
    * <p>Extends a lock of an external task on behalf of a worker.
    * The given task must be assigned to the worker.</p>
@@ -44,6 +44,7 @@ import org.operaton.bpm.engine.runtime.ExecutionQuery;
 import org.operaton.bpm.engine.runtime.Incident;
 import org.operaton.bpm.engine.runtime.IncidentQuery;
 import org.operaton.bpm.engine.runtime.MessageCorrelationAsyncBuilder;
+import org.operaton.bpm.engine.runtime.MessageCorrelationBatchBuilder;
 import org.operaton.bpm.engine.runtime.MessageCorrelationBuilder;
 import org.operaton.bpm.engine.runtime.ModificationBuilder;
 import org.operaton.bpm.engine.runtime.NativeExecutionQuery;
@@ -2234,6 +2235,15 @@ public interface RuntimeService {
    */
   MessageCorrelationAsyncBuilder createMessageCorrelationAsync(String messageName);
 
+  /**
+   * Correlate many messages synchronously in one transaction using a fluent builder.
+   * The waiting executions of all messages are resolved with a few set-based queries,
+   * which makes this considerably cheaper than correlating the messages one by one.
+   *
+   * @return the fluent builder for defining the message correlations.
+   */
+  MessageCorrelationBatchBuilder createMessageCorrelationBatch();
+
   /**
    * Define a modification of a process instance in terms of activity cancellations
    * and instantiations via a fluent builder. Instructions are executed in the order they are specified.
@@ -0,0 +1,71 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.externaltask;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A fluent builder to complete many external tasks of one worker in one transaction.</p>
+ *
+ * <p>Every added task is completed like {@link org.operaton.bpm.engine.ExternalTaskService#complete(String, String, Map, Map)}.
+ * The tasks are loaded with a single query and the changes of all completions are flushed once. A task that
+ * does not exist, is locked by a different worker, is suspended or may not be updated by the current user does
+ * not prevent the completion of the other tasks: it is reported as a failed {@link ExternalTaskCompletionResult}.</p>
+ *
+ * <p>If the completion of a task fails while continuing its process instance, the batch is rolled back and
+ * every task is completed in a transaction of its own, so that only the failing tasks are reported as failed.</p>
+ */
+public interface CompleteExternalTaskBatchBuilder {
+
+  /**
+   * Adds an external task to complete.
+   *
+   * @param externalTaskId the id of the external task, must not be <code>null</code>
+   * @return the builder
+   */
+  CompleteExternalTaskBatchBuilder complete(String externalTaskId);
+
+  /**
+   * Adds an external task to complete.
+   *
+   * @param externalTaskId the id of the external task, must not be <code>null</code>
+   * @param variables a map of variables to set on the execution (non-local) the external task is assigned to,
+   *   can be <code>null</code>
+   * @return the builder
+   */
+  CompleteExternalTaskBatchBuilder complete(String externalTaskId, Map<String, Object> variables);
+
+  /**
+   * Adds an external task to complete.
+   *
+   * @param externalTaskId the id of the external task, must not be <code>null</code>
+   * @param variables a map of variables to set on the execution (non-local) the external task is assigned to,
+   *   can be <code>null</code>
+   * @param localVariables a map of variables to set on the execution locally, can be <code>null</code>
+   * @return the builder
+   */
+  CompleteExternalTaskBatchBuilder complete(String externalTaskId, Map<String, Object> variables, Map<String, Object> localVariables);
+
+  /**
+   * Completes all added external tasks.
+   *
+   * @return one result per added external task, in the order the tasks were added
+   */
+  List<ExternalTaskCompletionResult> execute();
+
+}
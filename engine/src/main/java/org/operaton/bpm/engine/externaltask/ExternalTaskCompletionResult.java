@@ -0,0 +1,46 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.externaltask;
+
+import org.operaton.bpm.engine.ProcessEngineException;
+
+/**
+ * The result of completing one external task of a {@link CompleteExternalTaskBatchBuilder}.
+ */
+public interface ExternalTaskCompletionResult {
+
+  /**
+   * @return the id of the external task
+   */
+  String getExternalTaskId();
+
+  /**
+   * @return <code>true</code> if the external task was completed
+   */
+  boolean isSuccessful();
+
+  /**
+   * Returns the reason why the external task could not be completed, e.g. a
+   * {@link org.operaton.bpm.engine.exception.NotFoundException} if the task does not exist, a
+   * {@link org.operaton.bpm.engine.BadUserRequestException} if it is locked by a different worker or an
+   * {@link org.operaton.bpm.engine.AuthorizationException} if the current user may not update it.
+   *
+   * @return the exception, or <code>null</code> if the external task was completed
+   */
+  ProcessEngineException getException();
+
+}
@@ -381,6 +381,28 @@ public interface HistoricProcessInstanceQuery extends Query<HistoricProcessInsta
    */
   HistoricProcessInstanceQuery orderByTenantId();
 
+  /**
+   * <p>Executes the query and returns at most maxResults historic process instances that follow
+   * the instance the cursor points at (keyset pagination). Unlike {@link #listPage(int, int)}, the
+   * database does not need to read and skip the instances of the previous pages.</p>
+   *
+   * <p>Only supported if the query is not ordered or ordered by one of
+   * {@link #orderByProcessInstanceId()} and {@link #orderByProcessInstanceStartTime()}.
+   * Instances with an equal value of the ordering property are ordered by id.</p>
+   *
+   * @param cursor the cursor of the last instance of the previous page (see {@link #cursorOf(HistoricProcessInstance)})
+   *               or <code>null</code> to get the first page
+   * @throws org.operaton.bpm.engine.exception.NotValidException if the ordering of the query is not supported
+   *               or the cursor is invalid or was created for another ordering
+   */
+  List<HistoricProcessInstance> listAfter(String cursor, int maxResults);
+
+  /**
+   * @return the cursor pointing at the given historic process instance in the ordering of this query,
+   *         to be passed to {@link #listAfter(String, int)} for the next page
+   */
+  String cursorOf(HistoricProcessInstance historicProcessInstance);
+
   /**
    * Only select historic process instances that were started as of the provided
    * date. (Date will be adjusted to reflect midnight)
@@ -18,6 +18,7 @@ package org.operaton.bpm.engine.impl;
 
 import static org.operaton.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 import static org.operaton.bpm.engine.impl.util.EnsureUtil.ensureNull;
+import static org.operaton.bpm.engine.impl.util.EnsureUtil.ensurePositive;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
@@ -27,7 +28,9 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.operaton.bpm.engine.ProcessEngineException;
 import org.operaton.bpm.engine.exception.NotValidException;
@@ -56,11 +59,15 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
   public static final String SORTORDER_ASC = "asc";
   public static final String SORTORDER_DESC = "desc";
 
+  protected static final String KEYSET_ID_COLUMN = "ID_";
+
   protected enum ResultType {
     LIST, LIST_PAGE, LIST_IDS, LIST_DEPLOYMENT_ID_MAPPINGS, SINGLE_RESULT, COUNT
   }
   protected transient CommandExecutor commandExecutor;
 
+  protected transient KeysetCursor keysetCursor;
+
   protected ResultType resultType;
 
   protected Map<String, String> expressions = new HashMap<>();
@@ -150,6 +157,131 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return (List<U>) executeResult(resultType);
   }
 
+  public void forEach(Consumer<? super U> action, int fetchSize) {
+    ensureNotNull("action", action);
+    ensurePositive("fetchSize", (long) fetchSize);
+
+    this.fetchSize = fetchSize;
+    try {
+      if (commandExecutor != null) {
+        commandExecutor.execute(commandContext -> {
+          evaluateExpressionsAndExecuteStream(commandContext, action);
+          return null;
+        });
+      } else {
+        evaluateExpressionsAndExecuteStream(Context.getCommandContext(), action);
+      }
+    } finally {
+      this.fetchSize = 0;
+    }
+  }
+
+  /**
+   * Returns at most maxResults results that follow the result the cursor points at
+   * (see {@link #cursorOf(Object)}) in the ordering of this query. The cursor is
+   * translated into a condition on the ordering, so that the database does not
+   * need to skip the results of the previous pages.
+   *
+   * @param cursor the cursor of the last result of the previous page or null for the first page
+   */
+  public List<U> listAfter(String cursor, int maxResults) {
+    checkQueryOk();
+    QueryOrderingProperty orderingProperty = getKeysetOrderingProperty();
+    String sortColumn = getKeysetSortColumn(orderingProperty);
+    Direction direction = getKeysetDirection(orderingProperty);
+
+    KeysetCursor appliedCursor = null;
+    if (cursor != null) {
+      appliedCursor = KeysetCursor.decode(cursor);
+      if (!Objects.equals(sortColumn, appliedCursor.getSortColumn())
+          || !direction.equals(appliedCursor.getDirection())) {
+        throw new NotValidException("Cursor '" + cursor + "' does not match the ordering of the query");
+      }
+      // the column is taken from the ordering, not from the client provided cursor
+      appliedCursor.setSortColumn(sortColumn);
+      appliedCursor.setComparator(Direction.DESCENDING.equals(direction) ? "<" : ">");
+    }
+
+    // the id breaks ties between results with an equal value of the ordering property
+    QueryOrderingProperty tieBreaker = null;
+    if (sortColumn != null) {
+      tieBreaker = new QueryOrderingProperty(new QueryPropertyImpl(KEYSET_ID_COLUMN), direction);
+      orderingProperties.add(tieBreaker);
+    }
+
+    this.keysetCursor = appliedCursor;
+    try {
+      return listPage(0, maxResults);
+    } finally {
+      this.keysetCursor = null;
+      if (tieBreaker != null) {
+        orderingProperties.remove(tieBreaker);
+      }
+    }
+  }
+
+  /**
+   * @return the cursor pointing at the given result of this query, see {@link #listAfter(String, int)}
+   */
+  public String cursorOf(U result) {
+    ensureNotNull("result", result);
+    QueryOrderingProperty orderingProperty = getKeysetOrderingProperty();
+    QueryProperty sortProperty = orderingProperty != null ? orderingProperty.getQueryProperty() : null;
+
+    KeysetCursor cursor = createKeysetCursor(result, sortProperty);
+    cursor.setSortColumn(getKeysetSortColumn(orderingProperty));
+    cursor.setDirection(getKeysetDirection(orderingProperty));
+    return cursor.encode();
+  }
+
+  protected QueryOrderingProperty getKeysetOrderingProperty() {
+    if (orderingProperties.isEmpty()) {
+      return null;
+    }
+
+    QueryOrderingProperty orderingProperty = orderingProperties.get(0);
+    if (orderingProperties.size() > 1
+        || !orderingProperty.isContainedProperty()
+        || !isKeysetProperty(orderingProperty.getQueryProperty())) {
+      throw new NotValidException("Invalid query: keyset pagination is not supported for the ordering of the query");
+    }
+    return orderingProperty;
+  }
+
+  protected Direction getKeysetDirection(QueryOrderingProperty orderingProperty) {
+    return orderingProperty != null ? orderingProperty.getDirection() : Direction.ASCENDING;
+  }
+
+  protected String getKeysetSortColumn(QueryOrderingProperty orderingProperty) {
+    if (orderingProperty == null) {
+      return null;
+    }
+    String column = orderingProperty.getQueryProperty().getName();
+    return KEYSET_ID_COLUMN.equals(column) ? null : column;
+  }
+
+  /**
+   * Whether {@link #listAfter(String, int)} supports ordering the results by the given property.
+   * The property must not be nullable and the query mapping must apply the
+   * {@code keysetCursor} condition.
+   */
+  protected boolean isKeysetProperty(QueryProperty property) {
+    return false;
+  }
+
+  /**
+   * Creates the cursor of a result of this query.
+   *
+   * @param sortProperty the property the query is ordered by or null if it is ordered by id
+   */
+  protected KeysetCursor createKeysetCursor(U result, QueryProperty sortProperty) {
+    throw new NotValidException("Invalid query: keyset pagination is not supported by " + getClass().getSimpleName());
+  }
+
+  public KeysetCursor getKeysetCursor() {
+    return keysetCursor;
+  }
+
   public Object executeResult(ResultType resultType) {
 
     if (commandExecutor != null) {
@@ -219,6 +351,40 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return !hasExcludingConditions() ? executeList(commandContext, page) : new ArrayList<>();
   }
 
+  public void evaluateExpressionsAndExecuteStream(CommandContext commandContext, Consumer<? super U> action) {
+    validate();
+    evaluateExpressions();
+    if (!hasExcludingConditions()) {
+      executeStream(commandContext, action);
+    }
+  }
+
+  /**
+   * Passes the results of the query to the action. Queries that can read their results
+   * with a cursor override this; by default, the results are selected page by page within
+   * the command, using the fetch size as page size. The selected entities stay in the entity
+   * cache of the command and the offset of every page is skipped again, so the default does
+   * not keep the memory constant.
+   */
+  protected void executeStream(CommandContext commandContext, Consumer<? super U> action) {
+    int originalFirstResult = firstResult;
+    int originalMaxResults = maxResults;
+    try {
+      firstResult = 0;
+      maxResults = fetchSize;
+      List<U> results;
+      do {
+        results = executeList(commandContext, new Page(firstResult, maxResults));
+        results.forEach(action);
+        firstResult += maxResults;
+      } while (results.size() == maxResults);
+
+    } finally {
+      firstResult = originalFirstResult;
+      maxResults = originalMaxResults;
+    }
+  }
+
   /**
    * Whether or not the query has excluding conditions. If the query has excluding conditions,
    * (e.g. task due date before and after are excluding), the SQL query is avoided and a default result is
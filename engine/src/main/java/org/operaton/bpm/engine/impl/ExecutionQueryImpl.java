@@ -20,11 +20,14 @@ import static org.operaton.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.ArrayList;
 import java.util.List;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.context.Context;
 import org.operaton.bpm.engine.impl.event.EventType;
 
 import org.operaton.bpm.engine.impl.interceptor.CommandContext;
 import org.operaton.bpm.engine.impl.interceptor.CommandExecutor;
 import org.operaton.bpm.engine.impl.persistence.entity.SuspensionState;
+import org.operaton.bpm.engine.impl.variable.serializer.VariableSerializers;
 import org.operaton.bpm.engine.runtime.Execution;
 import org.operaton.bpm.engine.runtime.ExecutionQuery;
 
@@ -54,6 +57,8 @@ public class ExecutionQueryImpl extends AbstractVariableQueryImpl<ExecutionQuery
   protected boolean isTenantIdSet = false;
   protected String[] tenantIds;
 
+  protected List<QueryVariableValue> correlationKeyValues = new ArrayList<>();
+
   public ExecutionQueryImpl() {
   }
 
@@ -145,6 +150,17 @@ public class ExecutionQueryImpl extends AbstractVariableQueryImpl<ExecutionQuery
     return this;
   }
 
+  /**
+   * Same as {@link #processVariableValueEquals(String, Object)} for a variable that
+   * process definitions declare as correlation key: the correlation key index is used
+   * for process instances that have an entry for the variable, the variable table for
+   * all others.
+   */
+  public ExecutionQuery correlationKeyValueEquals(String variableName, Object variableValue) {
+    correlationKeyValues.add(createQueryVariableValue(variableName, variableValue, QueryOperator.EQUALS, false));
+    return this;
+  }
+
   public ExecutionQuery incidentType(String incidentType) {
     ensureNotNull("incident type", incidentType);
     this.incidentType = incidentType;
@@ -204,6 +220,19 @@ public class ExecutionQueryImpl extends AbstractVariableQueryImpl<ExecutionQuery
     return this;
   }
 
+  @Override
+  protected void ensureVariablesInitialized() {
+    super.ensureVariablesInitialized();
+    if (!correlationKeyValues.isEmpty()) {
+      ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+      VariableSerializers variableSerializers = processEngineConfiguration.getVariableSerializers();
+      String dbType = processEngineConfiguration.getDatabaseType();
+      for (QueryVariableValue correlationKeyValue : correlationKeyValues) {
+        correlationKeyValue.initialize(variableSerializers, dbType);
+      }
+    }
+  }
+
   //results ////////////////////////////////////////////////////
 
   @Override
@@ -227,6 +256,10 @@ public class ExecutionQueryImpl extends AbstractVariableQueryImpl<ExecutionQuery
 
   //getters ////////////////////////////////////////////////////
 
+  public List<QueryVariableValue> getCorrelationKeyValues() {
+    return correlationKeyValues;
+  }
+
   public String getProcessDefinitionKey() {
     return processDefinitionKey;
   }
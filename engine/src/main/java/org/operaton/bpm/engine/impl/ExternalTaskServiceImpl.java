@@ -20,9 +20,11 @@ import java.util.List;
 import java.util.Map;
 import org.operaton.bpm.engine.ExternalTaskService;
 import org.operaton.bpm.engine.batch.Batch;
+import org.operaton.bpm.engine.externaltask.CompleteExternalTaskBatchBuilder;
 import org.operaton.bpm.engine.externaltask.ExternalTaskQuery;
 import org.operaton.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.operaton.bpm.engine.externaltask.FetchAndLockBuilder;
+import org.operaton.bpm.engine.impl.externaltask.CompleteExternalTaskBatchBuilderImpl;
 import org.operaton.bpm.engine.impl.externaltask.FetchAndLockBuilderImpl;
 import org.operaton.bpm.engine.externaltask.UpdateExternalTaskRetriesSelectBuilder;
 import org.operaton.bpm.engine.impl.cmd.CompleteExternalTaskCmd;
@@ -80,6 +82,11 @@ public class ExternalTaskServiceImpl extends ServiceImpl implements ExternalTask
     commandExecutor.execute(new CompleteExternalTaskCmd(externalTaskId, workerId, variables, localVariables));
   }
 
+  @Override
+  public CompleteExternalTaskBatchBuilder completeBatch(String workerId) {
+    return new CompleteExternalTaskBatchBuilderImpl(commandExecutor, workerId);
+  }
+
   @Override
   public void handleFailure(String externalTaskId, String workerId, String errorMessage, int retries, long retryDuration) {
     this.handleFailure(externalTaskId,workerId,errorMessage,null,retries,retryDuration);
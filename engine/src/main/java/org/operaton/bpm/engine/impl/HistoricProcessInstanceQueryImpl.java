@@ -32,6 +32,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.operaton.bpm.engine.BadUserRequestException;
@@ -45,6 +46,7 @@ import org.operaton.bpm.engine.impl.interceptor.CommandExecutor;
 import org.operaton.bpm.engine.impl.util.ImmutablePair;
 import org.operaton.bpm.engine.impl.util.CompareUtil;
 import org.operaton.bpm.engine.impl.variable.serializer.VariableSerializers;
+import org.operaton.bpm.engine.query.QueryProperty;
 
 /**
  * @author Tom Baeyens
@@ -375,6 +377,21 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
     return orderBy(HistoricProcessInstanceQueryProperty.TENANT_ID);
   }
 
+  protected boolean isKeysetProperty(QueryProperty property) {
+    return HistoricProcessInstanceQueryProperty.PROCESS_INSTANCE_ID_.equals(property)
+        || HistoricProcessInstanceQueryProperty.START_TIME.equals(property);
+  }
+
+  protected KeysetCursor createKeysetCursor(HistoricProcessInstance historicProcessInstance, QueryProperty sortProperty) {
+    Object sortValue = null;
+    if (HistoricProcessInstanceQueryProperty.PROCESS_INSTANCE_ID_.equals(sortProperty)) {
+      sortValue = historicProcessInstance.getId();
+    } else if (HistoricProcessInstanceQueryProperty.START_TIME.equals(sortProperty)) {
+      sortValue = historicProcessInstance.getStartTime();
+    }
+    return new KeysetCursor(null, sortValue, historicProcessInstance.getId());
+  }
+
   public long executeCount(CommandContext commandContext) {
     checkQueryOk();
     ensureVariablesInitialized();
@@ -391,6 +408,15 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
       .findHistoricProcessInstancesByQueryCriteria(this, page);
   }
 
+  @Override
+  protected void executeStream(CommandContext commandContext, Consumer<? super HistoricProcessInstance> action) {
+    checkQueryOk();
+    ensureVariablesInitialized();
+    commandContext
+      .getHistoricProcessInstanceManager()
+      .streamHistoricProcessInstancesByQueryCriteria(this, action);
+  }
+
   public List<String> executeIdsList(CommandContext commandContext) {
     checkQueryOk();
     ensureVariablesInitialized();
@@ -20,7 +20,9 @@ import static org.operaton.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
+import org.operaton.bpm.engine.BadUserRequestException;
 import org.operaton.bpm.engine.history.HistoricVariableInstance;
 import org.operaton.bpm.engine.history.HistoricVariableInstanceQuery;
 import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -248,21 +250,47 @@ public class HistoricVariableInstanceQueryImpl extends AbstractQuery<HistoricVar
 
     if (historicVariableInstances!=null) {
       for (HistoricVariableInstance historicVariableInstance: historicVariableInstances) {
+        fetchValue((HistoricVariableInstanceEntity) historicVariableInstance);
+      }
+    }
+    return historicVariableInstances;
+  }
 
-        HistoricVariableInstanceEntity variableInstanceEntity = (HistoricVariableInstanceEntity) historicVariableInstance;
-        if (shouldFetchValue(variableInstanceEntity)) {
-          try {
-            variableInstanceEntity.getTypedValue(isCustomObjectDeserializationEnabled);
+  /**
+   * Values that are stored in byte arrays cannot be selected while the results are read,
+   * so streaming requires that binary values and custom objects are not fetched; values
+   * that are stored in byte arrays are not fetched at all then.
+   */
+  @Override
+  protected void executeStream(CommandContext commandContext, Consumer<? super HistoricVariableInstance> action) {
+    if (isByteArrayFetchingEnabled || isCustomObjectDeserializationEnabled) {
+      throw new BadUserRequestException("Streaming historic variable instances requires "
+          + "disableBinaryFetching() and disableCustomObjectDeserialization()");
+    }
 
-          } catch(Exception t) {
-            // do not fail if one of the variables fails to load
-            LOG.exceptionWhileGettingValueForVariable(t);
-          }
+    checkQueryOk();
+    ensureVariablesInitialized();
+    commandContext
+      .getHistoricVariableInstanceManager()
+      .streamHistoricVariableInstancesByQueryCriteria(this, historicVariableInstance -> {
+        HistoricVariableInstanceEntity historicVariableInstanceEntity = (HistoricVariableInstanceEntity) historicVariableInstance;
+        if (historicVariableInstanceEntity.getByteArrayValueId() == null) {
+          fetchValue(historicVariableInstanceEntity);
         }
+        action.accept(historicVariableInstance);
+      });
+  }
 
+  protected void fetchValue(HistoricVariableInstanceEntity variableInstanceEntity) {
+    if (shouldFetchValue(variableInstanceEntity)) {
+      try {
+        variableInstanceEntity.getTypedValue(isCustomObjectDeserializationEnabled);
+
+      } catch(Exception t) {
+        // do not fail if one of the variables fails to load
+        LOG.exceptionWhileGettingValueForVariable(t);
       }
     }
-    return historicVariableInstances;
   }
 
   protected boolean shouldFetchValue(HistoricVariableInstanceEntity entity) {
@@ -0,0 +1,179 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import org.operaton.bpm.engine.exception.NotValidException;
+
+/**
+ * Position of a result in the ordering of a query. Keyset pagination selects
+ * the results that follow this position instead of skipping a number of results,
+ * so the database can seek to the page with an index on the ordering.
+ *
+ * <p>A cursor consists of the value of the property the query is ordered by and the
+ * id of the result, which breaks ties between results with equal values. Queries
+ * that are ordered by id only have no sort value. The cursor also records the
+ * ordering it was created for, so that it is not applied to a query that orders
+ * the results differently.</p>
+ */
+public class KeysetCursor implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected static final char SEPARATOR = '\u0000';
+
+  protected static final char TYPE_NONE = 'n';
+  protected static final char TYPE_STRING = 's';
+  protected static final char TYPE_INTEGER = 'i';
+  protected static final char TYPE_LONG = 'l';
+  protected static final char TYPE_DATE = 'd';
+
+  protected String sortColumn;
+  protected Direction direction;
+  protected Object sortValue;
+  protected String id;
+
+  /** The SQL comparison operator selecting the following results: '&gt;' for ascending, '&lt;' for descending order */
+  protected String comparator;
+
+  public KeysetCursor(String sortColumn, Object sortValue, String id) {
+    this.sortColumn = sortColumn;
+    this.sortValue = sortValue;
+    this.id = id;
+  }
+
+  public String getSortColumn() {
+    return sortColumn;
+  }
+
+  public void setSortColumn(String sortColumn) {
+    this.sortColumn = sortColumn;
+  }
+
+  public Direction getDirection() {
+    return direction;
+  }
+
+  public void setDirection(Direction direction) {
+    this.direction = direction;
+  }
+
+  public Object getSortValue() {
+    return sortValue;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getComparator() {
+    return comparator;
+  }
+
+  public void setComparator(String comparator) {
+    this.comparator = comparator;
+  }
+
+  /**
+   * @return an opaque, URL-safe representation of this cursor
+   */
+  public String encode() {
+    StringBuilder builder = new StringBuilder();
+    if (sortColumn != null) {
+      builder.append(sortColumn);
+    }
+    builder.append(SEPARATOR);
+    if (direction != null) {
+      builder.append(direction.getName());
+    }
+    builder.append(SEPARATOR);
+
+    if (sortValue == null) {
+      builder.append(TYPE_NONE);
+    } else if (sortValue instanceof String) {
+      builder.append(TYPE_STRING).append(sortValue);
+    } else if (sortValue instanceof Integer) {
+      builder.append(TYPE_INTEGER).append(sortValue);
+    } else if (sortValue instanceof Long) {
+      builder.append(TYPE_LONG).append(sortValue);
+    } else if (sortValue instanceof Date) {
+      builder.append(TYPE_DATE).append(((Date) sortValue).getTime());
+    } else {
+      throw new NotValidException("Unsupported cursor value of type " + sortValue.getClass().getName());
+    }
+    builder.append(SEPARATOR).append(id);
+
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @throws NotValidException if the given string is not a cursor created by {@link #encode()}
+   */
+  public static KeysetCursor decode(String cursor) {
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = decoded.split(String.valueOf(SEPARATOR), -1);
+      if (parts.length != 4 || parts[2].isEmpty() || parts[3].isEmpty()) {
+        throw new NotValidException("Invalid cursor '" + cursor + "'");
+      }
+
+      String sortColumn = parts[0].isEmpty() ? null : parts[0];
+      Direction direction = null;
+      if (!parts[1].isEmpty()) {
+        direction = Direction.findByName(parts[1]);
+        if (direction == null) {
+          throw new NotValidException("Invalid cursor '" + cursor + "'");
+        }
+      }
+
+      String value = parts[2].substring(1);
+      Object sortValue;
+      switch (parts[2].charAt(0)) {
+        case TYPE_NONE:
+          sortValue = null;
+          break;
+        case TYPE_STRING:
+          sortValue = value;
+          break;
+        case TYPE_INTEGER:
+          sortValue = Integer.valueOf(value);
+          break;
+        case TYPE_LONG:
+          sortValue = Long.valueOf(value);
+          break;
+        case TYPE_DATE:
+          sortValue = new Date(Long.parseLong(value));
+          break;
+        default:
+          throw new NotValidException("Invalid cursor '" + cursor + "'");
+      }
+
+      KeysetCursor keysetCursor = new KeysetCursor(sortColumn, sortValue, parts[3]);
+      keysetCursor.setDirection(direction);
+      return keysetCursor;
+
+    } catch (IllegalArgumentException e) {
+      throw new NotValidException("Invalid cursor '" + cursor + "'", e);
+    }
+  }
+
+}
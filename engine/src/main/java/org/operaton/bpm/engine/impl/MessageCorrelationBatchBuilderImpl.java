@@ -0,0 +1,74 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl;
+
+import static org.operaton.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.operaton.bpm.engine.impl.cmd.CorrelateMessagesCmd;
+import org.operaton.bpm.engine.impl.interceptor.CommandExecutor;
+import org.operaton.bpm.engine.runtime.MessageCorrelationBatchBuilder;
+import org.operaton.bpm.engine.runtime.MessageCorrelationBatchResult;
+
+public class MessageCorrelationBatchBuilderImpl implements MessageCorrelationBatchBuilder {
+
+  protected CommandExecutor commandExecutor;
+
+  protected List<MessageCorrelationBuilderImpl> correlations = new ArrayList<>();
+
+  public MessageCorrelationBatchBuilderImpl(CommandExecutor commandExecutor) {
+    ensureNotNull("commandExecutor", commandExecutor);
+    this.commandExecutor = commandExecutor;
+  }
+
+  @Override
+  public MessageCorrelationBatchBuilder message(String messageName, String businessKey, Map<String, Object> correlationKeys) {
+    return message(messageName, businessKey, correlationKeys, null);
+  }
+
+  @Override
+  public MessageCorrelationBatchBuilder message(String messageName, String businessKey, Map<String, Object> correlationKeys, Map<String, Object> processVariables) {
+    ensureNotNull("messageName", messageName);
+
+    MessageCorrelationBuilderImpl correlation = new MessageCorrelationBuilderImpl(commandExecutor, messageName);
+    if (businessKey != null) {
+      correlation.processInstanceBusinessKey(businessKey);
+    }
+    if (correlationKeys != null) {
+      correlation.processInstanceVariablesEqual(correlationKeys);
+    }
+    if (processVariables != null) {
+      correlation.setVariables(processVariables);
+    }
+
+    correlations.add(correlation);
+    return this;
+  }
+
+  @Override
+  public List<MessageCorrelationBatchResult> correlateAllWithResult() {
+    return commandExecutor.execute(new CorrelateMessagesCmd(correlations));
+  }
+
+  public List<MessageCorrelationBuilderImpl> getCorrelations() {
+    return correlations;
+  }
+
+}
@@ -37,8 +37,12 @@ import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.operaton.bpm.engine.impl.cfg.TransactionContextFactory;
 import org.operaton.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.operaton.bpm.engine.impl.el.ExpressionManager;
+import org.operaton.bpm.engine.impl.externaltask.CompositeExternalTaskNotificationListener;
+import org.operaton.bpm.engine.impl.externaltask.ExternalTaskNotificationChannel;
 import org.operaton.bpm.engine.impl.history.HistoryLevel;
 import org.operaton.bpm.engine.impl.history.event.SimpleIpBasedProvider;
+import org.operaton.bpm.engine.impl.history.outbox.HistoryEventOutboxWriter;
+import org.operaton.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupWorkerPool;
 import org.operaton.bpm.engine.impl.interceptor.CommandExecutor;
 import org.operaton.bpm.engine.impl.interceptor.SessionFactory;
 import org.operaton.bpm.engine.impl.jobexecutor.JobExecutor;
@@ -54,6 +58,9 @@ public class ProcessEngineImpl implements ProcessEngine {
   /** external task conditions used to signal long polling in rest API */
   public static final CompositeCondition EXT_TASK_CONDITIONS = new CompositeCondition();
 
+  /** notified about the topics of available external tasks, e.g. to wake up the matching long polling requests of the rest API */
+  public static final CompositeExternalTaskNotificationListener EXT_TASK_NOTIFICATION_LISTENERS = new CompositeExternalTaskNotificationListener();
+
   private final static ProcessEngineLogger LOG = ProcessEngineLogger.INSTANCE;
 
   protected String name;
@@ -141,6 +148,13 @@ public class ProcessEngineImpl implements ProcessEngine {
         dbMetricsReporter.start();
       }
     }
+
+    if (processEngineConfiguration.isHistoryWriteBehind()
+        && processEngineConfiguration.isHistoryWriteBehindWriterActivate()) {
+      processEngineConfiguration.getHistoryEventOutboxWriter().start();
+    }
+
+    processEngineConfiguration.getExternalTaskNotificationChannel().start();
   }
 
   protected void executeSchemaOperations() {
@@ -181,6 +195,21 @@ public class ProcessEngineImpl implements ProcessEngine {
       jobExecutor.unregisterProcessEngine(this);
     }
 
+    HistoryEventOutboxWriter historyEventOutboxWriter = processEngineConfiguration.getHistoryEventOutboxWriter();
+    if (historyEventOutboxWriter != null) {
+      historyEventOutboxWriter.stop();
+    }
+
+    ExternalTaskNotificationChannel externalTaskNotificationChannel = processEngineConfiguration.getExternalTaskNotificationChannel();
+    if (externalTaskNotificationChannel != null) {
+      externalTaskNotificationChannel.stop();
+    }
+
+    HistoryCleanupWorkerPool historyCleanupWorkerPool = processEngineConfiguration.getHistoryCleanupWorkerPool();
+    if (historyCleanupWorkerPool != null) {
+      historyCleanupWorkerPool.shutdown();
+    }
+
     commandExecutorSchemaOperations.execute(new SchemaOperationProcessEngineClose());
 
     processEngineConfiguration.close();
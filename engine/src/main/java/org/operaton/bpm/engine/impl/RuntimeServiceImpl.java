@@ -61,6 +61,7 @@ import org.operaton.bpm.engine.runtime.ExecutionQuery;
 import org.operaton.bpm.engine.runtime.Incident;
 import org.operaton.bpm.engine.runtime.IncidentQuery;
 import org.operaton.bpm.engine.runtime.MessageCorrelationAsyncBuilder;
+import org.operaton.bpm.engine.runtime.MessageCorrelationBatchBuilder;
 import org.operaton.bpm.engine.runtime.MessageCorrelationBuilder;
 import org.operaton.bpm.engine.runtime.ModificationBuilder;
 import org.operaton.bpm.engine.runtime.NativeExecutionQuery;
@@ -761,6 +762,11 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
     return new MessageCorrelationAsyncBuilderImpl(commandExecutor, messageName);
   }
 
+  @Override
+  public MessageCorrelationBatchBuilder createMessageCorrelationBatch() {
+    return new MessageCorrelationBatchBuilderImpl(commandExecutor);
+  }
+
   @Override
   public ProcessInstanceModificationBuilder createProcessInstanceModification(String processInstanceId) {
     return new ProcessInstanceModificationBuilderImpl(commandExecutor, processInstanceId);
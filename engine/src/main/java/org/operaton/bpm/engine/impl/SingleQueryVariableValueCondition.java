@@ -24,6 +24,7 @@ import java.util.List;
 
 import org.operaton.bpm.engine.ProcessEngineException;
 import org.operaton.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.operaton.bpm.engine.impl.persistence.entity.CorrelationKeyEntity;
 import org.operaton.bpm.engine.impl.variable.serializer.TypedValueSerializer;
 import org.operaton.bpm.engine.impl.variable.serializer.ValueFields;
 import org.operaton.bpm.engine.impl.variable.serializer.VariableSerializers;
@@ -141,4 +142,12 @@ public class SingleQueryVariableValueCondition extends AbstractQueryVariableValu
     this.findNulledEmptyStrings = findNulledEmptyStrings;
   }
 
+  /**
+   * @return the hash under which a variable with the value of this condition is
+   *   stored in the correlation key index, see {@link CorrelationKeyEntity}
+   */
+  public String getCorrelationKeyHash() {
+    return CorrelationKeyEntity.hashValue(type, textValue, textValue2, longValue, doubleValue);
+  }
+
 }
@@ -40,6 +40,7 @@ import org.operaton.bpm.engine.impl.persistence.entity.SuspensionState;
 import org.operaton.bpm.engine.impl.persistence.entity.TaskEntity;
 import org.operaton.bpm.engine.impl.util.CompareUtil;
 import org.operaton.bpm.engine.impl.variable.serializer.VariableSerializers;
+import org.operaton.bpm.engine.query.QueryProperty;
 import org.operaton.bpm.engine.task.DelegationState;
 import org.operaton.bpm.engine.task.Task;
 import org.operaton.bpm.engine.task.TaskQuery;
@@ -1413,6 +1414,24 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
     return this;
   }
 
+  @Override
+  protected boolean isKeysetProperty(QueryProperty property) {
+    return TaskQueryProperty.TASK_ID.equals(property)
+        || TaskQueryProperty.CREATE_TIME.equals(property)
+        || TaskQueryProperty.PRIORITY.equals(property);
+  }
+
+  @Override
+  protected KeysetCursor createKeysetCursor(Task task, QueryProperty sortProperty) {
+    Object sortValue = null;
+    if (TaskQueryProperty.CREATE_TIME.equals(sortProperty)) {
+      sortValue = task.getCreateTime();
+    } else if (TaskQueryProperty.PRIORITY.equals(sortProperty)) {
+      sortValue = task.getPriority();
+    }
+    return new KeysetCursor(null, sortValue, task.getId());
+  }
+
   //results ////////////////////////////////////////////////////////////////
 
   @Override
@@ -79,4 +79,9 @@ public class BpmnProperties {
   public static final PropertyKey<Map<String, String>> EXTENSION_PROPERTIES = new PropertyKey<>("extensionProperties");
 
   public static final PropertyListKey<OperatonErrorEventDefinition> CAMUNDA_ERROR_EVENT_DEFINITION = new PropertyListKey<>("operatonErrorEventDefinition");
+
+  /**
+   * Names of the process variables declared as correlation keys of a process definition.
+   */
+  public static final PropertyListKey<String> CORRELATION_KEYS = new PropertyListKey<>("correlationKeys");
 }
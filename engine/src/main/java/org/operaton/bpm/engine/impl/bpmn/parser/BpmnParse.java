@@ -631,6 +631,7 @@ public class BpmnParse extends Parse {
     processDefinition.setProperty(PROPERTYNAME_JOB_PRIORITY, parsePriority(processElement, PROPERTYNAME_JOB_PRIORITY));
     processDefinition.setProperty(PROPERTYNAME_TASK_PRIORITY, parsePriority(processElement, PROPERTYNAME_TASK_PRIORITY));
     processDefinition.setVersionTag(processElement.attributeNS(OPERATON_BPMN_EXTENSIONS_NS, "versionTag"));
+    parseCorrelationKeys(processElement, processDefinition);
 
     boolean skipEnforceTtl = !deployment.isNew();
     validateAndSetHTTL(processElement, processDefinition, skipEnforceTtl);
@@ -671,6 +672,21 @@ public class BpmnParse extends Parse {
     }
   }
 
+  /**
+   * Parses the process variables declared as correlation keys of the process, see
+   * {@link BpmnProperties#CORRELATION_KEYS}.
+   */
+  protected void parseCorrelationKeys(Element processElement, ProcessDefinitionEntity processDefinition) {
+    String correlationKeys = processElement.attributeNS(OPERATON_BPMN_EXTENSIONS_NS, "correlationKeys");
+    if (correlationKeys != null) {
+      for (String correlationKey : parseCommaSeparatedList(correlationKeys)) {
+        if (!correlationKey.isEmpty()) {
+          processDefinition.getProperties().addListItem(BpmnProperties.CORRELATION_KEYS, correlationKey);
+        }
+      }
+    }
+  }
+
   protected void parseLaneSets(Element parentElement, ProcessDefinitionEntity processDefinition) {
     List<Element> laneSets = parentElement.elements("laneSet");
 
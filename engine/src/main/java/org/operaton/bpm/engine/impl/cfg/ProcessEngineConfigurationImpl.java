@@ -141,11 +141,15 @@ import org.operaton.bpm.engine.impl.cmmn.transformer.CmmnTransformFactory;
 import org.operaton.bpm.engine.impl.cmmn.transformer.CmmnTransformListener;
 import org.operaton.bpm.engine.impl.cmmn.transformer.CmmnTransformer;
 import org.operaton.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
+import org.operaton.bpm.engine.impl.db.ConcurrentDbIdGenerator;
 import org.operaton.bpm.engine.impl.db.DbIdGenerator;
+import org.operaton.bpm.engine.impl.db.PermissionCache;
 import org.operaton.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.operaton.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
 import org.operaton.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
 import org.operaton.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.operaton.bpm.engine.impl.db.sql.MultiRowInsertSqlSource;
+import org.operaton.bpm.engine.impl.db.sql.QueryFetchSizeInterceptor;
 import org.operaton.bpm.engine.impl.delegate.DefaultDelegateInterceptor;
 import org.operaton.bpm.engine.impl.digest.Default16ByteSaltGenerator;
 import org.operaton.bpm.engine.impl.digest.PasswordEncryptor;
@@ -170,7 +174,10 @@ import org.operaton.bpm.engine.impl.event.EventHandler;
 import org.operaton.bpm.engine.impl.event.EventHandlerImpl;
 import org.operaton.bpm.engine.impl.event.EventType;
 import org.operaton.bpm.engine.impl.event.SignalEventHandler;
+import org.operaton.bpm.engine.impl.externaltask.DbExternalTaskNotificationChannel;
 import org.operaton.bpm.engine.impl.externaltask.DefaultExternalTaskPriorityProvider;
+import org.operaton.bpm.engine.impl.externaltask.ExternalTaskNotificationChannel;
+import org.operaton.bpm.engine.impl.externaltask.LocalExternalTaskNotificationChannel;
 import org.operaton.bpm.engine.impl.form.deployer.OperatonFormDefinitionDeployer;
 import org.operaton.bpm.engine.impl.form.engine.FormEngine;
 import org.operaton.bpm.engine.impl.form.engine.HtmlFormEngine;
@@ -200,6 +207,8 @@ import org.operaton.bpm.engine.impl.history.handler.CompositeDbHistoryEventHandl
 import org.operaton.bpm.engine.impl.history.handler.CompositeHistoryEventHandler;
 import org.operaton.bpm.engine.impl.history.handler.DbHistoryEventHandler;
 import org.operaton.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.operaton.bpm.engine.impl.history.handler.HistoryEventOutboxHandler;
+import org.operaton.bpm.engine.impl.history.outbox.HistoryEventOutboxWriter;
 import org.operaton.bpm.engine.impl.history.parser.HistoryParseListener;
 import org.operaton.bpm.engine.impl.history.producer.CacheAwareCmmnHistoryEventProducer;
 import org.operaton.bpm.engine.impl.history.producer.CacheAwareHistoryEventProducer;
@@ -249,6 +258,8 @@ import org.operaton.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupBat
 import org.operaton.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHandler;
 import org.operaton.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
 import org.operaton.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.operaton.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupWorkerPool;
+import org.operaton.bpm.engine.impl.jobexecutor.historycleanup.HistoryPartitionInterval;
 import org.operaton.bpm.engine.impl.metrics.MetricsRegistry;
 import org.operaton.bpm.engine.impl.metrics.MetricsReporterIdProvider;
 import org.operaton.bpm.engine.impl.metrics.parser.MetricsBpmnParseListener;
@@ -296,10 +307,12 @@ import org.operaton.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.operaton.bpm.engine.impl.persistence.entity.BatchManager;
 import org.operaton.bpm.engine.impl.persistence.entity.ByteArrayManager;
 import org.operaton.bpm.engine.impl.persistence.entity.CommentManager;
+import org.operaton.bpm.engine.impl.persistence.entity.CorrelationKeyManager;
 import org.operaton.bpm.engine.impl.persistence.entity.DeploymentManager;
 import org.operaton.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
 import org.operaton.bpm.engine.impl.persistence.entity.ExecutionManager;
 import org.operaton.bpm.engine.impl.persistence.entity.ExternalTaskManager;
+import org.operaton.bpm.engine.impl.persistence.entity.ExternalTaskNotificationManager;
 import org.operaton.bpm.engine.impl.persistence.entity.FilterManager;
 import org.operaton.bpm.engine.impl.persistence.entity.HistoricActivityInstanceManager;
 import org.operaton.bpm.engine.impl.persistence.entity.HistoricBatchManager;
@@ -314,9 +327,12 @@ import org.operaton.bpm.engine.impl.persistence.entity.HistoricProcessInstanceMa
 import org.operaton.bpm.engine.impl.persistence.entity.HistoricStatisticsManager;
 import org.operaton.bpm.engine.impl.persistence.entity.HistoricTaskInstanceManager;
 import org.operaton.bpm.engine.impl.persistence.entity.HistoricVariableInstanceManager;
+import org.operaton.bpm.engine.impl.persistence.entity.HistoryEventOutboxManager;
+import org.operaton.bpm.engine.impl.persistence.entity.HistoryPartitionManager;
 import org.operaton.bpm.engine.impl.persistence.entity.IdentityInfoManager;
 import org.operaton.bpm.engine.impl.persistence.entity.IdentityLinkManager;
 import org.operaton.bpm.engine.impl.persistence.entity.IncidentManager;
+import org.operaton.bpm.engine.impl.persistence.entity.JobAcquisitionLeaseManager;
 import org.operaton.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.operaton.bpm.engine.impl.persistence.entity.JobManager;
 import org.operaton.bpm.engine.impl.persistence.entity.MeterLogManager;
@@ -535,6 +551,55 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean jobExecutorAcquireExclusiveOverProcessHierarchies = false;
 
+  /**
+   * When set to true, due jobs that are created while the job executor is active are locked by the
+   * job executor on insert and handed to it directly once the creating transaction has committed,
+   * instead of being acquired from the database. If the node fails before executing them, other
+   * nodes acquire the jobs as soon as the lock has expired.
+   * <p>
+   * Requires {@link #isHintJobExecutor() hintJobExecutor} to be enabled.
+   * <p>
+   * Default value: false
+   */
+  protected boolean jobExecutorLocalHandOff = false;
+
+  /**
+   * When set to true, the job executors of the cluster divide the jobs among each other by
+   * partition key and every node only acquires jobs of its own partition range, so that nodes
+   * do not compete for the same jobs. Nodes announce themselves through a lease that they
+   * renew while acquiring jobs; ranges are rebalanced whenever a node joins or its lease expires.
+   * Jobs that were created before partitioning was enabled are acquired by all nodes.
+   * <p>
+   * Default value: false
+   */
+  protected boolean jobExecutorPartitionedAcquisition = false;
+
+  /**
+   * The time in milliseconds a job executor node remains a member of partitioned job acquisition
+   * after it last renewed its lease. Must be longer than the maximum wait time between two
+   * acquisition cycles.
+   * <p>
+   * Default value: 2 minutes
+   */
+  protected long jobExecutorPartitionLeaseTimeInMillis = 2 * 60 * 1000;
+
+  /**
+   * Job handler types (e.g. <code>timer-start-event</code>) of jobs that are cheap enough to be
+   * executed together: non-exclusive jobs of these types are acquired in micro-batches of up to
+   * {@link #jobExecutorMicroBatchSize} jobs which are executed in a single transaction. If one of
+   * the jobs fails, the transaction is rolled back and the jobs are executed one by one.
+   * <p>
+   * Default value: empty, i.e. every job is executed in its own transaction
+   */
+  protected Set<String> jobExecutorBatchableJobHandlerTypes = Collections.emptySet();
+
+  /**
+   * The maximum number of jobs executed in one transaction, see {@link #jobExecutorBatchableJobHandlerTypes}.
+   * <p>
+   * Default value: 10
+   */
+  protected int jobExecutorMicroBatchSize = 10;
+
   // EXTERNAL TASK /////////////////////////////////////////////////////////////
   protected PriorityProvider<ExternalTaskActivityBehavior> externalTaskPriorityProvider;
 
@@ -543,12 +608,25 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected SqlSessionFactory sqlSessionFactory;
   protected TransactionFactory transactionFactory;
 
+  /**
+   * If greater than 1, consecutive inserts of the same entity type are flushed as
+   * <code>INSERT ... VALUES (...), (...)</code> statements of up to this many rows
+   * (not supported on Oracle).
+   */
+  protected int jdbcMultiRowInsertMaxRows = 0;
+
 
   // ID GENERATOR /////////////////////////////////////////////////////////////
   protected IdGenerator idGenerator;
   protected DataSource idGeneratorDataSource;
   protected String idGeneratorDataSourceJndiName;
 
+  /**
+   * If true, the default id generator is a {@link ConcurrentDbIdGenerator} that hands out ids
+   * from striped, asynchronously prefetched blocks instead of a single synchronized block.
+   */
+  protected boolean idGeneratorConcurrent = false;
+
   // INCIDENT HANDLER /////////////////////////////////////////////////////////
 
   protected Map<String, IncidentHandler> incidentHandlers;
@@ -783,6 +861,62 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean enableDefaultDbHistoryEventHandler = true;
 
+  /**
+   * If true, the default {@link DbHistoryEventHandler} is replaced by a {@link HistoryEventOutboxHandler}:
+   * the history events of a transaction are written to the history event outbox in a single row
+   * with the runtime changes, and the {@link HistoryEventOutboxWriter} writes them to the history
+   * tables in the background. History is eventually consistent with this option.
+   * <p>
+   * Default value: false
+   */
+  protected boolean historyWriteBehind = false;
+
+  /**
+   * The maximum number of history event outbox entries, i.e. of runtime transactions,
+   * that are written to the history tables in one transaction.
+   */
+  protected int historyWriteBehindBatchSize = 100;
+
+  /**
+   * The time in milliseconds the {@link HistoryEventOutboxWriter} waits
+   * after it has emptied the outbox.
+   */
+  protected long historyWriteBehindIntervalInMillis = 1000;
+
+  /**
+   * If false, the {@link HistoryEventOutboxWriter} is not started with the process engine,
+   * e.g. if the outbox is written by other nodes of the cluster.
+   */
+  protected boolean historyWriteBehindWriterActivate = true;
+
+  protected HistoryEventOutboxWriter historyEventOutboxWriter;
+
+  /**
+   * Notifies the {@link ProcessEngineImpl#EXT_TASK_NOTIFICATION_LISTENERS} about available external tasks,
+   * e.g. to wake up long polling fetch and lock requests. If not set, a {@link DbExternalTaskNotificationChannel}
+   * is used with {@link #externalTaskNotificationPolling}, a {@link LocalExternalTaskNotificationChannel} otherwise.
+   */
+  protected ExternalTaskNotificationChannel externalTaskNotificationChannel;
+
+  /**
+   * If true, the nodes of a cluster notify each other about available external tasks
+   * through the database, so that long polling requests are woken up on every node.
+   * <p>
+   * Default value: false
+   */
+  protected boolean externalTaskNotificationPolling = false;
+
+  /**
+   * The time in milliseconds between two reads of the external task notifications of the other nodes.
+   */
+  protected long externalTaskNotificationPollingIntervalInMillis = 1000;
+
+  /**
+   * The time in milliseconds a poll looks back behind the previous one, to cover clock differences
+   * between the nodes and transactions that commit later than they wrote their notifications.
+   */
+  protected long externalTaskNotificationPollingLookbackInMillis = 10000;
+
   protected PermissionProvider permissionProvider;
 
   protected boolean isExecutionTreePrefetchEnabled = true;
@@ -923,6 +1057,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean enableHistoricInstancePermissions = false;
 
+  /**
+   * If enabled, the authorizations granting permissions to a user and its groups are
+   * cached across commands, see {@link PermissionCache}. Authorization changes made by
+   * other process engines of a cluster take effect after {@link #permissionCacheTimeToLive}.
+   */
+  protected boolean permissionCacheEnabled = false;
+  protected int permissionCacheCapacity = 1000;
+  protected long permissionCacheTimeToLive = 60_000L;
+  protected PermissionCache permissionCache;
+
   protected boolean isUseSharedSqlSessionFactory = false;
 
   //History cleanup configuration
@@ -952,6 +1096,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected int historyCleanupDegreeOfParallelism = 1;
 
+  /**
+   * If greater than zero, the removal time based history cleanup deletes process instances,
+   * decision instances, batches and task metrics concurrently, each in its own transaction,
+   * on a pool of this many threads. The pool is shared by all history cleanup jobs executed
+   * by this process engine and thereby limits the concurrent cleanup transactions of the node.
+   */
+  protected int historyCleanupWorkerPoolSize = 0;
+  protected HistoryCleanupWorkerPool historyCleanupWorkerPool;
+
   protected String historyTimeToLive;
 
   /**
@@ -991,6 +1144,27 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected String historyCleanupStrategy;
 
+  /**
+   * If true, the history tables listed in {@link HistoryPartitionManager#PARTITIONED_TABLES} are
+   * range partitioned on their removal time. The removal time based history cleanup creates their
+   * partitions ahead and drops expired partitions instead of deleting their rows. The tables must be
+   * partitioned with the script in <code>org/operaton/bpm/engine/db/partitioning</code> before.
+   * Supported on PostgreSQL; H2 emulates partitions for testing.
+   */
+  protected boolean historyPartitioning = false;
+
+  /**
+   * The range of removal times covered by one partition, either <code>day</code> or <code>week</code>.
+   * Must not be changed while partitions exist.
+   */
+  protected String historyPartitionInterval = HistoryPartitionInterval.DAY.getName();
+
+  /**
+   * The number of partitions the history cleanup creates beyond the partition of the current
+   * time plus the largest history time to live, i.e. the latest removal time of a row written now.
+   */
+  protected int historyPartitionsCreatedAhead = 7;
+
   /**
    * Size of batch in which history cleanup data will be deleted. {@link HistoryCleanupBatch#MAX_BATCH_SIZE} must be respected.
    */
@@ -1214,8 +1388,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initDeploymentHandlerFactory();
     initResourceAuthorizationProvider();
     initPermissionProvider();
+    initPermissionCache();
     initHostName();
     initMetrics();
+    initHistoryEventOutboxWriter();
+    initExternalTaskNotificationChannel();
+    initHistoryCleanupWorkerPool();
     initTelemetry();
     initMigration();
     initCommandCheckers();
@@ -1274,6 +1452,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public void initHistoryCleanup() {
     initHistoryCleanupStrategy();
+    initHistoryPartitioning();
 
     //validate number of threads
     if (historyCleanupDegreeOfParallelism < 1 || historyCleanupDegreeOfParallelism > MAX_THREADS_NUMBER) {
@@ -1281,6 +1460,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         String.format("value for number of threads for history cleanup should be between 1 and %s", HistoryCleanupCmd.MAX_THREADS_NUMBER));
     }
 
+    if (historyCleanupWorkerPoolSize < 0 || historyCleanupWorkerPoolSize > MAX_THREADS_NUMBER) {
+      throw LOG.invalidPropertyValue("historyCleanupWorkerPoolSize", String.valueOf(historyCleanupWorkerPoolSize),
+        String.format("value for number of history cleanup worker threads should be between 0 and %s", HistoryCleanupCmd.MAX_THREADS_NUMBER));
+    }
+
     if (historyCleanupBatchWindowStartTime != null) {
       initHistoryCleanupBatchWindowStartTime();
     }
@@ -1328,6 +1512,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initHistoryPartitioning() {
+    if (!historyPartitioning) {
+      return;
+    }
+
+    if (!DbSqlSessionFactory.POSTGRES.equals(databaseType) && !DbSqlSessionFactory.H2.equals(databaseType)) {
+      throw LOG.invalidPropertyValue("historyPartitioning", String.valueOf(historyPartitioning),
+        String.format("history partitioning is not supported on database type '%s'", databaseType));
+    }
+
+    if (!HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED.equals(historyCleanupStrategy)) {
+      throw LOG.invalidPropertyValue("historyPartitioning", String.valueOf(historyPartitioning),
+        String.format("history partitioning requires the '%s' history cleanup strategy", HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED));
+    }
+
+    if (HistoryPartitionInterval.fromName(historyPartitionInterval) == null) {
+      throw LOG.invalidPropertyValue("historyPartitionInterval", String.valueOf(historyPartitionInterval),
+        String.format("history partition interval must be either set to '%s' or '%s'",
+          HistoryPartitionInterval.DAY.getName(), HistoryPartitionInterval.WEEK.getName()));
+    }
+
+    if (historyPartitionsCreatedAhead < 0) {
+      throw LOG.invalidPropertyValue("historyPartitionsCreatedAhead", String.valueOf(historyPartitionsCreatedAhead),
+        "number of history partitions created ahead cannot be negative");
+    }
+  }
+
   private void initHistoryCleanupBatchWindowsMap() {
     if (mondayHistoryCleanupBatchWindowStartTime != null || mondayHistoryCleanupBatchWindowEndTime != null) {
       historyCleanupBatchWindows.put(Calendar.MONDAY, new BatchWindowConfiguration(mondayHistoryCleanupBatchWindowStartTime, mondayHistoryCleanupBatchWindowEndTime));
@@ -1903,6 +2114,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             configuration.setDefaultExecutorType(ExecutorType.BATCH);
           }
 
+          MultiRowInsertSqlSource.register(configuration);
+          QueryFetchSizeInterceptor.register(configuration);
+
           sqlSessionFactory = new DefaultSqlSessionFactory(configuration);
 
           if (isUseSharedSqlSessionFactory) {
@@ -2022,6 +2236,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       addSessionFactory(new GenericManagerFactory(IdentityInfoManager.class));
       addSessionFactory(new GenericManagerFactory(IdentityLinkManager.class));
       addSessionFactory(new GenericManagerFactory(JobManager.class));
+      addSessionFactory(new GenericManagerFactory(JobAcquisitionLeaseManager.class));
+      addSessionFactory(new GenericManagerFactory(HistoryEventOutboxManager.class));
+      addSessionFactory(new GenericManagerFactory(CorrelationKeyManager.class));
+      addSessionFactory(new GenericManagerFactory(HistoryPartitionManager.class));
       addSessionFactory(new GenericManagerFactory(JobDefinitionManager.class));
       addSessionFactory(new GenericManagerFactory(ProcessDefinitionManager.class));
       addSessionFactory(new GenericManagerFactory(PropertyManager.class));
@@ -2038,6 +2256,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       addSessionFactory(new GenericManagerFactory(FilterManager.class));
       addSessionFactory(new GenericManagerFactory(MeterLogManager.class));
       addSessionFactory(new GenericManagerFactory(ExternalTaskManager.class));
+      addSessionFactory(new GenericManagerFactory(ExternalTaskNotificationManager.class));
       addSessionFactory(new GenericManagerFactory(ReportManager.class));
       addSessionFactory(new GenericManagerFactory(BatchManager.class));
       addSessionFactory(new GenericManagerFactory(HistoricBatchManager.class));
@@ -2089,6 +2308,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       databaseSchema = databaseTablePrefix.split("\\.")[0];
     }
     dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
+    dbSqlSessionFactory.setMultiRowInsertMaxRows(jdbcMultiRowInsertMaxRows);
     addSessionFactory(dbSqlSessionFactory);
     addSessionFactory(new DbSqlPersistenceProviderFactory());
   }
@@ -2504,7 +2724,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         idGeneratorCommandExecutor = commandExecutorTxRequiresNew;
       }
 
-      DbIdGenerator dbIdGenerator = new DbIdGenerator();
+      DbIdGenerator dbIdGenerator = idGeneratorConcurrent ? new ConcurrentDbIdGenerator() : new DbIdGenerator();
       dbIdGenerator.setIdBlockSize(idBlockSize);
       dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
       idGenerator = dbIdGenerator;
@@ -2556,6 +2776,44 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initHistoryEventOutboxWriter() {
+    if (historyWriteBehind && historyEventOutboxWriter == null) {
+      historyEventOutboxWriter = new HistoryEventOutboxWriter(commandExecutorTxRequired,
+          historyWriteBehindBatchSize, historyWriteBehindIntervalInMillis);
+    }
+  }
+
+  protected void initExternalTaskNotificationChannel() {
+    if (externalTaskNotificationChannel == null) {
+      if (externalTaskNotificationPolling) {
+        externalTaskNotificationChannel = new DbExternalTaskNotificationChannel(commandExecutorTxRequired,
+            externalTaskNotificationPollingIntervalInMillis, externalTaskNotificationPollingLookbackInMillis);
+      } else {
+        externalTaskNotificationChannel = new LocalExternalTaskNotificationChannel();
+      }
+    }
+  }
+
+  protected void initHistoryCleanupWorkerPool() {
+    if (historyCleanupWorkerPoolSize > 0 && historyCleanupWorkerPool == null) {
+      historyCleanupWorkerPool = new HistoryCleanupWorkerPool(commandExecutorTxRequiresNew, historyCleanupWorkerPoolSize);
+    }
+  }
+
+  protected void initPermissionCache() {
+    if (permissionCacheEnabled && permissionCache == null) {
+      if (permissionCacheCapacity <= 0) {
+        throw LOG.invalidPropertyValue("permissionCacheCapacity", String.valueOf(permissionCacheCapacity),
+            "permissionCacheCapacity must be greater than 0");
+      }
+      if (permissionCacheTimeToLive <= 0) {
+        throw LOG.invalidPropertyValue("permissionCacheTimeToLive", String.valueOf(permissionCacheTimeToLive),
+            "permissionCacheTimeToLive must be greater than 0");
+      }
+      permissionCache = new PermissionCache(permissionCacheCapacity, permissionCacheTimeToLive);
+    }
+  }
+
   protected void initHostName() {
     if (hostname == null) {
       if (hostnameProvider == null) {
@@ -2850,7 +3108,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected void initHistoryEventHandler() {
     if (historyEventHandler == null) {
-      if (enableDefaultDbHistoryEventHandler) {
+      if (enableDefaultDbHistoryEventHandler && historyWriteBehind) {
+        CompositeHistoryEventHandler compositeHandler = new CompositeHistoryEventHandler(customHistoryEventHandlers);
+        compositeHandler.add(new HistoryEventOutboxHandler());
+        historyEventHandler = compositeHandler;
+      } else if (enableDefaultDbHistoryEventHandler) {
         historyEventHandler = new CompositeDbHistoryEventHandler(customHistoryEventHandlers);
       } else {
         historyEventHandler = new CompositeHistoryEventHandler(customHistoryEventHandlers);
@@ -3450,6 +3712,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return enableHistoricInstancePermissions;
   }
 
+  public boolean isPermissionCacheEnabled() {
+    return permissionCacheEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setPermissionCacheEnabled(boolean permissionCacheEnabled) {
+    this.permissionCacheEnabled = permissionCacheEnabled;
+    return this;
+  }
+
+  public int getPermissionCacheCapacity() {
+    return permissionCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setPermissionCacheCapacity(int permissionCacheCapacity) {
+    this.permissionCacheCapacity = permissionCacheCapacity;
+    return this;
+  }
+
+  public long getPermissionCacheTimeToLive() {
+    return permissionCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setPermissionCacheTimeToLive(long permissionCacheTimeToLive) {
+    this.permissionCacheTimeToLive = permissionCacheTimeToLive;
+    return this;
+  }
+
+  public PermissionCache getPermissionCache() {
+    return permissionCache;
+  }
+
+  public ProcessEngineConfigurationImpl setPermissionCache(PermissionCache permissionCache) {
+    this.permissionCache = permissionCache;
+    return this;
+  }
+
   public Map<String, JobHandler> getJobHandlers() {
     return jobHandlers;
   }
@@ -3914,6 +4212,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.idGeneratorDataSourceJndiName = idGeneratorDataSourceJndiName;
   }
 
+  public boolean isIdGeneratorConcurrent() {
+    return idGeneratorConcurrent;
+  }
+
+  public ProcessEngineConfigurationImpl setIdGeneratorConcurrent(boolean idGeneratorConcurrent) {
+    this.idGeneratorConcurrent = idGeneratorConcurrent;
+    return this;
+  }
+
+  public int getJdbcMultiRowInsertMaxRows() {
+    return jdbcMultiRowInsertMaxRows;
+  }
+
+  public ProcessEngineConfigurationImpl setJdbcMultiRowInsertMaxRows(int jdbcMultiRowInsertMaxRows) {
+    this.jdbcMultiRowInsertMaxRows = jdbcMultiRowInsertMaxRows;
+    return this;
+  }
+
   public ProcessApplicationManager getProcessApplicationManager() {
     return processApplicationManager;
   }
@@ -3963,6 +4279,87 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.enableDefaultDbHistoryEventHandler = enableDefaultDbHistoryEventHandler;
   }
 
+  public boolean isHistoryWriteBehind() {
+    return historyWriteBehind;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryWriteBehind(boolean historyWriteBehind) {
+    this.historyWriteBehind = historyWriteBehind;
+    return this;
+  }
+
+  public int getHistoryWriteBehindBatchSize() {
+    return historyWriteBehindBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryWriteBehindBatchSize(int historyWriteBehindBatchSize) {
+    this.historyWriteBehindBatchSize = historyWriteBehindBatchSize;
+    return this;
+  }
+
+  public long getHistoryWriteBehindIntervalInMillis() {
+    return historyWriteBehindIntervalInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryWriteBehindIntervalInMillis(long historyWriteBehindIntervalInMillis) {
+    this.historyWriteBehindIntervalInMillis = historyWriteBehindIntervalInMillis;
+    return this;
+  }
+
+  public boolean isHistoryWriteBehindWriterActivate() {
+    return historyWriteBehindWriterActivate;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryWriteBehindWriterActivate(boolean historyWriteBehindWriterActivate) {
+    this.historyWriteBehindWriterActivate = historyWriteBehindWriterActivate;
+    return this;
+  }
+
+  public HistoryEventOutboxWriter getHistoryEventOutboxWriter() {
+    return historyEventOutboxWriter;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventOutboxWriter(HistoryEventOutboxWriter historyEventOutboxWriter) {
+    this.historyEventOutboxWriter = historyEventOutboxWriter;
+    return this;
+  }
+
+  public ExternalTaskNotificationChannel getExternalTaskNotificationChannel() {
+    return externalTaskNotificationChannel;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskNotificationChannel(ExternalTaskNotificationChannel externalTaskNotificationChannel) {
+    this.externalTaskNotificationChannel = externalTaskNotificationChannel;
+    return this;
+  }
+
+  public boolean isExternalTaskNotificationPolling() {
+    return externalTaskNotificationPolling;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskNotificationPolling(boolean externalTaskNotificationPolling) {
+    this.externalTaskNotificationPolling = externalTaskNotificationPolling;
+    return this;
+  }
+
+  public long getExternalTaskNotificationPollingIntervalInMillis() {
+    return externalTaskNotificationPollingIntervalInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskNotificationPollingIntervalInMillis(long externalTaskNotificationPollingIntervalInMillis) {
+    this.externalTaskNotificationPollingIntervalInMillis = externalTaskNotificationPollingIntervalInMillis;
+    return this;
+  }
+
+  public long getExternalTaskNotificationPollingLookbackInMillis() {
+    return externalTaskNotificationPollingLookbackInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskNotificationPollingLookbackInMillis(long externalTaskNotificationPollingLookbackInMillis) {
+    this.externalTaskNotificationPollingLookbackInMillis = externalTaskNotificationPollingLookbackInMillis;
+    return this;
+  }
+
   public List<HistoryEventHandler> getCustomHistoryEventHandlers() {
     return customHistoryEventHandlers;
   }
@@ -5033,6 +5430,57 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this.jobExecutorAcquireExclusiveOverProcessHierarchies;
   }
 
+  public boolean isJobExecutorLocalHandOff() {
+    return jobExecutorLocalHandOff;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorLocalHandOff(boolean jobExecutorLocalHandOff) {
+    this.jobExecutorLocalHandOff = jobExecutorLocalHandOff;
+    return this;
+  }
+
+  public boolean isJobExecutorPartitionedAcquisition() {
+    return jobExecutorPartitionedAcquisition;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorPartitionedAcquisition(boolean jobExecutorPartitionedAcquisition) {
+    this.jobExecutorPartitionedAcquisition = jobExecutorPartitionedAcquisition;
+    return this;
+  }
+
+  public long getJobExecutorPartitionLeaseTimeInMillis() {
+    return jobExecutorPartitionLeaseTimeInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorPartitionLeaseTimeInMillis(long jobExecutorPartitionLeaseTimeInMillis) {
+    this.jobExecutorPartitionLeaseTimeInMillis = jobExecutorPartitionLeaseTimeInMillis;
+    return this;
+  }
+
+  public Set<String> getJobExecutorBatchableJobHandlerTypes() {
+    return jobExecutorBatchableJobHandlerTypes;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorBatchableJobHandlerTypes(Set<String> jobExecutorBatchableJobHandlerTypes) {
+    this.jobExecutorBatchableJobHandlerTypes = jobExecutorBatchableJobHandlerTypes;
+    return this;
+  }
+
+  public boolean isJobExecutorMicroBatchingEnabled() {
+    return jobExecutorBatchableJobHandlerTypes != null
+        && !jobExecutorBatchableJobHandlerTypes.isEmpty()
+        && jobExecutorMicroBatchSize > 1;
+  }
+
+  public int getJobExecutorMicroBatchSize() {
+    return jobExecutorMicroBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorMicroBatchSize(int jobExecutorMicroBatchSize) {
+    this.jobExecutorMicroBatchSize = jobExecutorMicroBatchSize;
+    return this;
+  }
+
   public String getBatchOperationHistoryTimeToLive() {
     return batchOperationHistoryTimeToLive;
   }
@@ -5045,6 +5493,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.historyCleanupDegreeOfParallelism = historyCleanupDegreeOfParallelism;
   }
 
+  public int getHistoryCleanupWorkerPoolSize() {
+    return historyCleanupWorkerPoolSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupWorkerPoolSize(int historyCleanupWorkerPoolSize) {
+    this.historyCleanupWorkerPoolSize = historyCleanupWorkerPoolSize;
+    return this;
+  }
+
+  public HistoryCleanupWorkerPool getHistoryCleanupWorkerPool() {
+    return historyCleanupWorkerPool;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupWorkerPool(HistoryCleanupWorkerPool historyCleanupWorkerPool) {
+    this.historyCleanupWorkerPool = historyCleanupWorkerPool;
+    return this;
+  }
+
   public void setBatchOperationHistoryTimeToLive(String batchOperationHistoryTimeToLive) {
     this.batchOperationHistoryTimeToLive = batchOperationHistoryTimeToLive;
   }
@@ -5127,6 +5593,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isHistoryPartitioning() {
+    return historyPartitioning;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryPartitioning(boolean historyPartitioning) {
+    this.historyPartitioning = historyPartitioning;
+    return this;
+  }
+
+  public String getHistoryPartitionInterval() {
+    return historyPartitionInterval;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryPartitionInterval(String historyPartitionInterval) {
+    this.historyPartitionInterval = historyPartitionInterval;
+    return this;
+  }
+
+  public int getHistoryPartitionsCreatedAhead() {
+    return historyPartitionsCreatedAhead;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryPartitionsCreatedAhead(int historyPartitionsCreatedAhead) {
+    this.historyPartitionsCreatedAhead = historyPartitionsCreatedAhead;
+    return this;
+  }
+
   public int getFailedJobListenerMaxRetries() {
     return failedJobListenerMaxRetries;
   }
@@ -32,6 +32,9 @@ import org.operaton.bpm.engine.impl.interceptor.Command;
 import org.operaton.bpm.engine.impl.interceptor.CommandContext;
 import org.operaton.bpm.engine.impl.jobexecutor.AcquiredJobs;
 import org.operaton.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.operaton.bpm.engine.impl.jobexecutor.JobPartitionRange;
+import org.operaton.bpm.engine.impl.jobexecutor.JobMicroBatch;
+import org.operaton.bpm.engine.impl.jobexecutor.JobSchedulingInfo;
 import org.operaton.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
 import org.operaton.bpm.engine.impl.util.ClockUtil;
 
@@ -60,28 +63,36 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
 
     acquiredJobs = new AcquiredJobs(numJobsToAcquire);
 
-    List<AcquirableJobEntity> jobs = commandContext
-      .getJobManager()
-      .findNextJobsToExecute(new Page(0, numJobsToAcquire));
+    List<AcquirableJobEntity> jobs = findNextJobsToExecute(commandContext);
 
     Map<String, List<String>> exclusiveJobsByProcessInstance = new HashMap<>();
+    Map<String, List<String>> microBatchesByHandlerType = new HashMap<>();
 
     boolean isAcquireExclusiveOverProcessHierarchies = isAcquireExclusiveOverProcessHierarchies(commandContext);
 
     for (AcquirableJobEntity job : jobs) {
 
       lockJob(job);
+      acquiredJobs.addJobSchedulingInfo(job.getId(),
+          new JobSchedulingInfo(job.getPriority(), job.getJobDefinitionId(), job.getTenantId()));
 
       if(job.isExclusive()) {
         String processInstanceId = selectProcessInstanceId(job, isAcquireExclusiveOverProcessHierarchies);
         List<String> list = exclusiveJobsByProcessInstance.computeIfAbsent(processInstanceId, key -> new ArrayList<>());
         list.add(job.getId());
       }
+      else if (isBatchable(job, commandContext)) {
+        addToMicroBatch(job, microBatchesByHandlerType, commandContext);
+      }
       else {
         acquiredJobs.addJobIdBatch(job.getId());
       }
     }
 
+    for (List<String> jobIds : microBatchesByHandlerType.values()) {
+      acquiredJobs.addJobIdBatch(jobIds);
+    }
+
     for (List<String> jobIds : exclusiveJobsByProcessInstance.values()) {
       acquiredJobs.addJobIdBatch(jobIds);
     }
@@ -96,6 +107,16 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
     return acquiredJobs;
   }
 
+  protected List<AcquirableJobEntity> findNextJobsToExecute(CommandContext commandContext) {
+    Page page = new Page(0, numJobsToAcquire);
+    JobPartitionRange partitionRange = getPartitionRange(commandContext);
+
+    if (partitionRange == null) {
+      return commandContext.getJobManager().findNextJobsToExecute(page);
+    }
+    return commandContext.getJobManager().findNextJobsToExecute(page, partitionRange);
+  }
+
   /**
    * When CockroachDB is used, this command may be retried multiple times until
    * it is successful, or the retries are exhausted. CockroachDB uses a stricter,
@@ -152,6 +173,46 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
     return OptimisticLockingResult.THROW;
   }
 
+  protected boolean isBatchable(AcquirableJobEntity job, CommandContext commandContext) {
+    var engineConfig = commandContext.getProcessEngineConfiguration();
+
+    return engineConfig != null
+        && engineConfig.isJobExecutorMicroBatchingEnabled()
+        && engineConfig.getJobExecutorBatchableJobHandlerTypes().contains(job.getJobHandlerType());
+  }
+
+  /**
+   * Groups non-exclusive jobs of the same handler type into batches that are
+   * executed in one transaction, starting a new batch once the current one is full.
+   */
+  protected void addToMicroBatch(AcquirableJobEntity job, Map<String, List<String>> microBatchesByHandlerType, CommandContext commandContext) {
+    int microBatchSize = commandContext.getProcessEngineConfiguration().getJobExecutorMicroBatchSize();
+
+    List<String> microBatch = microBatchesByHandlerType.computeIfAbsent(job.getJobHandlerType(), JobMicroBatch::new);
+    microBatch.add(job.getId());
+
+    if (microBatch.size() >= microBatchSize) {
+      acquiredJobs.addJobIdBatch(microBatch);
+      microBatchesByHandlerType.remove(job.getJobHandlerType());
+    }
+  }
+
+  /**
+   * @return the range of partition keys this job executor acquires jobs from
+   * or null if partitioned job acquisition is disabled
+   */
+  protected JobPartitionRange getPartitionRange(CommandContext commandContext) {
+    var engineConfig = commandContext.getProcessEngineConfiguration();
+
+    if (engineConfig == null || !engineConfig.isJobExecutorPartitionedAcquisition()) {
+      return null;
+    }
+
+    return commandContext
+      .getJobAcquisitionLeaseManager()
+      .acquirePartitionRange(jobExecutor.getLockOwner(), engineConfig.getJobExecutorPartitionLeaseTimeInMillis());
+  }
+
   protected boolean isAcquireExclusiveOverProcessHierarchies(CommandContext context) {
     var engineConfig = context.getProcessEngineConfiguration();
 
@@ -0,0 +1,150 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.cmd;
+
+import static org.operaton.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.operaton.bpm.engine.AuthorizationException;
+import org.operaton.bpm.engine.BadUserRequestException;
+import org.operaton.bpm.engine.EntityTypes;
+import org.operaton.bpm.engine.ProcessEngineException;
+import org.operaton.bpm.engine.exception.NotFoundException;
+import org.operaton.bpm.engine.externaltask.ExternalTaskCompletionResult;
+import org.operaton.bpm.engine.impl.ProcessEngineLogger;
+import org.operaton.bpm.engine.impl.cfg.CommandChecker;
+import org.operaton.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.operaton.bpm.engine.impl.externaltask.ExternalTaskCompletionResultImpl;
+import org.operaton.bpm.engine.impl.interceptor.Command;
+import org.operaton.bpm.engine.impl.interceptor.CommandContext;
+import org.operaton.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+
+/**
+ * Completes many external tasks of one worker in one command.
+ *
+ * <p>All tasks are loaded with a single query and validated like {@link CompleteExternalTaskCmd} does.
+ * A task that fails the validation is reported as failed instead of failing the command, since the
+ * validation does not change any state. The valid tasks are completed afterwards, so that their
+ * changes are flushed together when the command context is closed. An exception thrown while
+ * completing a task fails the whole command.</p>
+ */
+public class CompleteExternalTasksCmd implements Command<List<ExternalTaskCompletionResult>> {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected String workerId;
+  protected List<CompleteExternalTaskCmd> completions;
+
+  public CompleteExternalTasksCmd(String workerId, List<CompleteExternalTaskCmd> completions) {
+    this.workerId = workerId;
+    this.completions = completions;
+  }
+
+  @Override
+  public List<ExternalTaskCompletionResult> execute(CommandContext commandContext) {
+    ensureNotNull("workerId", workerId);
+    ensureNotNull("completions", completions);
+
+    Map<String, ExternalTaskEntity> externalTasks = findExternalTasks(commandContext);
+
+    List<ExternalTaskCompletionResult> results = new ArrayList<>();
+    Map<CompleteExternalTaskCmd, ExternalTaskEntity> validCompletions = new LinkedHashMap<>();
+    Set<String> processedIds = new HashSet<>();
+
+    for (CompleteExternalTaskCmd completion : completions) {
+      String externalTaskId = completion.externalTaskId;
+      ExternalTaskEntity externalTask = externalTasks.get(externalTaskId);
+
+      ProcessEngineException exception = validate(commandContext, completion, externalTask, processedIds);
+      if (exception == null) {
+        validCompletions.put(completion, externalTask);
+      }
+
+      results.add(new ExternalTaskCompletionResultImpl(externalTaskId, exception));
+    }
+
+    for (Map.Entry<CompleteExternalTaskCmd, ExternalTaskEntity> validCompletion : validCompletions.entrySet()) {
+      try {
+        validCompletion.getKey().execute(validCompletion.getValue());
+      } catch (NotFoundException e) {
+        // wrap up NotFoundExceptions reported for entities different than external tasks
+        throw new ProcessEngineException(e.getMessage(), e);
+      }
+    }
+
+    return results;
+  }
+
+  protected Map<String, ExternalTaskEntity> findExternalTasks(CommandContext commandContext) {
+    Set<String> externalTaskIds = new LinkedHashSet<>();
+    for (CompleteExternalTaskCmd completion : completions) {
+      externalTaskIds.add(completion.externalTaskId);
+    }
+
+    Map<String, ExternalTaskEntity> externalTasks = new HashMap<>();
+    if (!externalTaskIds.isEmpty()) {
+      for (ExternalTaskEntity externalTask : commandContext.getExternalTaskManager().findExternalTasksByIds(externalTaskIds)) {
+        externalTasks.put(externalTask.getId(), externalTask);
+      }
+    }
+    return externalTasks;
+  }
+
+  /**
+   * @return the reason why the external task cannot be completed, or <code>null</code> if it can be completed
+   */
+  protected ProcessEngineException validate(CommandContext commandContext, CompleteExternalTaskCmd completion,
+      ExternalTaskEntity externalTask, Set<String> processedIds) {
+    String externalTaskId = completion.externalTaskId;
+
+    if (!processedIds.add(externalTaskId)) {
+      return new BadUserRequestException("External task " + externalTaskId + " is contained more than once in the batch");
+    }
+
+    if (externalTask == null) {
+      return new NotFoundException("Cannot find external task with id " + externalTaskId);
+    }
+
+    if (completion.validateWorkerViolation(externalTask)) {
+      return new BadUserRequestException(completion.getErrorMessageOnWrongWorkerAccess()
+          + "'. It is locked by worker '" + externalTask.getWorkerId() + "'.");
+    }
+
+    try {
+      for (CommandChecker checker : commandContext.getProcessEngineConfiguration().getCommandCheckers()) {
+        checker.checkUpdateProcessInstanceById(externalTask.getProcessInstanceId());
+      }
+    } catch (AuthorizationException e) {
+      return e;
+    }
+
+    if (externalTask.isSuspended()) {
+      return LOG.suspendedEntityException(EntityTypes.EXTERNAL_TASK, externalTaskId);
+    }
+
+    return null;
+  }
+
+}
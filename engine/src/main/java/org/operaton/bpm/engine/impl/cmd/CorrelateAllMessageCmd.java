@@ -58,13 +58,7 @@ public class CorrelateAllMessageCmd extends AbstractCorrelateMessageCmd implemen
         "At least one of the following correlation criteria has to be present: " + "messageName, businessKey, correlationKeys, processInstanceId", messageName,
         builder.getBusinessKey(), builder.getCorrelationProcessInstanceVariables(), builder.getProcessInstanceId());
 
-    final CorrelationHandler correlationHandler = Context.getProcessEngineConfiguration().getCorrelationHandler();
-    final CorrelationSet correlationSet = new CorrelationSet(builder);
-    List<CorrelationHandlerResult> correlationResults = commandContext.runWithoutAuthorization(new Callable<List<CorrelationHandlerResult>>() {
-      public List<CorrelationHandlerResult> call() throws Exception {
-        return correlationHandler.correlateMessages(commandContext, messageName, correlationSet);
-      }
-    });
+    List<CorrelationHandlerResult> correlationResults = correlateMessages(commandContext);
 
     // check authorization
     for (CorrelationHandlerResult correlationResult : correlationResults) {
@@ -81,6 +75,16 @@ public class CorrelateAllMessageCmd extends AbstractCorrelateMessageCmd implemen
     return results;
   }
 
+  protected List<CorrelationHandlerResult> correlateMessages(final CommandContext commandContext) {
+    final CorrelationHandler correlationHandler = Context.getProcessEngineConfiguration().getCorrelationHandler();
+    final CorrelationSet correlationSet = new CorrelationSet(builder);
+    return commandContext.runWithoutAuthorization(new Callable<List<CorrelationHandlerResult>>() {
+      public List<CorrelationHandlerResult> call() throws Exception {
+        return correlationHandler.correlateMessages(commandContext, messageName, correlationSet);
+      }
+    });
+  }
+
   @Override
   public void createOperationLogEntry(CommandContext commandContext, MessageCorrelationResultImpl result, List<PropertyChange> propChanges, boolean isSummary) {
     String processInstanceId = null;
@@ -0,0 +1,307 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.cmd;
+
+import static org.operaton.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.operaton.bpm.engine.impl.MessageCorrelationBuilderImpl;
+import org.operaton.bpm.engine.impl.QueryOperator;
+import org.operaton.bpm.engine.impl.QueryVariableValue;
+import org.operaton.bpm.engine.impl.SingleQueryVariableValueCondition;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.operaton.bpm.engine.impl.interceptor.Command;
+import org.operaton.bpm.engine.impl.interceptor.CommandContext;
+import org.operaton.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.TenantManager;
+import org.operaton.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.operaton.bpm.engine.impl.runtime.CorrelationHandler;
+import org.operaton.bpm.engine.impl.runtime.CorrelationHandlerResult;
+import org.operaton.bpm.engine.impl.runtime.CorrelationSet;
+import org.operaton.bpm.engine.impl.runtime.DefaultCorrelationHandler;
+import org.operaton.bpm.engine.impl.runtime.MessageCorrelationBatchResultImpl;
+import org.operaton.bpm.engine.impl.runtime.MessageCorrelationResultImpl;
+import org.operaton.bpm.engine.impl.variable.serializer.StringValueSerializer;
+import org.operaton.bpm.engine.runtime.MessageCorrelationBatchResult;
+import org.operaton.bpm.engine.variable.type.ValueType;
+
+/**
+ * Correlates many messages in one command. The waiting executions of all messages are
+ * fetched up front by message name and business key, together with the variables used as
+ * correlation keys, and are matched in memory. The messages are then correlated one after
+ * another like {@link CorrelateAllMessageCmd} does.
+ *
+ * <p>If a custom {@link CorrelationHandler} is configured, every message is correlated by
+ * the handler instead.</p>
+ */
+public class CorrelateMessagesCmd implements Command<List<MessageCorrelationBatchResult>> {
+
+  protected final List<MessageCorrelationBuilderImpl> correlations;
+
+  protected Map<String, List<EventSubscriptionEntity>> subscriptionsByMessageName = new HashMap<>();
+  protected Map<String, ExecutionEntity> executionsById = new HashMap<>();
+  protected Map<String, List<VariableInstanceEntity>> variablesByProcessInstanceId = new HashMap<>();
+  protected Map<String, List<CorrelationHandlerResult>> startMessageCorrelations = new HashMap<>();
+
+  public CorrelateMessagesCmd(List<MessageCorrelationBuilderImpl> correlations) {
+    ensureNotNull("correlations", correlations);
+    this.correlations = new ArrayList<>(correlations);
+  }
+
+  @Override
+  public List<MessageCorrelationBatchResult> execute(CommandContext commandContext) {
+    for (MessageCorrelationBuilderImpl correlation : correlations) {
+      ensureNotNull("messageName", correlation.getMessageName());
+    }
+
+    boolean resolveInBulk = isDefaultCorrelationHandler(commandContext);
+    if (resolveInBulk && !correlations.isEmpty()) {
+      fetchWaitingExecutions(commandContext);
+    }
+
+    List<MessageCorrelationBatchResult> results = new ArrayList<>(correlations.size());
+    for (MessageCorrelationBuilderImpl correlation : correlations) {
+      CorrelateAllMessageCmd command = resolveInBulk
+          ? new CorrelateResolvedMessageCmd(correlation)
+          : new CorrelateAllMessageCmd(correlation, false, false);
+
+      List<MessageCorrelationResultImpl> correlationResults = command.execute(commandContext);
+      results.add(new MessageCorrelationBatchResultImpl(correlation, correlationResults));
+    }
+
+    return results;
+  }
+
+  protected boolean isDefaultCorrelationHandler(CommandContext commandContext) {
+    CorrelationHandler correlationHandler = commandContext.getProcessEngineConfiguration().getCorrelationHandler();
+    return DefaultCorrelationHandler.class.equals(correlationHandler.getClass());
+  }
+
+  protected void fetchWaitingExecutions(CommandContext commandContext) {
+    Set<String> messageNames = new HashSet<>();
+    Set<String> businessKeys = new HashSet<>();
+    Set<String> variableNames = new HashSet<>();
+
+    for (MessageCorrelationBuilderImpl correlation : correlations) {
+      messageNames.add(correlation.getMessageName());
+
+      if (correlation.getBusinessKey() == null) {
+        // at least one message is correlated regardless of the business key
+        businessKeys = null;
+      } else if (businessKeys != null) {
+        businessKeys.add(correlation.getBusinessKey());
+      }
+
+      if (correlation.getCorrelationProcessInstanceVariables() != null) {
+        variableNames.addAll(correlation.getCorrelationProcessInstanceVariables().keySet());
+      }
+    }
+
+    List<EventSubscriptionEntity> subscriptions = commandContext.getEventSubscriptionManager()
+        .findMessageEventSubscriptionsByNamesAndBusinessKeys(messageNames, businessKeys);
+    if (subscriptions.isEmpty()) {
+      return;
+    }
+
+    Set<String> processInstanceIds = new HashSet<>();
+    for (EventSubscriptionEntity subscription : subscriptions) {
+      subscriptionsByMessageName.computeIfAbsent(subscription.getEventName(), name -> new ArrayList<>()).add(subscription);
+      processInstanceIds.add(subscription.getProcessInstanceId());
+    }
+
+    for (ExecutionEntity execution : commandContext.getExecutionManager().findExecutionsByProcessInstanceIds(processInstanceIds)) {
+      executionsById.put(execution.getId(), execution);
+    }
+
+    if (!variableNames.isEmpty()) {
+      List<VariableInstanceEntity> variables = commandContext.getVariableInstanceManager()
+          .findVariableInstancesByProcessInstanceIdsAndVariableNames(processInstanceIds, variableNames);
+      for (VariableInstanceEntity variable : variables) {
+        variablesByProcessInstanceId.computeIfAbsent(variable.getProcessInstanceId(), id -> new ArrayList<>()).add(variable);
+      }
+    }
+  }
+
+  protected List<CorrelationHandlerResult> correlateMessage(CommandContext commandContext, MessageCorrelationBuilderImpl correlation) {
+    List<CorrelationHandlerResult> results = new ArrayList<>();
+    results.addAll(correlateMessageToExecutions(commandContext, correlation));
+    results.addAll(correlateStartMessages(commandContext, correlation));
+    return results;
+  }
+
+  protected List<CorrelationHandlerResult> correlateMessageToExecutions(CommandContext commandContext, MessageCorrelationBuilderImpl correlation) {
+    List<EventSubscriptionEntity> subscriptions = subscriptionsByMessageName.get(correlation.getMessageName());
+    if (subscriptions == null) {
+      return Collections.emptyList();
+    }
+
+    List<QueryVariableValue> correlationKeys = createCorrelationKeys(commandContext, correlation.getCorrelationProcessInstanceVariables());
+    DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+    TenantManager tenantManager = commandContext.getTenantManager();
+
+    Map<String, CorrelationHandlerResult> results = new LinkedHashMap<>();
+    for (EventSubscriptionEntity subscription : subscriptions) {
+      ExecutionEntity execution = executionsById.get(subscription.getExecutionId());
+
+      // skip subscriptions which were consumed by a previous message of the batch
+      if (execution != null
+          && !results.containsKey(execution.getId())
+          && !dbEntityManager.isDeleted(subscription)
+          && !dbEntityManager.isDeleted(execution)
+          && !execution.isSuspended()
+          && tenantManager.isAuthenticatedTenant(execution.getTenantId())
+          && matchesBusinessKey(execution, correlation.getBusinessKey())
+          && matchesCorrelationKeys(execution, correlationKeys)) {
+        results.put(execution.getId(), CorrelationHandlerResult.matchedExecution(execution));
+      }
+    }
+
+    return new ArrayList<>(results.values());
+  }
+
+  protected List<CorrelationHandlerResult> correlateStartMessages(final CommandContext commandContext, MessageCorrelationBuilderImpl correlation) {
+    final String messageName = correlation.getMessageName();
+
+    // the start message correlation only depends on the message name, since a batch sets no tenant id or process definition id
+    List<CorrelationHandlerResult> results = startMessageCorrelations.get(messageName);
+    if (results == null) {
+      final CorrelationHandler correlationHandler = commandContext.getProcessEngineConfiguration().getCorrelationHandler();
+      final CorrelationSet correlationSet = new CorrelationSet(correlation);
+      results = commandContext.runWithoutAuthorization(new Callable<List<CorrelationHandlerResult>>() {
+        public List<CorrelationHandlerResult> call() throws Exception {
+          return correlationHandler.correlateStartMessages(commandContext, messageName, correlationSet);
+        }
+      });
+      startMessageCorrelations.put(messageName, results);
+    }
+
+    return results;
+  }
+
+  protected boolean matchesBusinessKey(ExecutionEntity execution, String businessKey) {
+    if (businessKey == null) {
+      return true;
+    }
+
+    ExecutionEntity processInstance = executionsById.get(execution.getProcessInstanceId());
+    return processInstance != null && businessKey.equals(processInstance.getBusinessKey());
+  }
+
+  protected boolean matchesCorrelationKeys(ExecutionEntity execution, List<QueryVariableValue> correlationKeys) {
+    if (correlationKeys.isEmpty()) {
+      return true;
+    }
+
+    List<VariableInstanceEntity> variables = variablesByProcessInstanceId.get(execution.getProcessInstanceId());
+    if (variables == null) {
+      return false;
+    }
+
+    for (QueryVariableValue correlationKey : correlationKeys) {
+      if (!matchesVariable(variables, correlationKey)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  protected boolean matchesVariable(List<VariableInstanceEntity> variables, QueryVariableValue correlationKey) {
+    for (VariableInstanceEntity variable : variables) {
+      if (correlationKey.getName().equals(variable.getName())) {
+        for (SingleQueryVariableValueCondition condition : correlationKey.getValueConditions()) {
+          if (matchesValue(variable, condition)) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Evaluates the same value conditions as the process variable conditions of the execution query.
+   */
+  protected boolean matchesValue(VariableInstanceEntity variable, SingleQueryVariableValueCondition condition) {
+    String type = condition.getType();
+    if (!ValueType.NULL.getName().equals(type) && !type.equals(variable.getSerializerName())) {
+      return false;
+    }
+
+    if (condition.getTextValue() != null && condition.getLongValue() == null && condition.getDoubleValue() == null) {
+      if (condition.getFindNulledEmptyStrings()) {
+        if (variable.getTextValue() != null || !StringValueSerializer.EMPTY_STRING.equals(variable.getTextValue2())) {
+          return false;
+        }
+      } else if (!condition.getTextValue().equals(variable.getTextValue())) {
+        return false;
+      }
+    }
+
+    if (condition.getTextValue2() != null && !ValueType.STRING.getName().equals(type)
+        && !condition.getTextValue2().equals(variable.getTextValue2())) {
+      return false;
+    }
+
+    if (condition.getLongValue() != null && !condition.getLongValue().equals(variable.getLongValue())) {
+      return false;
+    }
+
+    return condition.getDoubleValue() == null || condition.getDoubleValue().equals(variable.getDoubleValue());
+  }
+
+  protected List<QueryVariableValue> createCorrelationKeys(CommandContext commandContext, Map<String, Object> variables) {
+    if (variables == null || variables.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    List<QueryVariableValue> correlationKeys = new ArrayList<>(variables.size());
+    for (Map.Entry<String, Object> variable : variables.entrySet()) {
+      QueryVariableValue correlationKey = new QueryVariableValue(variable.getKey(), variable.getValue(), QueryOperator.EQUALS, false);
+      correlationKey.initialize(processEngineConfiguration.getVariableSerializers(), processEngineConfiguration.getDatabaseType());
+      correlationKeys.add(correlationKey);
+    }
+    return correlationKeys;
+  }
+
+  /**
+   * Correlates one message of the batch to the executions resolved by the batch.
+   */
+  protected class CorrelateResolvedMessageCmd extends CorrelateAllMessageCmd {
+
+    public CorrelateResolvedMessageCmd(MessageCorrelationBuilderImpl correlation) {
+      super(correlation, false, false);
+    }
+
+    @Override
+    protected List<CorrelationHandlerResult> correlateMessages(CommandContext commandContext) {
+      return correlateMessage(commandContext, builder);
+    }
+  }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.cmd;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.operaton.bpm.engine.impl.interceptor.Command;
+import org.operaton.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Executes several jobs in one command context, so that their changes are flushed
+ * in a single transaction.
+ *
+ * <p>Each job is executed by the given job execution, which runs its commands in the
+ * command context of this command. If one of the jobs fails, the exception rolls back
+ * the whole transaction and the caller is responsible for executing the jobs individually.</p>
+ */
+public class ExecuteJobMicroBatchCmd implements Command<Void> {
+
+  protected List<String> jobIds;
+  protected Consumer<String> jobExecution;
+
+  public ExecuteJobMicroBatchCmd(List<String> jobIds, Consumer<String> jobExecution) {
+    this.jobIds = jobIds;
+    this.jobExecution = jobExecution;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    for (String jobId : jobIds) {
+      jobExecution.accept(jobId);
+    }
+
+    return null;
+  }
+
+}
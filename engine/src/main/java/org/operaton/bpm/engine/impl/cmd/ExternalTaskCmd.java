@@ -84,6 +84,10 @@ public abstract class ExternalTaskCmd implements Command<Void> {
     return Collections.emptyList();
   }
 
+  public String getExternalTaskId() {
+    return externalTaskId;
+  }
+
   /**
    * Executes the specific external task commands, which belongs to the current sub class.
    *
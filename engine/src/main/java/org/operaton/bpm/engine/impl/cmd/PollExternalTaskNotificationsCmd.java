@@ -0,0 +1,53 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.cmd;
+
+import java.util.Date;
+import java.util.List;
+
+import org.operaton.bpm.engine.impl.interceptor.Command;
+import org.operaton.bpm.engine.impl.interceptor.CommandContext;
+import org.operaton.bpm.engine.impl.persistence.entity.ExternalTaskNotificationEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.ExternalTaskNotificationManager;
+
+/**
+ * Removes the external task notifications that are no longer read and
+ * returns the notifications that were created at or after the given time.
+ */
+public class PollExternalTaskNotificationsCmd implements Command<List<ExternalTaskNotificationEntity>> {
+
+  protected Date createdAfter;
+  protected Date removeCreatedBefore;
+
+  public PollExternalTaskNotificationsCmd(Date createdAfter, Date removeCreatedBefore) {
+    this.createdAfter = createdAfter;
+    this.removeCreatedBefore = removeCreatedBefore;
+  }
+
+  public List<ExternalTaskNotificationEntity> execute(CommandContext commandContext) {
+    ExternalTaskNotificationManager notificationManager = commandContext.getExternalTaskNotificationManager();
+
+    notificationManager.deleteExternalTaskNotificationsCreatedBefore(removeCreatedBefore);
+    return notificationManager.findExternalTaskNotificationsCreatedAfter(createdAfter);
+  }
+
+  @Override
+  public boolean isRetryable() {
+    return true;
+  }
+
+}
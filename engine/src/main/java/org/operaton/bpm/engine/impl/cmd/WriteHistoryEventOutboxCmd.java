@@ -0,0 +1,65 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.cmd;
+
+import java.util.List;
+
+import org.operaton.bpm.engine.impl.history.handler.DeferredDbHistoryEventHandler;
+import org.operaton.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.operaton.bpm.engine.impl.interceptor.Command;
+import org.operaton.bpm.engine.impl.interceptor.CommandContext;
+import org.operaton.bpm.engine.impl.persistence.entity.HistoryEventOutboxEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.HistoryEventOutboxManager;
+
+/**
+ * Writes the oldest entries of the history event outbox to the history tables
+ * and removes them from the outbox in the same transaction. Concurrent writers
+ * that process the same entries fail with an optimistic locking exception on
+ * the removal, so every entry is written exactly once. Returns the number of
+ * outbox entries that were written.
+ */
+public class WriteHistoryEventOutboxCmd implements Command<Integer> {
+
+  protected int maxEntries;
+
+  public WriteHistoryEventOutboxCmd(int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  public Integer execute(CommandContext commandContext) {
+    HistoryEventOutboxManager outboxManager = commandContext.getHistoryEventOutboxManager();
+
+    List<HistoryEventOutboxEntity> entries = outboxManager.findHistoryEventOutboxEntries(maxEntries);
+    if (entries.isEmpty()) {
+      return 0;
+    }
+
+    HistoryEventHandler historyEventHandler = new DeferredDbHistoryEventHandler();
+    for (HistoryEventOutboxEntity entry : entries) {
+      historyEventHandler.handleEvents(entry.getHistoryEvents());
+      outboxManager.deleteHistoryEventOutboxEntry(entry);
+    }
+
+    return entries.size();
+  }
+
+  @Override
+  public boolean isRetryable() {
+    return true;
+  }
+
+}
@@ -66,6 +66,13 @@ public class AuthorizationCheck implements Serializable {
 
   protected boolean useLeftJoin = true;
 
+  /**
+   * The ids of the authorizations that grant the permission checks to the user and
+   * groups, as materialised by the {@link PermissionCache}; null if the grants are
+   * selected by the query itself. Reset whenever the input of the check changes.
+   */
+  protected transient List<String> grantedAuthorizationIds;
+
   public AuthorizationCheck() {
   }
 
@@ -113,6 +120,7 @@ public class AuthorizationCheck implements Serializable {
 
   public void setAuthUserId(String authUserId) {
     this.authUserId = authUserId;
+    this.grantedAuthorizationIds = null;
   }
 
   public List<String> getAuthGroupIds() {
@@ -121,6 +129,7 @@ public class AuthorizationCheck implements Serializable {
 
   public void setAuthGroupIds(List<String> authGroupIds) {
     this.authGroupIds = authGroupIds;
+    this.grantedAuthorizationIds = null;
   }
 
   public int getAuthDefaultPerm() {
@@ -139,14 +148,17 @@ public class AuthorizationCheck implements Serializable {
 
   public void setAtomicPermissionChecks(List<PermissionCheck> permissionChecks) {
     this.permissionChecks.setAtomicChecks(permissionChecks);
+    this.grantedAuthorizationIds = null;
   }
 
   public void addAtomicPermissionCheck(PermissionCheck permissionCheck) {
     permissionChecks.addAtomicCheck(permissionCheck);
+    this.grantedAuthorizationIds = null;
   }
 
   public void setPermissionChecks(CompositePermissionCheck permissionChecks) {
     this.permissionChecks = permissionChecks;
+    this.grantedAuthorizationIds = null;
   }
 
   public boolean isRevokeAuthorizationCheckEnabled() {
@@ -175,4 +187,15 @@ public class AuthorizationCheck implements Serializable {
   public void setUseLeftJoin(boolean useLeftJoin) {
     this.useLeftJoin = useLeftJoin;
   }
+
+  /**
+   * Used in SQL mapping
+   */
+  public List<String> getGrantedAuthorizationIds() {
+    return grantedAuthorizationIds;
+  }
+
+  public void setGrantedAuthorizationIds(List<String> grantedAuthorizationIds) {
+    this.grantedAuthorizationIds = grantedAuthorizationIds;
+  }
 }
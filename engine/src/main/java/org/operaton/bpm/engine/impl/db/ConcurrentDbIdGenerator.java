@@ -0,0 +1,272 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.db;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.operaton.bpm.engine.impl.cmd.GetNextIdBlockCmd;
+
+/**
+ * <p>{@link DbIdGenerator} that does not serialize all threads behind one monitor.</p>
+ *
+ * <p>IDs are handed out from several independent stripes. A thread always uses the same stripe
+ * and takes the next ID of the stripe's current block by an atomic increment. Only when a block
+ * is exhausted, the threads of that stripe wait until the stripe has been refilled.</p>
+ *
+ * <p>When a block is consumed down to a quarter of its size, the next block is fetched in the
+ * background, so that the refill usually does not wait for the database. The size of the
+ * fetched blocks follows the consumption rate of the stripe: it is doubled when a block lasted
+ * less than half of {@link #targetBlockDurationInMillis} and halved when it lasted more than twice
+ * as long, bounded by {@link #getIdBlockSize()} and {@link #maxIdBlockSize}.</p>
+ *
+ * <p>Blocks are reserved with {@link GetNextIdBlockCmd} on the <code>next.dbid</code> property,
+ * exactly like {@link DbIdGenerator}, so both generators can be used side by side on the same database.
+ * IDs are unique but, across threads, no longer ascending in creation order.</p>
+ */
+public class ConcurrentDbIdGenerator extends DbIdGenerator {
+
+  public static final int DEFAULT_MAX_ID_BLOCK_SIZE = 10000;
+  public static final long DEFAULT_TARGET_BLOCK_DURATION = 1000;
+
+  protected int numberOfStripes;
+  protected int maxIdBlockSize = DEFAULT_MAX_ID_BLOCK_SIZE;
+  protected long targetBlockDurationInMillis = DEFAULT_TARGET_BLOCK_DURATION;
+
+  protected volatile Stripe[] stripes;
+  protected Executor prefetchExecutor;
+
+  public ConcurrentDbIdGenerator() {
+    this(defaultNumberOfStripes());
+  }
+
+  public ConcurrentDbIdGenerator(int numberOfStripes) {
+    // round up to a power of two to select the stripe by a bit mask
+    this.numberOfStripes = Integer.highestOneBit(Math.max(1, numberOfStripes) * 2 - 1);
+    this.prefetchExecutor = createPrefetchExecutor();
+    reset();
+  }
+
+  protected static int defaultNumberOfStripes() {
+    return Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Creates the executor that fetches blocks in the background. Its thread terminates
+   * when no block has been requested for a while, so the generator does not need to be closed.
+   */
+  protected Executor createPrefetchExecutor() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(0, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+      Thread thread = new Thread(runnable, "operaton-id-block-prefetch");
+      thread.setDaemon(true);
+      return thread;
+    });
+    return executor;
+  }
+
+  @Override
+  public String getNextId() {
+    Stripe stripe = getStripe();
+
+    while (true) {
+      IdRange range = stripe.currentRange;
+      long id = range.nextId.getAndIncrement();
+
+      if (id <= range.lastId) {
+        if (id == range.prefetchId) {
+          prefetchBlock(stripe);
+        }
+        return Long.toString(id);
+      }
+
+      refill(stripe, range);
+    }
+  }
+
+  protected Stripe getStripe() {
+    Stripe[] currentStripes = stripes;
+    int hash = Long.hashCode(Thread.currentThread().getId());
+    // spread the bits as thread ids are sequential
+    hash ^= (hash >>> 16);
+    return currentStripes[hash & (currentStripes.length - 1)];
+  }
+
+  protected void prefetchBlock(Stripe stripe) {
+    int blockSize = stripe.blockSize;
+    CompletableFuture<IdBlock> prefetchedBlock = new CompletableFuture<>();
+    if (stripe.prefetchedBlock.compareAndSet(null, prefetchedBlock)) {
+      try {
+        prefetchExecutor.execute(() -> {
+          try {
+            prefetchedBlock.complete(fetchBlock(blockSize));
+          }
+          catch (Throwable t) {
+            prefetchedBlock.completeExceptionally(t);
+          }
+        });
+      }
+      catch (RuntimeException e) {
+        // fetch the block on refill instead
+        stripe.prefetchedBlock.compareAndSet(prefetchedBlock, null);
+      }
+    }
+  }
+
+  protected void refill(Stripe stripe, IdRange exhaustedRange) {
+    stripe.refillLock.lock();
+    try {
+      if (stripe.currentRange != exhaustedRange) {
+        // another thread of this stripe has refilled the stripe meanwhile
+        return;
+      }
+
+      adaptBlockSize(stripe);
+
+      IdBlock idBlock = takePrefetchedBlock(stripe);
+      if (idBlock == null) {
+        idBlock = fetchBlock(stripe.blockSize);
+      }
+
+      stripe.currentRange = new IdRange(idBlock);
+      stripe.rangeStartTime = System.currentTimeMillis();
+    }
+    finally {
+      stripe.refillLock.unlock();
+    }
+  }
+
+  protected IdBlock takePrefetchedBlock(Stripe stripe) {
+    CompletableFuture<IdBlock> prefetchedBlock = stripe.prefetchedBlock.getAndSet(null);
+    if (prefetchedBlock == null) {
+      return null;
+    }
+
+    try {
+      return prefetchedBlock.join();
+    }
+    catch (CompletionException e) {
+      // the prefetch failed; let the refilling thread fetch the block and see the exception if it fails again
+      return null;
+    }
+  }
+
+  protected void adaptBlockSize(Stripe stripe) {
+    if (stripe.rangeStartTime < 0) {
+      return;
+    }
+
+    long blockDuration = System.currentTimeMillis() - stripe.rangeStartTime;
+    if (blockDuration < targetBlockDurationInMillis / 2) {
+      stripe.blockSize = Math.min(maxIdBlockSize, stripe.blockSize * 2);
+    }
+    else if (blockDuration > targetBlockDurationInMillis * 2) {
+      stripe.blockSize = Math.max(idBlockSize, stripe.blockSize / 2);
+    }
+  }
+
+  protected IdBlock fetchBlock(int blockSize) {
+    return commandExecutor.execute(new GetNextIdBlockCmd(blockSize));
+  }
+
+  @Override
+  public void setIdBlockSize(int idBlockSize) {
+    super.setIdBlockSize(idBlockSize);
+    reset();
+  }
+
+  /**
+   * Discards the blocks of all stripes, including prefetched ones, so that the generator
+   * fetches new blocks from the database when the next ID generation request is received.
+   */
+  @Override
+  public void reset() {
+    super.reset();
+    Stripe[] newStripes = new Stripe[numberOfStripes];
+    for (int i = 0; i < newStripes.length; i++) {
+      newStripes[i] = new Stripe(Math.max(1, idBlockSize));
+    }
+    stripes = newStripes;
+  }
+
+  public int getNumberOfStripes() {
+    return numberOfStripes;
+  }
+
+  public int getMaxIdBlockSize() {
+    return maxIdBlockSize;
+  }
+
+  public void setMaxIdBlockSize(int maxIdBlockSize) {
+    this.maxIdBlockSize = maxIdBlockSize;
+  }
+
+  public long getTargetBlockDurationInMillis() {
+    return targetBlockDurationInMillis;
+  }
+
+  public void setTargetBlockDurationInMillis(long targetBlockDurationInMillis) {
+    this.targetBlockDurationInMillis = targetBlockDurationInMillis;
+  }
+
+  public Executor getPrefetchExecutor() {
+    return prefetchExecutor;
+  }
+
+  public void setPrefetchExecutor(Executor prefetchExecutor) {
+    this.prefetchExecutor = prefetchExecutor;
+  }
+
+  /**
+   * A block of IDs; IDs are taken by incrementing {@link #nextId} until it exceeds {@link #lastId}.
+   */
+  protected static class IdRange {
+
+    protected final AtomicLong nextId;
+    protected final long lastId;
+    protected final long prefetchId;
+
+    protected IdRange(long nextId, long lastId) {
+      this.nextId = new AtomicLong(nextId);
+      this.lastId = lastId;
+      this.prefetchId = lastId - (lastId - nextId + 1) / 4;
+    }
+
+    protected IdRange(IdBlock idBlock) {
+      this(idBlock.getNextId(), idBlock.getLastId());
+    }
+  }
+
+  protected static class Stripe {
+
+    protected final ReentrantLock refillLock = new ReentrantLock();
+    protected final AtomicReference<CompletableFuture<IdBlock>> prefetchedBlock = new AtomicReference<>();
+    protected volatile IdRange currentRange = new IdRange(0, -1);
+    protected volatile int blockSize;
+    protected long rangeStartTime = -1;
+
+    protected Stripe(int blockSize) {
+      this.blockSize = blockSize;
+    }
+  }
+}
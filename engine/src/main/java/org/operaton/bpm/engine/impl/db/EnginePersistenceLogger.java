@@ -872,6 +872,30 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
 
   // exception code 110 is already taken. See requiredOperatonAdminOrPermissionException() for details.
 
+  public ProcessEngineException historyEventOutboxSerializationException(String entryId, Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "111",
+        "Cannot serialize the history events of history event outbox entry '{}': {}", entryId, cause.getMessage()), cause);
+  }
+
+  public ProcessEngineException historyEventOutboxDeserializationException(String entryId, Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "112",
+        "Cannot deserialize the history events of history event outbox entry '{}': {}", entryId, cause.getMessage()), cause);
+  }
+
+  public void historyEventOutboxWriteFailure(Exception e) {
+    logWarn(
+        "113",
+        "Exception while writing history events of the history event outbox: {}", e.getMessage(), e);
+  }
+
+  public void historyEventOutboxConcurrentWrite(OptimisticLockingException e) {
+    logDebug(
+        "114",
+        "History event outbox entries were written concurrently by another process engine: {}", e.getMessage());
+  }
+
   public static List<SQLException> findRelatedSqlExceptions(Throwable exception) {
     List<SQLException> sqlExceptionList = new ArrayList<>();
     Throwable cause = exception;
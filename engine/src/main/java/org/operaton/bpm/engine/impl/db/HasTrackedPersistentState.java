@@ -0,0 +1,40 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.db;
+
+/**
+ * <p>A {@link DbEntity} that keeps track of its persistent state itself. The entity
+ * cache then does not need to keep a copy of {@link DbEntity#getPersistentState()}
+ * to detect changes, and checking an unchanged entity allocates nothing.</p>
+ *
+ * <p>Implementations remember the values of all fields that make up the persistent state.
+ * Subclasses that add to the persistent state must add to the tracked state as well.</p>
+ */
+public interface HasTrackedPersistentState {
+
+  /**
+   * Remembers the current persistent state as the state to compare against.
+   */
+  void trackPersistentState();
+
+  /**
+   * @return true if {@link DbEntity#getPersistentState()} would differ from the persistent
+   * state at the last call of {@link #trackPersistentState()}
+   */
+  boolean hasPersistentStateChanged();
+
+}
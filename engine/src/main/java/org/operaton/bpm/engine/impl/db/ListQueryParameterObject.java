@@ -39,6 +39,8 @@ public class ListQueryParameterObject implements Serializable {
   protected Object parameter;
   protected String databaseType;
 
+  protected int fetchSize;
+
   public ListQueryParameterObject() {
   }
 
@@ -91,6 +93,14 @@ public class ListQueryParameterObject implements Serializable {
     return databaseType;
   }
 
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
+  public void setFetchSize(int fetchSize) {
+    this.fetchSize = fetchSize;
+  }
+
   public AuthorizationCheck getAuthCheck() {
     return authCheck;
   }
@@ -0,0 +1,139 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.operaton.bpm.engine.impl.util.ClockUtil;
+import org.operaton.commons.utils.cache.Cache;
+import org.operaton.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * <p>Process engine wide cache of the authorizations that grant permissions to a user
+ * and its groups. Authorized queries restrict their authorization join to the cached
+ * authorizations instead of searching all authorizations of the user and groups
+ * for every query.</p>
+ *
+ * <p>The cache is invalidated when authorizations are changed through this process
+ * engine. Changes made by other process engines of a cluster become visible when the
+ * entries expire after the configured time to live. Since authorized queries still
+ * check the cached authorizations against the database, a stale entry can only
+ * lack grants, but not grant more than the database.</p>
+ *
+ * <p>Only grants are cached. The groups that authorizations exist for and whether
+ * revoke authorizations apply are still determined by every command, since a stale
+ * answer would ignore revoke authorizations.</p>
+ */
+public class PermissionCache {
+
+  /** Users and groups with more grants for a check are not materialised in memory */
+  public static final int MAX_GRANTS_PER_ENTRY = 1000;
+
+  protected final Cache<String, Entry<List<String>>> grants;
+  protected final long timeToLive;
+
+  protected final AtomicLong generation = new AtomicLong();
+
+  public PermissionCache(int capacity, long timeToLive) {
+    this.grants = new ConcurrentLruCache<>(capacity);
+    this.timeToLive = timeToLive;
+  }
+
+  /**
+   * Only lookups that find grants are cached, so that a user without grants sees the
+   * first grant created by another process engine immediately.
+   *
+   * @return the ids of the authorizations granting the permission checks of the given
+   *         authorization check, or null if there are too many to materialise
+   */
+  public List<String> getGrantedAuthorizationIds(AuthorizationCheck authCheck, Function<AuthorizationCheck, List<String>> loader) {
+    String key = createKey(authCheck);
+
+    Entry<List<String>> entry = grants.get(key);
+    if (!isValid(entry)) {
+      long currentGeneration = generation.get();
+      List<String> authorizationIds = loader.apply(authCheck);
+      if (authorizationIds.isEmpty()) {
+        return authorizationIds;
+      }
+      if (authorizationIds.size() > MAX_GRANTS_PER_ENTRY) {
+        authorizationIds = null;
+      } else {
+        authorizationIds = Collections.unmodifiableList(new ArrayList<>(authorizationIds));
+      }
+      entry = new Entry<>(authorizationIds, currentGeneration, ClockUtil.getCurrentTime().getTime());
+      grants.put(key, entry);
+    }
+
+    // mybatis calls methods like size() by reflection, which fails for the private unmodifiable list implementation
+    return entry.value == null ? null : new ArrayList<>(entry.value);
+  }
+
+  /**
+   * Discards all entries, e.g. because authorizations were created, updated or deleted.
+   */
+  public void invalidate() {
+    generation.incrementAndGet();
+    grants.clear();
+  }
+
+  public int size() {
+    return grants.size();
+  }
+
+  protected boolean isValid(Entry<?> entry) {
+    return entry != null
+        && entry.generation == generation.get()
+        && ClockUtil.getCurrentTime().getTime() - entry.createdAt < timeToLive;
+  }
+
+  protected String createKey(AuthorizationCheck authCheck) {
+    StringBuilder key = new StringBuilder();
+    key.append(authCheck.getAuthUserId());
+
+    List<String> groupIds = new ArrayList<>(authCheck.getAuthGroupIds());
+    Collections.sort(groupIds);
+    for (String groupId : groupIds) {
+      key.append('\u0000').append('g').append(groupId);
+    }
+
+    CompositePermissionCheck permissionChecks = authCheck.getPermissionChecks();
+    key.append('\u0000').append(permissionChecks.isDisjunctive() ? "or" : "and");
+    for (PermissionCheck permissionCheck : permissionChecks.getAtomicChecks()) {
+      key.append('\u0000').append(permissionCheck.getResourceType()).append(':').append(permissionCheck.getPerms());
+    }
+    return key.toString();
+  }
+
+  protected static class Entry<T> {
+
+    protected final T value;
+    protected final long generation;
+    protected final long createdAt;
+
+    protected Entry(T value, long generation, long createdAt) {
+      this.value = value;
+      this.generation = generation;
+      this.createdAt = createdAt;
+    }
+  }
+
+}
@@ -17,6 +17,7 @@
 package org.operaton.bpm.engine.impl.db;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.operaton.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.operaton.bpm.engine.impl.db.entitymanager.operation.DbOperation.State;
@@ -58,6 +59,12 @@ public interface PersistenceSession extends Session {
 
   List<?> selectList(String statement, Object parameter);
 
+  /**
+   * Passes the results of the select to the result handler while they are read
+   * from the database. No entity loaded events are fired for the results.
+   */
+  void selectStream(String statement, Object parameter, Consumer<Object> resultHandler);
+
   <T extends DbEntity> T selectById(Class<T> type, String id);
 
   Object selectOne(String statement, Object parameter);
@@ -31,6 +31,7 @@ import static org.operaton.bpm.engine.impl.db.entitymanager.operation.DbOperatio
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import org.operaton.bpm.engine.OptimisticLockingException;
 import org.operaton.bpm.engine.ProcessEngineException;
 import org.operaton.bpm.engine.impl.DeploymentQueryImpl;
@@ -91,6 +92,9 @@ public class DbEntityManager implements Session, EntityLoadListener {
   protected static final String TOGGLE_FOREIGN_KEY_STMT = "toggleForeignKey";
   public static final int BATCH_SIZE = 50;
 
+  protected static final DbEntityState[] FLUSH_ORDER = {
+      PERSISTENT, MERGED, TRANSIENT, DELETED_TRANSIENT, DELETED_PERSISTENT, DELETED_MERGED };
+
   protected List<OptimisticLockingListener> optimisticLockingListeners;
 
   protected IdGenerator idGenerator;
@@ -181,6 +185,31 @@ public class DbEntityManager implements Session, EntityLoadListener {
     return filterLoadedObjects(loadedObjects);
   }
 
+  /**
+   * Passes the results of the select to the result handler while they are read from the
+   * database. Loaded entities are not added to the entity cache to keep the memory constant;
+   * entities that are already cached are passed in their cached state.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> void selectStream(String statement, ListQueryParameterObject parameter, Consumer<T> resultHandler) {
+    if (parameter.getFirstResult() == -1 || parameter.getMaxResults() == -1) {
+      return;
+    }
+    persistenceSession.selectStream(statement, parameter, loadedObject -> {
+      Object result = loadedObject;
+      if (loadedObject instanceof DbEntity) {
+        DbEntity loadedEntity = (DbEntity) loadedObject;
+        DbEntity cachedEntity = dbEntityCache.get(loadedEntity.getClass(), loadedEntity.getId());
+        if (cachedEntity != null) {
+          result = cachedEntity;
+        } else if (loadedEntity instanceof DbEntityLifecycleAware) {
+          ((DbEntityLifecycleAware) loadedEntity).postLoad();
+        }
+      }
+      resultHandler.accept((T) result);
+    });
+  }
+
   public Object selectOne(String statement, Object parameter) {
     Object result = persistenceSession.selectOne(statement, parameter);
     if (result instanceof DbEntity) {
@@ -480,16 +509,26 @@ public class DbEntityManager implements Session, EntityLoadListener {
    * Depending on the entity state, the required {@link DbOperation} is performed and the cache is updated.
    */
   protected void flushEntityCache() {
-    List<CachedDbEntity> cachedEntities = dbEntityCache.getCachedEntities();
-    for (CachedDbEntity cachedDbEntity : cachedEntities) {
-      flushCachedEntity(cachedDbEntity);
+    // PERSISTENT entities are flushed first, so that entities which become
+    // PERSISTENT during the flush are not visited twice
+    for (DbEntityState entityState : FLUSH_ORDER) {
+      CachedDbEntity cachedDbEntity = dbEntityCache.getFirstCachedEntity(entityState);
+      while (cachedDbEntity != null) {
+        // flushing moves the entity to another state list or removes it from the cache
+        CachedDbEntity next = cachedDbEntity.getNextInState();
+        flushCachedEntity(cachedDbEntity);
+        cachedDbEntity = next;
+      }
     }
 
     // log cache state after flush
-    LOG.flushedCacheState(dbEntityCache.getCachedEntities());
+    if (LOG.isDebugEnabled()) {
+      LOG.flushedCacheState(dbEntityCache.getCachedEntities());
+    }
   }
 
   protected void flushCachedEntity(CachedDbEntity cachedDbEntity) {
+    boolean isCopyUpToDate = false;
 
     if(cachedDbEntity.getEntityState() == TRANSIENT) {
       // latest state of references in cache is relevant when determining insertion order
@@ -499,9 +538,13 @@ public class DbEntityManager implements Session, EntityLoadListener {
       // mark PERSISTENT
       cachedDbEntity.setEntityState(PERSISTENT);
 
-    } else if(cachedDbEntity.getEntityState() == PERSISTENT && cachedDbEntity.isDirty()) {
-      // object is dirty -> perform UPDATE
-      performEntityOperation(cachedDbEntity, UPDATE);
+    } else if(cachedDbEntity.getEntityState() == PERSISTENT) {
+      // dirty check; takes the new copy if the object is dirty
+      if (cachedDbEntity.updateCopy()) {
+        // object is dirty -> perform UPDATE
+        performEntityOperation(cachedDbEntity, UPDATE);
+      }
+      isCopyUpToDate = true;
 
     } else if(cachedDbEntity.getEntityState() == MERGED) {
       // perform UPDATE
@@ -524,8 +567,10 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
     // if object is PERSISTENT after flush
     if(cachedDbEntity.getEntityState() == PERSISTENT) {
-      // make a new copy
-      cachedDbEntity.makeCopy();
+      if (!isCopyUpToDate) {
+        // make a new copy
+        cachedDbEntity.makeCopy();
+      }
       // update cached references
       cachedDbEntity.determineEntityReferences();
     }
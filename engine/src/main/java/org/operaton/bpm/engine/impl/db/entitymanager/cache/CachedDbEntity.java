@@ -21,6 +21,7 @@ import java.util.Set;
 
 import org.operaton.bpm.engine.impl.db.DbEntity;
 import org.operaton.bpm.engine.impl.db.HasDbReferences;
+import org.operaton.bpm.engine.impl.db.HasTrackedPersistentState;
 import org.operaton.bpm.engine.impl.db.entitymanager.Recyclable;
 
 /**
@@ -31,6 +32,11 @@ import org.operaton.bpm.engine.impl.db.entitymanager.Recyclable;
  */
 public class CachedDbEntity implements Recyclable {
 
+  /**
+   * Takes the place of the copy for entities that {@link HasTrackedPersistentState track their persistent state}
+   */
+  protected static final Object TRACKED_PERSISTENT_STATE = new Object();
+
   protected DbEntity dbEntity;
 
   protected Object copy;
@@ -42,11 +48,23 @@ public class CachedDbEntity implements Recyclable {
    */
   protected Set<String> flushRelevantEntityReferences = null;
 
+  /**
+   * The cache this entity is registered with. The cache keeps all entities
+   * of the same {@link DbEntityState} in an intrusive list that is updated
+   * whenever the state of this entity changes.
+   */
+  protected DbEntityCache cache;
+  protected CachedDbEntity previousInState;
+  protected CachedDbEntity nextInState;
+
   public void recycle() {
     // clean out state
     dbEntity = null;
     copy = null;
     entityState = null;
+    cache = null;
+    previousInState = null;
+    nextInState = null;
   }
 
   /**
@@ -54,6 +72,9 @@ public class CachedDbEntity implements Recyclable {
    * @return true if the entity is dirty (state has changed since it was put into the cache)
    */
   public boolean isDirty() {
+    if (copy == TRACKED_PERSISTENT_STATE) {
+      return ((HasTrackedPersistentState) dbEntity).hasPersistentStateChanged();
+    }
     return !dbEntity.getPersistentState().equals(copy);
   }
 
@@ -63,7 +84,44 @@ public class CachedDbEntity implements Recyclable {
   }
 
   public void makeCopy() {
-    copy = dbEntity.getPersistentState();
+    if (dbEntity instanceof HasTrackedPersistentState) {
+      ((HasTrackedPersistentState) dbEntity).trackPersistentState();
+      copy = TRACKED_PERSISTENT_STATE;
+    }
+    else {
+      copy = dbEntity.getPersistentState();
+    }
+  }
+
+  /**
+   * Performs the dirty check and replaces the copy with the current persistent state
+   * if the entity is dirty. Compared to {@link #isDirty()} followed by {@link #makeCopy()},
+   * the persistent state is only computed once.
+   *
+   * @return true if the entity is dirty (state has changed since it was put into the cache)
+   */
+  public boolean updateCopy() {
+    if (copy == TRACKED_PERSISTENT_STATE) {
+      HasTrackedPersistentState trackedEntity = (HasTrackedPersistentState) dbEntity;
+      if (!trackedEntity.hasPersistentStateChanged()) {
+        return false;
+      }
+      trackedEntity.trackPersistentState();
+      return true;
+    }
+
+    if (dbEntity instanceof HasTrackedPersistentState) {
+      // forced dirty; start tracking with the current state
+      makeCopy();
+      return true;
+    }
+
+    Object persistentState = dbEntity.getPersistentState();
+    if (persistentState.equals(copy)) {
+      return false;
+    }
+    copy = persistentState;
+    return true;
   }
 
   public String toString() {
@@ -102,7 +160,20 @@ public class CachedDbEntity implements Recyclable {
   }
 
   public void setEntityState(DbEntityState entityState) {
-    this.entityState = entityState;
+    if (cache != null && this.entityState != entityState) {
+      cache.changeEntityState(this, entityState);
+    }
+    else {
+      this.entityState = entityState;
+    }
+  }
+
+  /**
+   * @return the next entity with the same {@link DbEntityState} in the cache or null
+   * if this is the last one.
+   */
+  public CachedDbEntity getNextInState() {
+    return nextInState;
   }
 
   public Class<? extends DbEntity> getEntityType() {
@@ -0,0 +1,170 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.db.entitymanager.cache;
+
+/**
+ * Open addressing hash table mapping ids to the {@link CachedDbEntity cached entities}
+ * of one entity type. Uses linear probing and backward shift deletion, so lookups
+ * neither allocate nor leave tombstones behind after removals.
+ */
+public class CachedDbEntityTable {
+
+  protected static final int INITIAL_CAPACITY = 16;
+
+  protected String[] ids = new String[INITIAL_CAPACITY];
+  protected CachedDbEntity[] entries = new CachedDbEntity[INITIAL_CAPACITY];
+  protected int size;
+
+  public CachedDbEntity get(String id) {
+    String[] ids = this.ids;
+    CachedDbEntity[] entries = this.entries;
+    int mask = entries.length - 1;
+    for (int index = hash(id) & mask; entries[index] != null; index = (index + 1) & mask) {
+      if (equal(id, ids[index])) {
+        return entries[index];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Puts the entity into the table unless the table already contains an entity with the same id.
+   *
+   * @return the entity already contained in the table or null if the entity was added
+   */
+  public CachedDbEntity putIfAbsent(String id, CachedDbEntity cachedEntity) {
+    int mask = entries.length - 1;
+    int index = hash(id) & mask;
+    while (entries[index] != null) {
+      if (equal(id, ids[index])) {
+        return entries[index];
+      }
+      index = (index + 1) & mask;
+    }
+    insertAt(index, id, cachedEntity);
+    return null;
+  }
+
+  /**
+   * Puts the entity into the table, replacing the entity with the same id if present.
+   *
+   * @return the replaced entity or null
+   */
+  public CachedDbEntity put(String id, CachedDbEntity cachedEntity) {
+    int mask = entries.length - 1;
+    int index = hash(id) & mask;
+    while (entries[index] != null) {
+      if (equal(id, ids[index])) {
+        CachedDbEntity replaced = entries[index];
+        entries[index] = cachedEntity;
+        return replaced;
+      }
+      index = (index + 1) & mask;
+    }
+
+    insertAt(index, id, cachedEntity);
+    return null;
+  }
+
+  /**
+   * @return the removed entity or null if the table contains no entity with the given id
+   */
+  public CachedDbEntity remove(String id) {
+    int mask = entries.length - 1;
+    int index = hash(id) & mask;
+    while (entries[index] != null) {
+      if (equal(id, ids[index])) {
+        CachedDbEntity removed = entries[index];
+        shiftBackward(index, mask);
+        size--;
+        return removed;
+      }
+      index = (index + 1) & mask;
+    }
+    return null;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  protected void insertAt(int index, String id, CachedDbEntity cachedEntity) {
+    ids[index] = id;
+    entries[index] = cachedEntity;
+    size++;
+    if (size * 2 > entries.length) {
+      resize();
+    }
+  }
+
+  /**
+   * Closes the gap left by a removed entry by moving subsequent entries of the same
+   * probe sequence backwards.
+   */
+  protected void shiftBackward(int gap, int mask) {
+    int index = gap;
+    while (true) {
+      index = (index + 1) & mask;
+      if (entries[index] == null) {
+        break;
+      }
+      int home = hash(ids[index]) & mask;
+      // the entry may be moved into the gap if its home slot does not lie cyclically in (gap, index]
+      boolean movable = gap <= index ? (home <= gap || home > index) : (home <= gap && home > index);
+      if (movable) {
+        ids[gap] = ids[index];
+        entries[gap] = entries[index];
+        gap = index;
+      }
+    }
+    ids[gap] = null;
+    entries[gap] = null;
+  }
+
+  protected void resize() {
+    String[] oldIds = ids;
+    CachedDbEntity[] oldEntries = entries;
+    int capacity = oldEntries.length * 2;
+    int mask = capacity - 1;
+
+    ids = new String[capacity];
+    entries = new CachedDbEntity[capacity];
+    for (int i = 0; i < oldEntries.length; i++) {
+      if (oldEntries[i] != null) {
+        int index = hash(oldIds[i]) & mask;
+        while (entries[index] != null) {
+          index = (index + 1) & mask;
+        }
+        ids[index] = oldIds[i];
+        entries[index] = oldEntries[i];
+      }
+    }
+  }
+
+  protected static int hash(String id) {
+    if (id == null) {
+      return 0;
+    }
+    int hash = id.hashCode() * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  protected static boolean equal(String id, String otherId) {
+    return id == null ? otherId == null : id.equals(otherId);
+  }
+
+}
@@ -24,10 +24,9 @@ import static org.operaton.bpm.engine.impl.db.entitymanager.cache.DbEntityState.
 import static org.operaton.bpm.engine.impl.db.entitymanager.cache.DbEntityState.TRANSIENT;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.operaton.bpm.engine.ProcessEngineException;
 import org.operaton.bpm.engine.impl.ProcessEngineLogger;
@@ -45,17 +44,28 @@ public class DbEntityCache {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
 
+  protected static final DbEntityState[] ENTITY_STATES = DbEntityState.values();
+
   /**
-   * The cache itself: maps entity types (classes) to maps indexed by id (primary key).
-   *
-   * The motivation for indexing by type (class) is
+   * The cache itself: one table per entity type (cache key), indexed by the ordinal of the
+   * cache key (see {@link DbEntityCacheKeyMapping#getEntityCacheKeyOrdinal(Class)}). Each table
+   * maps ids (primary keys) to cached entities.
    *
-   * a) multiple entities of different types could have the same value as primary key. In the
-   *    process engine, TaskEntity and HistoricTaskEntity have the same id value.
-   *
-   * b) performance (?)
+   * The motivation for indexing by type (class) is that multiple entities of different
+   * types could have the same value as primary key. In the process engine, TaskEntity
+   * and HistoricTaskEntity have the same id value.
    */
-  protected Map<Class<?>, Map<String, CachedDbEntity>> cachedEntites = new HashMap<Class<?>, Map<String, CachedDbEntity>>();
+  protected CachedDbEntityTable[] cachedEntityTables = new CachedDbEntityTable[16];
+
+  /**
+   * Heads and tails of the intrusive lists linking all cached entities by {@link DbEntityState},
+   * indexed by the ordinal of the state. This allows flushing the cache without walking
+   * the tables.
+   */
+  protected CachedDbEntity[] firstInState = new CachedDbEntity[ENTITY_STATES.length];
+  protected CachedDbEntity[] lastInState = new CachedDbEntity[ENTITY_STATES.length];
+
+  protected int size;
 
   protected DbEntityCacheKeyMapping cacheKeyMapping;
 
@@ -77,8 +87,7 @@ public class DbEntityCache {
    */
   @SuppressWarnings("unchecked")
   public <T extends DbEntity> T get(Class<T> type, String id) {
-    Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(type);
-    CachedDbEntity cachedDbEntity = getCachedEntity(cacheKey, id);
+    CachedDbEntity cachedDbEntity = getCachedEntity(type, id);
     if(cachedDbEntity != null) {
       DbEntity dbEntity = cachedDbEntity.getEntity();
       if (!type.isAssignableFrom(dbEntity.getClass())) {
@@ -96,27 +105,26 @@ public class DbEntityCache {
 
   @SuppressWarnings("unchecked")
   public <T extends DbEntity> List<T> getEntitiesByType(Class<T> type) {
-    Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(type);
-    Map<String, CachedDbEntity> entities = cachedEntites.get(cacheKey);
-    List<T> result = new ArrayList<T>();
-    if(entities == null) {
+    int cacheKeyOrdinal = cacheKeyMapping.getEntityCacheKeyOrdinal(type);
+    CachedDbEntityTable table = getTable(cacheKeyOrdinal);
+    if (table == null || table.size() == 0) {
       return Collections.emptyList();
-    } else {
-      for (CachedDbEntity cachedEntity : entities.values()) {
-        if (type != cacheKey) {
-          // if the cacheKey of this type differs from the actual type,
-          // not all cached entities with the key should be returned.
-          // Then we only add those entities whose type matches the argument type.
-          if (type.isAssignableFrom(cachedEntity.getClass())) {
-            result.add((T) cachedEntity.getEntity());
-          }
-        } else {
-          result.add((T) cachedEntity.getEntity());
-        }
+    }
 
+    // if the cacheKey of this type differs from the actual type,
+    // not all cached entities with the key should be returned.
+    // Then we only add those entities whose type matches the argument type.
+    boolean filterByType = cacheKeyMapping.getEntityCacheKey(type) != type;
+
+    List<T> result = new ArrayList<T>(table.size());
+    CachedDbEntity[] entries = table.entries;
+    for (CachedDbEntity cachedEntity : entries) {
+      if (cachedEntity != null
+          && (!filterByType || type.isAssignableFrom(cachedEntity.getEntityType()))) {
+        result.add((T) cachedEntity.getEntity());
       }
-      return result;
     }
+    return result;
   }
 
   /**
@@ -127,10 +135,9 @@ public class DbEntityCache {
    * @return the cached entity or null if the entity does not exist.
    */
   public CachedDbEntity getCachedEntity(Class<?> type, String id) {
-    Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(type);
-    Map<String, CachedDbEntity> entitiesByType = cachedEntites.get(cacheKey);
-    if(entitiesByType != null) {
-      return entitiesByType.get(id);
+    CachedDbEntityTable table = getTable(cacheKeyMapping.getEntityCacheKeyOrdinal(type));
+    if(table != null) {
+      return table.get(id);
     } else {
       return null;
     }
@@ -189,19 +196,13 @@ public class DbEntityCache {
 
   protected void putInternal(CachedDbEntity entityToAdd) {
     Class<? extends DbEntity> type = entityToAdd.getEntity().getClass();
-    Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(type);
-
-    Map<String, CachedDbEntity> map = cachedEntites.get(cacheKey);
-    if(map == null) {
-      map = new HashMap<String, CachedDbEntity>();
-      cachedEntites.put(cacheKey, map);
-    }
+    CachedDbEntityTable table = getOrCreateTable(cacheKeyMapping.getEntityCacheKeyOrdinal(type));
 
     // check whether this object is already present in the cache
-    CachedDbEntity existingCachedEntity = map.get(entityToAdd.getEntity().getId());
+    CachedDbEntity existingCachedEntity = table.putIfAbsent(entityToAdd.getEntity().getId(), entityToAdd);
     if(existingCachedEntity == null) {
-      // no such entity exists -> put it into the cache
-      map.put(entityToAdd.getEntity().getId(), entityToAdd);
+      // no such entity existed -> it has been put into the cache
+      linkEntry(entityToAdd);
 
     } else {
       // the same entity is already cached
@@ -221,7 +222,7 @@ public class DbEntityCache {
       case PERSISTENT:
         if(existingCachedEntity.getEntityState() == PERSISTENT) {
           // use new entity state, replacing the existing one.
-          map.put(entityToAdd.getEntity().getId(), entityToAdd);
+          putEntry(table, entityToAdd, existingCachedEntity);
           break;
         }
         if(existingCachedEntity.getEntityState() == DELETED_PERSISTENT
@@ -238,7 +239,7 @@ public class DbEntityCache {
         if(existingCachedEntity.getEntityState() == PERSISTENT
             || existingCachedEntity.getEntityState() == MERGED) {
           // use new entity state, replacing the existing one.
-          map.put(entityToAdd.getEntity().getId(), entityToAdd);
+          putEntry(table, entityToAdd, existingCachedEntity);
           break;
         }
         if(existingCachedEntity.getEntityState() == DELETED_PERSISTENT
@@ -253,25 +254,43 @@ public class DbEntityCache {
 
       default:
         // deletes are always added
-        map.put(entityToAdd.getEntity().getId(), entityToAdd);
+        putEntry(table, entityToAdd, existingCachedEntity);
         break;
       }
     }
   }
 
+  protected void putEntry(CachedDbEntityTable table, CachedDbEntity entityToAdd, CachedDbEntity existingCachedEntity) {
+    table.put(entityToAdd.getEntity().getId(), entityToAdd);
+    unlink(existingCachedEntity);
+    existingCachedEntity.cache = null;
+    size--;
+    linkEntry(entityToAdd);
+  }
+
+  protected void linkEntry(CachedDbEntity entityToAdd) {
+    entityToAdd.cache = this;
+    link(entityToAdd);
+    size++;
+  }
+
   /**
    * Remove an entity from the cache
    * @param e the entity to remove
    * @return
    */
   public boolean remove(DbEntity e) {
-    Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(e.getClass());
-    Map<String, CachedDbEntity> typeMap = cachedEntites.get(cacheKey);
-    if(typeMap != null) {
-      return typeMap.remove(e.getId()) != null;
-    } else {
-      return false;
+    CachedDbEntityTable table = getTable(cacheKeyMapping.getEntityCacheKeyOrdinal(e.getClass()));
+    if(table != null) {
+      CachedDbEntity removedEntity = table.remove(e.getId());
+      if (removedEntity != null) {
+        unlink(removedEntity);
+        removedEntity.cache = null;
+        size--;
+        return true;
+      }
     }
+    return false;
   }
 
   /**
@@ -345,13 +364,35 @@ public class DbEntityCache {
   }
 
   public List<CachedDbEntity> getCachedEntities() {
-    List<CachedDbEntity> result = new ArrayList<CachedDbEntity>();
-    for (Map<String, CachedDbEntity> typeCache : cachedEntites.values()) {
-      result.addAll(typeCache.values());
+    List<CachedDbEntity> result = new ArrayList<CachedDbEntity>(size);
+    for (DbEntityState entityState : ENTITY_STATES) {
+      for (CachedDbEntity cachedEntity = firstInState[entityState.ordinal()]; cachedEntity != null; cachedEntity = cachedEntity.nextInState) {
+        result.add(cachedEntity);
+      }
     }
     return result;
   }
 
+  /**
+   * Allows walking all cached entities in a given state without copying them:
+   * the remaining entities are reachable via {@link CachedDbEntity#getNextInState()}.
+   * An entity that changes its state or is removed from the cache is moved to the end of
+   * the respective list or unlinked, so callers that modify the entity should
+   * obtain the next entity beforehand.
+   *
+   * @return the first cached entity in the given state or null if there is none
+   */
+  public CachedDbEntity getFirstCachedEntity(DbEntityState entityState) {
+    return firstInState[entityState.ordinal()];
+  }
+
+  /**
+   * @return the number of entities in the cache
+   */
+  public int size() {
+    return size;
+  }
+
   /**
    * Sets an object to a deleted state. It will not be removed from the cache but
    * transition to one of the DELETED states, depending on it's current state.
@@ -390,4 +431,61 @@ public class DbEntityCache {
     }
   }
 
+  protected void changeEntityState(CachedDbEntity cachedEntity, DbEntityState entityState) {
+    unlink(cachedEntity);
+    cachedEntity.entityState = entityState;
+    link(cachedEntity);
+  }
+
+  protected void link(CachedDbEntity cachedEntity) {
+    int state = cachedEntity.entityState.ordinal();
+    CachedDbEntity last = lastInState[state];
+    cachedEntity.previousInState = last;
+    cachedEntity.nextInState = null;
+    if (last == null) {
+      firstInState[state] = cachedEntity;
+    }
+    else {
+      last.nextInState = cachedEntity;
+    }
+    lastInState[state] = cachedEntity;
+  }
+
+  protected void unlink(CachedDbEntity cachedEntity) {
+    int state = cachedEntity.entityState.ordinal();
+    CachedDbEntity previous = cachedEntity.previousInState;
+    CachedDbEntity next = cachedEntity.nextInState;
+    if (previous == null) {
+      firstInState[state] = next;
+    }
+    else {
+      previous.nextInState = next;
+    }
+    if (next == null) {
+      lastInState[state] = previous;
+    }
+    else {
+      next.previousInState = previous;
+    }
+    cachedEntity.previousInState = null;
+    cachedEntity.nextInState = null;
+  }
+
+  protected CachedDbEntityTable getTable(int cacheKeyOrdinal) {
+    CachedDbEntityTable[] tables = cachedEntityTables;
+    return cacheKeyOrdinal < tables.length ? tables[cacheKeyOrdinal] : null;
+  }
+
+  protected CachedDbEntityTable getOrCreateTable(int cacheKeyOrdinal) {
+    if (cacheKeyOrdinal >= cachedEntityTables.length) {
+      cachedEntityTables = Arrays.copyOf(cachedEntityTables, Math.max(cacheKeyOrdinal + 1, cachedEntityTables.length * 2));
+    }
+    CachedDbEntityTable table = cachedEntityTables[cacheKeyOrdinal];
+    if (table == null) {
+      table = new CachedDbEntityTable();
+      cachedEntityTables[cacheKeyOrdinal] = table;
+    }
+    return table;
+  }
+
 }
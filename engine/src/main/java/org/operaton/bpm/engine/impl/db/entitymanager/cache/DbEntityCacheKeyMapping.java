@@ -18,6 +18,7 @@ package org.operaton.bpm.engine.impl.db.entitymanager.cache;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.operaton.bpm.engine.impl.db.DbEntity;
 import org.operaton.bpm.engine.impl.history.event.HistoricDetailEventEntity;
@@ -40,8 +41,19 @@ import org.operaton.bpm.engine.impl.persistence.entity.TimerEntity;
  */
 public class DbEntityCacheKeyMapping {
 
+  /**
+   * Dense, process-wide ordinals of the entity types, assigned the first time a type is seen.
+   */
+  protected static final Map<Class<?>, Integer> ENTITY_TYPE_ORDINALS = new WeakHashMap<Class<?>, Integer>();
+  protected static int entityTypeCount = 0;
+
   protected Map<Class<?>, Class<?>> entityCacheKeys;
 
+  /**
+   * Cache key ordinals of the entity types resolved so far. Replaced, never modified, once published.
+   */
+  protected volatile ResolvedEntityTypes resolvedEntityTypes = new ResolvedEntityTypes(16);
+
   public DbEntityCacheKeyMapping() {
     this.entityCacheKeys = new HashMap<Class<?>, Class<?>>();
   }
@@ -55,8 +67,47 @@ public class DbEntityCacheKeyMapping {
     return entityCacheKey;
   }
 
-  public void registerEntityCacheKey(Class<?> entityType, Class<?> cacheKey) {
+  /**
+   * @return the ordinal of the cache key of the given entity type, i.e. the
+   * {@link #getEntityTypeOrdinal(Class) entity type ordinal} of {@link #getEntityCacheKey(Class)}
+   */
+  public int getEntityCacheKeyOrdinal(Class<?> entityType) {
+    int cacheKeyOrdinal = resolvedEntityTypes.getCacheKeyOrdinal(entityType);
+    if (cacheKeyOrdinal >= 0) {
+      return cacheKeyOrdinal;
+    }
+    return resolveEntityCacheKeyOrdinal(entityType);
+  }
+
+  protected synchronized int resolveEntityCacheKeyOrdinal(Class<?> entityType) {
+    int cacheKeyOrdinal = resolvedEntityTypes.getCacheKeyOrdinal(entityType);
+    if (cacheKeyOrdinal >= 0) {
+      // resolved by another thread in the meantime
+      return cacheKeyOrdinal;
+    }
+    cacheKeyOrdinal = getEntityTypeOrdinal(getEntityCacheKey(entityType));
+    resolvedEntityTypes = resolvedEntityTypes.with(entityType, cacheKeyOrdinal);
+    return cacheKeyOrdinal;
+  }
+
+  public synchronized void registerEntityCacheKey(Class<?> entityType, Class<?> cacheKey) {
     this.entityCacheKeys.put(entityType, cacheKey);
+    this.resolvedEntityTypes = new ResolvedEntityTypes(16);
+  }
+
+  /**
+   * @return a dense ordinal identifying the given entity type; ordinals are assigned
+   * in the order in which types are first seen and never reused
+   */
+  public static int getEntityTypeOrdinal(Class<?> entityType) {
+    synchronized (ENTITY_TYPE_ORDINALS) {
+      Integer ordinal = ENTITY_TYPE_ORDINALS.get(entityType);
+      if (ordinal == null) {
+        ordinal = entityTypeCount++;
+        ENTITY_TYPE_ORDINALS.put(entityType, ordinal);
+      }
+      return ordinal;
+    }
   }
 
   public static DbEntityCacheKeyMapping defaultEntityCacheKeyMapping() {
@@ -79,4 +130,65 @@ public class DbEntityCacheKeyMapping {
   public static DbEntityCacheKeyMapping emptyMapping() {
     return new DbEntityCacheKeyMapping();
   }
+
+  /**
+   * Identity hash table from entity types to cache key ordinals that can be read without locking.
+   */
+  protected static class ResolvedEntityTypes {
+
+    protected final Class<?>[] entityTypes;
+    protected final int[] cacheKeyOrdinals;
+    protected final int size;
+
+    protected ResolvedEntityTypes(int capacity) {
+      this.entityTypes = new Class<?>[capacity];
+      this.cacheKeyOrdinals = new int[capacity];
+      this.size = 0;
+    }
+
+    protected ResolvedEntityTypes(ResolvedEntityTypes resolvedEntityTypes, int capacity) {
+      this.entityTypes = new Class<?>[capacity];
+      this.cacheKeyOrdinals = new int[capacity];
+      this.size = resolvedEntityTypes.size + 1;
+      for (int i = 0; i < resolvedEntityTypes.entityTypes.length; i++) {
+        if (resolvedEntityTypes.entityTypes[i] != null) {
+          put(resolvedEntityTypes.entityTypes[i], resolvedEntityTypes.cacheKeyOrdinals[i]);
+        }
+      }
+    }
+
+    /**
+     * @return the cache key ordinal or -1 if the type has not been resolved yet
+     */
+    protected int getCacheKeyOrdinal(Class<?> entityType) {
+      Class<?>[] entityTypes = this.entityTypes;
+      int mask = entityTypes.length - 1;
+      for (int index = System.identityHashCode(entityType) & mask; entityTypes[index] != null; index = (index + 1) & mask) {
+        if (entityTypes[index] == entityType) {
+          return cacheKeyOrdinals[index];
+        }
+      }
+      return -1;
+    }
+
+    protected ResolvedEntityTypes with(Class<?> entityType, int cacheKeyOrdinal) {
+      int capacity = entityTypes.length;
+      while ((size + 1) * 2 > capacity) {
+        capacity *= 2;
+      }
+      ResolvedEntityTypes resolvedEntityTypes = new ResolvedEntityTypes(this, capacity);
+      resolvedEntityTypes.put(entityType, cacheKeyOrdinal);
+      return resolvedEntityTypes;
+    }
+
+    protected void put(Class<?> entityType, int cacheKeyOrdinal) {
+      int mask = entityTypes.length - 1;
+      int index = System.identityHashCode(entityType) & mask;
+      while (entityTypes[index] != null) {
+        index = (index + 1) & mask;
+      }
+      entityTypes[index] = entityType;
+      cacheKeyOrdinals[index] = cacheKeyOrdinal;
+    }
+  }
 }
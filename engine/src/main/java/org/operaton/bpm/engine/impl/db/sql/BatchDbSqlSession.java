@@ -22,6 +22,7 @@ import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -54,11 +55,31 @@ public class BatchDbSqlSession extends DbSqlSession {
 
   @Override
   public FlushResult executeDbOperations(List<DbOperation> operations) {
-    for (DbOperation operation : operations) {
+    // the number of operations covered by each staged statement, if any multi-row insert is staged
+    List<Integer> operationsPerStatement = null;
+
+    for (int i = 0; i < operations.size(); i++) {
 
       try {
-        // stage operation
-        executeDbOperation(operation);
+        MultiRowInsert multiRowInsert = collectMultiRowInsert(operations, i);
+
+        if (multiRowInsert != null) {
+          if (operationsPerStatement == null) {
+            operationsPerStatement = new ArrayList<>(Collections.nCopies(i, 1));
+          }
+          operationsPerStatement.add(multiRowInsert.size());
+
+          executeMultiRowInsert(multiRowInsert);
+          i += multiRowInsert.size() - 1;
+
+        } else {
+          if (operationsPerStatement != null) {
+            operationsPerStatement.add(1);
+          }
+
+          // stage operation
+          executeDbOperation(operations.get(i));
+        }
 
       } catch (Exception ex) {
         // exception is wrapped later
@@ -67,24 +88,31 @@ public class BatchDbSqlSession extends DbSqlSession {
       }
     }
 
+    Iterator<Integer> statementSizesIt = operationsPerStatement != null ? operationsPerStatement.iterator() : null;
+
     List<BatchResult> batchResults;
     try {
       // applies all operations
       batchResults = flushBatchOperations();
     } catch (PersistenceException e) {
-      return postProcessBatchFailure(operations, e);
+      return postProcessBatchFailure(operations, statementSizesIt, e);
     }
 
-    return postProcessBatchSuccess(operations, batchResults);
+    return postProcessBatchSuccess(operations, statementSizesIt, batchResults);
   }
 
   protected FlushResult postProcessBatchSuccess(List<DbOperation> operations, List<BatchResult> batchResults) {
+    return postProcessBatchSuccess(operations, null, batchResults);
+  }
+
+  protected FlushResult postProcessBatchSuccess(List<DbOperation> operations, Iterator<Integer> statementSizesIt, List<BatchResult> batchResults) {
     Iterator<DbOperation> operationsIt = operations.iterator();
     List<DbOperation> failedOperations = new ArrayList<>();
     for (BatchResult successfulBatch : batchResults) {
       // even if all batches are successful, there can be concurrent modification failures
       // (e.g. 0 rows updated)
-      postProcessJdbcBatchResult(operationsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
+      int[] updateCounts = expandUpdateCounts(successfulBatch.getUpdateCounts(), statementSizesIt, false);
+      postProcessJdbcBatchResult(operationsIt, updateCounts, null, failedOperations);
     }
 
     // there should be no more operations remaining
@@ -96,6 +124,10 @@ public class BatchDbSqlSession extends DbSqlSession {
   }
 
   protected FlushResult postProcessBatchFailure(List<DbOperation> operations, PersistenceException exception) {
+    return postProcessBatchFailure(operations, null, exception);
+  }
+
+  protected FlushResult postProcessBatchFailure(List<DbOperation> operations, Iterator<Integer> statementSizesIt, PersistenceException exception) {
     BatchExecutorException batchExecutorException =
         ExceptionUtil.findBatchExecutorException(exception);
 
@@ -111,16 +143,59 @@ public class BatchDbSqlSession extends DbSqlSession {
     List<DbOperation> failedOperations = new ArrayList<>();
 
     for (BatchResult successfulBatch : successfulBatches) {
-      postProcessJdbcBatchResult(operationsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
+      int[] updateCounts = expandUpdateCounts(successfulBatch.getUpdateCounts(), statementSizesIt, false);
+      postProcessJdbcBatchResult(operationsIt, updateCounts, null, failedOperations);
     }
 
-    int[] failedBatchUpdateCounts = cause.getUpdateCounts();
+    int[] failedBatchUpdateCounts = expandUpdateCounts(cause.getUpdateCounts(), statementSizesIt, true);
     postProcessJdbcBatchResult(operationsIt, failedBatchUpdateCounts, exception, failedOperations);
 
     List<DbOperation> remainingOperations = CollectionUtil.collectInList(operationsIt);
     return FlushResult.withFailuresAndRemaining(failedOperations, remainingOperations);
   }
 
+  /**
+   * Maps the update counts of the staged statements to the operations they cover:
+   * a multi-row insert statement is applied or fails for all of its operations.
+   *
+   * @param failedBatch true if the update counts belong to the failed batch; if they end before the
+   *   failed statement (case 2 of {@link #postProcessJdbcBatchResult}) and that statement is a multi-row
+   *   insert, the failure is reported for all of its operations
+   */
+  protected int[] expandUpdateCounts(int[] updateCounts, Iterator<Integer> statementSizesIt, boolean failedBatch) {
+    if (statementSizesIt == null) {
+      return updateCounts;
+    }
+
+    List<Integer> expandedUpdateCounts = new ArrayList<>();
+    boolean containsFailedStatement = false;
+    for (int updateCount : updateCounts) {
+      containsFailedStatement |= updateCount == Statement.EXECUTE_FAILED;
+      int statementSize = statementSizesIt.hasNext() ? statementSizesIt.next() : 1;
+      if (statementSize == 1) {
+        expandedUpdateCounts.add(updateCount);
+      } else {
+        int operationUpdateCount = updateCount == Statement.SUCCESS_NO_INFO || updateCount == Statement.EXECUTE_FAILED
+            ? updateCount
+            : 1;
+        expandedUpdateCounts.addAll(Collections.nCopies(statementSize, operationUpdateCount));
+      }
+    }
+
+    if (failedBatch && !containsFailedStatement && statementSizesIt.hasNext()) {
+      int failedStatementSize = statementSizesIt.next();
+      if (failedStatementSize > 1) {
+        expandedUpdateCounts.addAll(Collections.nCopies(failedStatementSize, Statement.EXECUTE_FAILED));
+      }
+    }
+
+    int[] result = new int[expandedUpdateCounts.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = expandedUpdateCounts.get(i);
+    }
+    return result;
+  }
+
   /**
    * <p>This method can be called with three cases:
    *
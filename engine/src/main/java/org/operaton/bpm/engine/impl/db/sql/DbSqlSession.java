@@ -33,8 +33,12 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.exceptions.PersistenceException;
 import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.mapping.BoundSql;
@@ -73,6 +77,13 @@ import org.operaton.bpm.engine.impl.util.ReflectUtil;
 public abstract class DbSqlSession extends AbstractPersistenceSession {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  /**
+   * Bounds the rows of a multi-row insert statement; some databases (e.g. SQL Server)
+   * accept little more than 2000 parameters per statement
+   */
+  protected static final int MULTI_ROW_INSERT_MAX_PARAMETERS = 2000;
+
   public static final String[] JDBC_METADATA_TABLE_TYPES = { "TABLE" };
   public static final String[] PG_JDBC_METADATA_TABLE_TYPES = { "TABLE", "PARTITIONED TABLE" };
 
@@ -112,6 +123,25 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
     return ExceptionUtil.doWithExceptionWrapper(() -> sqlSession.selectList(statement, parameter));
   }
 
+  @Override
+  public void selectStream(String statement, Object parameter, Consumer<Object> resultHandler) {
+    String mappedStatement = dbSqlSessionFactory.mapStatement(statement);
+    Cursor<Object> cursor = ExceptionUtil.doWithExceptionWrapper(() -> sqlSession.selectCursor(mappedStatement, parameter));
+    try {
+      Iterator<Object> results = cursor.iterator();
+      // the cursor reads the next row when asked for it
+      while (ExceptionUtil.doWithExceptionWrapper(results::hasNext)) {
+        resultHandler.accept(results.next());
+      }
+    } finally {
+      try {
+        cursor.close();
+      } catch (IOException e) {
+        throw ExceptionUtil.wrapPersistenceException(e);
+      }
+    }
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public <T extends DbEntity> T selectById(Class<T> type, String id) {
@@ -365,6 +395,99 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
     }
   }
 
+  // multi-row insert //////////////////////////////
+
+  /**
+   * Collects the operations starting at the given index that can be executed as one multi-row
+   * insert statement: consecutive inserts of the same entity type whose insert statement
+   * ends with a single values clause.
+   *
+   * <p>Inserts of entities with references are only combined on databases that roll back the transaction
+   * on errors. Otherwise, a foreign key violation of one row is not attributable to its operation and
+   * could no longer be handled as a concurrent modification.
+   *
+   * @return the multi-row insert or null if the operation at the given index is to be executed on its own
+   */
+  protected MultiRowInsert collectMultiRowInsert(List<DbOperation> operations, int fromIndex) {
+    if (!dbSqlSessionFactory.isMultiRowInsertEnabled()
+        || fromIndex + 1 >= operations.size()
+        || !isMultiRowInsertCandidate(operations.get(fromIndex))
+        || !isMultiRowInsertCandidate(operations.get(fromIndex + 1))) {
+      return null;
+    }
+
+    DbEntity firstEntity = ((DbEntityOperation) operations.get(fromIndex)).getEntity();
+    Class<?> entityType = firstEntity.getClass();
+    if (((DbEntityOperation) operations.get(fromIndex + 1)).getEntity().getClass() != entityType) {
+      return null;
+    }
+
+    String insertStatement = dbSqlSessionFactory.mapStatement(dbSqlSessionFactory.getInsertStatement(firstEntity));
+    Configuration configuration = sqlSession.getConfiguration();
+    if (insertStatement == null
+        || !configuration.hasStatement(MultiRowInsertSqlSource.STATEMENT_ID, false)
+        || !configuration.hasStatement(insertStatement, false)) {
+      return null;
+    }
+
+    MappedStatement mappedStatement = configuration.getMappedStatement(insertStatement, false);
+    BoundSql firstRow = mappedStatement.getBoundSql(firstEntity);
+    if (!MultiRowInsertSqlSource.isMultiRowInsertable(firstRow)) {
+      return null;
+    }
+
+    int parametersPerRow = Math.max(1, firstRow.getParameterMappings().size());
+    int maxRows = Math.min(dbSqlSessionFactory.getMultiRowInsertMaxRows(), MULTI_ROW_INSERT_MAX_PARAMETERS / parametersPerRow);
+
+    MultiRowInsert multiRowInsert = new MultiRowInsert(insertStatement);
+    multiRowInsert.addRow((DbEntityOperation) operations.get(fromIndex), firstRow);
+
+    for (int i = fromIndex + 1; i < operations.size() && multiRowInsert.size() < maxRows; i++) {
+      DbOperation operation = operations.get(i);
+      if (!isMultiRowInsertCandidate(operation) || ((DbEntityOperation) operation).getEntity().getClass() != entityType) {
+        break;
+      }
+
+      BoundSql row = mappedStatement.getBoundSql(((DbEntityOperation) operation).getEntity());
+      if (!firstRow.getSql().equals(row.getSql()) || !MultiRowInsertSqlSource.isMultiRowInsertable(row)) {
+        break;
+      }
+      multiRowInsert.addRow((DbEntityOperation) operation, row);
+    }
+
+    return multiRowInsert.size() > 1 ? multiRowInsert : null;
+  }
+
+  protected boolean isMultiRowInsertCandidate(DbOperation operation) {
+    if (operation.getOperationType() != DbOperationType.INSERT || !(operation instanceof DbEntityOperation)) {
+      return false;
+    }
+
+    DbEntity entity = ((DbEntityOperation) operation).getEntity();
+    return !(entity instanceof HasDbReferences) || DatabaseUtil.checkDatabaseRollsBackTransactionOnError();
+  }
+
+  protected void executeMultiRowInsert(MultiRowInsert multiRowInsert) {
+    for (DbEntityOperation operation : multiRowInsert.getOperations()) {
+      LOG.executeDatabaseOperation("INSERT", operation.getEntity());
+    }
+    try {
+      sqlSession.insert(MultiRowInsertSqlSource.STATEMENT_ID, multiRowInsert);
+    } catch (Exception e) {
+      // exception is wrapped later
+      throw e;
+    }
+  }
+
+  /**
+   * The rows of a multi-row insert are applied or fail together.
+   */
+  protected void multiRowInsertPerformed(MultiRowInsert multiRowInsert, PersistenceException failure) {
+    for (DbEntityOperation operation : multiRowInsert.getOperations()) {
+      entityInsertPerformed(operation, failure == null ? 1 : 0, failure);
+    }
+  }
+
   protected void entityInsertPerformed(DbEntityOperation operation,
                                        int rowsAffected,
                                        PersistenceException failure) {
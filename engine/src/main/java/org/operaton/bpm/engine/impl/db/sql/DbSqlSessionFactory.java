@@ -394,6 +394,14 @@ public class DbSqlSessionFactory implements SessionFactory {
       addDatabaseSpecificStatement(postgresLikeDatabase, "updateByteArray", "updateByteArray_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectByteArray", "selectByteArray_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectByteArrays", "selectByteArrays_postgres");
+      addDatabaseSpecificStatement(postgresLikeDatabase, "insertHistoryEventOutbox", "insertHistoryEventOutbox_postgres");
+      addDatabaseSpecificStatement(postgresLikeDatabase, "selectHistoryEventOutbox", "selectHistoryEventOutbox_postgres");
+      addDatabaseSpecificStatement(postgresLikeDatabase, "selectHistoryEventOutboxEntries", "selectHistoryEventOutboxEntries_postgres");
+      addDatabaseSpecificStatement(postgresLikeDatabase, "selectHistoryPartitionNames", "selectHistoryPartitionNames_postgres");
+      addDatabaseSpecificStatement(postgresLikeDatabase, "createHistoryPartition", "createHistoryPartition_postgres");
+      addDatabaseSpecificStatement(postgresLikeDatabase, "selectHistoryPartitionDefaultRowCount", "selectHistoryPartitionDefaultRowCount_postgres");
+      addDatabaseSpecificStatement(postgresLikeDatabase, "attachHistoryPartition", "attachHistoryPartition_postgres");
+      addDatabaseSpecificStatement(postgresLikeDatabase, "detachHistoryPartition", "detachHistoryPartition_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectResourceByDeploymentIdAndResourceName", "selectResourceByDeploymentIdAndResourceName_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectResourceByDeploymentIdAndResourceNames", "selectResourceByDeploymentIdAndResourceNames_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectResourceByDeploymentIdAndResourceId", "selectResourceByDeploymentIdAndResourceId_postgres");
@@ -601,7 +609,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificLimitBetweenStatements.put(DB2, db2LimitBetweenWithoutColumns + "RES.* ");
     databaseSpecificLimitBetweenFilterStatements.put(DB2, db2LimitBetweenWithoutColumns + "RES.ID_, RES.REV_, RES.RESOURCE_TYPE_, RES.NAME_, RES.OWNER_ ");
     databaseSpecificLimitBetweenAcquisitionStatements.put(DB2, db2LimitBetweenWithoutColumns
-        + "RES.ID_, RES.REV_, RES.TYPE_, RES.LOCK_EXP_TIME_, RES.LOCK_OWNER_, RES.EXCLUSIVE_, RES.ROOT_PROC_INST_ID_, RES.PROCESS_INSTANCE_ID_, RES.DUEDATE_, RES.PRIORITY_ ");
+        + "RES.ID_, RES.REV_, RES.TYPE_, RES.LOCK_EXP_TIME_, RES.LOCK_OWNER_, RES.EXCLUSIVE_, RES.ROOT_PROC_INST_ID_, RES.PROCESS_INSTANCE_ID_, RES.DUEDATE_, RES.PRIORITY_, RES.HANDLER_TYPE_, RES.JOB_DEF_ID_, RES.TENANT_ID_ ");
     databaseSpecificLimitBeforeInUpdate.put(DB2, "");
     databaseSpecificLimitAfterInUpdate.put(DB2, "");
     databaseSpecificLimitBeforeWithoutOffsetStatements.put(DB2, "");
@@ -700,7 +708,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificLimitBetweenStatements.put(MSSQL, mssqlLimitBetweenWithoutColumns + "RES.* ");
     databaseSpecificLimitBetweenFilterStatements.put(MSSQL, "");
     databaseSpecificLimitBetweenAcquisitionStatements.put(MSSQL, mssqlLimitBetweenWithoutColumns
-        + "RES.ID_, RES.REV_, RES.TYPE_, RES.LOCK_EXP_TIME_, RES.LOCK_OWNER_, RES.EXCLUSIVE_, RES.ROOT_PROC_INST_ID_, RES.PROCESS_INSTANCE_ID_, RES.DUEDATE_, RES.PRIORITY_ ");
+        + "RES.ID_, RES.REV_, RES.TYPE_, RES.LOCK_EXP_TIME_, RES.LOCK_OWNER_, RES.EXCLUSIVE_, RES.ROOT_PROC_INST_ID_, RES.PROCESS_INSTANCE_ID_, RES.DUEDATE_, RES.PRIORITY_, RES.HANDLER_TYPE_, RES.JOB_DEF_ID_, RES.TENANT_ID_ ");
     databaseSpecificLimitBeforeInUpdate.put(MSSQL, "");
     databaseSpecificLimitAfterInUpdate.put(MSSQL, "");
     databaseSpecificLimitBeforeWithoutOffsetStatements.put(MSSQL, "TOP (#{maxResults})");
@@ -854,6 +862,12 @@ public class DbSqlSessionFactory implements SessionFactory {
 
   protected boolean jdbcBatchProcessing;
 
+  /**
+   * The maximum number of rows inserted by one multi-row insert statement;
+   * multi-row inserts are disabled with a value smaller than 2
+   */
+  protected int multiRowInsertMaxRows = 0;
+
   public DbSqlSessionFactory(boolean jdbcBatchProcessing) {
     this.jdbcBatchProcessing = jdbcBatchProcessing;
   }
@@ -1050,5 +1064,21 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.databaseSchema = databaseSchema;
   }
 
+  public int getMultiRowInsertMaxRows() {
+    return multiRowInsertMaxRows;
+  }
+
+  public void setMultiRowInsertMaxRows(int multiRowInsertMaxRows) {
+    this.multiRowInsertMaxRows = multiRowInsertMaxRows;
+  }
+
+  /**
+   * @return true if multi-row inserts are enabled and the database supports
+   * <code>INSERT ... VALUES (...), (...)</code> statements
+   */
+  public boolean isMultiRowInsertEnabled() {
+    return multiRowInsertMaxRows > 1 && !ORACLE.equals(databaseType);
+  }
+
 
 }
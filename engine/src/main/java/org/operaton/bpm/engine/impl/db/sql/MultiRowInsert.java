@@ -0,0 +1,71 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.db.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.operaton.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+
+/**
+ * Consecutive inserts of the same entity type that are executed as one
+ * <code>INSERT ... VALUES (...), (...)</code> statement, see {@link MultiRowInsertSqlSource}.
+ * Serves as parameter object of that statement.
+ */
+public class MultiRowInsert {
+
+  protected final String insertStatement;
+  protected final List<DbEntityOperation> operations = new ArrayList<>();
+  protected final List<BoundSql> rows = new ArrayList<>();
+
+  public MultiRowInsert(String insertStatement) {
+    this.insertStatement = insertStatement;
+  }
+
+  public void addRow(DbEntityOperation operation, BoundSql row) {
+    operations.add(operation);
+    rows.add(row);
+  }
+
+  /**
+   * @return the id of the single-row insert statement of the entity type
+   */
+  public String getInsertStatement() {
+    return insertStatement;
+  }
+
+  public List<DbEntityOperation> getOperations() {
+    return operations;
+  }
+
+  /**
+   * @return the single-row statement for each operation, bound to the operation's entity
+   */
+  public List<BoundSql> getRows() {
+    return rows;
+  }
+
+  public int size() {
+    return operations.size();
+  }
+
+  @Override
+  public String toString() {
+    return "MultiRowInsert[insertStatement=" + insertStatement + ", rows=" + operations.size() + "]";
+  }
+}
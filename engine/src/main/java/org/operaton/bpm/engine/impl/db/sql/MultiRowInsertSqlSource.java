@@ -0,0 +1,168 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.db.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * <p>Source of the generic statement {@value #STATEMENT_ID}: combines the bound single-row insert statements
+ * of a {@link MultiRowInsert} into one <code>INSERT INTO ... VALUES (...), (...), ...</code> statement.</p>
+ *
+ * <p>The rows are exposed to the parameter handler as additional parameters <code>row0</code>,
+ * <code>row1</code>, ... and the parameter mappings of each row are prefixed accordingly,
+ * so that the type handlers of the single-row statements apply unchanged.</p>
+ */
+public class MultiRowInsertSqlSource implements SqlSource {
+
+  public static final String STATEMENT_ID = "insertMultipleRows";
+
+  protected static final String ROW_PARAMETER_PREFIX = "row";
+  protected static final String VALUES_KEYWORD = "values";
+
+  protected final Configuration configuration;
+
+  public MultiRowInsertSqlSource(Configuration configuration) {
+    this.configuration = configuration;
+  }
+
+  /**
+   * Adds the statement {@value #STATEMENT_ID} to the given configuration.
+   */
+  public static void register(Configuration configuration) {
+    if (!configuration.hasStatement(STATEMENT_ID, false)) {
+      MappedStatement statement = new MappedStatement.Builder(configuration, STATEMENT_ID,
+          new MultiRowInsertSqlSource(configuration), SqlCommandType.INSERT)
+        .keyGenerator(NoKeyGenerator.INSTANCE)
+        .resultMaps(Collections.emptyList())
+        .build();
+      configuration.addMappedStatement(statement);
+    }
+  }
+
+  @Override
+  public BoundSql getBoundSql(Object parameterObject) {
+    MultiRowInsert insert = (MultiRowInsert) parameterObject;
+    List<BoundSql> rows = insert.getRows();
+
+    String sql = rows.get(0).getSql();
+    int valuesIndex = getValuesIndex(sql);
+    String values = sql.substring(valuesIndex);
+
+    StringBuilder multiRowSql = new StringBuilder(sql.length() + (values.length() + 2) * (rows.size() - 1));
+    multiRowSql.append(sql);
+
+    List<ParameterMapping> parameterMappings = new ArrayList<>();
+    for (int i = 0; i < rows.size(); i++) {
+      if (i > 0) {
+        multiRowSql.append(", ").append(values);
+      }
+      String rowParameter = ROW_PARAMETER_PREFIX + i;
+      for (ParameterMapping parameterMapping : rows.get(i).getParameterMappings()) {
+        parameterMappings.add(prefixParameterMapping(rowParameter, parameterMapping));
+      }
+    }
+
+    BoundSql boundSql = new BoundSql(configuration, multiRowSql.toString(), parameterMappings, insert);
+    for (int i = 0; i < rows.size(); i++) {
+      boundSql.setAdditionalParameter(ROW_PARAMETER_PREFIX + i, rows.get(i).getParameterObject());
+    }
+    return boundSql;
+  }
+
+  protected ParameterMapping prefixParameterMapping(String rowParameter, ParameterMapping parameterMapping) {
+    return new ParameterMapping.Builder(configuration, rowParameter + "." + parameterMapping.getProperty(), parameterMapping.getTypeHandler())
+        .javaType(parameterMapping.getJavaType())
+        .jdbcType(parameterMapping.getJdbcType())
+        .jdbcTypeName(parameterMapping.getJdbcTypeName())
+        .numericScale(parameterMapping.getNumericScale())
+        .mode(parameterMapping.getMode())
+        .build();
+  }
+
+  /**
+   * @return true if the bound single-row insert statement can be extended to insert multiple rows,
+   * i.e. it ends with a single <code>VALUES (...)</code> clause that holds all parameters and
+   * no parameter is resolved from anything else than the inserted entity
+   */
+  public static boolean isMultiRowInsertable(BoundSql row) {
+    String sql = row.getSql();
+    int valuesIndex = getValuesIndex(sql);
+    if (valuesIndex < 0 || sql.lastIndexOf('?', valuesIndex) >= 0) {
+      return false;
+    }
+    for (ParameterMapping parameterMapping : row.getParameterMappings()) {
+      if (row.hasAdditionalParameter(parameterMapping.getProperty())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the index of the opening parenthesis of the values clause that closes the statement, or -1
+   */
+  protected static int getValuesIndex(String sql) {
+    int end = sql.length();
+    while (end > 0 && Character.isWhitespace(sql.charAt(end - 1))) {
+      end--;
+    }
+    if (end == 0 || sql.charAt(end - 1) != ')') {
+      return -1;
+    }
+
+    // find the parenthesis that opens the trailing group
+    int depth = 0;
+    int start = end - 1;
+    for (; start >= 0; start--) {
+      char c = sql.charAt(start);
+      if (c == ')') {
+        depth++;
+      }
+      else if (c == '(' && --depth == 0) {
+        break;
+      }
+    }
+    if (start < 0) {
+      return -1;
+    }
+
+    // the group must be preceded by the values keyword
+    int keywordEnd = start;
+    while (keywordEnd > 0 && Character.isWhitespace(sql.charAt(keywordEnd - 1))) {
+      keywordEnd--;
+    }
+    int keywordStart = keywordEnd - VALUES_KEYWORD.length();
+    if (keywordStart <= 0
+        || !sql.regionMatches(true, keywordStart, VALUES_KEYWORD, 0, VALUES_KEYWORD.length())
+        || Character.isLetterOrDigit(sql.charAt(keywordStart - 1))) {
+      return -1;
+    }
+
+    return start;
+  }
+
+}
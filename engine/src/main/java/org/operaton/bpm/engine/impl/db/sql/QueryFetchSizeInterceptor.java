@@ -0,0 +1,69 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.db.sql;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.operaton.bpm.engine.impl.db.ListQueryParameterObject;
+
+/**
+ * <p>Applies the fetch size of a {@link ListQueryParameterObject} to the JDBC statement that
+ * selects with it. The fetch size of a statement is otherwise fixed by its mapping.</p>
+ *
+ * <p>Results that are streamed only need constant memory if the driver fetches them in
+ * portions; PostgreSQL for example reads the whole result set if no fetch size is set.</p>
+ */
+@Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = { Connection.class, Integer.class }))
+public class QueryFetchSizeInterceptor implements Interceptor {
+
+  public static void register(Configuration configuration) {
+    configuration.addInterceptor(new QueryFetchSizeInterceptor());
+  }
+
+  @Override
+  public Object plugin(Object target) {
+    // only the statements that select with a fetch size are proxied
+    if (target instanceof StatementHandler && getFetchSize((StatementHandler) target) > 0) {
+      return Plugin.wrap(target, this);
+    }
+    return target;
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    Statement statement = (Statement) invocation.proceed();
+    statement.setFetchSize(getFetchSize((StatementHandler) invocation.getTarget()));
+    return statement;
+  }
+
+  protected int getFetchSize(StatementHandler statementHandler) {
+    Object parameter = statementHandler.getParameterHandler().getParameterObject();
+    if (parameter instanceof ListQueryParameterObject) {
+      return ((ListQueryParameterObject) parameter).getFetchSize();
+    }
+    return 0;
+  }
+
+}
@@ -19,6 +19,7 @@ package org.operaton.bpm.engine.impl.db.sql;
 import static org.operaton.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -55,6 +56,25 @@ public class SimpleDbSqlSession extends DbSqlSession {
 
     for (int i = 0; i < operations.size(); i++) {
 
+      MultiRowInsert multiRowInsert = collectMultiRowInsert(operations, i);
+      if (multiRowInsert != null) {
+        insertEntities(multiRowInsert);
+
+        List<DbOperation> failedOperations = new ArrayList<>();
+        for (DbEntityOperation operation : multiRowInsert.getOperations()) {
+          if (operation.isFailed()) {
+            failedOperations.add(operation);
+          }
+        }
+
+        i += multiRowInsert.size() - 1;
+        if (!failedOperations.isEmpty()) {
+          List<DbOperation> remainingOperations = operations.subList(i + 1, operations.size());
+          return FlushResult.withFailuresAndRemaining(failedOperations, remainingOperations);
+        }
+        continue;
+      }
+
       DbOperation operation = operations.get(i);
 
       executeDbOperation(operation);
@@ -89,6 +109,15 @@ public class SimpleDbSqlSession extends DbSqlSession {
     }
   }
 
+  protected void insertEntities(MultiRowInsert multiRowInsert) {
+    try {
+      executeMultiRowInsert(multiRowInsert);
+      multiRowInsertPerformed(multiRowInsert, null);
+    } catch (PersistenceException e) {
+      multiRowInsertPerformed(multiRowInsert, e);
+    }
+  }
+
   // delete ///////////////////////////////////////////
 
   @Override
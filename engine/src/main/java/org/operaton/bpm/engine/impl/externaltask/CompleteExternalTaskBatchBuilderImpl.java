@@ -0,0 +1,112 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.externaltask;
+
+import static org.operaton.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.operaton.bpm.engine.ProcessEngineException;
+import org.operaton.bpm.engine.externaltask.CompleteExternalTaskBatchBuilder;
+import org.operaton.bpm.engine.externaltask.ExternalTaskCompletionResult;
+import org.operaton.bpm.engine.impl.ProcessEngineLogger;
+import org.operaton.bpm.engine.impl.cmd.CompleteExternalTaskCmd;
+import org.operaton.bpm.engine.impl.cmd.CompleteExternalTasksCmd;
+import org.operaton.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * Implementation of {@link CompleteExternalTaskBatchBuilder}.
+ */
+public class CompleteExternalTaskBatchBuilderImpl implements CompleteExternalTaskBatchBuilder {
+
+  protected static final ExternalTaskLogger LOG = ProcessEngineLogger.EXTERNAL_TASK_LOGGER;
+
+  protected final CommandExecutor commandExecutor;
+
+  protected String workerId;
+
+  protected List<CompleteExternalTaskCmd> completions = new ArrayList<>();
+
+  public CompleteExternalTaskBatchBuilderImpl(CommandExecutor commandExecutor, String workerId) {
+    this.commandExecutor = commandExecutor;
+    this.workerId = workerId;
+  }
+
+  @Override
+  public CompleteExternalTaskBatchBuilder complete(String externalTaskId) {
+    return complete(externalTaskId, null, null);
+  }
+
+  @Override
+  public CompleteExternalTaskBatchBuilder complete(String externalTaskId, Map<String, Object> variables) {
+    return complete(externalTaskId, variables, null);
+  }
+
+  @Override
+  public CompleteExternalTaskBatchBuilder complete(String externalTaskId, Map<String, Object> variables, Map<String, Object> localVariables) {
+    ensureNotNull("externalTaskId", externalTaskId);
+    completions.add(new CompleteExternalTaskCmd(externalTaskId, workerId, variables, localVariables));
+    return this;
+  }
+
+  @Override
+  public List<ExternalTaskCompletionResult> execute() {
+    ensureNotNull("workerId", workerId);
+
+    try {
+      return commandExecutor.execute(new CompleteExternalTasksCmd(workerId, completions));
+
+    } catch (RuntimeException e) {
+      // a task failed while continuing its process instance; isolate it by
+      // completing every task in a transaction of its own
+      LOG.completeExternalTaskBatchFailed(workerId, e);
+      return completeOneByOne();
+    }
+  }
+
+  protected List<ExternalTaskCompletionResult> completeOneByOne() {
+    List<ExternalTaskCompletionResult> results = new ArrayList<>();
+
+    for (CompleteExternalTaskCmd completion : completions) {
+      ProcessEngineException exception = null;
+      try {
+        commandExecutor.execute(completion);
+
+      } catch (ProcessEngineException e) {
+        exception = e;
+
+      } catch (RuntimeException e) {
+        exception = new ProcessEngineException(e.getMessage(), e);
+      }
+
+      results.add(new ExternalTaskCompletionResultImpl(completion.getExternalTaskId(), exception));
+    }
+
+    return results;
+  }
+
+  public String getWorkerId() {
+    return workerId;
+  }
+
+  public List<CompleteExternalTaskCmd> getCompletions() {
+    return completions;
+  }
+
+}
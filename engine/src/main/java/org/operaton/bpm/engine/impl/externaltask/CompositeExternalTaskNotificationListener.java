@@ -0,0 +1,54 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.externaltask;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.operaton.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * Notifies all subscribed {@link ExternalTaskNotificationListener}s. A failing
+ * listener does not prevent the notification of the other ones.
+ */
+public class CompositeExternalTaskNotificationListener implements ExternalTaskNotificationListener {
+
+  protected static final ExternalTaskLogger LOG = ProcessEngineLogger.EXTERNAL_TASK_LOGGER;
+
+  protected CopyOnWriteArrayList<ExternalTaskNotificationListener> listeners = new CopyOnWriteArrayList<>();
+
+  public void addListener(ExternalTaskNotificationListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(ExternalTaskNotificationListener listener) {
+    listeners.remove(listener);
+  }
+
+  @Override
+  public void onExternalTasksAvailable(Set<String> topicNames) {
+    for (ExternalTaskNotificationListener listener : listeners) {
+      try {
+        listener.onExternalTasksAvailable(topicNames);
+      }
+      catch (RuntimeException e) {
+        LOG.externalTaskNotificationListenerFailed(listener, e);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.externaltask;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.operaton.bpm.engine.impl.ProcessEngineLogger;
+import org.operaton.bpm.engine.impl.cfg.TransactionState;
+import org.operaton.bpm.engine.impl.cmd.PollExternalTaskNotificationsCmd;
+import org.operaton.bpm.engine.impl.interceptor.CommandContext;
+import org.operaton.bpm.engine.impl.interceptor.CommandExecutor;
+import org.operaton.bpm.engine.impl.persistence.entity.ExternalTaskNotificationEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.ExternalTaskNotificationManager;
+
+/**
+ * Notifies the listeners of all nodes that share the database. A notification
+ * row per topic is written to the ACT_RU_EXT_TASK_NOTIFY table in the transaction
+ * that makes the tasks available, so it becomes visible together with the tasks.
+ * Every node polls the table in the given interval and notifies its listeners
+ * about the topics of the rows it has not seen yet. The listeners of the
+ * publishing node are notified right after the commit.
+ *
+ * <p>A poll reads the rows created since the previous poll minus the lookback,
+ * which covers clock differences between the nodes and transactions that commit
+ * later than they wrote their rows. Rows older than twice the lookback are removed
+ * by the polling nodes.</p>
+ */
+public class DbExternalTaskNotificationChannel extends LocalExternalTaskNotificationChannel {
+
+  protected static final ExternalTaskLogger LOG = ProcessEngineLogger.EXTERNAL_TASK_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+  protected long pollIntervalInMillis;
+  protected long lookbackInMillis;
+
+  protected Timer timer;
+  protected Date lastPollTime;
+
+  /** the ids and create times of the rows that were notified within the lookback */
+  protected Map<String, Date> notifiedRows = new ConcurrentHashMap<>();
+
+  public DbExternalTaskNotificationChannel(CommandExecutor commandExecutor, long pollIntervalInMillis, long lookbackInMillis) {
+    this.commandExecutor = commandExecutor;
+    this.pollIntervalInMillis = pollIntervalInMillis;
+    this.lookbackInMillis = lookbackInMillis;
+  }
+
+  @Override
+  public void publish(CommandContext commandContext, Set<String> topicNames) {
+    ExternalTaskNotificationManager notificationManager = commandContext.getExternalTaskNotificationManager();
+
+    Date createTime = currentTime();
+    List<ExternalTaskNotificationEntity> notifications = new ArrayList<>();
+    for (String topicName : topicNames) {
+      ExternalTaskNotificationEntity notification = new ExternalTaskNotificationEntity(topicName, createTime);
+      notificationManager.insertExternalTaskNotification(notification);
+      notifications.add(notification);
+    }
+
+    commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, committedContext -> {
+      // the listeners of this node need not wait for the next poll
+      for (ExternalTaskNotificationEntity notification : notifications) {
+        notifiedRows.put(notification.getId(), notification.getCreateTime());
+      }
+      notifyListeners(topicNames);
+    });
+  }
+
+  @Override
+  public void start() {
+    timer = new Timer("Operaton External Task Notification Poller", true);
+    timer.schedule(new PollTask(), 0, pollIntervalInMillis);
+  }
+
+  @Override
+  public void stop() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+    }
+  }
+
+  /**
+   * Reads the notifications of the other nodes and notifies the listeners
+   * of this node about their topics.
+   *
+   * @return the topics that the listeners were notified about
+   */
+  public synchronized Set<String> poll() {
+    Date pollTime = currentTime();
+    Date since = lastPollTime != null ? lastPollTime : pollTime;
+    Date createdAfter = new Date(since.getTime() - lookbackInMillis);
+    Date removeCreatedBefore = new Date(pollTime.getTime() - 2 * lookbackInMillis);
+
+    List<ExternalTaskNotificationEntity> notifications =
+        commandExecutor.execute(new PollExternalTaskNotificationsCmd(createdAfter, removeCreatedBefore));
+
+    Set<String> topicNames = new HashSet<>();
+    for (ExternalTaskNotificationEntity notification : notifications) {
+      if (notifiedRows.putIfAbsent(notification.getId(), notification.getCreateTime()) == null) {
+        topicNames.add(notification.getTopicName());
+      }
+    }
+    // rows created before will not be read again
+    notifiedRows.values().removeIf(createTime -> createTime.before(createdAfter));
+    lastPollTime = pollTime;
+
+    if (!topicNames.isEmpty()) {
+      notifyListeners(topicNames);
+    }
+    return topicNames;
+  }
+
+  /**
+   * The wall clock time, since the notifications of all nodes are compared with it.
+   * The engine clock is deliberately not used, since it can be set back.
+   */
+  protected Date currentTime() {
+    return new Date();
+  }
+
+  public long getPollIntervalInMillis() {
+    return pollIntervalInMillis;
+  }
+
+  public long getLookbackInMillis() {
+    return lookbackInMillis;
+  }
+
+  protected class PollTask extends TimerTask {
+
+    public void run() {
+      try {
+        poll();
+      }
+      catch (Exception e) {
+        LOG.externalTaskNotificationPollingFailed(e);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.externaltask;
+
+import org.operaton.bpm.engine.ProcessEngineException;
+import org.operaton.bpm.engine.externaltask.ExternalTaskCompletionResult;
+
+public class ExternalTaskCompletionResultImpl implements ExternalTaskCompletionResult {
+
+  protected final String externalTaskId;
+  protected final ProcessEngineException exception;
+
+  public ExternalTaskCompletionResultImpl(String externalTaskId, ProcessEngineException exception) {
+    this.externalTaskId = externalTaskId;
+    this.exception = exception;
+  }
+
+  @Override
+  public String getExternalTaskId() {
+    return externalTaskId;
+  }
+
+  @Override
+  public boolean isSuccessful() {
+    return exception == null;
+  }
+
+  @Override
+  public ProcessEngineException getException() {
+    return exception;
+  }
+
+  @Override
+  public String toString() {
+    return "ExternalTaskCompletionResultImpl [externalTaskId=" + externalTaskId
+        + ", exception=" + exception + "]";
+  }
+
+}
@@ -53,4 +53,36 @@ public class ExternalTaskLogger extends ProcessEngineLogger {
     logDebug("002", "Evaluation of error event definition's expression {} on external task {} failed and will be considered as 'false'. "
         + "Received exception: {}", errorEventDefinition.getExpression(), taskId, exception.getMessage());
   }
+
+  /**
+   * Logs that the completion of a batch of external tasks was rolled back and the tasks are completed one by one
+   *
+   * @param workerId the worker that completes the tasks
+   * @param exception the exception that was caught
+   */
+  public void completeExternalTaskBatchFailed(String workerId, RuntimeException exception) {
+    logDebug("003", "Completion of external task batch of worker {} failed and was rolled back. "
+        + "Completing the external tasks one by one. Received exception: {}", workerId, exception.getMessage());
+  }
+
+  /**
+   * Logs that the external task notifications of other cluster nodes could not be read
+   *
+   * @param exception the exception that was caught
+   */
+  public void externalTaskNotificationPollingFailed(Exception exception) {
+    logWarn("004", "Reading the external task notifications failed, retrying with the next poll. "
+        + "Received exception: {}", exception.getMessage(), exception);
+  }
+
+  /**
+   * Logs that a listener failed to handle the notification about available external tasks
+   *
+   * @param listener the listener that failed
+   * @param exception the exception that was caught
+   */
+  public void externalTaskNotificationListenerFailed(ExternalTaskNotificationListener listener, RuntimeException exception) {
+    logWarn("005", "External task notification listener {} failed. Received exception: {}",
+        listener, exception.getMessage(), exception);
+  }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.externaltask;
+
+import java.util.Set;
+
+import org.operaton.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Transports the notifications that external tasks became available to the
+ * {@link org.operaton.bpm.engine.impl.ProcessEngineImpl#EXT_TASK_NOTIFICATION_LISTENERS}
+ * of this and, depending on the implementation, of the other nodes of the cluster.
+ *
+ * <ul>
+ *   <li>{@link LocalExternalTaskNotificationChannel} notifies the listeners of this node only (default)</li>
+ *   <li>{@link DbExternalTaskNotificationChannel} notifies the listeners of all nodes
+ *   that poll the same database</li>
+ * </ul>
+ *
+ * A custom channel, e.g. on top of a message broker, can be set with
+ * {@link org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#setExternalTaskNotificationChannel(ExternalTaskNotificationChannel)}.
+ */
+public interface ExternalTaskNotificationChannel {
+
+  /**
+   * Publishes that external tasks of the given topics became available in the
+   * transaction of the command context. Called once per transaction, before the
+   * transaction is flushed. Listeners must only be notified after the transaction
+   * committed, otherwise they could try to fetch the tasks before they are visible.
+   *
+   * @param commandContext the command context of the transaction
+   * @param topicNames the topics of the created or unlocked external tasks
+   */
+  void publish(CommandContext commandContext, Set<String> topicNames);
+
+  /**
+   * Called when the process engine starts.
+   */
+  void start();
+
+  /**
+   * Called when the process engine closes.
+   */
+  void stop();
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.externaltask;
+
+import java.util.Set;
+
+/**
+ * Is notified when external tasks became available for fetching,
+ * e.g. to wake up the long polling fetch and lock requests of the REST API.
+ * Listeners subscribe to {@link org.operaton.bpm.engine.impl.ProcessEngineImpl#EXT_TASK_NOTIFICATION_LISTENERS}.
+ */
+public interface ExternalTaskNotificationListener {
+
+  /**
+   * Called after a transaction that created or unlocked external tasks committed,
+   * on this or, depending on the {@link ExternalTaskNotificationChannel}, on another
+   * node of the cluster. Must not block, since it is called by the thread that
+   * committed the transaction or by the channel.
+   *
+   * @param topicNames the topics of the available external tasks
+   */
+  void onExternalTasksAvailable(Set<String> topicNames);
+
+}
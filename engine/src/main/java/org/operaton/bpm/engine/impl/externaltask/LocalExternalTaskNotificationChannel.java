@@ -0,0 +1,53 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.externaltask;
+
+import java.util.Set;
+
+import org.operaton.bpm.engine.impl.ProcessEngineImpl;
+import org.operaton.bpm.engine.impl.cfg.TransactionState;
+import org.operaton.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Notifies the listeners of this node after the transaction committed.
+ * Nodes that share the database do not get notified, their workers pick up
+ * the tasks with their next fetch.
+ */
+public class LocalExternalTaskNotificationChannel implements ExternalTaskNotificationChannel {
+
+  @Override
+  public void publish(CommandContext commandContext, Set<String> topicNames) {
+    commandContext.getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, committedContext -> notifyListeners(topicNames));
+  }
+
+  protected void notifyListeners(Set<String> topicNames) {
+    ProcessEngineImpl.EXT_TASK_NOTIFICATION_LISTENERS.onExternalTasksAvailable(topicNames);
+    ProcessEngineImpl.EXT_TASK_CONDITIONS.signalAll();
+  }
+
+  @Override
+  public void start() {
+    // nothing to do
+  }
+
+  @Override
+  public void stop() {
+    // nothing to do
+  }
+
+}
@@ -16,6 +16,9 @@
  */
 package org.operaton.bpm.engine.impl.history.event;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Date;
 
 import org.operaton.bpm.engine.history.HistoricDecisionInputInstance;
@@ -45,8 +48,8 @@ public class HistoricDecisionInputInstanceEntity extends HistoryEvent implements
 
   protected String tenantId;
 
-  protected ByteArrayField byteArrayField;
-  protected TypedValueField typedValueField = new TypedValueField(this, false);
+  protected transient ByteArrayField byteArrayField;
+  protected transient TypedValueField typedValueField = new TypedValueField(this, false);
 
   protected Date createTime;
 
@@ -224,4 +227,21 @@ public class HistoricDecisionInputInstanceEntity extends HistoryEvent implements
       .delete(this);
   }
 
+  // serialization ///////////////////////////////////////////////////////////
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    // the value fields only reference the serializer and byte array of the value
+    out.defaultWriteObject();
+    out.writeObject(getSerializerName());
+    out.writeObject(getByteArrayValueId());
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    typedValueField = new TypedValueField(this, false);
+    typedValueField.setSerializerName((String) in.readObject());
+    byteArrayField = new ByteArrayField(this, ResourceTypes.HISTORY, getRootProcessInstanceId(), getRemovalTime());
+    byteArrayField.setByteArrayId((String) in.readObject());
+  }
+
 }
@@ -21,7 +21,11 @@ import java.util.List;
 import org.operaton.bpm.engine.history.HistoricVariableInstance;
 import org.operaton.bpm.engine.impl.context.Context;
 import org.operaton.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.operaton.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.operaton.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.operaton.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
 import org.operaton.bpm.engine.impl.history.event.HistoricDecisionEvaluationEvent;
+import org.operaton.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
 import org.operaton.bpm.engine.impl.history.event.HistoricScopeInstanceEvent;
 import org.operaton.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
 import org.operaton.bpm.engine.impl.history.event.HistoryEvent;
@@ -65,7 +69,8 @@ public class DbHistoryEventHandler implements HistoryEventHandler {
     if(isInitialEvent(historyEvent)) {
       dbEntityManager.insert(historyEvent);
     } else {
-      if(dbEntityManager.getCachedEntity(historyEvent.getClass(), historyEvent.getId()) == null) {
+      HistoryEvent cachedEvent = dbEntityManager.getCachedEntity(historyEvent.getClass(), historyEvent.getId());
+      if(cachedEvent == null) {
         if (historyEvent instanceof HistoricScopeInstanceEvent) {
           // if this is a scope, get start time from existing event in DB
           HistoricScopeInstanceEvent existingEvent = (HistoricScopeInstanceEvent) dbEntityManager.selectById(historyEvent.getClass(), historyEvent.getId());
@@ -79,10 +84,108 @@ public class DbHistoryEventHandler implements HistoryEventHandler {
         } else {
           dbEntityManager.merge(historyEvent);
         }
+      } else if (cachedEvent != historyEvent) {
+        // the row is written by this command anyway: apply the event to the cached
+        // entity, so that the row is written with a single statement in its final state
+        coalesce(cachedEvent, historyEvent);
       }
     }
   }
 
+  /**
+   * Applies an end or update event of an activity instance or a process instance to the
+   * cached event of the same instance, e.g. if the events were created by a producer that
+   * is not aware of the entity cache. Start and end of an instance in the same command then
+   * result in a single INSERT. Events are only applied to cached events that are
+   * still to be written, since history events are not checked for changes on flush.
+   *
+   * @return true if the event was applied to the cached event
+   */
+  protected boolean coalesce(HistoryEvent cachedEvent, HistoryEvent historyEvent) {
+    if (!isWritePending(cachedEvent)) {
+      return false;
+    }
+
+    boolean isEndEvent = historyEvent.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_END)
+        || historyEvent.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END);
+    boolean isUpdateEvent = historyEvent.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_UPDATE)
+        || historyEvent.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_UPDATE);
+
+    if (!isEndEvent && !isUpdateEvent) {
+      return false;
+    }
+
+    if (historyEvent instanceof HistoricActivityInstanceEventEntity
+        && cachedEvent instanceof HistoricActivityInstanceEventEntity) {
+      coalesceActivityInstanceEvent((HistoricActivityInstanceEventEntity) cachedEvent,
+          (HistoricActivityInstanceEventEntity) historyEvent, isEndEvent);
+
+    } else if (historyEvent instanceof HistoricProcessInstanceEventEntity
+        && cachedEvent instanceof HistoricProcessInstanceEventEntity) {
+      coalesceProcessInstanceEvent((HistoricProcessInstanceEventEntity) cachedEvent,
+          (HistoricProcessInstanceEventEntity) historyEvent, isEndEvent);
+
+    } else {
+      return false;
+    }
+
+    cachedEvent.setEventType(historyEvent.getEventType());
+    if (historyEvent.getRemovalTime() != null) {
+      cachedEvent.setRemovalTime(historyEvent.getRemovalTime());
+    }
+
+    return true;
+  }
+
+  protected boolean isWritePending(HistoryEvent cachedEvent) {
+    CachedDbEntity cachedDbEntity = getDbEntityManager().getDbEntityCache().getCachedEntity(cachedEvent);
+    return cachedDbEntity != null
+        && (cachedDbEntity.getEntityState() == DbEntityState.TRANSIENT
+          || cachedDbEntity.getEntityState() == DbEntityState.MERGED);
+  }
+
+  protected void coalesceActivityInstanceEvent(HistoricActivityInstanceEventEntity cachedEvent,
+      HistoricActivityInstanceEventEntity historyEvent, boolean isEndEvent) {
+
+    if (historyEvent.getCalledProcessInstanceId() != null) {
+      cachedEvent.setCalledProcessInstanceId(historyEvent.getCalledProcessInstanceId());
+    }
+    if (historyEvent.getCalledCaseInstanceId() != null) {
+      cachedEvent.setCalledCaseInstanceId(historyEvent.getCalledCaseInstanceId());
+    }
+    if (historyEvent.getTaskId() != null) {
+      cachedEvent.setTaskId(historyEvent.getTaskId());
+      cachedEvent.setTaskAssignee(historyEvent.getTaskAssignee());
+    }
+
+    if (isEndEvent) {
+      cachedEvent.setActivityInstanceState(historyEvent.getActivityInstanceState());
+      coalesceEndTime(cachedEvent, historyEvent);
+    }
+  }
+
+  protected void coalesceProcessInstanceEvent(HistoricProcessInstanceEventEntity cachedEvent,
+      HistoricProcessInstanceEventEntity historyEvent, boolean isEndEvent) {
+
+    cachedEvent.setState(historyEvent.getState());
+    cachedEvent.setBusinessKey(historyEvent.getBusinessKey());
+
+    if (isEndEvent) {
+      cachedEvent.setEndActivityId(historyEvent.getEndActivityId());
+      if (historyEvent.getDeleteReason() != null) {
+        cachedEvent.setDeleteReason(historyEvent.getDeleteReason());
+      }
+      coalesceEndTime(cachedEvent, historyEvent);
+    }
+  }
+
+  protected void coalesceEndTime(HistoricScopeInstanceEvent cachedEvent, HistoricScopeInstanceEvent historyEvent) {
+    cachedEvent.setEndTime(historyEvent.getEndTime());
+    if (cachedEvent.getStartTime() != null && cachedEvent.getEndTime() != null) {
+      cachedEvent.setDurationInMillis(cachedEvent.getEndTime().getTime() - cachedEvent.getStartTime().getTime());
+    }
+  }
+
 
   /** customized insert behavior for HistoricVariableUpdateEventEntity */
   protected void insertHistoricVariableUpdateEntity(HistoricVariableUpdateEventEntity historyEvent) {
@@ -0,0 +1,202 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.history.handler;
+
+import static org.operaton.bpm.engine.ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_END;
+import static org.operaton.bpm.engine.ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_START;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.operaton.bpm.engine.history.HistoricDecisionInputInstance;
+import org.operaton.bpm.engine.history.HistoricDecisionOutputInstance;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.context.Context;
+import org.operaton.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.operaton.bpm.engine.impl.db.entitymanager.operation.DbOperationManager;
+import org.operaton.bpm.engine.impl.history.event.HistoricDecisionEvaluationEvent;
+import org.operaton.bpm.engine.impl.history.event.HistoricDecisionInputInstanceEntity;
+import org.operaton.bpm.engine.impl.history.event.HistoricDecisionInstanceEntity;
+import org.operaton.bpm.engine.impl.history.event.HistoricDecisionOutputInstanceEntity;
+import org.operaton.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.operaton.bpm.engine.impl.history.event.HistoryEvent;
+import org.operaton.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.operaton.bpm.engine.impl.interceptor.CommandContext;
+import org.operaton.bpm.engine.repository.ProcessDefinition;
+
+/**
+ * <p>Writes history events of the history event outbox to the history tables.
+ * The events of many transactions are written in one transaction; the handler
+ * makes sure that the result is the same as if every transaction had written
+ * its events itself:</p>
+ *
+ * <ul>
+ *   <li>an event that updates a row which was written by an earlier event of the
+ *   same batch is applied after that row has been flushed, like an update in a
+ *   transaction of its own;</li>
+ *   <li>removal times that depend on the historic root process instance are
+ *   provided here, since the root process instance may not have been written
+ *   when the events were produced.</li>
+ * </ul>
+ *
+ * @see HistoryEventOutboxHandler
+ */
+public class DeferredDbHistoryEventHandler extends DbHistoryEventHandler {
+
+  /** removal times of root process instances by id, null if the root instance has none */
+  protected Map<String, Date> rootRemovalTimes = new HashMap<>();
+
+  @Override
+  public void handleEvent(HistoryEvent historyEvent) {
+    if (isHistoryRemovalTimeStrategyStart()) {
+      provideRemovalTime(historyEvent);
+    }
+
+    super.handleEvent(historyEvent);
+
+    if (isHistoryRemovalTimeStrategyEnd() && isRootProcessInstanceEndEvent(historyEvent)) {
+      addRemovalTimeToRootProcessInstance((HistoricProcessInstanceEventEntity) historyEvent);
+    }
+  }
+
+  @Override
+  protected void insertOrUpdate(HistoryEvent historyEvent) {
+    DbEntityManager dbEntityManager = getDbEntityManager();
+
+    HistoryEvent cachedEvent = dbEntityManager.getCachedEntity(historyEvent.getClass(), historyEvent.getId());
+    if (cachedEvent != null && cachedEvent != historyEvent) {
+      if (!isInitialEvent(historyEvent) && coalesce(cachedEvent, historyEvent)) {
+        return;
+      }
+      // an earlier transaction wrote the same row: write it first and apply this event on top
+      dbEntityManager.flush();
+      // the flushed operations are executed, they must not be executed again by the next flush
+      dbEntityManager.setDbOperationManager(new DbOperationManager());
+      dbEntityManager.getDbEntityCache().remove(cachedEvent);
+    }
+
+    super.insertOrUpdate(historyEvent);
+  }
+
+  // removal time /////////////////////////////////////////////////////////////
+
+  protected void provideRemovalTime(HistoryEvent historyEvent) {
+    if (historyEvent instanceof HistoricDecisionEvaluationEvent) {
+      HistoricDecisionEvaluationEvent evaluationEvent = (HistoricDecisionEvaluationEvent) historyEvent;
+      provideRemovalTime(evaluationEvent.getRootHistoricDecisionInstance());
+      for (HistoricDecisionInstanceEntity requiredDecisionInstance : evaluationEvent.getRequiredHistoricDecisionInstances()) {
+        provideRemovalTime(requiredDecisionInstance);
+      }
+    }
+    else if (isMissingRemovalTime(historyEvent) && !isRootProcessInstanceEvent(historyEvent)) {
+      historyEvent.setRemovalTime(getRootRemovalTime(historyEvent.getRootProcessInstanceId()));
+    }
+  }
+
+  protected void provideRemovalTime(HistoricDecisionInstanceEntity decisionInstance) {
+    if (decisionInstance == null || !isMissingRemovalTime(decisionInstance)) {
+      return;
+    }
+
+    Date removalTime = getRootRemovalTime(decisionInstance.getRootProcessInstanceId());
+    decisionInstance.setRemovalTime(removalTime);
+
+    if (decisionInstance.getInputs() != null) {
+      for (HistoricDecisionInputInstance input : decisionInstance.getInputs()) {
+        ((HistoricDecisionInputInstanceEntity) input).setRemovalTime(removalTime);
+      }
+    }
+    if (decisionInstance.getOutputs() != null) {
+      for (HistoricDecisionOutputInstance output : decisionInstance.getOutputs()) {
+        ((HistoricDecisionOutputInstanceEntity) output).setRemovalTime(removalTime);
+      }
+    }
+  }
+
+  protected boolean isMissingRemovalTime(HistoryEvent historyEvent) {
+    return historyEvent.getRemovalTime() == null && historyEvent.getRootProcessInstanceId() != null;
+  }
+
+  protected Date getRootRemovalTime(String rootProcessInstanceId) {
+    if (!rootRemovalTimes.containsKey(rootProcessInstanceId)) {
+      HistoricProcessInstanceEventEntity rootProcessInstance = getDbEntityManager()
+          .selectById(HistoricProcessInstanceEventEntity.class, rootProcessInstanceId);
+
+      Date removalTime = rootProcessInstance != null ? rootProcessInstance.getRemovalTime() : null;
+      rootRemovalTimes.put(rootProcessInstanceId, removalTime);
+
+      if (removalTime != null) {
+        // byte arrays like job exception stacktraces were written with the
+        // runtime changes, before the removal time of the root was known
+        getCommandContext()
+          .getByteArrayManager()
+          .addRemovalTimeToByteArraysByRootProcessInstanceId(rootProcessInstanceId, removalTime, null);
+      }
+    }
+    return rootRemovalTimes.get(rootProcessInstanceId);
+  }
+
+  protected void addRemovalTimeToRootProcessInstance(HistoricProcessInstanceEventEntity rootProcessInstance) {
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+
+    ProcessDefinition processDefinition = configuration.getDeploymentCache()
+        .findDeployedProcessDefinitionById(rootProcessInstance.getProcessDefinitionId());
+
+    Date removalTime = configuration.getHistoryRemovalTimeProvider()
+        .calculateRemovalTime(rootProcessInstance, processDefinition);
+
+    if (removalTime != null) {
+      String rootProcessInstanceId = rootProcessInstance.getRootProcessInstanceId();
+
+      // rows of the process instance written after it ended were not updated
+      // when the removal time was set at runtime
+      getCommandContext()
+        .getHistoricProcessInstanceManager()
+        .addRemovalTimeToProcessInstancesByRootProcessInstanceId(rootProcessInstanceId, removalTime);
+
+      if (configuration.isDmnEnabled()) {
+        getCommandContext()
+          .getHistoricDecisionInstanceManager()
+          .addRemovalTimeToDecisionsByRootProcessInstanceId(rootProcessInstanceId, removalTime);
+      }
+    }
+  }
+
+  protected boolean isRootProcessInstanceEvent(HistoryEvent historyEvent) {
+    return historyEvent instanceof HistoricProcessInstanceEventEntity
+        && historyEvent.getId().equals(historyEvent.getRootProcessInstanceId());
+  }
+
+  protected boolean isRootProcessInstanceEndEvent(HistoryEvent historyEvent) {
+    return isRootProcessInstanceEvent(historyEvent)
+        && historyEvent.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END);
+  }
+
+  protected boolean isHistoryRemovalTimeStrategyStart() {
+    return HISTORY_REMOVAL_TIME_STRATEGY_START.equals(Context.getProcessEngineConfiguration().getHistoryRemovalTimeStrategy());
+  }
+
+  protected boolean isHistoryRemovalTimeStrategyEnd() {
+    return HISTORY_REMOVAL_TIME_STRATEGY_END.equals(Context.getProcessEngineConfiguration().getHistoryRemovalTimeStrategy());
+  }
+
+  protected CommandContext getCommandContext() {
+    return Context.getCommandContext();
+  }
+
+}
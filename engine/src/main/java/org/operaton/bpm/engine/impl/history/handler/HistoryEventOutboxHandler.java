@@ -0,0 +1,55 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.history.handler;
+
+import java.util.List;
+
+import org.operaton.bpm.engine.impl.context.Context;
+import org.operaton.bpm.engine.impl.history.event.HistoryEvent;
+import org.operaton.bpm.engine.impl.history.outbox.HistoryEventOutboxWriter;
+
+/**
+ * <p>History event handler that defers writing history events to the history
+ * tables (write-behind). The events of a transaction are appended to the history
+ * event outbox, which is written in a single insert together with the runtime
+ * changes. The {@link HistoryEventOutboxWriter} writes the events of the outbox
+ * to the history tables in the background, using a {@link DeferredDbHistoryEventHandler}.</p>
+ *
+ * <p>History is eventually consistent with this handler: history queries return
+ * the events of a transaction only after the outbox has been written.</p>
+ */
+public class HistoryEventOutboxHandler implements HistoryEventHandler {
+
+  public void handleEvent(HistoryEvent historyEvent) {
+    // ids are assigned immediately, since callers may reference the event id,
+    // e.g. the last failure log of a job
+    if (historyEvent.getId() == null) {
+      historyEvent.setId(Context.getProcessEngineConfiguration().getIdGenerator().getNextId());
+    }
+
+    Context.getCommandContext()
+      .getHistoryEventOutboxManager()
+      .addHistoryEvent(historyEvent);
+  }
+
+  public void handleEvents(List<HistoryEvent> historyEvents) {
+    for (HistoryEvent historyEvent : historyEvents) {
+      handleEvent(historyEvent);
+    }
+  }
+
+}
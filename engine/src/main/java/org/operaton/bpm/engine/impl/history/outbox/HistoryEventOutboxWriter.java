@@ -0,0 +1,112 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.history.outbox;
+
+import java.util.Timer;
+import java.util.TimerTask;
+
+import org.operaton.bpm.engine.OptimisticLockingException;
+import org.operaton.bpm.engine.impl.ProcessEngineLogger;
+import org.operaton.bpm.engine.impl.cmd.WriteHistoryEventOutboxCmd;
+import org.operaton.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.operaton.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * Writes the history events of the history event outbox to the history tables
+ * in the background. The outbox is drained in batches of outbox entries, in the
+ * order in which the entries were written.
+ *
+ * <p>An entry that cannot be written stops the writer until the cause is
+ * resolved, since skipping it would break the order of the history events.
+ * Entries that remain in the outbox when the process engine stops are written
+ * once a process engine on the same database is running again.</p>
+ */
+public class HistoryEventOutboxWriter {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+  protected int batchSize;
+  protected long intervalInMillis;
+
+  protected Timer timer;
+
+  public HistoryEventOutboxWriter(CommandExecutor commandExecutor, int batchSize, long intervalInMillis) {
+    this.commandExecutor = commandExecutor;
+    this.batchSize = batchSize;
+    this.intervalInMillis = intervalInMillis;
+  }
+
+  public void start() {
+    timer = new Timer("Operaton History Event Outbox Writer", true);
+    timer.schedule(new HistoryEventOutboxWriterTask(), 0, intervalInMillis);
+  }
+
+  public void stop() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+      // write what has been collected so far for the last time
+      new HistoryEventOutboxWriterTask().run();
+    }
+  }
+
+  /**
+   * Writes outbox entries until the outbox is empty.
+   *
+   * @return the number of outbox entries that were written
+   */
+  public int writeNow() {
+    int writtenEntries = 0;
+    int writtenInBatch;
+    do {
+      writtenInBatch = commandExecutor.execute(new WriteHistoryEventOutboxCmd(batchSize));
+      writtenEntries += writtenInBatch;
+    } while (writtenInBatch >= batchSize);
+
+    return writtenEntries;
+  }
+
+  public CommandExecutor getCommandExecutor() {
+    return commandExecutor;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public long getIntervalInMillis() {
+    return intervalInMillis;
+  }
+
+  protected class HistoryEventOutboxWriterTask extends TimerTask {
+
+    public void run() {
+      try {
+        writeNow();
+      }
+      catch (OptimisticLockingException e) {
+        // another process engine writes the same entries
+        LOG.historyEventOutboxConcurrentWrite(e);
+      }
+      catch (Exception e) {
+        LOG.historyEventOutboxWriteFailure(e);
+      }
+    }
+  }
+
+}
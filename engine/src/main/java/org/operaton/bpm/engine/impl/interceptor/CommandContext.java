@@ -60,10 +60,12 @@ import org.operaton.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.operaton.bpm.engine.impl.persistence.entity.BatchManager;
 import org.operaton.bpm.engine.impl.persistence.entity.ByteArrayManager;
 import org.operaton.bpm.engine.impl.persistence.entity.CommentManager;
+import org.operaton.bpm.engine.impl.persistence.entity.CorrelationKeyManager;
 import org.operaton.bpm.engine.impl.persistence.entity.DeploymentManager;
 import org.operaton.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
 import org.operaton.bpm.engine.impl.persistence.entity.ExecutionManager;
 import org.operaton.bpm.engine.impl.persistence.entity.ExternalTaskManager;
+import org.operaton.bpm.engine.impl.persistence.entity.ExternalTaskNotificationManager;
 import org.operaton.bpm.engine.impl.persistence.entity.FilterManager;
 import org.operaton.bpm.engine.impl.persistence.entity.HistoricActivityInstanceManager;
 import org.operaton.bpm.engine.impl.persistence.entity.HistoricBatchManager;
@@ -78,9 +80,12 @@ import org.operaton.bpm.engine.impl.persistence.entity.HistoricProcessInstanceMa
 import org.operaton.bpm.engine.impl.persistence.entity.HistoricStatisticsManager;
 import org.operaton.bpm.engine.impl.persistence.entity.HistoricTaskInstanceManager;
 import org.operaton.bpm.engine.impl.persistence.entity.HistoricVariableInstanceManager;
+import org.operaton.bpm.engine.impl.persistence.entity.HistoryEventOutboxManager;
+import org.operaton.bpm.engine.impl.persistence.entity.HistoryPartitionManager;
 import org.operaton.bpm.engine.impl.persistence.entity.IdentityInfoManager;
 import org.operaton.bpm.engine.impl.persistence.entity.IdentityLinkManager;
 import org.operaton.bpm.engine.impl.persistence.entity.IncidentManager;
+import org.operaton.bpm.engine.impl.persistence.entity.JobAcquisitionLeaseManager;
 import org.operaton.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.operaton.bpm.engine.impl.persistence.entity.JobEntity;
 import org.operaton.bpm.engine.impl.persistence.entity.JobManager;
@@ -389,6 +394,22 @@ public class CommandContext {
     return getSession(JobManager.class);
   }
 
+  public JobAcquisitionLeaseManager getJobAcquisitionLeaseManager() {
+    return getSession(JobAcquisitionLeaseManager.class);
+  }
+
+  public HistoryEventOutboxManager getHistoryEventOutboxManager() {
+    return getSession(HistoryEventOutboxManager.class);
+  }
+
+  public CorrelationKeyManager getCorrelationKeyManager() {
+    return getSession(CorrelationKeyManager.class);
+  }
+
+  public HistoryPartitionManager getHistoryPartitionManager() {
+    return getSession(HistoryPartitionManager.class);
+  }
+
   public BatchManager getBatchManager() {
     return getSession(BatchManager.class);
   }
@@ -517,6 +538,10 @@ public class CommandContext {
     return getSession(ExternalTaskManager.class);
   }
 
+  public ExternalTaskNotificationManager getExternalTaskNotificationManager() {
+    return getSession(ExternalTaskNotificationManager.class);
+  }
+
   // getters and setters //////////////////////////////////////////////////////
 
   public void registerCommandContextListener(CommandContextListener commandContextListener) {
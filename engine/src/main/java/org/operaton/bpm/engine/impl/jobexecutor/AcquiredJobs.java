@@ -17,9 +17,11 @@
 package org.operaton.bpm.engine.impl.jobexecutor;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 
@@ -33,6 +35,7 @@ public class AcquiredJobs {
 
   protected List<List<String>> acquiredJobBatches = new ArrayList<List<String>>();
   protected Set<String> acquiredJobs = new HashSet<String>();
+  protected Map<String, JobSchedulingInfo> jobSchedulingInfos = new HashMap<>();
 
   protected int numberOfJobsFailedToLock = 0;
 
@@ -58,6 +61,14 @@ public class AcquiredJobs {
     addJobIdBatch(list);
   }
 
+  public void addJobSchedulingInfo(String jobId, JobSchedulingInfo schedulingInfo) {
+    jobSchedulingInfos.put(jobId, schedulingInfo);
+  }
+
+  public Map<String, JobSchedulingInfo> getJobSchedulingInfos() {
+    return jobSchedulingInfos;
+  }
+
   public boolean contains(String jobId) {
     return acquiredJobs.contains(jobId);
   }
@@ -70,6 +81,7 @@ public class AcquiredJobs {
     numberOfJobsFailedToLock++;
 
     acquiredJobs.remove(id);
+    jobSchedulingInfos.remove(id);
 
     Iterator<List<String>> batchIterator = acquiredJobBatches.iterator();
     while (batchIterator.hasNext()) {
@@ -0,0 +1,261 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.jobexecutor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Determines the number of jobs to acquire per engine by the measured throughput of the job executor
+ * instead of a fixed page size.
+ *
+ * <p>The number of jobs to acquire is managed as a window per engine, similar to TCP congestion control:
+ *   <ul>
+ *     <li>The window starts at the configured number of jobs per acquisition. As long as an engine
+ *       provides as many jobs as requested and the executor keeps up with them (i.e. no job batches
+ *       are left waiting in the queue at the end of a cycle), the window is doubled each cycle until
+ *       it reaches the slow start threshold and grows by one job per cycle afterwards.
+ *     <li>When jobs could not be locked due to competing acquisitions, when jobs were rejected
+ *       for execution or when the acquisition query took considerably longer than on average,
+ *       the window is halved and the slow start threshold is set to the new window.
+ *       A rising query latency indicates a database under load that more acquired jobs would
+ *       add to.
+ *     <li>The window is bounded by one and the maximum number of jobs to acquire.
+ *   </ul>
+ *
+ * <p>Idle and backoff wait times are calculated as in {@link BackoffJobAcquisitionStrategy}.
+ * Besides, the strategy keeps an exponentially weighted moving average of the execution rate
+ * (jobs executed per millisecond). When job batches are left in the execution queue, the next
+ * acquisition cycle is delayed by the time the executor is expected to need to drain the queue,
+ * rather than by a fixed saturation wait time.
+ */
+public class AdaptiveJobAcquisitionStrategy extends BackoffJobAcquisitionStrategy {
+
+  /**
+   * Weight of the most recent execution rate sample
+   */
+  protected static final double EXECUTION_RATE_SMOOTHING_FACTOR = 0.3;
+
+  /**
+   * Weight of the most recent acquisition query latency sample
+   */
+  protected static final double QUERY_LATENCY_SMOOTHING_FACTOR = 0.3;
+
+  /**
+   * A query latency above the average times this factor is considered a rise in latency
+   */
+  protected static final double QUERY_LATENCY_INCREASE_FACTOR = 2.0;
+
+  /**
+   * Increases of the query latency below this number of milliseconds are ignored as noise
+   */
+  protected static final long MIN_QUERY_LATENCY_INCREASE = 10;
+
+  protected int minNumJobsToAcquire = 1;
+  protected int maxNumJobsToAcquire;
+
+  protected Map<String, Integer> windows = new HashMap<>();
+  protected Map<String, Integer> slowStartThresholds = new HashMap<>();
+  protected Map<String, Double> queryLatencies = new HashMap<>();
+
+  /*
+   * measuring the execution rate
+   */
+  protected double executionRate = 0;
+  protected long lastMeasurementTime = -1;
+  protected long lastNumberOfExecutedJobs;
+  protected int numberOfQueuedJobBatches;
+
+  public AdaptiveJobAcquisitionStrategy(
+      long baseIdleWaitTime,
+      float idleIncreaseFactor,
+      long maxIdleTime,
+      long baseBackoffWaitTime,
+      float backoffIncreaseFactor,
+      long maxBackoffTime,
+      int backoffDecreaseThreshold,
+      int baseNumJobsToAcquire,
+      int maxNumJobsToAcquire) {
+    super(baseIdleWaitTime, idleIncreaseFactor, maxIdleTime, baseBackoffWaitTime, backoffIncreaseFactor,
+        maxBackoffTime, backoffDecreaseThreshold, Math.max(1, baseNumJobsToAcquire));
+
+    this.maxNumJobsToAcquire = Math.max(this.baseNumJobsToAcquire, maxNumJobsToAcquire);
+  }
+
+  public AdaptiveJobAcquisitionStrategy(JobExecutor jobExecutor) {
+    this(jobExecutor.getWaitTimeInMillis(),
+        jobExecutor.getWaitIncreaseFactor(),
+        jobExecutor.getMaxWait(),
+        jobExecutor.getBackoffTimeInMillis(),
+        jobExecutor.getWaitIncreaseFactor(),
+        jobExecutor.getMaxBackoff(),
+        jobExecutor.getBackoffDecreaseThreshold(),
+        jobExecutor.getMaxJobsPerAcquisition(),
+        jobExecutor.getMaxAdaptiveJobsPerAcquisition());
+  }
+
+  @Override
+  public void reconfigure(JobAcquisitionContext context) {
+    reconfigureExecutionRate(context);
+    super.reconfigure(context);
+  }
+
+  protected void reconfigureExecutionRate(JobAcquisitionContext context) {
+    numberOfQueuedJobBatches = context.getNumberOfQueuedJobBatches();
+
+    long measurementTime = context.getAcquisitionTime() + context.getAcquisitionDuration();
+    long numberOfExecutedJobs = context.getNumberOfExecutedJobs();
+
+    if (lastMeasurementTime >= 0 && measurementTime > lastMeasurementTime) {
+      double sample = (double) (numberOfExecutedJobs - lastNumberOfExecutedJobs) / (measurementTime - lastMeasurementTime);
+      executionRate = EXECUTION_RATE_SMOOTHING_FACTOR * sample + (1 - EXECUTION_RATE_SMOOTHING_FACTOR) * executionRate;
+    }
+
+    lastMeasurementTime = measurementTime;
+    lastNumberOfExecutedJobs = numberOfExecutedJobs;
+  }
+
+  @Override
+  protected void reconfigureNumberOfJobsToAcquire(JobAcquisitionContext context) {
+    jobsToAcquire.clear();
+    for (Map.Entry<String, AcquiredJobs> acquiredJobsEntry : context.getAcquiredJobsByEngine().entrySet()) {
+      String engineName = acquiredJobsEntry.getKey();
+      AcquiredJobs acquiredJobs = acquiredJobsEntry.getValue();
+
+      List<List<String>> rejectedJobBatchesForEngine = context.getRejectedJobsByEngine().get(engineName);
+      int numJobBatchesRejected = rejectedJobBatchesForEngine != null ? rejectedJobBatchesForEngine.size() : 0;
+
+      boolean isQueryLatencyIncreased = reconfigureQueryLatency(engineName,
+          context.getAcquisitionQueryDurationsByEngine().get(engineName));
+
+      int window = reconfigureWindow(engineName, acquiredJobs, numJobBatchesRejected, isQueryLatencyIncreased);
+
+      int numJobsToAcquire = window - numJobBatchesRejected;
+      // do not acquire more jobs than the job executor is able to execute
+      numJobsToAcquire = Math.min(numJobsToAcquire, getAvailableJobCapacity(context, acquiredJobs));
+      numJobsToAcquire = Math.max(0, numJobsToAcquire);
+
+      jobsToAcquire.put(engineName, numJobsToAcquire);
+    }
+  }
+
+  /**
+   * Updates the average acquisition query latency of the engine.
+   *
+   * @return true, if the given query duration is considerably above the average
+   */
+  protected boolean reconfigureQueryLatency(String engineName, Long queryDuration) {
+    if (queryDuration == null) {
+      return false;
+    }
+
+    Double queryLatency = queryLatencies.get(engineName);
+    if (queryLatency == null) {
+      queryLatencies.put(engineName, (double) queryDuration);
+      return false;
+    }
+
+    boolean isIncreased = queryDuration > queryLatency * QUERY_LATENCY_INCREASE_FACTOR
+        && queryDuration - queryLatency >= MIN_QUERY_LATENCY_INCREASE;
+
+    queryLatencies.put(engineName,
+        QUERY_LATENCY_SMOOTHING_FACTOR * queryDuration + (1 - QUERY_LATENCY_SMOOTHING_FACTOR) * queryLatency);
+
+    return isIncreased;
+  }
+
+  protected int reconfigureWindow(String engineName, AcquiredJobs acquiredJobs, int numJobBatchesRejected,
+      boolean isQueryLatencyIncreased) {
+    int window = getWindow(engineName);
+    int slowStartThreshold = getSlowStartThreshold(engineName);
+
+    if (acquiredJobs.getNumberOfJobsFailedToLock() > 0 || numJobBatchesRejected > 0 || isQueryLatencyIncreased) {
+      // multiplicative decrease
+      slowStartThreshold = Math.max(minNumJobsToAcquire, window / 2);
+      window = slowStartThreshold;
+    }
+    else if (isWindowExhausted(acquiredJobs) && numberOfQueuedJobBatches == 0) {
+      if (window < slowStartThreshold) {
+        window = Math.min(slowStartThreshold, window * 2);
+      }
+      else {
+        window = window + 1;
+      }
+      window = Math.min(maxNumJobsToAcquire, window);
+    }
+
+    windows.put(engineName, window);
+    slowStartThresholds.put(engineName, slowStartThreshold);
+
+    return window;
+  }
+
+  /**
+   * @return true, if the engine provided as many jobs as were requested
+   */
+  protected boolean isWindowExhausted(AcquiredJobs acquiredJobs) {
+    int numJobsAttempted = acquiredJobs.getNumberOfJobsAttemptedToAcquire();
+    return numJobsAttempted > 0 && acquiredJobs.size() >= numJobsAttempted;
+  }
+
+  @Override
+  public long getWaitTime() {
+    if (idleLevel > 0) {
+      return calculateIdleTime();
+    }
+    else if (backoffLevel > 0) {
+      return calculateBackoffTime();
+    }
+    else if (executionSaturated || numberOfQueuedJobBatches > 0) {
+      return calculateDrainTime();
+    }
+    else {
+      return 0;
+    }
+  }
+
+  /**
+   * @return the time the job executor is expected to need for executing the queued job batches,
+   * bounded by the maximum idle time
+   */
+  protected long calculateDrainTime() {
+    if (executionRate <= 0) {
+      return executionSaturated ? executionSaturationWaitTime : 0;
+    }
+
+    long drainTime = (long) (Math.max(1, numberOfQueuedJobBatches) / executionRate);
+    if (maxIdleWaitTime > 0) {
+      drainTime = Math.min(maxIdleWaitTime, drainTime);
+    }
+    return drainTime;
+  }
+
+  protected int getWindow(String engineName) {
+    Integer window = windows.get(engineName);
+    return window != null ? window : baseNumJobsToAcquire;
+  }
+
+  protected int getSlowStartThreshold(String engineName) {
+    Integer slowStartThreshold = slowStartThresholds.get(engineName);
+    return slowStartThreshold != null ? slowStartThreshold : maxNumJobsToAcquire;
+  }
+
+  public double getExecutionRate() {
+    return executionRate;
+  }
+}
@@ -164,7 +164,7 @@ public class BackoffJobAcquisitionStrategy implements JobAcquisitionStrategy {
     reconfigureIdleLevel(context);
     reconfigureBackoffLevel(context);
     reconfigureNumberOfJobsToAcquire(context);
-    executionSaturated = allSubmittedJobsRejected(context);
+    executionSaturated = allSubmittedJobsRejected(context) || context.getAvailableExecutionCapacity() <= 0;
   }
 
   /**
@@ -238,18 +238,37 @@ public class BackoffJobAcquisitionStrategy implements JobAcquisitionStrategy {
     jobsToAcquire.clear();
     for (Map.Entry<String, AcquiredJobs> acquiredJobsEntry : context.getAcquiredJobsByEngine().entrySet()) {
       String engineName = acquiredJobsEntry.getKey();
+      AcquiredJobs acquiredJobs = acquiredJobsEntry.getValue();
 
       int numJobsToAcquire = (int) (baseNumJobsToAcquire * Math.pow(backoffIncreaseFactor, backoffLevel));
       List<List<String>> rejectedJobBatchesForEngine = context.getRejectedJobsByEngine().get(engineName);
       if (rejectedJobBatchesForEngine != null) {
         numJobsToAcquire -= rejectedJobBatchesForEngine.size();
       }
+      // do not acquire more jobs than the job executor is able to execute
+      numJobsToAcquire = Math.min(numJobsToAcquire, getAvailableJobCapacity(context, acquiredJobs));
       numJobsToAcquire = Math.max(0, numJobsToAcquire);
 
       jobsToAcquire.put(engineName, numJobsToAcquire);
     }
   }
 
+  /**
+   * The execution capacity is counted in job batches. Converts it to a number of jobs
+   * by the average number of jobs per batch of the last acquisition.
+   */
+  protected int getAvailableJobCapacity(JobAcquisitionContext context, AcquiredJobs acquiredJobs) {
+    int availableExecutionCapacity = context.getAvailableExecutionCapacity();
+    int numJobBatches = acquiredJobs.getJobIdBatches().size();
+    if (availableExecutionCapacity == Integer.MAX_VALUE || numJobBatches == 0) {
+      return availableExecutionCapacity;
+    }
+
+    int jobsPerBatch = (acquiredJobs.size() + numJobBatches - 1) / numJobBatches;
+    long availableJobCapacity = (long) availableExecutionCapacity * Math.max(1, jobsPerBatch);
+    return (int) Math.min(Integer.MAX_VALUE, availableJobCapacity);
+  }
+
   @Override
   public long getWaitTime() {
     if (idleLevel > 0) {
@@ -16,6 +16,8 @@
  */
 package org.operaton.bpm.engine.impl.jobexecutor;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -44,10 +46,18 @@ public class DefaultJobExecutor extends ThreadPoolJobExecutor {
   protected int corePoolSize = 3;
   protected int maxPoolSize = 10;
 
+  /**
+   * When true, waiting jobs are executed by priority with aging and a fair share
+   * per job definition instead of in acquisition order, see {@link PriorityJobQueue}.
+   */
+  protected boolean prioritizedQueue = false;
+  protected long queueAgingIntervalInMillis = 1000;
+  protected Map<String, Integer> queueFairnessWeights = new HashMap<>();
+
   protected void startExecutingJobs() {
 
     if (threadPoolExecutor==null || threadPoolExecutor.isShutdown()) {
-      BlockingQueue<Runnable> threadPoolQueue = new ArrayBlockingQueue<Runnable>(queueSize);
+      BlockingQueue<Runnable> threadPoolQueue = createThreadPoolQueue();
       threadPoolExecutor = new ThreadPoolExecutor(corePoolSize, maxPoolSize, 0L, TimeUnit.MILLISECONDS, threadPoolQueue);
       threadPoolExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
     }
@@ -55,6 +65,16 @@ public class DefaultJobExecutor extends ThreadPoolJobExecutor {
     super.startExecutingJobs();
   }
 
+  protected BlockingQueue<Runnable> createThreadPoolQueue() {
+    if (prioritizedQueue) {
+      PriorityJobQueue priorityJobQueue = new PriorityJobQueue(queueSize);
+      priorityJobQueue.setAgingIntervalInMillis(queueAgingIntervalInMillis);
+      priorityJobQueue.setFairnessWeights(queueFairnessWeights);
+      return priorityJobQueue;
+    }
+    return new ArrayBlockingQueue<Runnable>(queueSize);
+  }
+
   protected void stopExecutingJobs() {
 
     super.stopExecutingJobs();
@@ -98,5 +118,33 @@ public class DefaultJobExecutor extends ThreadPoolJobExecutor {
     this.maxPoolSize = maxPoolSize;
   }
 
+  public boolean isPrioritizedQueue() {
+    return prioritizedQueue;
+  }
+
+  public void setPrioritizedQueue(boolean prioritizedQueue) {
+    this.prioritizedQueue = prioritizedQueue;
+  }
+
+  public long getQueueAgingIntervalInMillis() {
+    return queueAgingIntervalInMillis;
+  }
+
+  public void setQueueAgingIntervalInMillis(long queueAgingIntervalInMillis) {
+    this.queueAgingIntervalInMillis = queueAgingIntervalInMillis;
+  }
+
+  /**
+   * @return the weights of job definitions or tenants (by id) for their fair share
+   * of the job executor if {@link #isPrioritizedQueue() prioritizedQueue} is enabled
+   */
+  public Map<String, Integer> getQueueFairnessWeights() {
+    return queueFairnessWeights;
+  }
+
+  public void setQueueFairnessWeights(Map<String, Integer> queueFairnessWeights) {
+    this.queueFairnessWeights = queueFairnessWeights;
+  }
+
 }
 
@@ -20,13 +20,17 @@ import org.operaton.bpm.engine.ProcessEngine;
 import org.operaton.bpm.engine.impl.ProcessEngineImpl;
 import org.operaton.bpm.engine.impl.ProcessEngineLogger;
 import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.cmd.ExecuteJobMicroBatchCmd;
 import org.operaton.bpm.engine.impl.cmd.ExecuteJobsCmd;
 import org.operaton.bpm.engine.impl.cmd.UnlockJobCmd;
 import org.operaton.bpm.engine.impl.context.Context;
+import org.operaton.bpm.engine.impl.interceptor.Command;
 import org.operaton.bpm.engine.impl.interceptor.CommandExecutor;
 import org.operaton.bpm.engine.impl.interceptor.ProcessDataContext;
 import org.operaton.bpm.engine.impl.util.ClassLoaderUtil;
+import org.operaton.bpm.engine.management.Metrics;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -62,6 +66,18 @@ public class ExecuteJobsRunnable implements Runnable {
     ClassLoader classLoaderBeforeExecution = switchClassLoader();
 
     try {
+      if (isMicroBatch(jobIds)) {
+        List<String> microBatch = new ArrayList<>(currentProcessorJobQueue);
+        currentProcessorJobQueue.clear();
+
+        if (executeMicroBatch(microBatch, commandExecutor, engineConfiguration)) {
+          jobExecutor.jobsExecuted(microBatch.size());
+        }
+        else {
+          currentProcessorJobQueue.addAll(0, microBatch);
+        }
+      }
+
       while (!currentProcessorJobQueue.isEmpty()) {
 
         String nextJobId = currentProcessorJobQueue.remove(0);
@@ -80,6 +96,7 @@ public class ExecuteJobsRunnable implements Runnable {
              * in case of exceptions in command execution
              */
             new ProcessDataContext(engineConfiguration).clearMdc();
+            jobExecutor.jobsExecuted(1);
           }
         } else {
             try {
@@ -94,7 +111,10 @@ public class ExecuteJobsRunnable implements Runnable {
       // if there were only exclusive jobs then the job executor
       // does a backoff. In order to avoid too much waiting time
       // we need to tell him to check once more if there were any jobs added.
-      jobExecutor.jobWasAdded();
+      // Handed off jobs were not acquired, so they do not cause a backoff.
+      if (!(jobIds instanceof HandedOffJobBatch)) {
+        jobExecutor.jobWasAdded();
+      }
 
     } finally {
       Context.removeJobExecutorContext();
@@ -110,6 +130,77 @@ public class ExecuteJobsRunnable implements Runnable {
     ExecuteJobHelper.executeJob(nextJobId, commandExecutor, jobFailureCollector, new ExecuteJobsCmd(nextJobId, jobFailureCollector), processEngine.getProcessEngineConfiguration());
   }
 
+  /**
+   * @return true if the jobs were acquired as a {@link JobMicroBatch}
+   */
+  protected boolean isMicroBatch(List<String> jobIds) {
+    return jobIds instanceof JobMicroBatch
+        && jobIds.size() > 1
+        && jobExecutor.isActive();
+  }
+
+  /**
+   * Executes all jobs in one transaction. Each job is executed by {@link #executeJob(String, CommandExecutor, JobFailureCollector)},
+   * whose commands reuse the command context of the micro-batch.
+   *
+   * @return false if the jobs were not executed and have to be executed one by one
+   */
+  protected boolean executeMicroBatch(List<String> jobIds, CommandExecutor commandExecutor, ProcessEngineConfigurationImpl engineConfiguration) {
+    MicroBatchCommandExecutor microBatchCommandExecutor = new MicroBatchCommandExecutor(commandExecutor);
+    try {
+      commandExecutor.execute(new ExecuteJobMicroBatchCmd(jobIds, jobId -> {
+        executeJob(jobId, microBatchCommandExecutor, new JobFailureCollector(jobId));
+        // a failure may have been handled by the hook, it must roll back the micro-batch nevertheless
+        microBatchCommandExecutor.rethrowFailure();
+      }));
+
+      if (engineConfiguration.isMetricsEnabled()) {
+        engineConfiguration.getMetricsRegistry().markOccurrence(Metrics.JOB_SUCCESSFUL, jobIds.size());
+      }
+      return true;
+
+    } catch (Throwable t) {
+      LOG.debugFallbackToSingleJobExecution(jobIds, t);
+      return false;
+
+    } finally {
+      new ProcessDataContext(engineConfiguration).clearMdc();
+    }
+  }
+
+  /**
+   * Executes the commands of the jobs of a micro-batch and records their failures. The job listeners
+   * are not invoked, since the outcome of the jobs is only known once the micro-batch has been committed.
+   */
+  protected static class MicroBatchCommandExecutor implements CommandExecutor {
+
+    protected final CommandExecutor delegate;
+    protected RuntimeException failure;
+
+    public MicroBatchCommandExecutor(CommandExecutor delegate) {
+      this.delegate = delegate;
+    }
+
+    public <T> T execute(Command<T> command) {
+      if (command instanceof SuccessfulJobListener || command instanceof FailedJobListener) {
+        return null;
+      }
+
+      try {
+        return delegate.execute(command);
+      } catch (RuntimeException e) {
+        failure = e;
+        throw e;
+      }
+    }
+
+    public void rethrowFailure() {
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
   protected void unlockJob(String nextJobId, CommandExecutor commandExecutor) {
     commandExecutor.execute(new UnlockJobCmd(nextJobId));
   }
@@ -0,0 +1,40 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * The ids of jobs that were locked on insert and handed off to the job executor by
+ * the command that created them.
+ *
+ * <p>The jobs were not acquired, so {@link ExecuteJobsRunnable} does not wake up the
+ * acquisition after executing them.</p>
+ */
+public class HandedOffJobBatch extends ArrayList<String> {
+
+  private static final long serialVersionUID = 1L;
+
+  public HandedOffJobBatch() {
+  }
+
+  public HandedOffJobBatch(Collection<String> jobIds) {
+    super(jobIds);
+  }
+
+}
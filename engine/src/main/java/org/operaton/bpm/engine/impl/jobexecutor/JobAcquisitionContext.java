@@ -17,8 +17,10 @@
 package org.operaton.bpm.engine.impl.jobexecutor;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.operaton.bpm.engine.impl.util.CollectionUtil;
 
@@ -34,6 +36,12 @@ public class JobAcquisitionContext {
   protected Exception acquisitionException;
   protected long acquisitionTime;
   protected boolean isJobAdded;
+  protected int availableExecutionCapacity = Integer.MAX_VALUE;
+  protected long acquisitionDuration;
+  protected int numberOfQueuedJobBatches;
+  protected long numberOfExecutedJobs;
+  protected Map<String, JobSchedulingInfo> jobSchedulingInfos = new HashMap<>();
+  protected Map<String, Long> acquisitionQueryDurationsByEngine = new HashMap<>();
 
   public JobAcquisitionContext() {
     this.rejectedJobBatchesByEngine = new HashMap<String, List<List<String>>>();
@@ -47,6 +55,11 @@ public class JobAcquisitionContext {
 
   public void submitAcquiredJobs(String engineName, AcquiredJobs acquiredJobs) {
     acquiredJobsByEngine.put(engineName, acquiredJobs);
+    jobSchedulingInfos.putAll(acquiredJobs.getJobSchedulingInfos());
+  }
+
+  public void submitAcquisitionQueryDuration(String engineName, long acquisitionQueryDuration) {
+    acquisitionQueryDurationsByEngine.put(engineName, acquisitionQueryDuration);
   }
 
   public void submitAdditionalJobBatch(String engineName, List<String> jobIds) {
@@ -60,11 +73,24 @@ public class JobAcquisitionContext {
     // are to be resubmitted for execution in the current cycle
     additionalJobBatchesByEngine.putAll(rejectedJobBatchesByEngine);
 
+    // keep the scheduling information of rejected jobs for their resubmission
+    Set<String> rejectedJobIds = new HashSet<>();
+    for (List<List<String>> jobBatches : rejectedJobBatchesByEngine.values()) {
+      for (List<String> jobBatch : jobBatches) {
+        rejectedJobIds.addAll(jobBatch);
+      }
+    }
+    jobSchedulingInfos.keySet().retainAll(rejectedJobIds);
+
     rejectedJobBatchesByEngine.clear();
     acquiredJobsByEngine.clear();
+    acquisitionQueryDurationsByEngine.clear();
     acquisitionException = null;
     acquisitionTime = 0;
+    acquisitionDuration = 0;
+    numberOfQueuedJobBatches = 0;
     isJobAdded = false;
+    availableExecutionCapacity = Integer.MAX_VALUE;
   }
 
   /**
@@ -95,6 +121,14 @@ public class JobAcquisitionContext {
     return false;
   }
 
+  /**
+   * @return the scheduling information of the given job batch or null if it is unknown,
+   * e.g. because the jobs were not acquired by the job executor
+   */
+  public JobSchedulingInfo getJobSchedulingInfo(List<String> jobIds) {
+    return JobSchedulingInfo.forBatch(jobIds, jobSchedulingInfos);
+  }
+
   // getters and setters
 
   public void setAcquisitionTime(long acquisitionTime) {
@@ -146,4 +180,58 @@ public class JobAcquisitionContext {
   public boolean isJobAdded() {
     return isJobAdded;
   }
+
+  /**
+   * The number of job batches the job executor was able to accept at the end of
+   * the acquisition cycle; {@link Integer#MAX_VALUE} if the job executor does not
+   * track its capacity.
+   */
+  public int getAvailableExecutionCapacity() {
+    return availableExecutionCapacity;
+  }
+
+  public void setAvailableExecutionCapacity(int availableExecutionCapacity) {
+    this.availableExecutionCapacity = availableExecutionCapacity;
+  }
+
+  /**
+   * The time in milliseconds the acquisition of jobs for all engines took in this cycle.
+   */
+  public long getAcquisitionDuration() {
+    return acquisitionDuration;
+  }
+
+  public void setAcquisitionDuration(long acquisitionDuration) {
+    this.acquisitionDuration = acquisitionDuration;
+  }
+
+  /**
+   * The time in milliseconds the command acquiring the jobs of an engine took in this cycle.
+   * Engines for which no jobs were requested have no entry.
+   */
+  public Map<String, Long> getAcquisitionQueryDurationsByEngine() {
+    return acquisitionQueryDurationsByEngine;
+  }
+
+  /**
+   * The number of job batches waiting for an execution thread at the end of the cycle.
+   */
+  public int getNumberOfQueuedJobBatches() {
+    return numberOfQueuedJobBatches;
+  }
+
+  public void setNumberOfQueuedJobBatches(int numberOfQueuedJobBatches) {
+    this.numberOfQueuedJobBatches = numberOfQueuedJobBatches;
+  }
+
+  /**
+   * The total number of jobs the job executor has executed at the end of the cycle.
+   */
+  public long getNumberOfExecutedJobs() {
+    return numberOfExecutedJobs;
+  }
+
+  public void setNumberOfExecutedJobs(long numberOfExecutedJobs) {
+    this.numberOfExecutedJobs = numberOfExecutedJobs;
+  }
 }
@@ -20,8 +20,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import org.operaton.bpm.engine.impl.ProcessEngineImpl;
 import org.operaton.bpm.engine.impl.ProcessEngineLogger;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.cmd.DeleteJobAcquisitionLeaseCmd;
 import org.operaton.bpm.engine.impl.interceptor.Command;
 import org.operaton.bpm.engine.impl.interceptor.CommandExecutor;
 import org.operaton.bpm.engine.management.Metrics;
@@ -71,6 +74,21 @@ public abstract class JobExecutor {
    */
   protected int backoffDecreaseThreshold = 100;
 
+  /**
+   * When true, the number of jobs to acquire and the wait time between acquisition
+   * cycles follow the measured execution throughput of this job executor,
+   * see {@link AdaptiveJobAcquisitionStrategy}.
+   */
+  protected boolean adaptiveAcquisition = false;
+
+  /**
+   * The upper bound for the number of jobs to acquire per cycle
+   * when {@link #adaptiveAcquisition} is enabled.
+   */
+  protected int maxAdaptiveJobsPerAcquisition = 100;
+
+  protected final AtomicLong numberOfExecutedJobs = new AtomicLong();
+
   protected String lockOwner = UUID.randomUUID().toString();
   protected int lockTimeInMillis = 5 * 60 * 1000;
 
@@ -93,6 +111,10 @@ public abstract class JobExecutor {
     stopExecutingJobs();
     ensureCleanup();
     isActive = false;
+
+    for (ProcessEngineImpl processEngine : processEngines) {
+      releaseJobAcquisitionLease(processEngine);
+    }
   }
 
   protected void ensureInitialization() {
@@ -129,12 +151,41 @@ public abstract class JobExecutor {
     if(processEngines.isEmpty() && isActive) {
       shutdown();
     }
+
+    releaseJobAcquisitionLease(processEngine);
+  }
+
+  /**
+   * Releases the partitioned job acquisition lease of this job executor for the given process engine,
+   * so that the other nodes take over its range of partition keys without waiting for the lease to expire.
+   */
+  protected void releaseJobAcquisitionLease(ProcessEngineImpl processEngine) {
+    ProcessEngineConfigurationImpl configuration = processEngine.getProcessEngineConfiguration();
+    if (!configuration.isJobExecutorPartitionedAcquisition()) {
+      return;
+    }
+
+    try {
+      configuration.getCommandExecutorTxRequired().execute(new DeleteJobAcquisitionLeaseCmd(lockOwner));
+    } catch (Exception e) {
+      LOG.exceptionWhileReleasingJobAcquisitionLease(lockOwner, e);
+    }
   }
 
   protected abstract void startExecutingJobs();
   protected abstract void stopExecutingJobs();
   public abstract void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine);
 
+  /**
+   * Executes the jobs like {@link #executeJobs(List, ProcessEngineImpl)}, additionally
+   * providing information that a job executor can use to order waiting job batches.
+   *
+   * @param schedulingInfo the scheduling information of the job batch, may be null
+   */
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine, JobSchedulingInfo schedulingInfo) {
+    executeJobs(jobIds, processEngine);
+  }
+
   /**
    * Deprecated: use {@link #executeJobs(List, ProcessEngineImpl)} instead
    * @param jobIds
@@ -146,6 +197,58 @@ public abstract class JobExecutor {
     }
   }
 
+  /**
+   * Submits jobs for execution that were locked by this job executor when they were created,
+   * without acquiring them from the database. May be called from any thread.
+   *
+   * @param jobIdBatches the job batches to execute
+   * @param processEngine the process engine the jobs belong to
+   */
+  public void handOffJobs(List<List<String>> jobIdBatches, ProcessEngineImpl processEngine) {
+    if (acquireJobsRunnable instanceof SequentialJobAcquisitionRunnable) {
+      // the acquisition thread submits the jobs, so that rejections are accounted for,
+      // without acquiring jobs from the database
+      ((SequentialJobAcquisitionRunnable) acquireJobsRunnable).submitHandedOffJobs(processEngine.getName(), jobIdBatches);
+    }
+    else {
+      for (List<String> jobIds : jobIdBatches) {
+        executeJobs(jobIds, processEngine);
+      }
+    }
+  }
+
+  /**
+   * @return the number of job batches that can currently be submitted via
+   * {@link #executeJobs(List, ProcessEngineImpl)} without being rejected or
+   * {@link Integer#MAX_VALUE} if this job executor does not track its capacity
+   */
+  public int getAvailableExecutionCapacity() {
+    return Integer.MAX_VALUE;
+  }
+
+  /**
+   * @return the number of job batches that were submitted for execution
+   * but wait for a free execution thread
+   */
+  public int getNumberOfQueuedJobBatches() {
+    return 0;
+  }
+
+  /**
+   * Counts jobs that finished execution, successfully or not,
+   * to measure the execution throughput of this job executor.
+   */
+  public void jobsExecuted(int numJobs) {
+    numberOfExecutedJobs.addAndGet(numJobs);
+  }
+
+  /**
+   * @return the number of jobs executed by this job executor since its creation
+   */
+  public long getNumberOfExecutedJobs() {
+    return numberOfExecutedJobs.get();
+  }
+
   public void logAcquisitionAttempt(ProcessEngineImpl engine) {
     if (engine.getProcessEngineConfiguration().isMetricsEnabled()) {
       engine.getProcessEngineConfiguration()
@@ -304,6 +407,22 @@ public abstract class JobExecutor {
     this.backoffDecreaseThreshold = backoffDecreaseThreshold;
   }
 
+  public boolean isAdaptiveAcquisition() {
+    return adaptiveAcquisition;
+  }
+
+  public void setAdaptiveAcquisition(boolean adaptiveAcquisition) {
+    this.adaptiveAcquisition = adaptiveAcquisition;
+  }
+
+  public int getMaxAdaptiveJobsPerAcquisition() {
+    return maxAdaptiveJobsPerAcquisition;
+  }
+
+  public void setMaxAdaptiveJobsPerAcquisition(int maxAdaptiveJobsPerAcquisition) {
+    this.maxAdaptiveJobsPerAcquisition = maxAdaptiveJobsPerAcquisition;
+  }
+
   public String getName() {
     return name;
   }
@@ -17,6 +17,7 @@
 package org.operaton.bpm.engine.impl.jobexecutor;
 
 import java.util.Collection;
+import java.util.List;
 
 import org.operaton.bpm.engine.OptimisticLockingException;
 import org.operaton.bpm.engine.ProcessEngineException;
@@ -217,4 +218,21 @@ public class JobExecutorLogger extends ProcessEngineLogger {
     return new ProcessEngineException(exceptionMessage("031", "Invalid configuration for job executor priority range. Reason: {}", reason));
   }
 
+  public void virtualThreadsNotSupported(String jobExecutorClass) {
+    logWarn("032", "Virtual threads are not supported by this Java runtime. {} falls back to platform threads.", jobExecutorClass);
+  }
+
+  public void debugHandingOffJobsToJobExecutor(List<List<String>> jobIdBatches) {
+    logDebug("033", "Handing off locally created jobs to job executor: {}", jobIdBatches);
+  }
+
+  public void debugFallbackToSingleJobExecution(List<String> jobIds, Throwable cause) {
+    logDebug("034", "Micro-batch execution of jobs {} failed, executing them one by one. Cause: {}", jobIds, cause.getMessage());
+  }
+
+  public void exceptionWhileReleasingJobAcquisitionLease(String lockOwner, Exception e) {
+    logWarn("035", "Exception while releasing the job acquisition lease of lock owner {}. "
+        + "Its partition keys are taken over once the lease has expired.", lockOwner, e);
+  }
+
 }
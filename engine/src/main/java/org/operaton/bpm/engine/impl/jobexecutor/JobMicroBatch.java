@@ -0,0 +1,43 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+
+/**
+ * The ids of acquired non-exclusive jobs of the same batchable handler type, which
+ * {@link ExecuteJobsRunnable} executes in a single transaction.
+ *
+ * <p>The batch is formed on acquisition, where the handler types of the jobs are known,
+ * so that the execution does not have to select the jobs again to decide whether they
+ * can be executed together.</p>
+ */
+public class JobMicroBatch extends ArrayList<String> {
+
+  private static final long serialVersionUID = 1L;
+
+  protected final String jobHandlerType;
+
+  public JobMicroBatch(String jobHandlerType) {
+    this.jobHandlerType = jobHandlerType;
+  }
+
+  public String getJobHandlerType() {
+    return jobHandlerType;
+  }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.jobexecutor;
+
+/**
+ * <p>A contiguous range of job partition keys that a job executor node acquires
+ * jobs from when partitioned job acquisition is enabled.</p>
+ *
+ * <p>Every job is assigned a partition key in <code>[0, {@link #NUMBER_OF_PARTITIONS})</code>
+ * on creation. The key space is divided evenly between the live job executor nodes,
+ * so that nodes do not compete for the same jobs during acquisition.</p>
+ */
+public class JobPartitionRange {
+
+  public static final int NUMBER_OF_PARTITIONS = 1024;
+
+  /** inclusive */
+  protected final int from;
+  /** exclusive */
+  protected final int to;
+
+  public JobPartitionRange(int from, int to) {
+    this.from = from;
+    this.to = to;
+  }
+
+  /**
+   * @return the range of partition keys that is owned by the node at position
+   * <code>nodeIndex</code> out of <code>numberOfNodes</code> live nodes
+   */
+  public static JobPartitionRange forNode(int nodeIndex, int numberOfNodes) {
+    int from = (int) ((long) nodeIndex * NUMBER_OF_PARTITIONS / numberOfNodes);
+    int to = (int) ((long) (nodeIndex + 1) * NUMBER_OF_PARTITIONS / numberOfNodes);
+    return new JobPartitionRange(from, to);
+  }
+
+  /**
+   * @return the partition key for the given id, e.g. a process instance id
+   */
+  public static int getPartitionKey(String id) {
+    return Math.floorMod(id.hashCode(), NUMBER_OF_PARTITIONS);
+  }
+
+  public int getFrom() {
+    return from;
+  }
+
+  public int getTo() {
+    return to;
+  }
+
+  public boolean contains(int partitionKey) {
+    return partitionKey >= from && partitionKey < to;
+  }
+
+  @Override
+  public String toString() {
+    return "[" + from + ", " + to + ")";
+  }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.jobexecutor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The information about an acquired job that a {@link PriorityJobQueue} uses
+ * to order job batches waiting for execution.
+ */
+public class JobSchedulingInfo {
+
+  protected final long priority;
+  protected final String jobDefinitionId;
+  protected final String tenantId;
+
+  public JobSchedulingInfo(long priority, String jobDefinitionId, String tenantId) {
+    this.priority = priority;
+    this.jobDefinitionId = jobDefinitionId;
+    this.tenantId = tenantId;
+  }
+
+  /**
+   * @return the scheduling information of a job batch, i.e. the highest priority of
+   * its jobs and the job definition and tenant of its first job, or null if
+   * none of the jobs is known
+   */
+  public static JobSchedulingInfo forBatch(List<String> jobIds, Map<String, JobSchedulingInfo> schedulingInfos) {
+    JobSchedulingInfo batchInfo = null;
+
+    for (String jobId : jobIds) {
+      JobSchedulingInfo info = schedulingInfos.get(jobId);
+      if (info != null) {
+        if (batchInfo == null) {
+          batchInfo = info;
+        }
+        else if (info.priority > batchInfo.priority) {
+          batchInfo = new JobSchedulingInfo(info.priority, batchInfo.jobDefinitionId, batchInfo.tenantId);
+        }
+      }
+    }
+
+    return batchInfo;
+  }
+
+  public long getPriority() {
+    return priority;
+  }
+
+  public String getJobDefinitionId() {
+    return jobDefinitionId;
+  }
+
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  @Override
+  public String toString() {
+    return "JobSchedulingInfo[priority=" + priority
+        + ", jobDefinitionId=" + jobDefinitionId
+        + ", tenantId=" + tenantId
+        + "]";
+  }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.operaton.bpm.engine.impl.ProcessEngineLogger;
+import org.operaton.bpm.engine.impl.cfg.TransactionListener;
+import org.operaton.bpm.engine.impl.interceptor.CommandContext;
+import org.operaton.bpm.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * Hands jobs that were locked by the local job executor on creation
+ * directly to the job executor once the creating transaction has committed,
+ * so that they are executed without being acquired from the database.
+ *
+ * <p>Exclusive jobs of the same process instance are handed off as one batch,
+ * in the same way as {@link org.operaton.bpm.engine.impl.cmd.AcquireJobsCmd} groups them.</p>
+ */
+public class LocalJobHandOffNotification implements TransactionListener {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected final JobExecutor jobExecutor;
+  protected final boolean isAcquireExclusiveOverProcessHierarchies;
+
+  protected List<List<String>> jobIdBatches = new ArrayList<>();
+  protected Map<String, List<String>> exclusiveJobsByProcessInstance = new LinkedHashMap<>();
+
+  public LocalJobHandOffNotification(JobExecutor jobExecutor, boolean isAcquireExclusiveOverProcessHierarchies) {
+    this.jobExecutor = jobExecutor;
+    this.isAcquireExclusiveOverProcessHierarchies = isAcquireExclusiveOverProcessHierarchies;
+  }
+
+  public void addJob(JobEntity job) {
+    if (job.isExclusive()) {
+      String processInstanceId = selectProcessInstanceId(job);
+      exclusiveJobsByProcessInstance.computeIfAbsent(processInstanceId, key -> new HandedOffJobBatch()).add(job.getId());
+    }
+    else {
+      jobIdBatches.add(new HandedOffJobBatch(Collections.singletonList(job.getId())));
+    }
+  }
+
+  public void execute(CommandContext commandContext) {
+    List<List<String>> batches = new ArrayList<>(jobIdBatches);
+    batches.addAll(exclusiveJobsByProcessInstance.values());
+
+    LOG.debugHandingOffJobsToJobExecutor(batches);
+    jobExecutor.handOffJobs(batches, commandContext.getProcessEngineConfiguration().getProcessEngine());
+  }
+
+  protected String selectProcessInstanceId(JobEntity job) {
+    if (isAcquireExclusiveOverProcessHierarchies && job.getRootProcessInstanceId() != null) {
+      return job.getRootProcessInstanceId();
+    }
+
+    return job.getProcessInstanceId();
+  }
+
+}
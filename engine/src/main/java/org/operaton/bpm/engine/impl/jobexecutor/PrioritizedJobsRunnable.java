@@ -0,0 +1,57 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.jobexecutor;
+
+import java.util.List;
+
+import org.operaton.bpm.engine.impl.ProcessEngineImpl;
+
+/**
+ * Wraps the runnable executing a job batch together with the information
+ * a {@link PriorityJobQueue} needs to order it and to reject it again.
+ */
+public class PrioritizedJobsRunnable implements Runnable {
+
+  protected final Runnable delegate;
+  protected final List<String> jobIds;
+  protected final ProcessEngineImpl processEngine;
+  protected final JobSchedulingInfo schedulingInfo;
+
+  public PrioritizedJobsRunnable(Runnable delegate, List<String> jobIds, ProcessEngineImpl processEngine, JobSchedulingInfo schedulingInfo) {
+    this.delegate = delegate;
+    this.jobIds = jobIds;
+    this.processEngine = processEngine;
+    this.schedulingInfo = schedulingInfo;
+  }
+
+  public void run() {
+    delegate.run();
+  }
+
+  public List<String> getJobIds() {
+    return jobIds;
+  }
+
+  public ProcessEngineImpl getProcessEngine() {
+    return processEngine;
+  }
+
+  public JobSchedulingInfo getSchedulingInfo() {
+    return schedulingInfo;
+  }
+
+}
@@ -0,0 +1,454 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.jobexecutor;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.operaton.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>A bounded work queue for the job executor thread pool that hands out job batches
+ * by priority instead of in submission order.</p>
+ *
+ * <ul>
+ *   <li>Batches with a higher {@link JobSchedulingInfo#getPriority() priority} are executed first.</li>
+ *   <li>To avoid starvation, the effective priority of a waiting batch grows by one for every
+ *   {@link #getAgingIntervalInMillis() aging interval} it has been waiting.</li>
+ *   <li>Batches of equal effective priority are shared fairly between job definitions (or tenants,
+ *   for jobs without job definition) by start-time fair queuing. A job definition or tenant with
+ *   weight <code>n</code> in {@link #getFairnessWeights()} gets <code>n</code> times the share of
+ *   one with the default weight 1.</li>
+ * </ul>
+ *
+ * <p>The ordering is computed on removal, so the queue is meant to be small, as the
+ * job executor queue usually is.</p>
+ */
+public class PriorityJobQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+  protected final int capacity;
+  protected long agingIntervalInMillis = 1000;
+  protected Map<String, Integer> fairnessWeights = Collections.emptyMap();
+
+  protected final ReentrantLock lock = new ReentrantLock();
+  protected final Condition notEmpty = lock.newCondition();
+  protected final Condition notFull = lock.newCondition();
+
+  protected final List<QueueEntry> entries = new ArrayList<>();
+  protected final Map<String, Double> finishTags = new HashMap<>();
+  protected double virtualTime = 0;
+  protected long sequenceCounter = 0;
+
+  public PriorityJobQueue(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.capacity = capacity;
+  }
+
+  // insertion ///////////////////////////////////////////////////////////////
+
+  public boolean offer(Runnable runnable) {
+    checkNotNull(runnable);
+    lock.lock();
+    try {
+      if (entries.size() >= capacity) {
+        return false;
+      }
+      enqueue(runnable);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public boolean offer(Runnable runnable, long timeout, TimeUnit unit) throws InterruptedException {
+    checkNotNull(runnable);
+    long nanos = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      while (entries.size() >= capacity) {
+        if (nanos <= 0) {
+          return false;
+        }
+        nanos = notFull.awaitNanos(nanos);
+      }
+      enqueue(runnable);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void put(Runnable runnable) throws InterruptedException {
+    checkNotNull(runnable);
+    lock.lockInterruptibly();
+    try {
+      while (entries.size() >= capacity) {
+        notFull.await();
+      }
+      enqueue(runnable);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Inserts the runnable into a full queue by displacing the waiting entry with the
+   * lowest effective priority, if that priority is lower than the one of the runnable.
+   *
+   * @return the runnable that did not make it into the queue, i.e. either the displaced
+   * entry or the given runnable itself; null if the queue was not full
+   */
+  public Runnable offerByDisplacing(Runnable runnable) {
+    checkNotNull(runnable);
+    lock.lock();
+    try {
+      if (entries.size() < capacity) {
+        enqueue(runnable);
+        return null;
+      }
+
+      long now = now();
+      QueueEntry lowest = null;
+      for (QueueEntry entry : entries) {
+        if (lowest == null || compare(entry, lowest, now) > 0) {
+          lowest = entry;
+        }
+      }
+
+      if (lowest != null && getPriority(runnable) > getEffectivePriority(lowest, now)) {
+        entries.remove(lowest);
+        enqueue(runnable);
+        return lowest.runnable;
+      }
+      return runnable;
+
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // removal /////////////////////////////////////////////////////////////////
+
+  public Runnable poll() {
+    lock.lock();
+    try {
+      return entries.isEmpty() ? null : dequeue();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+    long nanos = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      while (entries.isEmpty()) {
+        if (nanos <= 0) {
+          return null;
+        }
+        nanos = notEmpty.awaitNanos(nanos);
+      }
+      return dequeue();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public Runnable take() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (entries.isEmpty()) {
+        notEmpty.await();
+      }
+      return dequeue();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public Runnable peek() {
+    lock.lock();
+    try {
+      QueueEntry next = findNext();
+      return next != null ? next.runnable : null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    lock.lock();
+    try {
+      Iterator<QueueEntry> iterator = entries.iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().runnable.equals(o)) {
+          iterator.remove();
+          notFull.signal();
+          return true;
+        }
+      }
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int drainTo(Collection<? super Runnable> collection) {
+    return drainTo(collection, Integer.MAX_VALUE);
+  }
+
+  public int drainTo(Collection<? super Runnable> collection, int maxElements) {
+    checkNotNull(collection);
+    if (collection == this) {
+      throw new IllegalArgumentException();
+    }
+    lock.lock();
+    try {
+      int drained = 0;
+      while (drained < maxElements && !entries.isEmpty()) {
+        collection.add(dequeue());
+        drained++;
+      }
+      return drained;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // inspection //////////////////////////////////////////////////////////////
+
+  public int size() {
+    lock.lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int remainingCapacity() {
+    lock.lock();
+    try {
+      return capacity - entries.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return an iterator over a snapshot of the queued runnables
+   */
+  public Iterator<Runnable> iterator() {
+    List<Runnable> snapshot = new ArrayList<>();
+    lock.lock();
+    try {
+      for (QueueEntry entry : entries) {
+        snapshot.add(entry.runnable);
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    Iterator<Runnable> snapshotIterator = snapshot.iterator();
+    return new Iterator<Runnable>() {
+
+      protected Runnable current;
+
+      public boolean hasNext() {
+        return snapshotIterator.hasNext();
+      }
+
+      public Runnable next() {
+        current = snapshotIterator.next();
+        return current;
+      }
+
+      public void remove() {
+        if (current == null) {
+          throw new IllegalStateException();
+        }
+        PriorityJobQueue.this.remove(current);
+        current = null;
+      }
+    };
+  }
+
+  // ordering ////////////////////////////////////////////////////////////////
+
+  protected void enqueue(Runnable runnable) {
+    String fairnessKey = getFairnessKey(runnable);
+
+    double startTag = Math.max(virtualTime, finishTags.getOrDefault(fairnessKey, 0d));
+    finishTags.put(fairnessKey, startTag + 1d / getWeight(runnable));
+
+    entries.add(new QueueEntry(runnable, getPriority(runnable), now(), startTag, sequenceCounter++));
+    notEmpty.signal();
+  }
+
+  protected Runnable dequeue() {
+    QueueEntry next = findNext();
+    if (next == null) {
+      throw new NoSuchElementException();
+    }
+    entries.remove(next);
+
+    virtualTime = Math.max(virtualTime, next.startTag);
+    // forget fairness keys without pending work
+    finishTags.values().removeIf(finishTag -> finishTag <= virtualTime);
+
+    notFull.signal();
+    return next.runnable;
+  }
+
+  protected QueueEntry findNext() {
+    long now = now();
+    QueueEntry next = null;
+    for (QueueEntry entry : entries) {
+      if (next == null || compare(entry, next, now) < 0) {
+        next = entry;
+      }
+    }
+    return next;
+  }
+
+  /**
+   * @return a negative number if the first entry is to be executed before the second one
+   */
+  protected int compare(QueueEntry first, QueueEntry second, long now) {
+    int result = Long.compare(getEffectivePriority(second, now), getEffectivePriority(first, now));
+    if (result == 0) {
+      result = Double.compare(first.startTag, second.startTag);
+    }
+    if (result == 0) {
+      result = Long.compare(first.sequence, second.sequence);
+    }
+    return result;
+  }
+
+  protected long getEffectivePriority(QueueEntry entry, long now) {
+    if (agingIntervalInMillis <= 0) {
+      return entry.priority;
+    }
+    long age = Math.max(0, now - entry.enqueueTime) / agingIntervalInMillis;
+    // avoid overflow for jobs close to Long.MAX_VALUE
+    return entry.priority > Long.MAX_VALUE - age ? Long.MAX_VALUE : entry.priority + age;
+  }
+
+  protected long getPriority(Runnable runnable) {
+    JobSchedulingInfo schedulingInfo = getSchedulingInfo(runnable);
+    return schedulingInfo != null ? schedulingInfo.getPriority() : DefaultJobPriorityProvider.DEFAULT_PRIORITY;
+  }
+
+  protected String getFairnessKey(Runnable runnable) {
+    JobSchedulingInfo schedulingInfo = getSchedulingInfo(runnable);
+    if (schedulingInfo == null) {
+      return "";
+    }
+    else if (schedulingInfo.getJobDefinitionId() != null) {
+      return schedulingInfo.getJobDefinitionId();
+    }
+    else if (schedulingInfo.getTenantId() != null) {
+      return schedulingInfo.getTenantId();
+    }
+    return "";
+  }
+
+  protected int getWeight(Runnable runnable) {
+    JobSchedulingInfo schedulingInfo = getSchedulingInfo(runnable);
+    Integer weight = null;
+    if (schedulingInfo != null) {
+      if (schedulingInfo.getJobDefinitionId() != null) {
+        weight = fairnessWeights.get(schedulingInfo.getJobDefinitionId());
+      }
+      if (weight == null && schedulingInfo.getTenantId() != null) {
+        weight = fairnessWeights.get(schedulingInfo.getTenantId());
+      }
+    }
+    return weight != null && weight > 0 ? weight : 1;
+  }
+
+  protected JobSchedulingInfo getSchedulingInfo(Runnable runnable) {
+    if (runnable instanceof PrioritizedJobsRunnable) {
+      return ((PrioritizedJobsRunnable) runnable).getSchedulingInfo();
+    }
+    return null;
+  }
+
+  protected long now() {
+    return ClockUtil.getCurrentTime().getTime();
+  }
+
+  protected static void checkNotNull(Object o) {
+    if (o == null) {
+      throw new NullPointerException();
+    }
+  }
+
+  // getters and setters /////////////////////////////////////////////////////
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getAgingIntervalInMillis() {
+    return agingIntervalInMillis;
+  }
+
+  public void setAgingIntervalInMillis(long agingIntervalInMillis) {
+    this.agingIntervalInMillis = agingIntervalInMillis;
+  }
+
+  public Map<String, Integer> getFairnessWeights() {
+    return fairnessWeights;
+  }
+
+  public void setFairnessWeights(Map<String, Integer> fairnessWeights) {
+    this.fairnessWeights = fairnessWeights != null ? fairnessWeights : Collections.<String, Integer>emptyMap();
+  }
+
+  protected static class QueueEntry {
+
+    protected final Runnable runnable;
+    protected final long priority;
+    protected final long enqueueTime;
+    protected final double startTag;
+    protected final long sequence;
+
+    protected QueueEntry(Runnable runnable, long priority, long enqueueTime, double startTag, long sequence) {
+      this.runnable = runnable;
+      this.priority = priority;
+      this.enqueueTime = enqueueTime;
+      this.startTag = startTag;
+      this.sequence = sequence;
+    }
+  }
+
+}
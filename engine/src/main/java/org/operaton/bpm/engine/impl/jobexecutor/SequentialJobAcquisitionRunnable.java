@@ -18,6 +18,8 @@ package org.operaton.bpm.engine.impl.jobexecutor;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.operaton.bpm.engine.ProcessEngine;
 import org.operaton.bpm.engine.impl.ProcessEngineImpl;
@@ -50,6 +52,12 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
 
   protected JobAcquisitionContext acquisitionContext;
 
+  /**
+   * Jobs that were created and locked by this job executor and are handed off
+   * for execution without acquisition
+   */
+  protected final Queue<HandedOffJobs> handedOffJobs = new ConcurrentLinkedQueue<>();
+
   public SequentialJobAcquisitionRunnable(JobExecutor jobExecutor) {
     super(jobExecutor);
     acquisitionContext = initializeAcquisitionContext();
@@ -63,6 +71,7 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
     while (!isInterrupted) {
       acquisitionContext.reset();
       acquisitionContext.setAcquisitionTime(System.currentTimeMillis());
+      submitHandedOffJobs(acquisitionContext);
 
 
       Iterator<ProcessEngineImpl> engineIterator = jobExecutor.engineIterator();
@@ -88,7 +97,11 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
         ClassLoaderUtil.setContextClassloader(classLoaderBeforeExecution);
       }
 
+      acquisitionContext.setAcquisitionDuration(System.currentTimeMillis() - acquisitionContext.getAcquisitionTime());
       acquisitionContext.setJobAdded(isJobAdded);
+      acquisitionContext.setAvailableExecutionCapacity(jobExecutor.getAvailableExecutionCapacity());
+      acquisitionContext.setNumberOfQueuedJobBatches(jobExecutor.getNumberOfQueuedJobBatches());
+      acquisitionContext.setNumberOfExecutedJobs(jobExecutor.getNumberOfExecutedJobs());
       configureNextAcquisitionCycle(acquisitionContext, acquisitionStrategy);
       //The clear had to be done after the configuration, since a hint can be
       //appear in the suspend and the flag shouldn't be cleaned in this case.
@@ -107,6 +120,94 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
     LOG.stoppedJobAcquisition(jobExecutor.getName());
   }
 
+  /**
+   * Submits jobs for execution that have not been acquired by this runnable.
+   * The jobs are executed while the acquisition waits for its next cycle,
+   * without starting the cycle early. May be called from any thread.
+   */
+  public void submitHandedOffJobs(String engineName, List<List<String>> jobIdBatches) {
+    for (List<String> jobIds : jobIdBatches) {
+      handedOffJobs.add(new HandedOffJobs(engineName, jobIds));
+    }
+
+    synchronized (MONITOR) {
+      MONITOR.notifyAll();
+    }
+  }
+
+  protected void submitHandedOffJobs(JobAcquisitionContext context) {
+    HandedOffJobs jobs;
+    while ((jobs = handedOffJobs.poll()) != null) {
+      context.submitAdditionalJobBatch(jobs.engineName, jobs.jobIds);
+    }
+  }
+
+  /**
+   * Waits for the next acquisition cycle, executing handed off jobs as they arrive.
+   * Returns early if the acquisition is stopped or a job was added.
+   */
+  @Override
+  protected void suspendAcquisition(long millis) {
+    long nextAcquisitionTime = System.currentTimeMillis() + millis;
+    long waitTime = millis;
+    while (waitTime > 0 && !isInterrupted && !isJobAdded) {
+      awaitHandedOffJobs(waitTime);
+      executeHandedOffJobs();
+      waitTime = nextAcquisitionTime - System.currentTimeMillis();
+    }
+  }
+
+  protected void awaitHandedOffJobs(long millis) {
+    try {
+      synchronized (MONITOR) {
+        if (!isInterrupted && !isJobAdded && handedOffJobs.isEmpty()) {
+          LOG.debugJobAcquisitionThreadSleeping(millis);
+          isWaiting.set(true);
+          MONITOR.wait(millis);
+          LOG.jobExecutorThreadWokeUp();
+        }
+      }
+    }
+    catch (InterruptedException e) {
+      LOG.jobExecutionWaitInterrupted();
+    }
+    finally {
+      isWaiting.set(false);
+    }
+  }
+
+  /**
+   * Submits the handed off jobs outside of an acquisition cycle. Jobs that are
+   * rejected are submitted again in the next cycle.
+   */
+  protected void executeHandedOffJobs() {
+    HandedOffJobs jobs;
+    while ((jobs = handedOffJobs.poll()) != null) {
+      ProcessEngineImpl processEngine = getRegisteredEngine(jobs.engineName);
+      if (processEngine != null) {
+        LOG.executeJobs(processEngine.getName(), jobs.jobIds);
+
+        ClassLoader classLoaderBeforeExecution = ClassLoaderUtil.switchToProcessEngineClassloader();
+        try {
+          jobExecutor.executeJobs(jobs.jobIds, processEngine);
+        } finally {
+          ClassLoaderUtil.setContextClassloader(classLoaderBeforeExecution);
+        }
+      }
+    }
+  }
+
+  protected ProcessEngineImpl getRegisteredEngine(String engineName) {
+    Iterator<ProcessEngineImpl> engineIterator = jobExecutor.engineIterator();
+    while (engineIterator.hasNext()) {
+      ProcessEngineImpl processEngine = engineIterator.next();
+      if (processEngine.getName().equals(engineName)) {
+        return processEngine;
+      }
+    }
+    return null;
+  }
+
   protected JobAcquisitionContext initializeAcquisitionContext() {
     return new JobAcquisitionContext();
   }
@@ -121,6 +222,9 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
   }
 
   protected JobAcquisitionStrategy initializeAcquisitionStrategy() {
+    if (jobExecutor.isAdaptiveAcquisition()) {
+      return new AdaptiveJobAcquisitionStrategy(jobExecutor);
+    }
     return new BackoffJobAcquisitionStrategy(jobExecutor);
   }
 
@@ -136,7 +240,7 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
       for (List<String> jobBatch : additionalJobs) {
         LOG.executeJobs(currentProcessEngine.getName(), jobBatch);
 
-        jobExecutor.executeJobs(jobBatch, currentProcessEngine);
+        jobExecutor.executeJobs(jobBatch, currentProcessEngine, context.getJobSchedulingInfo(jobBatch));
       }
     }
 
@@ -144,7 +248,7 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
     for (List<String> jobIds : acquiredJobs.getJobIdBatches()) {
       LOG.executeJobs(currentProcessEngine.getName(), jobIds);
 
-      jobExecutor.executeJobs(jobIds, currentProcessEngine);
+      jobExecutor.executeJobs(jobIds, currentProcessEngine, context.getJobSchedulingInfo(jobIds));
     }
   }
 
@@ -161,7 +265,10 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
 
     if (numJobsToAcquire > 0) {
       jobExecutor.logAcquisitionAttempt(currentProcessEngine);
+      long acquisitionQueryStartTime = System.currentTimeMillis();
       acquiredJobs = commandExecutor.execute(jobExecutor.getAcquireJobsCmd(numJobsToAcquire));
+      context.submitAcquisitionQueryDuration(currentProcessEngine.getName(),
+          System.currentTimeMillis() - acquisitionQueryStartTime);
     }
     else {
       acquiredJobs = new AcquiredJobs(numJobsToAcquire);
@@ -177,4 +284,15 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
     return acquiredJobs;
   }
 
+  protected static class HandedOffJobs {
+
+    protected final String engineName;
+    protected final List<String> jobIds;
+
+    protected HandedOffJobs(String engineName, List<String> jobIds) {
+      this.engineName = engineName;
+      this.jobIds = jobIds;
+    }
+  }
+
 }
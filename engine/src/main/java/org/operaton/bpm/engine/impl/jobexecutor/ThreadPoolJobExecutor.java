@@ -39,6 +39,11 @@ public class ThreadPoolJobExecutor extends JobExecutor {
   }
 
   public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    if (threadPoolExecutor.getQueue() instanceof PriorityJobQueue) {
+      executePrioritizedJobs(jobIds, processEngine, null);
+      return;
+    }
+
     try {
       threadPoolExecutor.execute(getExecuteJobsRunnable(jobIds, processEngine));
 
@@ -50,6 +55,52 @@ public class ThreadPoolJobExecutor extends JobExecutor {
     }
   }
 
+  @Override
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine, JobSchedulingInfo schedulingInfo) {
+    if (threadPoolExecutor.getQueue() instanceof PriorityJobQueue) {
+      executePrioritizedJobs(jobIds, processEngine, schedulingInfo);
+    }
+    else {
+      executeJobs(jobIds, processEngine);
+    }
+  }
+
+  /**
+   * Submits the jobs to a thread pool backed by a {@link PriorityJobQueue}. If the pool
+   * is saturated, the jobs displace a waiting job batch of lower priority, which is
+   * rejected instead and resubmitted by the job acquisition.
+   */
+  protected void executePrioritizedJobs(List<String> jobIds, ProcessEngineImpl processEngine, JobSchedulingInfo schedulingInfo) {
+    PrioritizedJobsRunnable runnable = new PrioritizedJobsRunnable(getExecuteJobsRunnable(jobIds, processEngine),
+        jobIds, processEngine, schedulingInfo);
+
+    try {
+      threadPoolExecutor.execute(runnable);
+
+    } catch (RejectedExecutionException e) {
+
+      Runnable rejectedRunnable = runnable;
+      if (!threadPoolExecutor.isShutdown()) {
+        rejectedRunnable = ((PriorityJobQueue) threadPoolExecutor.getQueue()).offerByDisplacing(runnable);
+      }
+
+      if (rejectedRunnable instanceof PrioritizedJobsRunnable) {
+        PrioritizedJobsRunnable rejectedJobs = (PrioritizedJobsRunnable) rejectedRunnable;
+
+        logRejectedExecution(rejectedJobs.getProcessEngine(), rejectedJobs.getJobIds().size());
+        rejectedJobsHandler.jobsRejected(rejectedJobs.getJobIds(), rejectedJobs.getProcessEngine(), this);
+      }
+    }
+  }
+
+  @Override
+  public int getNumberOfQueuedJobBatches() {
+    if (threadPoolExecutor == null) {
+      return 0;
+    }
+    return threadPoolExecutor.getQueue().size();
+  }
+
   // getters / setters
 
   public ThreadPoolExecutor getThreadPoolExecutor() {
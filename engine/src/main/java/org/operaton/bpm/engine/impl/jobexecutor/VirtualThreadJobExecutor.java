@@ -0,0 +1,148 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.jobexecutor;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.operaton.bpm.engine.impl.ProcessEngineImpl;
+import org.operaton.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * <p>A {@link JobExecutor} that runs every {@link ExecuteJobsRunnable} on its own
+ * virtual thread.</p>
+ *
+ * <p>Instead of a bounded work queue, the number of concurrently executing job batches
+ * is limited by a {@link Semaphore} of {@link #getMaxConcurrentJobs() maxConcurrentJobs}
+ * permits. Job batches that cannot obtain a permit are handed to the
+ * {@link RejectedJobsHandler}, and the free permits are reported through
+ * {@link #getAvailableExecutionCapacity()} so that the {@link JobAcquisitionStrategy}
+ * does not acquire more jobs than can be executed.</p>
+ *
+ * <p>Virtual threads require Java 21 or later. On older runtimes, this executor falls back
+ * to platform threads that are created on demand, still bounded by the semaphore.</p>
+ */
+public class VirtualThreadJobExecutor extends JobExecutor {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected int maxConcurrentJobs = 100;
+
+  protected ExecutorService executorService;
+  protected Semaphore executionPermits;
+
+  protected void startExecutingJobs() {
+
+    executionPermits = new Semaphore(maxConcurrentJobs);
+    if (executorService == null || executorService.isShutdown()) {
+      executorService = createExecutorService();
+    }
+
+    startJobAcquisitionThread();
+  }
+
+  protected void stopExecutingJobs() {
+
+    stopJobAcquisitionThread();
+
+    // Ask the executor to finish and exit
+    executorService.shutdown();
+
+    // Waits for 1 minute to finish all currently executing jobs
+    try {
+      if(!executorService.awaitTermination(60L, TimeUnit.SECONDS)) {
+        LOG.timeoutDuringShutdown();
+      }
+    } catch (InterruptedException e) {
+      LOG.interruptedWhileShuttingDownjobExecutor(e);
+    }
+  }
+
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    final Semaphore permits = executionPermits;
+    // the permits are created when the job executor is started
+    if (permits == null || !permits.tryAcquire()) {
+      logRejectedExecution(processEngine, jobIds.size());
+      rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+      return;
+    }
+
+    final Runnable executeJobsRunnable = getExecuteJobsRunnable(jobIds, processEngine);
+    try {
+      executorService.execute(() -> {
+        try {
+          executeJobsRunnable.run();
+        } finally {
+          permits.release();
+        }
+      });
+
+    } catch (RejectedExecutionException e) {
+      permits.release();
+
+      logRejectedExecution(processEngine, jobIds.size());
+      rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+    }
+  }
+
+  @Override
+  public int getAvailableExecutionCapacity() {
+    if (executionPermits == null) {
+      return maxConcurrentJobs;
+    }
+    return executionPermits.availablePermits();
+  }
+
+  /**
+   * Creates a virtual-thread-per-task executor if the runtime supports it
+   * and an unbounded platform thread pool otherwise.
+   */
+  protected ExecutorService createExecutorService() {
+    try {
+      Method factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factoryMethod.invoke(null);
+
+    } catch (ReflectiveOperationException e) {
+      LOG.virtualThreadsNotSupported(getClass().getName());
+      return Executors.newCachedThreadPool();
+    }
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public int getMaxConcurrentJobs() {
+    return maxConcurrentJobs;
+  }
+
+  public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+    this.maxConcurrentJobs = maxConcurrentJobs;
+  }
+
+  public ExecutorService getExecutorService() {
+    return executorService;
+  }
+
+  public void setExecutorService(ExecutorService executorService) {
+    this.executorService = executorService;
+  }
+
+}
@@ -16,15 +16,23 @@
  */
 package org.operaton.bpm.engine.impl.jobexecutor.historycleanup;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.operaton.bpm.engine.impl.batch.history.HistoricBatchEntity;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.operaton.bpm.engine.impl.context.Context;
 import org.operaton.bpm.engine.impl.db.DbEntity;
 import org.operaton.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.operaton.bpm.engine.impl.history.event.HistoricDecisionInstanceEntity;
+import org.operaton.bpm.engine.impl.interceptor.Command;
 import org.operaton.bpm.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.HistoryPartitionManager;
+import org.operaton.bpm.engine.impl.persistence.entity.TableDataManager;
 import org.operaton.bpm.engine.impl.persistence.entity.TaskMeterLogEntity;
 import org.operaton.bpm.engine.impl.util.ClockUtil;
 import org.operaton.bpm.engine.management.Metrics;
@@ -37,6 +45,17 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
   protected Map<Class<? extends DbEntity>, DbOperation> deleteOperations = new HashMap<>();
 
   public void performCleanup() {
+    if (isHistoryPartitioning() && configuration.getMinuteFrom() == 0) {
+      // partitions are managed by the first of the parallel cleanup jobs only
+      performPartitionCleanup();
+    }
+
+    HistoryCleanupWorkerPool workerPool = getWorkerPool();
+    if (workerPool != null) {
+      performConcurrentCleanup(workerPool);
+      return;
+    }
+
     deleteOperations.putAll(performProcessCleanup());
 
     if (isDmnEnabled()) {
@@ -52,6 +71,44 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
     }
   }
 
+  /**
+   * Performs the cleanup of process instances, decision instances, batches and task metrics
+   * concurrently, each in its own transaction.
+   */
+  protected void performConcurrentCleanup(HistoryCleanupWorkerPool workerPool) {
+    List<Command<Map<Class<? extends DbEntity>, DbOperation>>> cleanupCommands = new ArrayList<>();
+
+    cleanupCommands.add(commandContext -> performProcessCleanup());
+
+    if (isDmnEnabled()) {
+      cleanupCommands.add(commandContext -> performDmnCleanup());
+    }
+
+    cleanupCommands.add(commandContext -> toOperationMap(performBatchCleanup()));
+
+    if (getTaskMetricsTimeToLive() != null) {
+      cleanupCommands.add(commandContext -> toOperationMap(performTaskMetricsCleanup()));
+    }
+
+    for (Map<Class<? extends DbEntity>, DbOperation> operations : workerPool.executeAll(cleanupCommands)) {
+      deleteOperations.putAll(operations);
+    }
+  }
+
+  protected Map<Class<? extends DbEntity>, DbOperation> toOperationMap(DbOperation operation) {
+    return Collections.singletonMap(operation.getEntityType(), operation);
+  }
+
+  protected void performPartitionCleanup() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    HistoryPartitionInterval interval = HistoryPartitionInterval.fromName(processEngineConfiguration.getHistoryPartitionInterval());
+    HistoryPartitionManager historyPartitionManager = Context.getCommandContext().getHistoryPartitionManager();
+    Date now = ClockUtil.getCurrentTime();
+
+    historyPartitionManager.dropExpiredHistoryPartitions(now, interval);
+    historyPartitionManager.createHistoryPartitions(now, interval, processEngineConfiguration.getHistoryPartitionsCreatedAhead());
+  }
+
   protected Map<Class<? extends DbEntity>, DbOperation> performDmnCleanup() {
     return Context
         .getCommandContext()
@@ -107,9 +164,51 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
       reports.put(Metrics.HISTORY_CLEANUP_REMOVED_TASK_METRICS, (long) deleteOperationTaskMetric.getRowsAffected());
     }
 
+    if (getWorkerPool() != null) {
+      reports.putAll(reportTableMetrics());
+    }
+
     return reports;
   }
 
+  protected Map<String, Long> reportTableMetrics() {
+    Map<String, Long> reports = new HashMap<>();
+    TableDataManager tableDataManager = Context.getCommandContext().getTableDataManager();
+
+    for (DbOperation deleteOperation : deleteOperations.values()) {
+      String tableName = getTableName(tableDataManager, deleteOperation.getEntityType());
+      if (tableName != null && deleteOperation.getRowsAffected() > 0) {
+        String metricName = Metrics.HISTORY_CLEANUP_REMOVED_ROWS_PREFIX + tableName.toLowerCase();
+        reports.merge(metricName, (long) deleteOperation.getRowsAffected(), Long::sum);
+      }
+    }
+
+    return reports;
+  }
+
+  protected String getTableName(TableDataManager tableDataManager, Class<?> entityType) {
+    // some entities are deleted by a subclass of the mapped entity type
+    for (Class<?> type = entityType; DbEntity.class.isAssignableFrom(type); type = type.getSuperclass()) {
+      String tableName = tableDataManager.getTableName(type, false);
+      if (tableName != null) {
+        return tableName;
+      }
+    }
+    return null;
+  }
+
+  protected HistoryCleanupWorkerPool getWorkerPool() {
+    return Context
+        .getProcessEngineConfiguration()
+        .getHistoryCleanupWorkerPool();
+  }
+
+  protected boolean isHistoryPartitioning() {
+    return Context
+        .getProcessEngineConfiguration()
+        .isHistoryPartitioning();
+  }
+
   protected boolean isDmnEnabled() {
     return Context
         .getProcessEngineConfiguration()
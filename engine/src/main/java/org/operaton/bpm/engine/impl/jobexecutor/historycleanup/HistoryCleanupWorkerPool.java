@@ -0,0 +1,108 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.jobexecutor.historycleanup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.operaton.bpm.engine.ProcessEngineException;
+import org.operaton.bpm.engine.impl.interceptor.Command;
+import org.operaton.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * Executes the deletions of a history cleanup job concurrently, each in its own
+ * transaction. The pool is shared by all history cleanup jobs of the process engine,
+ * so its size limits the number of concurrent cleanup transactions on the database
+ * regardless of the degree of parallelism of the history cleanup.
+ */
+public class HistoryCleanupWorkerPool {
+
+  protected CommandExecutor commandExecutor;
+  protected ThreadPoolExecutor threadPoolExecutor;
+
+  public HistoryCleanupWorkerPool(CommandExecutor commandExecutor, int poolSize) {
+    this.commandExecutor = commandExecutor;
+    this.threadPoolExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(), new WorkerThreadFactory());
+  }
+
+  /**
+   * Executes the given commands and waits until all of them are completed. A failing
+   * command does not affect the transactions of the other commands.
+   *
+   * @return the results of the commands, in the order of the commands
+   * @throws RuntimeException the exception of the first failed command
+   */
+  public <T> List<T> executeAll(List<Command<T>> commands) {
+    List<Future<T>> futures = new ArrayList<>();
+    for (Command<T> command : commands) {
+      futures.add(threadPoolExecutor.submit(() -> commandExecutor.execute(command)));
+    }
+
+    List<T> results = new ArrayList<>();
+    RuntimeException failure = null;
+    for (Future<T> future : futures) {
+      try {
+        results.add(future.get());
+
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause() instanceof RuntimeException
+              ? (RuntimeException) e.getCause()
+              : new ProcessEngineException(e.getCause());
+        }
+
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ProcessEngineException("Interrupted while waiting for the history cleanup workers", e);
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+    return results;
+  }
+
+  public void shutdown() {
+    threadPoolExecutor.shutdown();
+  }
+
+  public int getPoolSize() {
+    return threadPoolExecutor.getMaximumPoolSize();
+  }
+
+  protected static class WorkerThreadFactory implements ThreadFactory {
+
+    protected final AtomicInteger threadNumber = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "operaton-history-cleanup-worker-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.jobexecutor.historycleanup;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A partition of a history table that is range partitioned on its removal time.
+ * The partition holds the rows with a removal time from (inclusive) its start time
+ * to (exclusive) its end time and is named after the table and its start day, e.g.
+ * <code>ACT_HI_DETAIL_P20240101</code>.
+ */
+public class HistoryPartition {
+
+  protected static final String NAME_INFIX = "_P";
+  protected static final String NAME_DATE_FORMAT = "yyyyMMdd";
+  protected static final String BOUND_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+  protected String tableName;
+  protected Date startTime;
+  protected Date endTime;
+
+  public HistoryPartition(String tableName, Date startTime, Date endTime) {
+    this.tableName = tableName;
+    this.startTime = startTime;
+    this.endTime = endTime;
+  }
+
+  /**
+   * @return the partition of the given table with the given name or null
+   * if the name is not the name of a partition of the table
+   */
+  public static HistoryPartition fromName(String tableName, String partitionName, HistoryPartitionInterval interval) {
+    String prefix = tableName + NAME_INFIX;
+    if (!partitionName.toUpperCase().startsWith(prefix)
+        || partitionName.length() != prefix.length() + NAME_DATE_FORMAT.length()) {
+      return null;
+    }
+
+    SimpleDateFormat dateFormat = new SimpleDateFormat(NAME_DATE_FORMAT);
+    dateFormat.setLenient(false);
+    try {
+      Date startTime = dateFormat.parse(partitionName.substring(prefix.length()));
+      return new HistoryPartition(tableName, startTime, interval.getNext(startTime));
+    } catch (ParseException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return true if all rows of the partition can be removed at the given time
+   */
+  public boolean isExpired(Date now) {
+    return !endTime.after(now);
+  }
+
+  public String getName() {
+    return tableName + NAME_INFIX + new SimpleDateFormat(NAME_DATE_FORMAT).format(startTime);
+  }
+
+  /**
+   * @return the parameters of the statements that create and drop the partition;
+   * the bounds are rendered as literals since partition bounds cannot be bound parameters
+   */
+  public Map<String, Object> toParameters() {
+    SimpleDateFormat boundFormat = new SimpleDateFormat(BOUND_DATE_FORMAT);
+
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("tableName", tableName);
+    parameters.put("partitionName", getName());
+    parameters.put("startTime", boundFormat.format(startTime));
+    parameters.put("endTime", boundFormat.format(endTime));
+    return parameters;
+  }
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  public Date getStartTime() {
+    return startTime;
+  }
+
+  public Date getEndTime() {
+    return endTime;
+  }
+
+  @Override
+  public String toString() {
+    return getName() + "[startTime=" + startTime + ", endTime=" + endTime + "]";
+  }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.jobexecutor.historycleanup;
+
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * The range of removal times that is covered by one partition of a partitioned history table.
+ */
+public enum HistoryPartitionInterval {
+
+  DAY("day", 1) {
+    @Override
+    protected void truncate(Calendar calendar) {
+      truncateToDay(calendar);
+    }
+  },
+
+  WEEK("week", 7) {
+    @Override
+    protected void truncate(Calendar calendar) {
+      truncateToDay(calendar);
+      while (calendar.get(Calendar.DAY_OF_WEEK) != Calendar.MONDAY) {
+        calendar.add(Calendar.DAY_OF_MONTH, -1);
+      }
+    }
+  };
+
+  protected final String name;
+  protected final int days;
+
+  HistoryPartitionInterval(String name, int days) {
+    this.name = name;
+    this.days = days;
+  }
+
+  /**
+   * @return the start of the interval the given time belongs to
+   */
+  public Date getStart(Date time) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(time);
+    truncate(calendar);
+    return calendar.getTime();
+  }
+
+  /**
+   * @return the start of the interval that follows the interval starting at the given start
+   */
+  public Date getNext(Date start) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(start);
+    calendar.add(Calendar.DAY_OF_MONTH, days);
+    return calendar.getTime();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  protected abstract void truncate(Calendar calendar);
+
+  protected static void truncateToDay(Calendar calendar) {
+    calendar.set(Calendar.HOUR_OF_DAY, 0);
+    calendar.set(Calendar.MINUTE, 0);
+    calendar.set(Calendar.SECOND, 0);
+    calendar.set(Calendar.MILLISECOND, 0);
+  }
+
+  /**
+   * @return the interval with the given name or null if there is none
+   */
+  public static HistoryPartitionInterval fromName(String name) {
+    for (HistoryPartitionInterval interval : values()) {
+      if (interval.name.equals(name)) {
+        return interval;
+      }
+    }
+    return null;
+  }
+
+}
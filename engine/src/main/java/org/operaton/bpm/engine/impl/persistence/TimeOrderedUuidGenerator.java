@@ -0,0 +1,119 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.persistence;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.operaton.bpm.engine.impl.cfg.IdGenerator;
+
+/**
+ * <p>{@link IdGenerator} implementation that generates time-ordered UUIDs in the layout
+ * of UUID version 7: the 48 most significant bits hold the current time in milliseconds,
+ * followed by a 12 bit sequence and 62 random bits.</p>
+ *
+ * <p>Ids generated later compare greater, as strings as well, so new rows are appended
+ * to the end of primary key and foreign key indexes instead of being inserted at random
+ * positions. Within one millisecond, the sequence keeps ids of the same generator ordered;
+ * when it overflows, the generator borrows the following millisecond.</p>
+ *
+ * <p>With {@link #setCompact(boolean) compact} ids, the 128 bits are encoded as 26 characters
+ * of Crockford's Base32 instead of the 36 character hexadecimal representation. Compact ids are
+ * time-ordered as well and reduce the size of every index containing them.</p>
+ */
+public class TimeOrderedUuidGenerator implements IdGenerator {
+
+  protected static final char[] BASE32_ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+  protected static final int SEQUENCE_BITS = 12;
+  protected static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+  /**
+   * The last used timestamp shifted by {@link #SEQUENCE_BITS} plus the sequence within that millisecond
+   */
+  protected final AtomicLong lastTimestampAndSequence = new AtomicLong();
+
+  protected boolean compact = false;
+
+  public TimeOrderedUuidGenerator() {
+  }
+
+  public TimeOrderedUuidGenerator(boolean compact) {
+    this.compact = compact;
+  }
+
+  public String getNextId() {
+    long timestampAndSequence = nextTimestampAndSequence();
+    long randomBits = ThreadLocalRandom.current().nextLong();
+
+    long mostSignificantBits = (timestampAndSequence >>> SEQUENCE_BITS) << 16
+        | 0x7000L
+        | (timestampAndSequence & SEQUENCE_MASK);
+    long leastSignificantBits = (randomBits & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+    if (compact) {
+      return toBase32(mostSignificantBits, leastSignificantBits);
+    }
+    else {
+      return new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+  }
+
+  protected long nextTimestampAndSequence() {
+    long now = currentTimeMillis() << SEQUENCE_BITS;
+    while (true) {
+      long last = lastTimestampAndSequence.get();
+      // if the clock did not advance (or went backwards), count up the sequence
+      long next = now > last ? now : last + 1;
+      if (lastTimestampAndSequence.compareAndSet(last, next)) {
+        return next;
+      }
+    }
+  }
+
+  protected long currentTimeMillis() {
+    // wall clock instead of ClockUtil, so that ids stay ordered when the engine time is changed
+    return System.currentTimeMillis();
+  }
+
+  /**
+   * Encodes the 128 bits as 26 base 32 digits (the first digit holds the 3 most significant bits),
+   * preserving the ordering of the numeric value.
+   */
+  protected String toBase32(long mostSignificantBits, long leastSignificantBits) {
+    char[] chars = new char[26];
+    long high = mostSignificantBits;
+    long low = leastSignificantBits;
+    for (int i = 25; i >= 0; i--) {
+      chars[i] = BASE32_ALPHABET[(int) (low & 0x1F)];
+      // shift the 128 bit value by 5 bits to the right
+      low = (low >>> 5) | (high << 59);
+      high = high >>> 5;
+    }
+    return new String(chars);
+  }
+
+  public boolean isCompact() {
+    return compact;
+  }
+
+  public void setCompact(boolean compact) {
+    this.compact = compact;
+  }
+
+}
@@ -18,6 +18,7 @@ package org.operaton.bpm.engine.impl.persistence.deploy.cache;
 
 import org.operaton.bpm.engine.ProcessEngineException;
 import org.operaton.bpm.engine.impl.ProcessEngineLogger;
+import org.operaton.bpm.engine.impl.bpmn.helper.BpmnProperties;
 import org.operaton.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
 import org.operaton.bpm.engine.impl.context.Context;
 import org.operaton.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
@@ -34,7 +35,10 @@ import org.operaton.bpm.model.cmmn.CmmnModelInstance;
 import org.operaton.bpm.model.dmn.DmnModelInstance;
 import org.operaton.commons.utils.cache.Cache;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -55,6 +59,9 @@ public class DeploymentCache {
   protected DmnModelInstanceCache dmnModelInstanceCache;
   protected CacheDeployer cacheDeployer = new CacheDeployer();
 
+  /** names of the variables any cached process definition declares as correlation key */
+  protected Set<String> correlationKeyNames = ConcurrentHashMap.newKeySet();
+
   public DeploymentCache(CacheFactory factory, int cacheCapacity) {
     processDefinitionEntityCache = new ProcessDefinitionCache(factory, cacheCapacity, cacheDeployer);
     caseDefinitionCache = new CaseDefinitionCache(factory, cacheCapacity, cacheDeployer);
@@ -123,6 +130,16 @@ public class DeploymentCache {
 
   public void addProcessDefinition(ProcessDefinitionEntity processDefinition) {
     processDefinitionEntityCache.addDefinition(processDefinition);
+    correlationKeyNames.addAll(processDefinition.getProperties().get(BpmnProperties.CORRELATION_KEYS));
+  }
+
+  /**
+   * @return true if a process definition that passed this cache declares a correlation key
+   *   with the given name. The names are kept when definitions are evicted, so this may
+   *   report names no longer in use.
+   */
+  public boolean isCorrelationKey(String variableName) {
+    return correlationKeyNames.contains(variableName);
   }
 
   public void removeProcessDefinition(String processDefinitionId) {
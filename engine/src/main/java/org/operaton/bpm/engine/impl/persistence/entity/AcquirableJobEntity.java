@@ -19,11 +19,14 @@ package org.operaton.bpm.engine.impl.persistence.entity;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import org.operaton.bpm.engine.impl.db.DbEntity;
+import org.operaton.bpm.engine.impl.db.HasTrackedPersistentState;
 import org.operaton.bpm.engine.impl.db.HasDbRevision;
+import org.operaton.bpm.engine.impl.jobexecutor.DefaultJobPriorityProvider;
 
-public class AcquirableJobEntity implements DbEntity, HasDbRevision {
+public class AcquirableJobEntity implements DbEntity, HasDbRevision, HasTrackedPersistentState {
 
   public static final boolean DEFAULT_EXCLUSIVE = true;
 
@@ -39,6 +42,12 @@ public class AcquirableJobEntity implements DbEntity, HasDbRevision {
 
   protected boolean isExclusive = DEFAULT_EXCLUSIVE;
 
+  protected String jobHandlerType = null;
+
+  protected long priority = DefaultJobPriorityProvider.DEFAULT_PRIORITY;
+  protected String jobDefinitionId = null;
+  protected String tenantId = null;
+
 
   @Override
   public Object getPersistentState() {
@@ -49,6 +58,26 @@ public class AcquirableJobEntity implements DbEntity, HasDbRevision {
     return persistentState;
   }
 
+  // persistent state tracking ///////////////////////////////////////////////
+
+  protected transient String trackedLockOwner;
+  protected transient Date trackedLockExpirationTime;
+  protected transient Date trackedDuedate;
+
+  @Override
+  public void trackPersistentState() {
+    trackedLockOwner = lockOwner;
+    trackedLockExpirationTime = lockExpirationTime;
+    trackedDuedate = duedate;
+  }
+
+  @Override
+  public boolean hasPersistentStateChanged() {
+    return !Objects.equals(lockOwner, trackedLockOwner)
+        || !Objects.equals(lockExpirationTime, trackedLockExpirationTime)
+        || !Objects.equals(duedate, trackedDuedate);
+  }
+
   @Override
   public int getRevisionNext() {
     return revision + 1;
@@ -124,6 +153,38 @@ public class AcquirableJobEntity implements DbEntity, HasDbRevision {
     this.isExclusive = isExclusive;
   }
 
+  public String getJobHandlerType() {
+    return jobHandlerType;
+  }
+
+  public void setJobHandlerType(String jobHandlerType) {
+    this.jobHandlerType = jobHandlerType;
+  }
+
+  public long getPriority() {
+    return priority;
+  }
+
+  public void setPriority(long priority) {
+    this.priority = priority;
+  }
+
+  public String getJobDefinitionId() {
+    return jobDefinitionId;
+  }
+
+  public void setJobDefinitionId(String jobDefinitionId) {
+    this.jobDefinitionId = jobDefinitionId;
+  }
+
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  public void setTenantId(String tenantId) {
+    this.tenantId = tenantId;
+  }
+
   @Override
   public int hashCode() {
     final int prime = 31;
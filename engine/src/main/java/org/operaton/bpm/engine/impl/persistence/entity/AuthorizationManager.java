@@ -88,12 +88,14 @@ import org.operaton.bpm.engine.impl.batch.BatchQueryImpl;
 import org.operaton.bpm.engine.impl.batch.BatchStatisticsQueryImpl;
 import org.operaton.bpm.engine.impl.batch.history.HistoricBatchQueryImpl;
 import org.operaton.bpm.engine.impl.cfg.CommandChecker;
+import org.operaton.bpm.engine.impl.cfg.TransactionState;
 import org.operaton.bpm.engine.impl.context.Context;
 import org.operaton.bpm.engine.impl.db.AuthorizationCheck;
 import org.operaton.bpm.engine.impl.db.CompositePermissionCheck;
 import org.operaton.bpm.engine.impl.db.DbEntity;
 import org.operaton.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.operaton.bpm.engine.impl.db.ListQueryParameterObject;
+import org.operaton.bpm.engine.impl.db.PermissionCache;
 import org.operaton.bpm.engine.impl.db.PermissionCheck;
 import org.operaton.bpm.engine.impl.db.PermissionCheckBuilder;
 import org.operaton.bpm.engine.impl.db.entitymanager.operation.DbOperation;
@@ -130,6 +132,12 @@ public class AuthorizationManager extends AbstractManager {
 
   protected Boolean isRevokeAuthCheckUsed = null;
 
+  /**
+   * Whether this command has created or updated authorizations. The {@link PermissionCache}
+   * is not used by such commands, since it must not see uncommitted authorizations.
+   */
+  protected boolean authorizationsChanged = false;
+
   public PermissionCheckBuilder newPermissionCheckBuilder() {
     return new PermissionCheckBuilder();
   }
@@ -143,6 +151,7 @@ public class AuthorizationManager extends AbstractManager {
   public void insert(DbEntity authorization) {
     checkAuthorization(CREATE, AUTHORIZATION, null);
     getDbEntityManager().insert(authorization);
+    invalidatePermissionCache();
   }
 
   public List<Authorization> selectAuthorizationByQueryCriteria(AuthorizationQueryImpl authorizationQuery) {
@@ -181,6 +190,7 @@ public class AuthorizationManager extends AbstractManager {
   public void update(AuthorizationEntity authorization) {
     checkAuthorization(UPDATE, AUTHORIZATION, authorization.getId());
     getDbEntityManager().merge(authorization);
+    invalidatePermissionCache();
   }
 
   @Override
@@ -384,6 +394,7 @@ public class AuthorizationManager extends AbstractManager {
       .build();
 
     query.getAuthCheck().setPermissionChecks(compositePermissionCheck);
+    applyPermissionCache(query.getAuthCheck());
   }
 
   public void enableQueryAuthCheck(AuthorizationCheck authCheck) {
@@ -428,9 +439,52 @@ public class AuthorizationManager extends AbstractManager {
     CommandContext commandContext = getCommandContext();
     if (isAuthorizationEnabled() && getCurrentAuthentication() != null && commandContext.isAuthorizationCheckEnabled()) {
       authCheck.setPermissionChecks(compositeCheck);
+      applyPermissionCache(authCheck);
+    }
+  }
+
+  // permission cache //////////////////////////////////////////////////////
+
+  /**
+   * Restricts the authorization join of the query to the authorizations materialised
+   * by the {@link PermissionCache}, if the cache is enabled.
+   */
+  protected void applyPermissionCache(AuthorizationCheck authCheck) {
+    PermissionCache permissionCache = getPermissionCache();
+    if (permissionCache != null
+        && authCheck.getShouldPerformAuthorizatioCheck()
+        && !authCheck.isRevokeAuthorizationCheckEnabled()
+        && authCheck.getAuthUserId() != null) {
+      authCheck.setGrantedAuthorizationIds(permissionCache.getGrantedAuthorizationIds(authCheck, this::selectGrantedAuthorizationIds));
     }
   }
 
+  protected List<String> selectGrantedAuthorizationIds(AuthorizationCheck authCheck) {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("authCheck", authCheck);
+    return getDbEntityManager().selectListWithRawParameter("selectGrantedAuthorizationIds", parameters, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Deleted authorizations do not need to invalidate the cache: the cached grants are
+   * joined with the authorization table, so a deleted authorization grants nothing.
+   */
+  protected void invalidatePermissionCache() {
+    PermissionCache permissionCache = Context.getProcessEngineConfiguration().getPermissionCache();
+    if (permissionCache != null && !authorizationsChanged) {
+      authorizationsChanged = true;
+      permissionCache.invalidate();
+
+      // concurrent commands may cache the grants again before this transaction commits
+      getCommandContext().getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, commandContext -> permissionCache.invalidate());
+    }
+  }
+
+  protected PermissionCache getPermissionCache() {
+    return authorizationsChanged ? null : Context.getProcessEngineConfiguration().getPermissionCache();
+  }
+
   // delete authorizations //////////////////////////////////////////////////
 
   public void deleteAuthorizationsByResourceIds(Resources resource,
@@ -1044,6 +1098,7 @@ public class AuthorizationManager extends AbstractManager {
 
       // the following is need in order to evaluate whether to perform authCheck or not
       query.getAuthCheck().setPermissionChecks(processInstancePermissionCheck);
+      applyPermissionCache(query.getAuthCheck());
       // the actual check
       query.addProcessInstancePermissionCheck(processInstancePermissionCheck.getAllPermissionChecks());
 
@@ -1056,6 +1111,7 @@ public class AuthorizationManager extends AbstractManager {
 
         // the following is need in order to evaluate whether to perform authCheck or not
         query.getAuthCheck().setPermissionChecks(jobPermissionCheck);
+        applyPermissionCache(query.getAuthCheck());
         // the actual check
         query.addJobPermissionCheck(jobPermissionCheck.getAllPermissionChecks());
       }
@@ -1069,6 +1125,7 @@ public class AuthorizationManager extends AbstractManager {
 
         // the following is need in order to evaluate whether to perform authCheck or not
         query.getAuthCheck().setPermissionChecks(incidentPermissionCheck);
+        applyPermissionCache(query.getAuthCheck());
         // the actual check
         query.addIncidentPermissionCheck(incidentPermissionCheck.getAllPermissionChecks());
 
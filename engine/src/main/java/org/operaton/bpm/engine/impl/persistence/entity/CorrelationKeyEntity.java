@@ -0,0 +1,140 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import org.operaton.bpm.engine.ProcessEngineException;
+import org.operaton.bpm.engine.impl.db.DbEntity;
+import org.operaton.bpm.engine.impl.variable.serializer.StringValueSerializer;
+import org.operaton.bpm.engine.variable.type.ValueType;
+
+/**
+ * An entry of the correlation key index: the hashed value of a process variable
+ * that the process definition of its process instance declares as correlation key.
+ * The id of the entry is the id of the variable instance.
+ *
+ * <p>The hash covers the same value fields that a variable value condition of a
+ * query compares, so that a query value and a variable instance with equal value
+ * fields have the same hash.</p>
+ */
+public class CorrelationKeyEntity implements DbEntity, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String id;
+  protected String name;
+  protected String valueHash;
+  protected String processInstanceId;
+
+  public CorrelationKeyEntity() {
+  }
+
+  public CorrelationKeyEntity(VariableInstanceEntity variable) {
+    this.id = variable.getId();
+    this.name = variable.getName();
+    this.processInstanceId = variable.getProcessInstanceId();
+    this.valueHash = hashValue(variable);
+  }
+
+  public static String hashValue(VariableInstanceEntity variable) {
+    return hashValue(variable.getSerializerName(), variable.getTextValue(), variable.getTextValue2(),
+        variable.getLongValue(), variable.getDoubleValue());
+  }
+
+  public static String hashValue(String type, String textValue, String textValue2, Long longValue, Double doubleValue) {
+    if (ValueType.STRING.getName().equals(type) && textValue == null && StringValueSerializer.EMPTY_STRING.equals(textValue2)) {
+      // empty strings are stored as null on Oracle
+      textValue = "";
+    }
+
+    StringBuilder value = new StringBuilder(type);
+    if (textValue != null && longValue == null && doubleValue == null) {
+      value.append("\0t").append(textValue);
+    }
+    if (textValue2 != null && !ValueType.STRING.getName().equals(type)) {
+      value.append("\0u").append(textValue2);
+    }
+    if (longValue != null) {
+      value.append("\0l").append(longValue);
+    }
+    if (doubleValue != null) {
+      value.append("\0d").append(doubleValue);
+    }
+
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.toString().getBytes(StandardCharsets.UTF_8));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new ProcessEngineException("Cannot hash correlation key value", e);
+    }
+  }
+
+  @Override
+  public Object getPersistentState() {
+    return valueHash;
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getValueHash() {
+    return valueHash;
+  }
+
+  public void setValueHash(String valueHash) {
+    this.valueHash = valueHash;
+  }
+
+  public String getProcessInstanceId() {
+    return processInstanceId;
+  }
+
+  public void setProcessInstanceId(String processInstanceId) {
+    this.processInstanceId = processInstanceId;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+        + "[id=" + id
+        + ", name=" + name
+        + ", valueHash=" + valueHash
+        + ", processInstanceId=" + processInstanceId
+        + "]";
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.persistence.entity;
+
+import org.operaton.bpm.engine.impl.bpmn.helper.BpmnProperties;
+import org.operaton.bpm.engine.impl.context.Context;
+import org.operaton.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
+import org.operaton.bpm.engine.impl.core.variable.scope.VariableInstanceLifecycleListener;
+import org.operaton.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.operaton.bpm.engine.variable.type.ValueType;
+
+/**
+ * Maintains the correlation key index for the variables that the process definition
+ * of their process instance declares as correlation keys.
+ */
+public class CorrelationKeyListener implements VariableInstanceLifecycleListener<VariableInstanceEntity> {
+
+  public static final CorrelationKeyListener INSTANCE = new CorrelationKeyListener();
+
+  @Override
+  public void onCreate(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    if (isDeclared(variableInstance, sourceScope) && isIndexable(variableInstance)) {
+      getCorrelationKeyManager().insertCorrelationKey(new CorrelationKeyEntity(variableInstance));
+    }
+  }
+
+  @Override
+  public void onDelete(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    if (isMaintained(variableInstance, sourceScope)) {
+      CorrelationKeyManager correlationKeyManager = getCorrelationKeyManager();
+      CorrelationKeyEntity correlationKey = correlationKeyManager.findCorrelationKeyById(variableInstance.getId());
+      if (correlationKey != null) {
+        correlationKeyManager.deleteCorrelationKey(correlationKey);
+      }
+    }
+  }
+
+  @Override
+  public void onUpdate(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    if (isMaintained(variableInstance, sourceScope)) {
+      CorrelationKeyManager correlationKeyManager = getCorrelationKeyManager();
+      CorrelationKeyEntity correlationKey = correlationKeyManager.findCorrelationKeyById(variableInstance.getId());
+      boolean indexed = isDeclared(variableInstance, sourceScope) && isIndexable(variableInstance);
+
+      if (correlationKey == null) {
+        if (indexed) {
+          correlationKeyManager.insertCorrelationKey(new CorrelationKeyEntity(variableInstance));
+        }
+      } else if (indexed) {
+        correlationKeyManager.updateCorrelationKey(correlationKey, CorrelationKeyEntity.hashValue(variableInstance));
+      } else {
+        // queries fall back to the variable table for process instances without entry
+        correlationKeyManager.deleteCorrelationKey(correlationKey);
+      }
+    }
+  }
+
+  /**
+   * Entries may outlive the declaration of their process definition, e.g. after a migration,
+   * so they are maintained as long as any known process definition declares the name.
+   */
+  protected boolean isMaintained(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    if (variableInstance.isTransient()) {
+      return false;
+    }
+    DeploymentCache deploymentCache = Context.getProcessEngineConfiguration().getDeploymentCache();
+    return deploymentCache.isCorrelationKey(variableInstance.getName()) || isDeclared(variableInstance, sourceScope);
+  }
+
+  protected boolean isDeclared(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    if (variableInstance.isTransient() || !(sourceScope instanceof ExecutionEntity)) {
+      return false;
+    }
+    ProcessDefinitionEntity processDefinition = ((ExecutionEntity) sourceScope).getProcessDefinition();
+    return processDefinition != null
+        && processDefinition.getProperties().get(BpmnProperties.CORRELATION_KEYS).contains(variableInstance.getName());
+  }
+
+  protected boolean isIndexable(VariableInstanceEntity variableInstance) {
+    ValueType type = variableInstance.getSerializer().getType();
+    return type.isPrimitiveValueType() && type != ValueType.BYTES && type != ValueType.FILE;
+  }
+
+  protected CorrelationKeyManager getCorrelationKeyManager() {
+    return Context.getCommandContext().getCorrelationKeyManager();
+  }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.persistence.entity;
+
+import org.operaton.bpm.engine.impl.persistence.AbstractManager;
+
+/**
+ * Maintains the correlation key index, see {@link CorrelationKeyEntity}.
+ */
+public class CorrelationKeyManager extends AbstractManager {
+
+  public CorrelationKeyEntity findCorrelationKeyById(String id) {
+    return getDbEntityManager().selectById(CorrelationKeyEntity.class, id);
+  }
+
+  public void insertCorrelationKey(CorrelationKeyEntity correlationKey) {
+    getDbEntityManager().insert(correlationKey);
+  }
+
+  public void deleteCorrelationKey(CorrelationKeyEntity correlationKey) {
+    getDbEntityManager().delete(correlationKey);
+  }
+
+  public void updateCorrelationKey(CorrelationKeyEntity correlationKey, String valueHash) {
+    correlationKey.setValueHash(valueHash);
+    if (getDbEntityManager().isDeleted(correlationKey)) {
+      // the variable was removed and set again in the same command
+      getDbEntityManager().undoDelete(correlationKey);
+    }
+  }
+
+}
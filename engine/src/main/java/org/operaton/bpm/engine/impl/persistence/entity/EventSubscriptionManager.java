@@ -17,6 +17,7 @@
 package org.operaton.bpm.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -278,6 +279,19 @@ public class EventSubscriptionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectMessageStartEventSubscriptionByName", configureParameterizedQuery(messageName));
   }
 
+  /**
+   * @param messageNames the names of the messages
+   * @param businessKeys the business keys of the process instances, or <code>null</code> to not restrict by business key
+   * @return the message event subscriptions of executions with one of the given message names
+   */
+  @SuppressWarnings("unchecked")
+  public List<EventSubscriptionEntity> findMessageEventSubscriptionsByNamesAndBusinessKeys(Collection<String> messageNames, Collection<String> businessKeys) {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("messageNames", new ArrayList<>(messageNames));
+    parameters.put("businessKeys", businessKeys != null ? new ArrayList<>(businessKeys) : null);
+    return getDbEntityManager().selectList("selectMessageEventSubscriptionsByNamesAndBusinessKeys", parameters);
+  }
+
   /**
    * @return the message start event subscription with the given message name and tenant id
    *
@@ -17,12 +17,13 @@
 package org.operaton.bpm.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import org.operaton.bpm.engine.ProcessEngine;
@@ -53,6 +54,7 @@ import org.operaton.bpm.engine.impl.core.variable.scope.VariableStore.VariablesP
 import org.operaton.bpm.engine.impl.db.DbEntity;
 import org.operaton.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.operaton.bpm.engine.impl.db.HasDbReferences;
+import org.operaton.bpm.engine.impl.db.HasTrackedPersistentState;
 import org.operaton.bpm.engine.impl.db.HasDbRevision;
 import org.operaton.bpm.engine.impl.event.EventType;
 import org.operaton.bpm.engine.impl.history.HistoryLevel;
@@ -96,7 +98,7 @@ import org.operaton.bpm.model.xml.type.ModelElementType;
  * @author Daniel Meyer
  * @author Falko Menge
  */
-public class ExecutionEntity extends PvmExecutionImpl implements Execution, ProcessInstance, DbEntity, HasDbRevision, HasDbReferences, VariablesProvider<VariableInstanceEntity> {
+public class ExecutionEntity extends PvmExecutionImpl implements Execution, ProcessInstance, DbEntity, HasDbRevision, HasDbReferences, HasTrackedPersistentState, VariablesProvider<VariableInstanceEntity> {
 
   private static final long serialVersionUID = 1L;
 
@@ -553,7 +555,7 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
       invokeVariableLifecycleListenersDelete(
           variableInstance,
           this,
-          Collections.singletonList(getVariablePersistenceListener()));
+          getVariableRemovalListeners());
       removeVariableInternal(variableInstance);
     }
   }
@@ -1220,7 +1222,7 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
       invokeVariableLifecycleListenersDelete(
           variable,
           this,
-          Collections.singletonList(getVariablePersistenceListener()));
+          getVariableRemovalListeners());
     }
     else {
       other.variableStore.addVariable(variable);
@@ -1437,6 +1439,62 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     return persistentState;
   }
 
+  // persistent state tracking ///////////////////////////////////////////////
+
+  protected transient String trackedProcessDefinitionId;
+  protected transient String trackedBusinessKey;
+  protected transient String trackedActivityId;
+  protected transient String trackedActivityInstanceId;
+  protected transient boolean trackedIsActive;
+  protected transient boolean trackedIsConcurrent;
+  protected transient boolean trackedIsScope;
+  protected transient boolean trackedIsEventScope;
+  protected transient String trackedParentId;
+  protected transient String trackedSuperExecutionId;
+  protected transient String trackedSuperCaseExecutionId;
+  protected transient String trackedCaseInstanceId;
+  protected transient int trackedSuspensionState;
+  protected transient int trackedCachedEntityState;
+  protected transient long trackedSequenceCounter;
+
+  @Override
+  public void trackPersistentState() {
+    trackedProcessDefinitionId = processDefinitionId;
+    trackedBusinessKey = businessKey;
+    trackedActivityId = activityId;
+    trackedActivityInstanceId = activityInstanceId;
+    trackedIsActive = isActive;
+    trackedIsConcurrent = isConcurrent;
+    trackedIsScope = isScope;
+    trackedIsEventScope = isEventScope;
+    trackedParentId = parentId;
+    trackedSuperExecutionId = superExecutionId;
+    trackedSuperCaseExecutionId = superCaseExecutionId;
+    trackedCaseInstanceId = caseInstanceId;
+    trackedSuspensionState = suspensionState;
+    trackedCachedEntityState = getCachedEntityState();
+    trackedSequenceCounter = getSequenceCounter();
+  }
+
+  @Override
+  public boolean hasPersistentStateChanged() {
+    return !Objects.equals(processDefinitionId, trackedProcessDefinitionId)
+        || !Objects.equals(businessKey, trackedBusinessKey)
+        || !Objects.equals(activityId, trackedActivityId)
+        || !Objects.equals(activityInstanceId, trackedActivityInstanceId)
+        || isActive != trackedIsActive
+        || isConcurrent != trackedIsConcurrent
+        || isScope != trackedIsScope
+        || isEventScope != trackedIsEventScope
+        || !Objects.equals(parentId, trackedParentId)
+        || !Objects.equals(superExecutionId, trackedSuperExecutionId)
+        || !Objects.equals(superCaseExecutionId, trackedSuperCaseExecutionId)
+        || !Objects.equals(caseInstanceId, trackedCaseInstanceId)
+        || suspensionState != trackedSuspensionState
+        || getCachedEntityState() != trackedCachedEntityState
+        || getSequenceCounter() != trackedSequenceCounter;
+  }
+
   public void insert() {
     Context.getCommandContext().getExecutionManager().insertExecution(this);
   }
@@ -1660,6 +1718,7 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     listeners.add(getVariablePersistenceListener());
     listeners.add((VariableInstanceLifecycleListener) new VariableInstanceConcurrentLocalInitializer(this));
     listeners.add((VariableInstanceLifecycleListener) VariableInstanceSequenceCounterListener.INSTANCE);
+    listeners.add((VariableInstanceLifecycleListener) CorrelationKeyListener.INSTANCE);
 
     listeners.add((VariableInstanceLifecycleListener) VariableInstanceHistoryListener.INSTANCE);
 
@@ -1675,6 +1734,14 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     return (VariableInstanceLifecycleListener) VariableInstanceEntityPersistenceListener.INSTANCE;
   }
 
+  /**
+   * @return the listeners to invoke when variables are removed along with their execution
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  protected List<VariableInstanceLifecycleListener<CoreVariableInstance>> getVariableRemovalListeners() {
+    return Arrays.asList(getVariablePersistenceListener(), (VariableInstanceLifecycleListener) CorrelationKeyListener.INSTANCE);
+  }
+
   public Collection<VariableInstanceEntity> getVariablesInternal() {
     return variableStore.getVariables();
   }
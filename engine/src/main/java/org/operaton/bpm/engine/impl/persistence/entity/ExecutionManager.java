@@ -16,7 +16,9 @@
  */
 package org.operaton.bpm.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -113,6 +115,11 @@ public class ExecutionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectExecutionsByProcessInstanceId", processInstanceId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<ExecutionEntity> findExecutionsByProcessInstanceIds(Collection<String> processInstanceIds) {
+    return getDbEntityManager().selectList("selectExecutionsByProcessInstanceIds", new ArrayList<>(processInstanceIds));
+  }
+
   public ExecutionEntity findExecutionById(String executionId) {
     return getDbEntityManager().selectById(ExecutionEntity.class, executionId);
   }
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import org.operaton.bpm.engine.EntityTypes;
@@ -37,6 +38,7 @@ import org.operaton.bpm.engine.impl.context.Context;
 import org.operaton.bpm.engine.impl.db.DbEntity;
 import org.operaton.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.operaton.bpm.engine.impl.db.HasDbReferences;
+import org.operaton.bpm.engine.impl.db.HasTrackedPersistentState;
 import org.operaton.bpm.engine.impl.db.HasDbRevision;
 import org.operaton.bpm.engine.impl.incident.IncidentContext;
 import org.operaton.bpm.engine.impl.incident.IncidentHandling;
@@ -54,7 +56,7 @@ import org.operaton.bpm.engine.runtime.Incident;
  *
  */
 public class ExternalTaskEntity implements ExternalTask, DbEntity,
-  HasDbRevision, HasDbReferences {
+  HasDbRevision, HasDbReferences, HasTrackedPersistentState {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
   private static final String EXCEPTION_NAME = "externalTask.exceptionByteArray";
@@ -283,6 +285,65 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity,
     return persistentState;
   }
 
+  // persistent state tracking ///////////////////////////////////////////////
+
+  protected transient String trackedTopicName;
+  protected transient String trackedWorkerId;
+  protected transient Date trackedLockExpirationTime;
+  protected transient Integer trackedRetries;
+  protected transient String trackedErrorMessage;
+  protected transient String trackedExecutionId;
+  protected transient String trackedProcessInstanceId;
+  protected transient String trackedProcessDefinitionId;
+  protected transient String trackedProcessDefinitionKey;
+  protected transient String trackedProcessDefinitionVersionTag;
+  protected transient String trackedActivityId;
+  protected transient String trackedActivityInstanceId;
+  protected transient int trackedSuspensionState;
+  protected transient String trackedTenantId;
+  protected transient long trackedPriority;
+  protected transient String trackedErrorDetailsByteArrayId;
+
+  @Override
+  public void trackPersistentState() {
+    trackedTopicName = topicName;
+    trackedWorkerId = workerId;
+    trackedLockExpirationTime = lockExpirationTime;
+    trackedRetries = retries;
+    trackedErrorMessage = errorMessage;
+    trackedExecutionId = executionId;
+    trackedProcessInstanceId = processInstanceId;
+    trackedProcessDefinitionId = processDefinitionId;
+    trackedProcessDefinitionKey = processDefinitionKey;
+    trackedProcessDefinitionVersionTag = processDefinitionVersionTag;
+    trackedActivityId = activityId;
+    trackedActivityInstanceId = activityInstanceId;
+    trackedSuspensionState = suspensionState;
+    trackedTenantId = tenantId;
+    trackedPriority = priority;
+    trackedErrorDetailsByteArrayId = errorDetailsByteArrayId;
+  }
+
+  @Override
+  public boolean hasPersistentStateChanged() {
+    return !Objects.equals(topicName, trackedTopicName)
+        || !Objects.equals(workerId, trackedWorkerId)
+        || !Objects.equals(lockExpirationTime, trackedLockExpirationTime)
+        || !Objects.equals(retries, trackedRetries)
+        || !Objects.equals(errorMessage, trackedErrorMessage)
+        || !Objects.equals(executionId, trackedExecutionId)
+        || !Objects.equals(processInstanceId, trackedProcessInstanceId)
+        || !Objects.equals(processDefinitionId, trackedProcessDefinitionId)
+        || !Objects.equals(processDefinitionKey, trackedProcessDefinitionKey)
+        || !Objects.equals(processDefinitionVersionTag, trackedProcessDefinitionVersionTag)
+        || !Objects.equals(activityId, trackedActivityId)
+        || !Objects.equals(activityInstanceId, trackedActivityInstanceId)
+        || suspensionState != trackedSuspensionState
+        || !Objects.equals(tenantId, trackedTenantId)
+        || priority != trackedPriority
+        || !Objects.equals(errorDetailsByteArrayId, trackedErrorDetailsByteArrayId);
+  }
+
   public void insert() {
     Context.getCommandContext()
       .getExternalTaskManager()
@@ -562,7 +623,7 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity,
 
     Context.getCommandContext()
       .getExternalTaskManager()
-      .fireExternalTaskAvailableEvent();
+      .fireExternalTaskAvailableEvent(topicName);
   }
 
   public static ExternalTaskEntity createAndInsert(ExecutionEntity execution, String topic, long priority) {
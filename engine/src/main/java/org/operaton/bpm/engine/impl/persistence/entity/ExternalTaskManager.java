@@ -21,22 +21,24 @@ import static org.operaton.bpm.engine.impl.db.sql.DbSqlSessionFactory.CRDB;
 import static org.operaton.bpm.engine.impl.db.sql.DbSqlSessionFactory.POSTGRES;
 import static org.operaton.bpm.engine.impl.util.DatabaseUtil.checkDatabaseType;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.operaton.bpm.engine.externaltask.ExternalTask;
 import org.operaton.bpm.engine.impl.ExternalTaskQueryImpl;
-import org.operaton.bpm.engine.impl.ProcessEngineImpl;
 import org.operaton.bpm.engine.impl.QueryOrderingProperty;
-import org.operaton.bpm.engine.impl.cfg.TransactionListener;
-import org.operaton.bpm.engine.impl.cfg.TransactionState;
 import org.operaton.bpm.engine.impl.context.Context;
 import org.operaton.bpm.engine.impl.db.ListQueryParameterObject;
 import org.operaton.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.operaton.bpm.engine.impl.externaltask.ExternalTaskNotificationChannel;
 import org.operaton.bpm.engine.impl.externaltask.TopicFetchInstruction;
 import org.operaton.bpm.engine.impl.interceptor.CommandContext;
+import org.operaton.bpm.engine.impl.interceptor.CommandContextListener;
 import org.operaton.bpm.engine.impl.persistence.AbstractManager;
 import org.operaton.bpm.engine.impl.util.ClockUtil;
 import org.operaton.bpm.engine.impl.util.ImmutablePair;
@@ -47,19 +49,26 @@ import org.operaton.bpm.engine.impl.util.ImmutablePair;
  */
 public class ExternalTaskManager extends AbstractManager {
 
+  protected Set<String> availableTopicNames;
+
   public ExternalTaskEntity findExternalTaskById(String id) {
     return getDbEntityManager().selectById(ExternalTaskEntity.class, id);
   }
 
   public void insert(ExternalTaskEntity externalTask) {
     getDbEntityManager().insert(externalTask);
-    fireExternalTaskAvailableEvent();
+    fireExternalTaskAvailableEvent(externalTask.getTopicName());
   }
 
   public void delete(ExternalTaskEntity externalTask) {
     getDbEntityManager().delete(externalTask);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<ExternalTaskEntity> findExternalTasksByIds(Collection<String> ids) {
+    return getDbEntityManager().selectList("selectExternalTasksByIds", new ArrayList<>(ids));
+  }
+
   @SuppressWarnings("unchecked")
   public List<ExternalTaskEntity> findExternalTasksByExecutionId(String id) {
     return getDbEntityManager().selectList("selectExternalTasksByExecutionId", id);
@@ -181,15 +190,29 @@ public class ExternalTaskManager extends AbstractManager {
         .anyMatch(orderingProperty -> CREATE_TIME.getName().equals(orderingProperty.getQueryProperty().getName()));
   }
 
-  public void fireExternalTaskAvailableEvent() {
-    Context.getCommandContext()
-        .getTransactionContext()
-        .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
-          @Override
-          public void execute(CommandContext commandContext) {
-            ProcessEngineImpl.EXT_TASK_CONDITIONS.signalAll();
-          }
-        });
+  /**
+   * Collects the topics of the external tasks that become available in the current
+   * command and publishes them once through the {@link ExternalTaskNotificationChannel}
+   * when the command context closes.
+   */
+  public void fireExternalTaskAvailableEvent(String topicName) {
+    if (availableTopicNames == null) {
+      availableTopicNames = new HashSet<>();
+      Context.getCommandContext().registerCommandContextListener(new CommandContextListener() {
+        @Override
+        public void onCommandContextClose(CommandContext commandContext) {
+          commandContext.getProcessEngineConfiguration()
+              .getExternalTaskNotificationChannel()
+              .publish(commandContext, availableTopicNames);
+        }
+
+        @Override
+        public void onCommandFailed(CommandContext commandContext, Throwable t) {
+          // nothing to publish
+        }
+      });
+    }
+    availableTopicNames.add(topicName);
   }
 }
 
@@ -0,0 +1,87 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import org.operaton.bpm.engine.impl.db.DbEntity;
+
+/**
+ * A notification that external tasks of a topic became available, written by
+ * the {@link org.operaton.bpm.engine.impl.externaltask.DbExternalTaskNotificationChannel}
+ * in the transaction that creates or unlocks the tasks. Other cluster nodes read
+ * the notifications to wake up the workers that wait for tasks of the topic.
+ */
+public class ExternalTaskNotificationEntity implements DbEntity, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String id;
+  protected String topicName;
+  protected Date createTime;
+
+  public ExternalTaskNotificationEntity() {
+  }
+
+  public ExternalTaskNotificationEntity(String topicName, Date createTime) {
+    this.topicName = topicName;
+    this.createTime = createTime;
+  }
+
+  @Override
+  public Object getPersistentState() {
+    // notifications are never updated
+    return ExternalTaskNotificationEntity.class;
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getTopicName() {
+    return topicName;
+  }
+
+  public void setTopicName(String topicName) {
+    this.topicName = topicName;
+  }
+
+  public Date getCreateTime() {
+    return createTime;
+  }
+
+  public void setCreateTime(Date createTime) {
+    this.createTime = createTime;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+        + "[id=" + id
+        + ", topicName=" + topicName
+        + ", createTime=" + createTime
+        + "]";
+  }
+
+}
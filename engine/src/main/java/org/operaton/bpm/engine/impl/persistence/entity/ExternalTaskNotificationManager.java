@@ -0,0 +1,44 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.persistence.entity;
+
+import java.util.Date;
+import java.util.List;
+
+import org.operaton.bpm.engine.impl.persistence.AbstractManager;
+
+/**
+ * Manages the notifications about available external tasks that are exchanged
+ * between cluster nodes, see {@link ExternalTaskNotificationEntity}.
+ */
+public class ExternalTaskNotificationManager extends AbstractManager {
+
+  public void insertExternalTaskNotification(ExternalTaskNotificationEntity notification) {
+    getDbEntityManager().insert(notification);
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<ExternalTaskNotificationEntity> findExternalTaskNotificationsCreatedAfter(Date createdAfter) {
+    return getDbEntityManager().selectList("selectExternalTaskNotificationsCreatedAfter", createdAfter);
+  }
+
+  public void deleteExternalTaskNotificationsCreatedBefore(Date createdBefore) {
+    getDbEntityManager().delete(ExternalTaskNotificationEntity.class,
+        "deleteExternalTaskNotificationsCreatedBefore", createdBefore);
+  }
+
+}
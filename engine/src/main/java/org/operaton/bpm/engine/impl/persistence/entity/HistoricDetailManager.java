@@ -23,6 +23,7 @@ import java.util.Map;
 import org.operaton.bpm.engine.history.HistoricDetail;
 import org.operaton.bpm.engine.impl.HistoricDetailQueryImpl;
 import org.operaton.bpm.engine.impl.Page;
+import org.operaton.bpm.engine.impl.context.Context;
 import org.operaton.bpm.engine.impl.db.ListQueryParameterObject;
 import org.operaton.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.operaton.bpm.engine.impl.history.event.HistoricDetailEventEntity;
@@ -138,6 +139,8 @@ public class HistoricDetailManager extends AbstractHistoricManager {
       parameters.put("minuteTo", minuteTo);
     }
     parameters.put("batchSize", batchSize);
+    // expired partitions are dropped, only the rows of the default partition are deleted
+    parameters.put("defaultPartition", Context.getProcessEngineConfiguration().isHistoryPartitioning());
 
     return getDbEntityManager()
       .deletePreserveOrder(HistoricDetailEventEntity.class, "deleteHistoricDetailsByRemovalTime",
@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.operaton.bpm.engine.authorization.Resources;
 import org.operaton.bpm.engine.history.CleanableHistoricProcessInstanceReportResult;
 import org.operaton.bpm.engine.history.HistoricProcessInstance;
@@ -118,6 +119,14 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
     return Collections.EMPTY_LIST;
   }
 
+  public void streamHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery,
+                                                           Consumer<? super HistoricProcessInstance> action) {
+    if (isHistoryEnabled()) {
+      configureQuery(historicProcessInstanceQuery);
+      getDbEntityManager().selectStream("selectHistoricProcessInstancesByQueryCriteria", historicProcessInstanceQuery, action);
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public List<HistoricProcessInstance> findHistoricProcessInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults) {
     return getDbEntityManager().selectListWithRawParameter("selectHistoricProcessInstanceByNativeQuery", parameterMap, firstResult, maxResults);
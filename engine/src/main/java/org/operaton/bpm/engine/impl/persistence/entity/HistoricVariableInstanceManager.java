@@ -22,6 +22,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import org.operaton.bpm.engine.history.HistoricVariableInstance;
 import org.operaton.bpm.engine.history.HistoricVariableInstanceQuery;
 import org.operaton.bpm.engine.impl.HistoricVariableInstanceQueryImpl;
@@ -122,6 +123,12 @@ public class HistoricVariableInstanceManager extends AbstractHistoricManager {
     return getDbEntityManager().selectList("selectHistoricVariableInstanceByQueryCriteria", historicProcessVariableQuery, page);
   }
 
+  public void streamHistoricVariableInstancesByQueryCriteria(HistoricVariableInstanceQueryImpl historicProcessVariableQuery,
+                                                           Consumer<? super HistoricVariableInstance> action) {
+    configureQuery(historicProcessVariableQuery);
+    getDbEntityManager().selectStream("selectHistoricVariableInstanceByQueryCriteria", historicProcessVariableQuery, action);
+  }
+
   public HistoricVariableInstanceEntity findHistoricVariableInstanceByVariableInstanceId(String variableInstanceId) {
     return (HistoricVariableInstanceEntity) getDbEntityManager().selectOne("selectHistoricVariableInstanceByVariableInstanceId", variableInstanceId);
   }
@@ -0,0 +1,246 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.persistence.entity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.operaton.bpm.engine.impl.ProcessEngineLogger;
+import org.operaton.bpm.engine.impl.db.DbEntity;
+import org.operaton.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.operaton.bpm.engine.impl.db.HasDbRevision;
+import org.operaton.bpm.engine.impl.history.event.HistoryEvent;
+import org.operaton.bpm.engine.impl.util.IoUtil;
+import org.operaton.bpm.engine.impl.util.ReflectUtil;
+
+/**
+ * The history events of one transaction that have not been written to the
+ * history tables yet. The events are serialized into a single row when the
+ * transaction is flushed, so that a transaction writes one outbox row instead
+ * of a row per history event.
+ *
+ * <p>Entries are processed in the order of their {@link #getSequence() sequence}.</p>
+ */
+public class HistoryEventOutboxEntity implements DbEntity, HasDbRevision, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  /**
+   * The classes besides {@link HistoryEvent} subtypes which the serialized
+   * events of an entry consist of; any other class is rejected on deserialization.
+   */
+  protected static final Set<String> DESERIALIZABLE_CLASS_NAMES = Set.of(
+      ArrayList.class.getName(),
+      "java.util.Collections$EmptyList",
+      String.class.getName(),
+      Number.class.getName(),
+      Boolean.class.getName(),
+      Integer.class.getName(),
+      Long.class.getName(),
+      Double.class.getName(),
+      Date.class.getName(),
+      java.sql.Timestamp.class.getName(),
+      byte[].class.getName(),
+      String[].class.getName());
+
+  protected String id;
+  protected int revision;
+  protected long sequence;
+  protected Date createTime;
+  protected byte[] bytes;
+
+  protected transient List<HistoryEvent> historyEvents;
+
+  public HistoryEventOutboxEntity() {
+  }
+
+  public HistoryEventOutboxEntity(long sequence, Date createTime) {
+    this.sequence = sequence;
+    this.createTime = createTime;
+    this.historyEvents = new ArrayList<>();
+  }
+
+  public void addHistoryEvent(HistoryEvent historyEvent) {
+    historyEvents.add(historyEvent);
+  }
+
+  /**
+   * @return the history events of this entry, deserialized from the
+   * stored bytes if the entry was loaded from the database
+   */
+  public List<HistoryEvent> getHistoryEvents() {
+    if (historyEvents == null && bytes != null) {
+      historyEvents = deserialize(bytes);
+    }
+    return historyEvents;
+  }
+
+  /**
+   * @return true if the events have been serialized for the insert of this entry;
+   * events added afterwards would not be written
+   */
+  public boolean isSerialized() {
+    return bytes != null;
+  }
+
+  /**
+   * The events are serialized lazily when the entry is inserted, i.e. on flush,
+   * so that the row contains the final state of all events of the transaction.
+   */
+  public byte[] getBytes() {
+    if (bytes == null && historyEvents != null) {
+      bytes = serialize(historyEvents);
+    }
+    return bytes;
+  }
+
+  public void setBytes(byte[] bytes) {
+    this.bytes = bytes;
+  }
+
+  protected byte[] serialize(List<HistoryEvent> historyEvents) {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    ObjectOutputStream oos = null;
+    try {
+      oos = new ObjectOutputStream(baos);
+      oos.writeObject(new ArrayList<>(historyEvents));
+      oos.flush();
+      return baos.toByteArray();
+    }
+    catch (IOException e) {
+      throw LOG.historyEventOutboxSerializationException(id, e);
+    }
+    finally {
+      IoUtil.closeSilently(oos);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<HistoryEvent> deserialize(byte[] bytes) {
+    ObjectInputStream ois = null;
+    try {
+      ois = new ClassloaderAwareObjectInputStream(new ByteArrayInputStream(bytes));
+      return (List<HistoryEvent>) ois.readObject();
+    }
+    catch (Exception e) {
+      throw LOG.historyEventOutboxDeserializationException(id, e);
+    }
+    finally {
+      IoUtil.closeSilently(ois);
+    }
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public int getRevision() {
+    return revision;
+  }
+
+  public void setRevision(int revision) {
+    this.revision = revision;
+  }
+
+  public int getRevisionNext() {
+    return revision + 1;
+  }
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  public void setSequence(long sequence) {
+    this.sequence = sequence;
+  }
+
+  public Date getCreateTime() {
+    return createTime;
+  }
+
+  public void setCreateTime(Date createTime) {
+    this.createTime = createTime;
+  }
+
+  public Object getPersistentState() {
+    // entries are never updated
+    return HistoryEventOutboxEntity.class;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+           + "[id=" + id
+           + ", revision=" + revision
+           + ", sequence=" + sequence
+           + ", createTime=" + createTime
+           + "]";
+  }
+
+  protected static class ClassloaderAwareObjectInputStream extends ObjectInputStream {
+
+    public ClassloaderAwareObjectInputStream(InputStream in) throws IOException {
+      super(in);
+    }
+
+    protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+      String className = desc.getName();
+      if (DESERIALIZABLE_CLASS_NAMES.contains(className)) {
+        return super.resolveClass(desc);
+      }
+
+      // load without initialization so that rejected classes never run any code
+      Class<?> clazz = loadClassWithoutInitialization(className);
+      if (!HistoryEvent.class.isAssignableFrom(clazz)) {
+        throw new InvalidClassException(className, "not a history event or one of its field types");
+      }
+      return clazz;
+    }
+
+    protected Class<?> loadClassWithoutInitialization(String className) throws ClassNotFoundException {
+      ClassLoader classLoader = ReflectUtil.getClassLoader();
+      if (classLoader != null) {
+        try {
+          return Class.forName(className, false, classLoader);
+        }
+        catch (ClassNotFoundException e) {
+          // fall back to the classloader of the engine
+        }
+      }
+      return Class.forName(className, false, HistoryEventOutboxEntity.class.getClassLoader());
+    }
+
+  }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.persistence.entity;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.operaton.bpm.engine.impl.Direction;
+import org.operaton.bpm.engine.impl.QueryOrderingProperty;
+import org.operaton.bpm.engine.impl.QueryPropertyImpl;
+import org.operaton.bpm.engine.impl.db.ListQueryParameterObject;
+import org.operaton.bpm.engine.impl.history.event.HistoryEvent;
+import org.operaton.bpm.engine.impl.persistence.AbstractManager;
+import org.operaton.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Manages the outbox of history events that are written to the history
+ * tables asynchronously (see {@link org.operaton.bpm.engine.impl.history.handler.HistoryEventOutboxHandler}).
+ *
+ * <p>Collects the history events of the current command in a single
+ * {@link HistoryEventOutboxEntity} that is inserted with the runtime changes.</p>
+ */
+public class HistoryEventOutboxManager extends AbstractManager {
+
+  public static final QueryOrderingProperty SEQUENCE_ORDERING_PROPERTY =
+      new QueryOrderingProperty(new QueryPropertyImpl("SEQUENCE_"), Direction.ASCENDING);
+
+  protected static final AtomicLong LAST_SEQUENCE = new AtomicLong();
+
+  protected HistoryEventOutboxEntity currentEntry;
+
+  public void addHistoryEvent(HistoryEvent historyEvent) {
+    if (currentEntry == null || currentEntry.isSerialized()) {
+      // events added after a flush go to a new entry, the previous one has already been written
+      currentEntry = new HistoryEventOutboxEntity(nextSequence(), ClockUtil.getCurrentTime());
+      getDbEntityManager().insert(currentEntry);
+    }
+    currentEntry.addHistoryEvent(historyEvent);
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<HistoryEventOutboxEntity> findHistoryEventOutboxEntries(int maxResults) {
+    ListQueryParameterObject parameter = new ListQueryParameterObject(null, 0, maxResults);
+    parameter.getOrderingProperties().add(SEQUENCE_ORDERING_PROPERTY);
+    return getDbEntityManager().selectList("selectHistoryEventOutboxEntries", parameter);
+  }
+
+  public long findHistoryEventOutboxEntryCount() {
+    return (Long) getDbEntityManager().selectOne("selectHistoryEventOutboxEntryCount", null);
+  }
+
+  public void deleteHistoryEventOutboxEntry(HistoryEventOutboxEntity entry) {
+    getDbEntityManager().delete(entry);
+  }
+
+  /**
+   * The sequence is the wall clock time in microseconds, incremented where
+   * necessary to be unique and increasing on this node. A transaction that
+   * depends on the changes of another one starts after that one committed, so
+   * that its entry sorts after the other entry as long as the clocks of the
+   * cluster nodes are synchronized. The engine clock is deliberately not used,
+   * since it can be set back.
+   */
+  protected static long nextSequence() {
+    long now = System.currentTimeMillis() * 1000;
+    return LAST_SEQUENCE.accumulateAndGet(now, (last, time) -> Math.max(last + 1, time));
+  }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.persistence.entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.operaton.bpm.engine.impl.context.Context;
+import org.operaton.bpm.engine.impl.db.sql.DbSqlSession;
+import org.operaton.bpm.engine.impl.jobexecutor.historycleanup.HistoryPartition;
+import org.operaton.bpm.engine.impl.jobexecutor.historycleanup.HistoryPartitionInterval;
+import org.operaton.bpm.engine.impl.persistence.AbstractManager;
+
+/**
+ * Manages the partitions of the history tables that are range partitioned on their
+ * removal time (see <code>org/operaton/bpm/engine/db/partitioning</code>).
+ *
+ * <p>On PostgreSQL, partitions are created ahead up to the largest history time to live,
+ * so that rows are written to their partition right away. Rows are never moved out of the
+ * default partition; a partition whose range has rows in the default partition is not
+ * created, and these rows are deleted row-wise by the removal time based history cleanup.
+ * Expired partitions are detached and dropped, which removes their rows without deleting
+ * them one by one.</p>
+ *
+ * <p>H2 does not support partitioned tables. Partitions are emulated there by standalone
+ * tables that mark the ranges, while the rows stay in the base table, which takes the role of
+ * the default partition; detaching a partition deletes the rows of its range.</p>
+ */
+public class HistoryPartitionManager extends AbstractManager {
+
+  public static final List<String> PARTITIONED_TABLES = Collections.unmodifiableList(
+      Arrays.asList("ACT_HI_ACTINST", "ACT_HI_DETAIL"));
+
+  protected static final String PARTITION_NAME_PATTERN_SUFFIX = "_P%";
+
+  @SuppressWarnings("unchecked")
+  public List<HistoryPartition> findHistoryPartitions(String tableName, HistoryPartitionInterval interval) {
+    DbSqlSession dbSqlSession = getDbSqlSession();
+    // the partitions are looked up by their table name, i.e. without the schema
+    // part of the table prefix, in the configured schema
+    String prefixedTableName = dbSqlSession.prependDatabaseTablePrefix(tableName);
+    int tableNamePrefixLength = prefixedTableName.length() - tableName.length();
+
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("tableName", prefixedTableName);
+    parameters.put("namePattern", prefixedTableName + PARTITION_NAME_PATTERN_SUFFIX);
+    parameters.put("schema", dbSqlSession.getDbSqlSessionFactory().getDatabaseSchema());
+
+    List<String> partitionNames = getDbEntityManager().selectList("selectHistoryPartitionNames", parameters);
+
+    List<HistoryPartition> partitions = new ArrayList<>();
+    for (String partitionName : partitionNames) {
+      HistoryPartition partition = HistoryPartition.fromName(tableName,
+          partitionName.substring(tableNamePrefixLength), interval);
+      if (partition != null) {
+        partitions.add(partition);
+      }
+    }
+    return partitions;
+  }
+
+  /**
+   * Creates the missing partitions of all partitioned history tables from the interval of the
+   * given time up to the interval of the latest removal time a row written now can have, i.e.
+   * the given time plus the largest history time to live, and the given number of intervals beyond.
+   *
+   * @return the number of created partitions
+   */
+  public int createHistoryPartitions(Date now, HistoryPartitionInterval interval, int intervalsAhead) {
+    int createdPartitions = 0;
+
+    Date endTime = interval.getStart(addDays(now, findMaxHistoryTimeToLive()));
+    for (int i = 0; i <= intervalsAhead; i++) {
+      endTime = interval.getNext(endTime);
+    }
+
+    for (String tableName : PARTITIONED_TABLES) {
+      Set<String> existingPartitions = new HashSet<>();
+      for (HistoryPartition partition : findHistoryPartitions(tableName, interval)) {
+        existingPartitions.add(partition.getName());
+      }
+
+      Date startTime = interval.getStart(now);
+      while (startTime.before(endTime)) {
+        HistoryPartition partition = new HistoryPartition(tableName, startTime, interval.getNext(startTime));
+
+        if (!existingPartitions.contains(partition.getName()) && !hasDefaultPartitionRows(partition)) {
+          createHistoryPartition(partition);
+          createdPartitions++;
+        }
+
+        startTime = partition.getEndTime();
+      }
+    }
+
+    return createdPartitions;
+  }
+
+  /**
+   * @return the largest history time to live in days of all process and case definitions
+   */
+  public int findMaxHistoryTimeToLive() {
+    Integer maxHistoryTimeToLive = (Integer) getDbEntityManager().selectOne("selectMaxProcessDefinitionHistoryTimeToLive", null);
+
+    if (Context.getProcessEngineConfiguration().isCmmnEnabled()) {
+      Integer maxCaseHistoryTimeToLive = (Integer) getDbEntityManager().selectOne("selectMaxCaseDefinitionHistoryTimeToLive", null);
+      if (maxHistoryTimeToLive == null
+          || (maxCaseHistoryTimeToLive != null && maxCaseHistoryTimeToLive > maxHistoryTimeToLive)) {
+        maxHistoryTimeToLive = maxCaseHistoryTimeToLive;
+      }
+    }
+
+    return maxHistoryTimeToLive != null ? maxHistoryTimeToLive : 0;
+  }
+
+  /**
+   * Rows in the range of a partition that are in the default partition would have to be moved
+   * when the partition is attached. That is only the case if a removal time was set beyond the
+   * created partitions, e.g. by a definition with a larger history time to live deployed since.
+   */
+  protected boolean hasDefaultPartitionRows(HistoryPartition partition) {
+    Long count = (Long) getDbEntityManager().selectOne("selectHistoryPartitionDefaultRowCount", partition.toParameters());
+    return count != null && count > 0;
+  }
+
+  protected Date addDays(Date date, int days) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(date);
+    calendar.add(Calendar.DAY_OF_MONTH, days);
+    return calendar.getTime();
+  }
+
+  /**
+   * Drops the partitions of all partitioned history tables whose rows all have
+   * a removal time before the given time.
+   *
+   * @return the number of dropped partitions
+   */
+  public int dropExpiredHistoryPartitions(Date now, HistoryPartitionInterval interval) {
+    int droppedPartitions = 0;
+
+    for (String tableName : PARTITIONED_TABLES) {
+      for (HistoryPartition partition : findHistoryPartitions(tableName, interval)) {
+        if (partition.isExpired(now)) {
+          dropHistoryPartition(partition);
+          droppedPartitions++;
+        }
+      }
+    }
+
+    return droppedPartitions;
+  }
+
+  public void createHistoryPartition(HistoryPartition partition) {
+    Map<String, Object> parameters = partition.toParameters();
+
+    DbSqlSession dbSqlSession = getDbSqlSession();
+    dbSqlSession.executeNonEmptyUpdateStmt("createHistoryPartition", parameters);
+    dbSqlSession.executeNonEmptyUpdateStmt("attachHistoryPartition", parameters);
+    dbSqlSession.flushOperations();
+  }
+
+  public void dropHistoryPartition(HistoryPartition partition) {
+    Map<String, Object> parameters = partition.toParameters();
+
+    DbSqlSession dbSqlSession = getDbSqlSession();
+    dbSqlSession.executeNonEmptyUpdateStmt("detachHistoryPartition", parameters);
+    dbSqlSession.executeNonEmptyUpdateStmt("dropHistoryPartition", parameters);
+    dbSqlSession.flushOperations();
+  }
+
+}
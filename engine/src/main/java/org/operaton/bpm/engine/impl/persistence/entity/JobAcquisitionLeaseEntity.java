@@ -0,0 +1,90 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import org.operaton.bpm.engine.impl.db.DbEntity;
+import org.operaton.bpm.engine.impl.db.HasDbRevision;
+
+/**
+ * Announces a job executor node that takes part in partitioned job acquisition.
+ * The id of a lease is the lock owner of the job executor, and a node is considered
+ * alive as long as its lease has not expired.
+ */
+public class JobAcquisitionLeaseEntity implements DbEntity, HasDbRevision, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String id;
+  protected int revision;
+  protected Date leaseExpirationTime;
+
+  public JobAcquisitionLeaseEntity() {
+  }
+
+  public JobAcquisitionLeaseEntity(String id, Date leaseExpirationTime) {
+    this.id = id;
+    this.leaseExpirationTime = leaseExpirationTime;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public int getRevision() {
+    return revision;
+  }
+
+  public void setRevision(int revision) {
+    this.revision = revision;
+  }
+
+  public int getRevisionNext() {
+    return revision + 1;
+  }
+
+  public Date getLeaseExpirationTime() {
+    return leaseExpirationTime;
+  }
+
+  public void setLeaseExpirationTime(Date leaseExpirationTime) {
+    this.leaseExpirationTime = leaseExpirationTime;
+  }
+
+  public boolean isExpired(Date now) {
+    return leaseExpirationTime == null || !leaseExpirationTime.after(now);
+  }
+
+  public Object getPersistentState() {
+    return leaseExpirationTime;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+           + "[id=" + id
+           + ", revision=" + revision
+           + ", leaseExpirationTime=" + leaseExpirationTime
+           + "]";
+  }
+}
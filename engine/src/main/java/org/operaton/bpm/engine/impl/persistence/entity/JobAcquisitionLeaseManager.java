@@ -0,0 +1,116 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.persistence.entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.operaton.bpm.engine.impl.db.DbEntity;
+import org.operaton.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
+import org.operaton.bpm.engine.impl.db.entitymanager.OptimisticLockingResult;
+import org.operaton.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.operaton.bpm.engine.impl.jobexecutor.JobPartitionRange;
+import org.operaton.bpm.engine.impl.persistence.AbstractManager;
+import org.operaton.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Manages the membership of job executor nodes in partitioned job acquisition.
+ *
+ * <p>Each node renews its own {@link JobAcquisitionLeaseEntity lease} while acquiring jobs.
+ * The partition key space is split evenly between all nodes with a live lease, ordered
+ * by their lock owner, so that the ranges rebalance as soon as nodes join or their
+ * leases expire.</p>
+ */
+public class JobAcquisitionLeaseManager extends AbstractManager {
+
+  @SuppressWarnings("unchecked")
+  public List<JobAcquisitionLeaseEntity> findJobAcquisitionLeases() {
+    return getDbEntityManager().selectList("selectJobAcquisitionLeases");
+  }
+
+  /**
+   * Renews the lease of the given lock owner and returns the range of partition keys
+   * the owner acquires jobs from.
+   */
+  public JobPartitionRange acquirePartitionRange(String lockOwner, long leaseTimeInMillis) {
+    Date now = ClockUtil.getCurrentTime();
+    Date leaseExpirationTime = new Date(now.getTime() + leaseTimeInMillis);
+
+    JobAcquisitionLeaseEntity ownLease = null;
+    List<String> liveOwners = new ArrayList<>();
+
+    for (JobAcquisitionLeaseEntity lease : findJobAcquisitionLeases()) {
+      if (lockOwner.equals(lease.getId())) {
+        ownLease = lease;
+      }
+      else if (!lease.isExpired(now)) {
+        liveOwners.add(lease.getId());
+      }
+    }
+
+    if (ownLease == null) {
+      getDbEntityManager().insert(new JobAcquisitionLeaseEntity(lockOwner, leaseExpirationTime));
+
+      // leases that expired a full lease time ago belong to nodes that are gone
+      deleteExpiredLeases(new Date(now.getTime() - leaseTimeInMillis));
+    }
+    else if (ownLease.getLeaseExpirationTime().getTime() - now.getTime() < leaseTimeInMillis / 2) {
+      // renew the lease only once half of it has elapsed to avoid an update per acquisition cycle
+      ownLease.setLeaseExpirationTime(leaseExpirationTime);
+      ignoreConcurrentLeaseModification();
+
+      deleteExpiredLeases(new Date(now.getTime() - leaseTimeInMillis));
+    }
+    liveOwners.add(lockOwner);
+
+    Collections.sort(liveOwners);
+    return JobPartitionRange.forNode(liveOwners.indexOf(lockOwner), liveOwners.size());
+  }
+
+  /**
+   * Another node may delete the lease as expired before it is renewed. The failed renewal
+   * must not roll back the job acquisition; the lease is inserted again in the next cycle.
+   */
+  protected void ignoreConcurrentLeaseModification() {
+    getDbEntityManager().registerOptimisticLockingListener(new OptimisticLockingListener() {
+
+      @Override
+      public Class<? extends DbEntity> getEntityType() {
+        return JobAcquisitionLeaseEntity.class;
+      }
+
+      @Override
+      public OptimisticLockingResult failedOperation(DbOperation operation) {
+        return OptimisticLockingResult.IGNORE;
+      }
+    });
+  }
+
+  public void deleteExpiredLeases(Date expiredBefore) {
+    getDbEntityManager().delete(JobAcquisitionLeaseEntity.class, "deleteExpiredJobAcquisitionLeases", expiredBefore);
+  }
+
+  public void deleteJobAcquisitionLease(String lockOwner) {
+    JobAcquisitionLeaseEntity lease = getDbEntityManager().selectById(JobAcquisitionLeaseEntity.class, lockOwner);
+    if (lease != null) {
+      getDbEntityManager().delete(lease);
+    }
+  }
+
+}
@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import org.operaton.bpm.engine.impl.ProcessEngineLogger;
 import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -39,7 +40,6 @@ import org.operaton.bpm.engine.impl.db.HasDbRevision;
 import org.operaton.bpm.engine.impl.incident.IncidentContext;
 import org.operaton.bpm.engine.impl.incident.IncidentHandling;
 import org.operaton.bpm.engine.impl.interceptor.CommandContext;
-import org.operaton.bpm.engine.impl.jobexecutor.DefaultJobPriorityProvider;
 import org.operaton.bpm.engine.impl.jobexecutor.JobHandler;
 import org.operaton.bpm.engine.impl.jobexecutor.JobHandlerConfiguration;
 import org.operaton.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
@@ -80,7 +80,6 @@ public abstract class JobEntity extends AcquirableJobEntity
   // entity is active by default
   protected int suspensionState = SuspensionState.ACTIVE.getStateCode();
 
-  protected String jobHandlerType = null;
   protected String jobHandlerConfiguration = null;
 
   protected ByteArrayEntity exceptionByteArray;
@@ -90,12 +89,6 @@ public abstract class JobEntity extends AcquirableJobEntity
 
   protected String deploymentId;
 
-  protected String jobDefinitionId;
-
-  protected long priority = DefaultJobPriorityProvider.DEFAULT_PRIORITY;
-
-  protected String tenantId;
-
   protected Date createTime;
 
   // runtime state /////////////////////////////
@@ -112,6 +105,9 @@ public abstract class JobEntity extends AcquirableJobEntity
   // last failing activity id ///////////////////////
   protected String failedActivityId;
 
+  // partition key for partitioned job acquisition //
+  protected Integer partitionKey;
+
   protected Map<String, Class> persistedDependentEntities;
 
   public void execute(CommandContext commandContext) {
@@ -242,6 +238,52 @@ public abstract class JobEntity extends AcquirableJobEntity
     return persistentState;
   }
 
+  // persistent state tracking ///////////////////////////////////////////////
+
+  protected transient String trackedExecutionId;
+  protected transient int trackedRetries;
+  protected transient String trackedExceptionMessage;
+  protected transient int trackedSuspensionState;
+  protected transient String trackedProcessDefinitionId;
+  protected transient String trackedJobDefinitionId;
+  protected transient String trackedDeploymentId;
+  protected transient String trackedJobHandlerConfiguration;
+  protected transient long trackedPriority;
+  protected transient String trackedTenantId;
+  protected transient String trackedExceptionByteArrayId;
+
+  @Override
+  public void trackPersistentState() {
+    super.trackPersistentState();
+    trackedExecutionId = executionId;
+    trackedRetries = retries;
+    trackedExceptionMessage = exceptionMessage;
+    trackedSuspensionState = suspensionState;
+    trackedProcessDefinitionId = processDefinitionId;
+    trackedJobDefinitionId = jobDefinitionId;
+    trackedDeploymentId = deploymentId;
+    trackedJobHandlerConfiguration = jobHandlerConfiguration;
+    trackedPriority = priority;
+    trackedTenantId = tenantId;
+    trackedExceptionByteArrayId = exceptionByteArrayId;
+  }
+
+  @Override
+  public boolean hasPersistentStateChanged() {
+    return super.hasPersistentStateChanged()
+        || !Objects.equals(executionId, trackedExecutionId)
+        || retries != trackedRetries
+        || !Objects.equals(exceptionMessage, trackedExceptionMessage)
+        || suspensionState != trackedSuspensionState
+        || !Objects.equals(processDefinitionId, trackedProcessDefinitionId)
+        || !Objects.equals(jobDefinitionId, trackedJobDefinitionId)
+        || !Objects.equals(deploymentId, trackedDeploymentId)
+        || !Objects.equals(jobHandlerConfiguration, trackedJobHandlerConfiguration)
+        || priority != trackedPriority
+        || !Objects.equals(tenantId, trackedTenantId)
+        || !Objects.equals(exceptionByteArrayId, trackedExceptionByteArrayId);
+  }
+
   public void setExecution(ExecutionEntity execution) {
     if (execution != null) {
       this.execution = execution;
@@ -463,14 +505,6 @@ public abstract class JobEntity extends AcquirableJobEntity
     this.jobHandlerConfiguration = configuration.toCanonicalString();
   }
 
-  public String getJobHandlerType() {
-    return jobHandlerType;
-  }
-
-  public void setJobHandlerType(String jobHandlerType) {
-    this.jobHandlerType = jobHandlerType;
-  }
-
   public String getJobHandlerConfigurationRaw() {
     return jobHandlerConfiguration;
   }
@@ -484,15 +518,6 @@ public abstract class JobEntity extends AcquirableJobEntity
     return exceptionMessage;
   }
 
-  @Override
-  public String getJobDefinitionId() {
-    return jobDefinitionId;
-  }
-
-  public void setJobDefinitionId(String jobDefinitionId) {
-    this.jobDefinitionId = jobDefinitionId;
-  }
-
   public JobDefinition getJobDefinition() {
     ensureJobDefinitionInitialized();
     return jobDefinition;
@@ -583,24 +608,6 @@ public abstract class JobEntity extends AcquirableJobEntity
     this.activityId = activityId;
   }
 
-  @Override
-  public long getPriority() {
-    return priority;
-  }
-
-  public void setPriority(long priority) {
-    this.priority = priority;
-  }
-
-  @Override
-  public String getTenantId() {
-    return tenantId;
-  }
-
-  public void setTenantId(String tenantId) {
-    this.tenantId = tenantId;
-  }
-
   @Override
   public Date getCreateTime() {
     return createTime;
@@ -696,6 +703,14 @@ public abstract class JobEntity extends AcquirableJobEntity
     this.lastFailureLogId = lastFailureLogId;
   }
 
+  public Integer getPartitionKey() {
+    return partitionKey;
+  }
+
+  public void setPartitionKey(Integer partitionKey) {
+    this.partitionKey = partitionKey;
+  }
+
   @Override
   public String getFailedActivityId() {
     return failedActivityId;
@@ -37,15 +37,20 @@ import org.operaton.bpm.engine.impl.cfg.TransactionListener;
 import org.operaton.bpm.engine.impl.cfg.TransactionState;
 import org.operaton.bpm.engine.impl.context.Context;
 import org.operaton.bpm.engine.impl.db.ListQueryParameterObject;
+import org.operaton.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.operaton.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
 import org.operaton.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.operaton.bpm.engine.impl.jobexecutor.ExclusiveJobAddedNotification;
 import org.operaton.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.operaton.bpm.engine.impl.jobexecutor.JobExecutorContext;
+import org.operaton.bpm.engine.impl.jobexecutor.LocalJobHandOffNotification;
+import org.operaton.bpm.engine.impl.jobexecutor.JobPartitionRange;
 import org.operaton.bpm.engine.impl.jobexecutor.MessageAddedNotification;
 import org.operaton.bpm.engine.impl.jobexecutor.TimerCatchIntermediateEventJobHandler;
 import org.operaton.bpm.engine.impl.jobexecutor.TimerExecuteNestedActivityJobHandler;
 import org.operaton.bpm.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.operaton.bpm.engine.impl.jobexecutor.TimerStartEventSubprocessJobHandler;
+import org.operaton.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
 import org.operaton.bpm.engine.impl.persistence.AbstractManager;
 import org.operaton.bpm.engine.impl.util.ClockUtil;
 import org.operaton.bpm.engine.impl.util.CollectionUtil;
@@ -69,6 +74,8 @@ public class JobManager extends AbstractManager {
     JOB_DUEDATE_ORDERING_PROPERTY.setDirection(Direction.ASCENDING);
   }
 
+  protected LocalJobHandOffNotification localJobHandOffNotification;
+
   public void updateJob(JobEntity job) {
     getDbEntityManager().merge(job);
   }
@@ -77,9 +84,24 @@ public class JobManager extends AbstractManager {
     job.setCreateTime(ClockUtil.getCurrentTime());
 
     getDbEntityManager().insert(job);
+    job.setPartitionKey(JobPartitionRange.getPartitionKey(selectPartitioningId(job)));
     getHistoricJobLogManager().fireJobCreatedEvent(job);
   }
 
+  /**
+   * Jobs of the same process instance hierarchy share a partition key, so that
+   * exclusive jobs of a process instance are acquired by the same node.
+   */
+  protected String selectPartitioningId(JobEntity job) {
+    if (job.getRootProcessInstanceId() != null) {
+      return job.getRootProcessInstanceId();
+    }
+    if (job.getProcessInstanceId() != null) {
+      return job.getProcessInstanceId();
+    }
+    return job.getId();
+  }
+
   public void deleteJob(JobEntity job) {
     deleteJob(job, true);
   }
@@ -151,10 +173,13 @@ public class JobManager extends AbstractManager {
          && jobExecutorContext.isExecutingExclusiveJob()
          && areInSameProcessInstance(job, jobExecutorContext.getCurrentJob())) {
         // lock job & add to the queue of the current processor
-        Date currentTime = ClockUtil.getCurrentTime();
-        job.setLockExpirationTime(new Date(currentTime.getTime() + jobExecutor.getLockTimeInMillis()));
-        job.setLockOwner(jobExecutor.getLockOwner());
+        lockJob(job, jobExecutor);
         transactionListener = new ExclusiveJobAddedNotification(job.getId(), jobExecutorContext);
+      } else if (isLocalJobHandOff(job)) {
+        // lock job & hand it to the local job executor after commit
+        lockJob(job, jobExecutor);
+        handOffJob(job, jobExecutor);
+        return;
       } else {
         // reset Acquisition strategy and notify the JobExecutor that
         // a new Job is available for execution on future runs
@@ -166,6 +191,66 @@ public class JobManager extends AbstractManager {
     }
   }
 
+  protected void lockJob(JobEntity job, JobExecutor jobExecutor) {
+    Date currentTime = ClockUtil.getCurrentTime();
+    job.setLockExpirationTime(new Date(currentTime.getTime() + jobExecutor.getLockTimeInMillis()));
+    job.setLockOwner(jobExecutor.getLockOwner());
+  }
+
+  /**
+   * @return true if the job can be executed by the local job executor
+   * right after the current transaction has committed
+   */
+  protected boolean isLocalJobHandOff(JobEntity job) {
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+    if (!configuration.isJobExecutorLocalHandOff() || job.isSuspended() || !isJobDue(job)) {
+      return false;
+    }
+
+    if (!configuration.isHistoryCleanupEnabled() && HistoryCleanupJobHandler.TYPE.equals(job.getJobHandlerType())) {
+      return false;
+    }
+
+    if (configuration.isJobExecutorDeploymentAware()) {
+      Set<String> registeredDeployments = configuration.getRegisteredDeployments();
+      if (job.getDeploymentId() == null || !registeredDeployments.contains(job.getDeploymentId())) {
+        return false;
+      }
+    }
+
+    // like acquisition, an exclusive job must not run while another exclusive job
+    // of the same (root) process instance is in progress. That is only known without
+    // a query if the process instance was started by the current command; otherwise
+    // the job is left to the acquisition.
+    if (job.isExclusive()) {
+      String processInstanceId = configuration.isJobExecutorAcquireExclusiveOverProcessHierarchies()
+          && job.getRootProcessInstanceId() != null ? job.getRootProcessInstanceId() : job.getProcessInstanceId();
+      return processInstanceId == null || isCreatedByCurrentCommand(processInstanceId);
+    }
+
+    return true;
+  }
+
+  protected boolean isCreatedByCurrentCommand(String processInstanceId) {
+    CachedDbEntity cachedProcessInstance = getDbEntityManager().getDbEntityCache()
+        .getCachedEntity(ExecutionEntity.class, processInstanceId);
+    return cachedProcessInstance != null && cachedProcessInstance.getEntityState() == DbEntityState.TRANSIENT;
+  }
+
+  protected void handOffJob(JobEntity job, JobExecutor jobExecutor) {
+    if (localJobHandOffNotification == null) {
+      boolean isAcquireExclusiveOverProcessHierarchies = Context.getProcessEngineConfiguration()
+          .isJobExecutorAcquireExclusiveOverProcessHierarchies();
+      localJobHandOffNotification = new LocalJobHandOffNotification(jobExecutor, isAcquireExclusiveOverProcessHierarchies);
+
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, localJobHandOffNotification);
+    }
+
+    localJobHandOffNotification.addJob(job);
+  }
+
   protected boolean areInSameProcessInstance(JobEntity job1, JobEntity job2) {
     if (job1 == null || job2 == null) {
       return false;
@@ -198,8 +283,16 @@ public class JobManager extends AbstractManager {
     return (JobEntity) getDbEntityManager().selectOne("selectJob", jobId);
   }
 
-  @SuppressWarnings("unchecked")
   public List<AcquirableJobEntity> findNextJobsToExecute(Page page) {
+    return findNextJobsToExecute(page, null);
+  }
+
+  /**
+   * @param partitionRange if not null, only jobs with a partition key in the given range
+   *   or without a partition key are selected
+   */
+  @SuppressWarnings("unchecked")
+  public List<AcquirableJobEntity> findNextJobsToExecute(Page page, JobPartitionRange partitionRange) {
     ProcessEngineConfigurationImpl engineConfiguration = Context.getProcessEngineConfiguration();
 
     Map<String,Object> params = new HashMap<>();
@@ -225,6 +318,9 @@ public class JobManager extends AbstractManager {
 
     params.put("historyCleanupEnabled", engineConfiguration.isHistoryCleanupEnabled());
 
+    params.put("partitionKeyMin", partitionRange != null ? partitionRange.getFrom() : null);
+    params.put("partitionKeyMax", partitionRange != null ? partitionRange.getTo() : null);
+
     List<QueryOrderingProperty> orderingProperties = new ArrayList<>();
 
     if (engineConfiguration.isJobExecutorAcquireByPriority()) {
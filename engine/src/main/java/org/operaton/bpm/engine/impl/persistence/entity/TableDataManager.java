@@ -83,6 +83,7 @@ public class TableDataManager extends AbstractManager {
     // runtime
     persistentObjectToTableNameMap.put(TaskEntity.class, "ACT_RU_TASK");
     persistentObjectToTableNameMap.put(ExternalTaskEntity.class, "ACT_RU_EXT_TASK");
+    persistentObjectToTableNameMap.put(ExternalTaskNotificationEntity.class, "ACT_RU_EXT_TASK_NOTIFY");
     persistentObjectToTableNameMap.put(ExecutionEntity.class, "ACT_RU_EXECUTION");
     persistentObjectToTableNameMap.put(IdentityLinkEntity.class, "ACT_RU_IDENTITYLINK");
     persistentObjectToTableNameMap.put(VariableInstanceEntity.class, "ACT_RU_VARIABLE");
@@ -91,6 +92,9 @@ public class TableDataManager extends AbstractManager {
     persistentObjectToTableNameMap.put(MessageEntity.class, "ACT_RU_JOB");
     persistentObjectToTableNameMap.put(TimerEntity.class, "ACT_RU_JOB");
     persistentObjectToTableNameMap.put(JobDefinitionEntity.class, "ACT_RU_JOBDEF");
+    persistentObjectToTableNameMap.put(JobAcquisitionLeaseEntity.class, "ACT_RU_JOB_ACQ_LEASE");
+    persistentObjectToTableNameMap.put(HistoryEventOutboxEntity.class, "ACT_RU_HI_OUTBOX");
+    persistentObjectToTableNameMap.put(CorrelationKeyEntity.class, "ACT_RU_CORR_KEY");
     persistentObjectToTableNameMap.put(BatchEntity.class, "ACT_RU_BATCH");
 
     persistentObjectToTableNameMap.put(IncidentEntity.class, "ACT_RU_INCIDENT");
@@ -30,6 +30,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import org.operaton.bpm.engine.ProcessEngine;
@@ -63,6 +64,7 @@ import org.operaton.bpm.engine.impl.core.variable.scope.VariableStore.VariablesP
 import org.operaton.bpm.engine.impl.db.DbEntity;
 import org.operaton.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.operaton.bpm.engine.impl.db.HasDbReferences;
+import org.operaton.bpm.engine.impl.db.HasTrackedPersistentState;
 import org.operaton.bpm.engine.impl.db.HasDbRevision;
 import org.operaton.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.operaton.bpm.engine.impl.form.OperatonFormRefImpl;
@@ -91,7 +93,7 @@ import org.operaton.bpm.model.xml.type.ModelElementType;
  * @author Falko Menge
  * @author Deivarayan Azhagappan
  */
-public class TaskEntity extends AbstractVariableScope implements Task, DelegateTask, Serializable, DbEntity, HasDbRevision, HasDbReferences, CommandContextListener, VariablesProvider<VariableInstanceEntity> {
+public class TaskEntity extends AbstractVariableScope implements Task, DelegateTask, Serializable, DbEntity, HasDbRevision, HasDbReferences, HasTrackedPersistentState, CommandContextListener, VariablesProvider<VariableInstanceEntity> {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
 
@@ -456,6 +458,74 @@ public class TaskEntity extends AbstractVariableScope implements Task, DelegateT
     return persistentState;
   }
 
+  // persistent state tracking ///////////////////////////////////////////////
+
+  protected transient String trackedAssignee;
+  protected transient String trackedOwner;
+  protected transient String trackedName;
+  protected transient int trackedPriority;
+  protected transient String trackedExecutionId;
+  protected transient String trackedProcessDefinitionId;
+  protected transient String trackedCaseExecutionId;
+  protected transient String trackedCaseInstanceId;
+  protected transient String trackedCaseDefinitionId;
+  protected transient Date trackedCreateTime;
+  protected transient Date trackedLastUpdated;
+  protected transient String trackedDescription;
+  protected transient Date trackedDueDate;
+  protected transient Date trackedFollowUpDate;
+  protected transient String trackedParentTaskId;
+  protected transient DelegationState trackedDelegationState;
+  protected transient String trackedTenantId;
+  protected transient String trackedTaskState;
+  protected transient int trackedSuspensionState;
+
+  @Override
+  public void trackPersistentState() {
+    trackedAssignee = assignee;
+    trackedOwner = owner;
+    trackedName = name;
+    trackedPriority = priority;
+    trackedExecutionId = executionId;
+    trackedProcessDefinitionId = processDefinitionId;
+    trackedCaseExecutionId = caseExecutionId;
+    trackedCaseInstanceId = caseInstanceId;
+    trackedCaseDefinitionId = caseDefinitionId;
+    trackedCreateTime = createTime;
+    trackedLastUpdated = lastUpdated;
+    trackedDescription = description;
+    trackedDueDate = dueDate;
+    trackedFollowUpDate = followUpDate;
+    trackedParentTaskId = parentTaskId;
+    trackedDelegationState = delegationState;
+    trackedTenantId = tenantId;
+    trackedTaskState = taskState;
+    trackedSuspensionState = suspensionState;
+  }
+
+  @Override
+  public boolean hasPersistentStateChanged() {
+    return !Objects.equals(assignee, trackedAssignee)
+        || !Objects.equals(owner, trackedOwner)
+        || !Objects.equals(name, trackedName)
+        || priority != trackedPriority
+        || !Objects.equals(executionId, trackedExecutionId)
+        || !Objects.equals(processDefinitionId, trackedProcessDefinitionId)
+        || !Objects.equals(caseExecutionId, trackedCaseExecutionId)
+        || !Objects.equals(caseInstanceId, trackedCaseInstanceId)
+        || !Objects.equals(caseDefinitionId, trackedCaseDefinitionId)
+        || !Objects.equals(createTime, trackedCreateTime)
+        || !Objects.equals(lastUpdated, trackedLastUpdated)
+        || !Objects.equals(description, trackedDescription)
+        || !Objects.equals(dueDate, trackedDueDate)
+        || !Objects.equals(followUpDate, trackedFollowUpDate)
+        || !Objects.equals(parentTaskId, trackedParentTaskId)
+        || !Objects.equals(delegationState, trackedDelegationState)
+        || !Objects.equals(tenantId, trackedTenantId)
+        || !Objects.equals(taskState, trackedTaskState)
+        || suspensionState != trackedSuspensionState;
+  }
+
   @Override
   public int getRevisionNext() {
     return revision+1;
@@ -20,6 +20,7 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import org.operaton.bpm.engine.impl.ProcessEngineLogger;
 import org.operaton.bpm.engine.impl.calendar.BusinessCalendar;
@@ -233,6 +234,22 @@ public class TimerEntity extends JobEntity {
     return persistentState;
   }
 
+  // persistent state tracking ///////////////////////////////////////////////
+
+  protected transient String trackedRepeat;
+
+  @Override
+  public void trackPersistentState() {
+    super.trackPersistentState();
+    trackedRepeat = repeat;
+  }
+
+  @Override
+  public boolean hasPersistentStateChanged() {
+    return super.hasPersistentStateChanged()
+        || !Objects.equals(repeat, trackedRepeat);
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
@@ -20,6 +20,7 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
 
@@ -35,6 +36,7 @@ import org.operaton.bpm.engine.impl.db.DbEntity;
 import org.operaton.bpm.engine.impl.db.DbEntityLifecycleAware;
 import org.operaton.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.operaton.bpm.engine.impl.db.HasDbReferences;
+import org.operaton.bpm.engine.impl.db.HasTrackedPersistentState;
 import org.operaton.bpm.engine.impl.db.HasDbRevision;
 import org.operaton.bpm.engine.impl.persistence.entity.util.ByteArrayField;
 import org.operaton.bpm.engine.impl.persistence.entity.util.TypedValueField;
@@ -55,7 +57,7 @@ import static org.operaton.bpm.engine.impl.persistence.entity.util.TypedValueFie
  * @author Tom Baeyens
  */
 public class VariableInstanceEntity implements VariableInstance, CoreVariableInstance, ValueFields, DbEntity, DbEntityLifecycleAware, TypedValueUpdateListener, HasDbRevision,
-  HasDbReferences, Serializable {
+  HasDbReferences, HasTrackedPersistentState, Serializable {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
 
@@ -204,6 +206,62 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
     return persistentState;
   }
 
+  // persistent state tracking ///////////////////////////////////////////////
+
+  protected transient String trackedSerializerName;
+  protected transient Long trackedLongValue;
+  protected transient Double trackedDoubleValue;
+  protected transient String trackedTextValue;
+  protected transient String trackedTextValue2;
+  protected transient String trackedByteArrayValueId;
+  protected transient long trackedSequenceCounter;
+  protected transient boolean trackedIsConcurrentLocal;
+  protected transient String trackedExecutionId;
+  protected transient String trackedTaskId;
+  protected transient String trackedCaseExecutionId;
+  protected transient String trackedCaseInstanceId;
+  protected transient String trackedTenantId;
+  protected transient String trackedProcessInstanceId;
+  protected transient String trackedProcessDefinitionId;
+
+  @Override
+  public void trackPersistentState() {
+    trackedSerializerName = typedValueField.getSerializerName();
+    trackedLongValue = longValue;
+    trackedDoubleValue = doubleValue;
+    trackedTextValue = textValue;
+    trackedTextValue2 = textValue2;
+    trackedByteArrayValueId = byteArrayField.getByteArrayId();
+    trackedSequenceCounter = getSequenceCounter();
+    trackedIsConcurrentLocal = isConcurrentLocal;
+    trackedExecutionId = executionId;
+    trackedTaskId = taskId;
+    trackedCaseExecutionId = caseExecutionId;
+    trackedCaseInstanceId = caseInstanceId;
+    trackedTenantId = tenantId;
+    trackedProcessInstanceId = processInstanceId;
+    trackedProcessDefinitionId = processDefinitionId;
+  }
+
+  @Override
+  public boolean hasPersistentStateChanged() {
+    return !Objects.equals(typedValueField.getSerializerName(), trackedSerializerName)
+        || !Objects.equals(longValue, trackedLongValue)
+        || !Objects.equals(doubleValue, trackedDoubleValue)
+        || !Objects.equals(textValue, trackedTextValue)
+        || !Objects.equals(textValue2, trackedTextValue2)
+        || !Objects.equals(byteArrayField.getByteArrayId(), trackedByteArrayValueId)
+        || getSequenceCounter() != trackedSequenceCounter
+        || isConcurrentLocal != trackedIsConcurrentLocal
+        || !Objects.equals(executionId, trackedExecutionId)
+        || !Objects.equals(taskId, trackedTaskId)
+        || !Objects.equals(caseExecutionId, trackedCaseExecutionId)
+        || !Objects.equals(caseInstanceId, trackedCaseInstanceId)
+        || !Objects.equals(tenantId, trackedTenantId)
+        || !Objects.equals(processInstanceId, trackedProcessInstanceId)
+        || !Objects.equals(processDefinitionId, trackedProcessDefinitionId);
+  }
+
   public int getRevisionNext() {
     return revision+1;
   }
@@ -16,6 +16,7 @@
  */
 package org.operaton.bpm.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -62,6 +63,14 @@ public class VariableInstanceManager extends AbstractManager {
     return getDbEntityManager().selectList("selectVariablesByProcessInstanceId", processInstanceId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<VariableInstanceEntity> findVariableInstancesByProcessInstanceIdsAndVariableNames(Collection<String> processInstanceIds, Collection<String> variableNames) {
+    Map<String, Object> parameter = new HashMap<String, Object>();
+    parameter.put("processInstanceIds", new ArrayList<>(processInstanceIds));
+    parameter.put("variableNames", variableNames);
+    return getDbEntityManager().selectList("selectVariablesByProcessInstanceIdsAndVariableNames", parameter);
+  }
+
   public List<VariableInstanceEntity> findVariableInstancesByCaseExecutionId(String caseExecutionId) {
     return findVariableInstancesByCaseExecutionIdAndVariableNames(caseExecutionId, null);
   }
@@ -90,8 +90,13 @@ public class DefaultCorrelationHandler implements CorrelationHandler {
 
     Map<String, Object> correlationKeys = correlationSet.getCorrelationKeys();
     if (correlationKeys != null) {
+      DeploymentCache deploymentCache = commandContext.getProcessEngineConfiguration().getDeploymentCache();
       for (Map.Entry<String, Object> correlationKey : correlationKeys.entrySet()) {
-        query.processVariableValueEquals(correlationKey.getKey(), correlationKey.getValue());
+        if (correlationKey.getValue() != null && deploymentCache.isCorrelationKey(correlationKey.getKey())) {
+          query.correlationKeyValueEquals(correlationKey.getKey(), correlationKey.getValue());
+        } else {
+          query.processVariableValueEquals(correlationKey.getKey(), correlationKey.getValue());
+        }
       }
     }
 
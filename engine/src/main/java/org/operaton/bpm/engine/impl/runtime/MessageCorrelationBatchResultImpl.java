@@ -0,0 +1,61 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.impl.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.operaton.bpm.engine.impl.MessageCorrelationBuilderImpl;
+import org.operaton.bpm.engine.runtime.MessageCorrelationBatchResult;
+import org.operaton.bpm.engine.runtime.MessageCorrelationResult;
+
+public class MessageCorrelationBatchResultImpl implements MessageCorrelationBatchResult {
+
+  protected final String messageName;
+  protected final String businessKey;
+  protected final Map<String, Object> correlationKeys;
+  protected final List<MessageCorrelationResult> correlationResults;
+
+  public MessageCorrelationBatchResultImpl(MessageCorrelationBuilderImpl correlation, List<? extends MessageCorrelationResult> correlationResults) {
+    this.messageName = correlation.getMessageName();
+    this.businessKey = correlation.getBusinessKey();
+    this.correlationKeys = correlation.getCorrelationProcessInstanceVariables();
+    this.correlationResults = new ArrayList<>(correlationResults);
+  }
+
+  @Override
+  public String getMessageName() {
+    return messageName;
+  }
+
+  @Override
+  public String getBusinessKey() {
+    return businessKey;
+  }
+
+  @Override
+  public Map<String, Object> getCorrelationKeys() {
+    return correlationKeys;
+  }
+
+  @Override
+  public List<MessageCorrelationResult> getCorrelationResults() {
+    return correlationResults;
+  }
+
+}
@@ -78,6 +78,13 @@ public class Metrics {
   public static final String HISTORY_CLEANUP_REMOVED_BATCH_OPERATIONS = "history-cleanup-removed-batch-operations";
   public static final String HISTORY_CLEANUP_REMOVED_TASK_METRICS = "history-cleanup-removed-task-metrics";
 
+  /**
+   * Prefix of the number of rows removed from a history table by the history cleanup,
+   * followed by the lower case table name, e.g. <code>history-cleanup-removed-rows-act_hi_actinst</code>.
+   * Reported when the history cleanup runs with a worker pool.
+   */
+  public static final String HISTORY_CLEANUP_REMOVED_ROWS_PREFIX = "history-cleanup-removed-rows-";
+
   /**
    * Number of unique task workers
    */
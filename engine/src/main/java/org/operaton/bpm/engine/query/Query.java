@@ -17,6 +17,7 @@
 package org.operaton.bpm.engine.query;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.operaton.bpm.engine.BadUserRequestException;
 import org.operaton.bpm.engine.ProcessEngineException;
@@ -83,4 +84,46 @@ public interface Query<T extends Query< ? , ? >, U extends Object> {
    */
   List<U> listPage(int firstResult, int maxResults);
 
+  /**
+   * Executes the query and passes the results to the given action one by one, instead
+   * of collecting all of them in a list first.
+   *
+   * <p>By default, the results are selected page by page with {@link #listPage(int, int)}.
+   * The historic process instance and historic variable instance queries execute the query
+   * once instead and pass the results to the action while they are read from the database,
+   * so that the memory needed is independent of the number of results. Historic variable
+   * instances can only be streamed with binary fetching and custom object deserialization
+   * disabled, and values stored in byte arrays are not fetched then. The other queries of the
+   * process engine select the results page by page within one transaction; the results stay
+   * in its entity cache and every page selects the results of the previous ones again, so
+   * these are no fit for large result sets.</p>
+   *
+   * <p>The maximum results limit does not apply to the queries of the process engine. The
+   * action is called within the transaction that executes the query and should not execute
+   * further queries, since some database drivers do not support other statements while a
+   * result set is read.</p>
+   *
+   * @param action the action that is called for each result
+   * @param fetchSize the number of rows fetched from the database at once
+   *
+   * @throws BadUserRequestException
+   *   When {@param fetchSize} is not greater than 0.
+   */
+  default void forEach(Consumer<? super U> action, int fetchSize) {
+    if (action == null) {
+      throw new BadUserRequestException("action is null");
+    }
+    if (fetchSize <= 0) {
+      throw new BadUserRequestException("fetchSize is not greater than 0");
+    }
+
+    int firstResult = 0;
+    List<U> results;
+    do {
+      results = listPage(firstResult, fetchSize);
+      results.forEach(action);
+      firstResult += fetchSize;
+    } while (results.size() == fetchSize);
+  }
+
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.runtime;
+
+import java.util.List;
+import java.util.Map;
+
+import org.operaton.bpm.engine.AuthorizationException;
+import org.operaton.bpm.engine.authorization.Permissions;
+import org.operaton.bpm.engine.authorization.Resources;
+
+/**
+ * <p>A fluent builder to correlate many messages synchronously in one transaction.</p>
+ *
+ * <p>Every added message is correlated like {@link MessageCorrelationBuilder#correlateAllWithResult()}:
+ * it triggers all waiting executions with a matching message event subscription and starts a
+ * process instance for each matching message start event. The waiting executions of all messages
+ * are resolved up front with a few set-based queries instead of one query per message.</p>
+ *
+ * <p>The messages are correlated in the order they were added. An execution that was triggered by an earlier
+ * message of the batch is not triggered again, while message event subscriptions created by an earlier message
+ * are not considered for later messages of the same batch. If the correlation of one message fails, the
+ * whole batch is rolled back.</p>
+ */
+public interface MessageCorrelationBatchBuilder {
+
+  /**
+   * Adds a message to the batch.
+   *
+   * @param messageName the name of the message, must not be <code>null</code>
+   * @param businessKey the business key of the process instances to correlate against, can be <code>null</code>
+   * @param correlationKeys process instance variables the process instances must have, can be <code>null</code>
+   *
+   * @return the builder
+   */
+  MessageCorrelationBatchBuilder message(String messageName, String businessKey, Map<String, Object> correlationKeys);
+
+  /**
+   * Adds a message to the batch.
+   *
+   * @param messageName the name of the message, must not be <code>null</code>
+   * @param businessKey the business key of the process instances to correlate against, can be <code>null</code>
+   * @param correlationKeys process instance variables the process instances must have, can be <code>null</code>
+   * @param processVariables variables set on the triggered or started process instances, can be <code>null</code>
+   *
+   * @return the builder
+   */
+  MessageCorrelationBatchBuilder message(String messageName, String businessKey, Map<String, Object> correlationKeys, Map<String, Object> processVariables);
+
+  /**
+   * Executes the message correlation of all added messages.
+   *
+   * @return one result per added message, in the order the messages were added
+   *
+   * @throws AuthorizationException
+   *          <li>if at least one execution is matched and the user has no {@link Permissions#UPDATE} permission on
+   *          {@link Resources#PROCESS_INSTANCE} or no {@link Permissions#UPDATE_INSTANCE} permission on
+   *          {@link Resources#PROCESS_DEFINITION}.</li>
+   *          <li>if one process definition is matched and the user has no {@link Permissions#CREATE} permission on
+   *          {@link Resources#PROCESS_INSTANCE} and no {@link Permissions#CREATE_INSTANCE} permission on
+   *          {@link Resources#PROCESS_DEFINITION}.</li>
+   */
+  List<MessageCorrelationBatchResult> correlateAllWithResult();
+
+}
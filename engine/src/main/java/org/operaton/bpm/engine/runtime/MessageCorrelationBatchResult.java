@@ -0,0 +1,50 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.runtime;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of correlating one message of a {@link MessageCorrelationBatchBuilder}.
+ */
+public interface MessageCorrelationBatchResult {
+
+  /**
+   * @return the name of the correlated message
+   */
+  String getMessageName();
+
+  /**
+   * @return the business key the message was correlated with, or <code>null</code>
+   */
+  String getBusinessKey();
+
+  /**
+   * @return the correlation keys the message was correlated with, or <code>null</code>
+   */
+  Map<String, Object> getCorrelationKeys();
+
+  /**
+   * Returns the executions and process definitions the message was correlated to.
+   * The list is empty if the message could not be correlated.
+   *
+   * @return the results of the message correlation
+   */
+  List<MessageCorrelationResult> getCorrelationResults();
+
+}
@@ -1104,4 +1104,26 @@ public interface TaskQuery extends Query<TaskQuery, Task> {
    *                                this exception, {@link #or()} must be invoked first.
    */
   TaskQuery endOr();
+
+  /**
+   * <p>Executes the query and returns at most maxResults tasks that follow the task the
+   * cursor points at (keyset pagination). Unlike {@link #listPage(int, int)}, the database
+   * does not need to read and skip the tasks of the previous pages.</p>
+   *
+   * <p>Only supported if the query is not ordered or ordered by one of
+   * {@link #orderByTaskId()}, {@link #orderByTaskCreateTime()} and {@link #orderByTaskPriority()}.
+   * Tasks with an equal value of the ordering property are ordered by id.</p>
+   *
+   * @param cursor the cursor of the last task of the previous page (see {@link #cursorOf(Task)})
+   *               or <code>null</code> to get the first page
+   * @throws org.operaton.bpm.engine.exception.NotValidException if the ordering of the query is not supported
+   *               or the cursor is invalid or was created for another ordering
+   */
+  List<Task> listAfter(String cursor, int maxResults);
+
+  /**
+   * @return the cursor pointing at the given task in the ordering of this query,
+   *         to be passed to {@link #listAfter(String, int)} for the next page
+   */
+  String cursorOf(Task task);
 }
@@ -133,6 +133,7 @@ create table ACT_RU_JOB (
     TENANT_ID_ nvarchar(64),
     CREATE_TIME_ datetime2,
     LAST_FAILURE_LOG_ID_ nvarchar(64),
+    PARTITION_KEY_ int,
     primary key (ID_)
 );
 
@@ -151,6 +152,37 @@ create table ACT_RU_JOBDEF (
     primary key (ID_)
 );
 
+create table ACT_RU_JOB_ACQ_LEASE (
+    ID_ nvarchar(255) not null,
+    REV_ int,
+    LEASE_EXP_TIME_ datetime2,
+    primary key (ID_)
+);
+
+create table ACT_RU_HI_OUTBOX (
+    ID_ nvarchar(255) not null,
+    REV_ int,
+    SEQUENCE_ numeric(19,0),
+    CREATE_TIME_ datetime2,
+    BYTES_ image,
+    primary key (ID_)
+);
+
+create table ACT_RU_CORR_KEY (
+    ID_ nvarchar(64) not null,
+    NAME_ nvarchar(255) not null,
+    VALUE_HASH_ nvarchar(64),
+    PROC_INST_ID_ nvarchar(64),
+    primary key (ID_)
+);
+
+create table ACT_RU_EXT_TASK_NOTIFY (
+    ID_ nvarchar(64) not null,
+    TOPIC_NAME_ nvarchar(255),
+    CREATE_TIME_ datetime2,
+    primary key (ID_)
+);
+
 create table ACT_RE_PROCDEF (
     ID_ nvarchar(64) not null,
     REV_ int,
@@ -387,6 +419,11 @@ create index ACT_IDX_INC_TENANT_ID on ACT_RU_INCIDENT(TENANT_ID_);
 -- CAM-5914
 create index ACT_IDX_JOB_EXECUTION_ID on ACT_RU_JOB(EXECUTION_ID_);
 create index ACT_IDX_JOB_PROCINST on ACT_RU_JOB(PROCESS_INSTANCE_ID_);
+create index ACT_IDX_JOB_PARTITION_KEY on ACT_RU_JOB(PARTITION_KEY_);
+create index ACT_IDX_HI_OUTBOX_SEQ on ACT_RU_HI_OUTBOX(SEQUENCE_);
+create index ACT_IDX_CORR_KEY_NAME_HASH on ACT_RU_CORR_KEY(NAME_, VALUE_HASH_);
+create index ACT_IDX_CORR_KEY_PROCINST on ACT_RU_CORR_KEY(PROC_INST_ID_, NAME_);
+create index ACT_IDX_EXT_TASK_NOTIFY_TIME on ACT_RU_EXT_TASK_NOTIFY(CREATE_TIME_);
 create index ACT_IDX_JOB_ROOT_PROCINST on ACT_RU_JOB(ROOT_PROC_INST_ID_);
 create index ACT_IDX_JOB_TENANT_ID on ACT_RU_JOB(TENANT_ID_);
 create index ACT_IDX_JOBDEF_TENANT_ID on ACT_RU_JOBDEF(TENANT_ID_);
@@ -161,6 +161,11 @@ drop index ACT_IDX_BYTEARRAY_NAME;
 drop index ACT_IDX_DEPLOYMENT_NAME;
 drop index ACT_IDX_JOBDEF_PROC_DEF_ID;
 drop index ACT_IDX_JOB_HANDLER_TYPE;
+drop index ACT_IDX_JOB_PARTITION_KEY;
+drop index ACT_IDX_HI_OUTBOX_SEQ;
+drop index ACT_IDX_CORR_KEY_NAME_HASH;
+drop index ACT_IDX_CORR_KEY_PROCINST;
+drop index ACT_IDX_EXT_TASK_NOTIFY_TIME;
 drop index ACT_IDX_EVENT_SUBSCR_EVT_NAME;
 drop index ACT_IDX_PROCDEF_DEPLOYMENT_ID;
 
@@ -202,6 +207,10 @@ drop table ACT_RU_TASK;
 drop table ACT_RU_EXECUTION;
 drop table ACT_RU_JOB;
 drop table ACT_RU_JOBDEF;
+drop table ACT_RU_JOB_ACQ_LEASE;
+drop table ACT_RU_HI_OUTBOX;
+drop table ACT_RU_CORR_KEY;
+drop table ACT_RU_EXT_TASK_NOTIFY;
 drop table ACT_RU_EVENT_SUBSCR;
 drop table ACT_RU_INCIDENT;
 drop table ACT_RU_AUTHORIZATION;
@@ -80,6 +80,11 @@ drop index ACT_GE_BYTEARRAY.ACT_IDX_BYTEARRAY_NAME;
 drop index ACT_RE_DEPLOYMENT.ACT_IDX_DEPLOYMENT_NAME;
 drop index ACT_RU_JOBDEF.ACT_IDX_JOBDEF_PROC_DEF_ID;
 drop index ACT_RU_JOB.ACT_IDX_JOB_HANDLER_TYPE;
+drop index ACT_RU_JOB.ACT_IDX_JOB_PARTITION_KEY;
+drop index ACT_RU_HI_OUTBOX.ACT_IDX_HI_OUTBOX_SEQ;
+drop index ACT_RU_CORR_KEY.ACT_IDX_CORR_KEY_NAME_HASH;
+drop index ACT_RU_CORR_KEY.ACT_IDX_CORR_KEY_PROCINST;
+drop index ACT_RU_EXT_TASK_NOTIFY.ACT_IDX_EXT_TASK_NOTIFY_TIME;
 drop index ACT_RU_EVENT_SUBSCR.ACT_IDX_EVENT_SUBSCR_EVT_NAME;
 drop index ACT_RE_PROCDEF.ACT_IDX_PROCDEF_DEPLOYMENT_ID;
 
@@ -205,6 +210,10 @@ if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = '
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_EVENT_SUBSCR') drop table ACT_RU_EVENT_SUBSCR;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_JOB') drop table ACT_RU_JOB;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_JOBDEF') drop table ACT_RU_JOBDEF;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_JOB_ACQ_LEASE') drop table ACT_RU_JOB_ACQ_LEASE;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_HI_OUTBOX') drop table ACT_RU_HI_OUTBOX;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_CORR_KEY') drop table ACT_RU_CORR_KEY;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_EXT_TASK_NOTIFY') drop table ACT_RU_EXT_TASK_NOTIFY;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_INCIDENT') drop table ACT_RU_INCIDENT;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_AUTHORIZATION') drop table ACT_RU_AUTHORIZATION;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_FILTER') drop table ACT_RU_FILTER;
@@ -146,6 +146,11 @@ drop index ACT_IDX_BYTEARRAY_NAME on ACT_GE_BYTEARRAY;
 drop index ACT_IDX_DEPLOYMENT_NAME on ACT_RE_DEPLOYMENT;
 drop index ACT_IDX_JOBDEF_PROC_DEF_ID ON ACT_RU_JOBDEF;
 drop index ACT_IDX_JOB_HANDLER_TYPE ON ACT_RU_JOB;
+drop index ACT_IDX_JOB_PARTITION_KEY ON ACT_RU_JOB;
+drop index ACT_IDX_HI_OUTBOX_SEQ ON ACT_RU_HI_OUTBOX;
+drop index ACT_IDX_CORR_KEY_NAME_HASH ON ACT_RU_CORR_KEY;
+drop index ACT_IDX_CORR_KEY_PROCINST ON ACT_RU_CORR_KEY;
+drop index ACT_IDX_EXT_TASK_NOTIFY_TIME ON ACT_RU_EXT_TASK_NOTIFY;
 drop index ACT_IDX_EVENT_SUBSCR_EVT_NAME ON ACT_RU_EVENT_SUBSCR;
 drop index ACT_IDX_PROCDEF_DEPLOYMENT_ID ON ACT_RE_PROCDEF;
 
@@ -186,6 +191,10 @@ drop table if exists ACT_RE_CAMFORMDEF;
 drop table if exists ACT_RU_EXECUTION;
 drop table if exists ACT_RU_JOB;
 drop table if exists ACT_RU_JOBDEF;
+drop table if exists ACT_RU_JOB_ACQ_LEASE;
+drop table if exists ACT_RU_HI_OUTBOX;
+drop table if exists ACT_RU_CORR_KEY;
+drop table if exists ACT_RU_EXT_TASK_NOTIFY;
 drop table if exists ACT_RU_EVENT_SUBSCR;
 drop table if exists ACT_RU_INCIDENT;
 drop table if exists ACT_RU_AUTHORIZATION;
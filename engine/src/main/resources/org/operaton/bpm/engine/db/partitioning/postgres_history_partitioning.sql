@@ -0,0 +1,100 @@
+--
+-- Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+-- under one or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information regarding copyright
+-- ownership. Camunda licenses this file to you under the Apache License,
+-- Version 2.0; you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- Range partitions ACT_HI_ACTINST and ACT_HI_DETAIL on REMOVAL_TIME_ (PostgreSQL 11 or later),
+-- to be used with the process engine configuration property historyPartitioning.
+--
+-- The history cleanup creates the partitions of the configured interval ahead, up to the largest
+-- history time to live, and drops expired partitions instead of deleting their rows. Rows without
+-- a removal time and rows whose removal time is not covered by a partition are stored in the default
+-- partition, whose expired rows are still deleted row-wise.
+--
+-- The default partition is split by whether the removal time is null. Attaching a partition scans
+-- the default partition for rows in its range; the check constraint of <table>_DEFAULT_NULL rules
+-- them out without a scan, so only <table>_DEFAULT_OTHER is scanned, which is empty as long as the
+-- partitions are created ahead.
+--
+-- A partitioned table cannot have a primary key on ID_ alone, since the partition key must
+-- be part of it; ID_ is indexed instead. Run this script while the process engines are stopped.
+
+-- ACT_HI_ACTINST
+
+alter table ACT_HI_ACTINST rename to ACT_HI_ACTINST_UNPARTITIONED;
+
+create table ACT_HI_ACTINST (like ACT_HI_ACTINST_UNPARTITIONED including defaults)
+  partition by range (REMOVAL_TIME_);
+
+create table ACT_HI_ACTINST_DEFAULT partition of ACT_HI_ACTINST default
+  partition by list ((REMOVAL_TIME_ is null));
+
+create table ACT_HI_ACTINST_DEFAULT_NULL partition of ACT_HI_ACTINST_DEFAULT for values in (true);
+
+alter table ACT_HI_ACTINST_DEFAULT_NULL add constraint ACT_CHK_HI_ACTINST_DEF_NULL check (REMOVAL_TIME_ is null);
+
+create table ACT_HI_ACTINST_DEFAULT_OTHER partition of ACT_HI_ACTINST_DEFAULT for values in (false);
+
+insert into ACT_HI_ACTINST select * from ACT_HI_ACTINST_UNPARTITIONED;
+
+drop table ACT_HI_ACTINST_UNPARTITIONED;
+
+create index ACT_IDX_HI_ACT_INST_ID on ACT_HI_ACTINST(ID_);
+create index ACT_IDX_HI_ACTINST_ROOT_PI on ACT_HI_ACTINST(ROOT_PROC_INST_ID_);
+create index ACT_IDX_HI_ACT_INST_START_END on ACT_HI_ACTINST(START_TIME_, END_TIME_);
+create index ACT_IDX_HI_ACT_INST_END on ACT_HI_ACTINST(END_TIME_);
+create index ACT_IDX_HI_ACT_INST_PROCINST on ACT_HI_ACTINST(PROC_INST_ID_, ACT_ID_);
+create index ACT_IDX_HI_ACT_INST_COMP on ACT_HI_ACTINST(EXECUTION_ID_, ACT_ID_, END_TIME_, ID_);
+create index ACT_IDX_HI_ACT_INST_STATS on ACT_HI_ACTINST(PROC_DEF_ID_, PROC_INST_ID_, ACT_ID_, END_TIME_, ACT_INST_STATE_);
+create index ACT_IDX_HI_ACT_INST_TENANT_ID on ACT_HI_ACTINST(TENANT_ID_);
+create index ACT_IDX_HI_ACT_INST_PROC_DEF_KEY on ACT_HI_ACTINST(PROC_DEF_KEY_);
+create index ACT_IDX_HI_AI_PDEFID_END_TIME on ACT_HI_ACTINST(PROC_DEF_ID_, END_TIME_);
+create index ACT_IDX_HI_ACT_INST_RM_TIME on ACT_HI_ACTINST(REMOVAL_TIME_);
+
+-- ACT_HI_DETAIL
+
+alter table ACT_HI_DETAIL rename to ACT_HI_DETAIL_UNPARTITIONED;
+
+create table ACT_HI_DETAIL (like ACT_HI_DETAIL_UNPARTITIONED including defaults)
+  partition by range (REMOVAL_TIME_);
+
+create table ACT_HI_DETAIL_DEFAULT partition of ACT_HI_DETAIL default
+  partition by list ((REMOVAL_TIME_ is null));
+
+create table ACT_HI_DETAIL_DEFAULT_NULL partition of ACT_HI_DETAIL_DEFAULT for values in (true);
+
+alter table ACT_HI_DETAIL_DEFAULT_NULL add constraint ACT_CHK_HI_DETAIL_DEF_NULL check (REMOVAL_TIME_ is null);
+
+create table ACT_HI_DETAIL_DEFAULT_OTHER partition of ACT_HI_DETAIL_DEFAULT for values in (false);
+
+insert into ACT_HI_DETAIL select * from ACT_HI_DETAIL_UNPARTITIONED;
+
+drop table ACT_HI_DETAIL_UNPARTITIONED;
+
+create index ACT_IDX_HI_DETAIL_ID on ACT_HI_DETAIL(ID_);
+create index ACT_IDX_HI_DETAIL_ROOT_PI on ACT_HI_DETAIL(ROOT_PROC_INST_ID_);
+create index ACT_IDX_HI_DETAIL_PROC_INST on ACT_HI_DETAIL(PROC_INST_ID_);
+create index ACT_IDX_HI_DETAIL_ACT_INST on ACT_HI_DETAIL(ACT_INST_ID_);
+create index ACT_IDX_HI_DETAIL_CASE_INST on ACT_HI_DETAIL(CASE_INST_ID_);
+create index ACT_IDX_HI_DETAIL_CASE_EXEC on ACT_HI_DETAIL(CASE_EXECUTION_ID_);
+create index ACT_IDX_HI_DETAIL_TIME on ACT_HI_DETAIL(TIME_);
+create index ACT_IDX_HI_DETAIL_NAME on ACT_HI_DETAIL(NAME_);
+create index ACT_IDX_HI_DETAIL_TASK_ID on ACT_HI_DETAIL(TASK_ID_);
+create index ACT_IDX_HI_DETAIL_TENANT_ID on ACT_HI_DETAIL(TENANT_ID_);
+create index ACT_IDX_HI_DETAIL_PROC_DEF_KEY on ACT_HI_DETAIL(PROC_DEF_KEY_);
+create index ACT_IDX_HI_DETAIL_BYTEAR on ACT_HI_DETAIL(BYTEARRAY_ID_);
+create index ACT_IDX_HI_DETAIL_RM_TIME on ACT_HI_DETAIL(REMOVAL_TIME_);
+create index ACT_IDX_HI_DETAIL_TASK_BYTEAR on ACT_HI_DETAIL(BYTEARRAY_ID_, TASK_ID_);
+create index ACT_IDX_HI_DETAIL_VAR_INST_ID on ACT_HI_DETAIL(VAR_INST_ID_);
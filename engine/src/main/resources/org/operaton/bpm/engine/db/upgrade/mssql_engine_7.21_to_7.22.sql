@@ -21,3 +21,45 @@ values ('1100', CURRENT_TIMESTAMP, '7.22.0');
 alter table ACT_RU_TASK add TASK_STATE_ nvarchar(64);
 
 alter table ACT_HI_TASKINST add TASK_STATE_ nvarchar(64);
+
+alter table ACT_RU_JOB add PARTITION_KEY_ int;
+
+create index ACT_IDX_JOB_PARTITION_KEY on ACT_RU_JOB(PARTITION_KEY_);
+
+create table ACT_RU_JOB_ACQ_LEASE (
+    ID_ nvarchar(255) not null,
+    REV_ int,
+    LEASE_EXP_TIME_ datetime2,
+    primary key (ID_)
+);
+
+create table ACT_RU_HI_OUTBOX (
+    ID_ nvarchar(255) not null,
+    REV_ int,
+    SEQUENCE_ numeric(19,0),
+    CREATE_TIME_ datetime2,
+    BYTES_ image,
+    primary key (ID_)
+);
+
+create index ACT_IDX_HI_OUTBOX_SEQ on ACT_RU_HI_OUTBOX(SEQUENCE_);
+
+create table ACT_RU_CORR_KEY (
+    ID_ nvarchar(64) not null,
+    NAME_ nvarchar(255) not null,
+    VALUE_HASH_ nvarchar(64),
+    PROC_INST_ID_ nvarchar(64),
+    primary key (ID_)
+);
+
+create index ACT_IDX_CORR_KEY_NAME_HASH on ACT_RU_CORR_KEY(NAME_, VALUE_HASH_);
+create index ACT_IDX_CORR_KEY_PROCINST on ACT_RU_CORR_KEY(PROC_INST_ID_, NAME_);
+
+create table ACT_RU_EXT_TASK_NOTIFY (
+    ID_ nvarchar(64) not null,
+    TOPIC_NAME_ nvarchar(255),
+    CREATE_TIME_ datetime2,
+    primary key (ID_)
+);
+
+create index ACT_IDX_EXT_TASK_NOTIFY_TIME on ACT_RU_EXT_TASK_NOTIFY(CREATE_TIME_);
@@ -0,0 +1,240 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.api.authorization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.operaton.bpm.engine.authorization.Authorization.AUTH_TYPE_GLOBAL;
+import static org.operaton.bpm.engine.authorization.Authorization.AUTH_TYPE_GRANT;
+import static org.operaton.bpm.engine.authorization.Authorization.AUTH_TYPE_REVOKE;
+import static org.operaton.bpm.engine.authorization.Permissions.READ;
+import static org.operaton.bpm.engine.authorization.Resources.TASK;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import org.operaton.bpm.engine.AuthorizationService;
+import org.operaton.bpm.engine.IdentityService;
+import org.operaton.bpm.engine.TaskService;
+import org.operaton.bpm.engine.authorization.Authorization;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.db.PermissionCache;
+import org.operaton.bpm.engine.impl.persistence.entity.AuthorizationEntity;
+import org.operaton.bpm.engine.impl.util.ClockUtil;
+import org.operaton.bpm.engine.task.Task;
+import org.operaton.bpm.engine.test.ProcessEngineRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class PermissionCacheTest {
+
+  protected static final long TIME_TO_LIVE = 60_000L;
+
+  @Rule
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected AuthorizationService authorizationService;
+  protected IdentityService identityService;
+  protected TaskService taskService;
+
+  protected PermissionCache permissionCache;
+
+  protected String userId = "demo";
+  protected String groupId = "accounting";
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    authorizationService = engineRule.getAuthorizationService();
+    identityService = engineRule.getIdentityService();
+    taskService = engineRule.getTaskService();
+
+    permissionCache = new PermissionCache(100, TIME_TO_LIVE);
+    processEngineConfiguration.setPermissionCache(permissionCache);
+
+    ClockUtil.setCurrentTime(new Date(1_700_000_000_000L));
+
+    createTask("task1");
+    createTask("task2");
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.setAuthorizationEnabled(false);
+    processEngineConfiguration.setPermissionCache(null);
+    identityService.clearAuthentication();
+    ClockUtil.reset();
+
+    for (Authorization authorization : authorizationService.createAuthorizationQuery().list()) {
+      authorizationService.deleteAuthorization(authorization.getId());
+    }
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.deleteTask(task.getId(), true);
+    }
+  }
+
+  @Test
+  public void shouldSelectTasksOfCachedGrants() {
+    // given
+    grantTaskRead("task1", userId, null);
+    grantTaskRead("task2", null, groupId);
+
+    // when
+    authenticate();
+    long count = taskService.createTaskQuery().count();
+
+    // then
+    assertThat(count).isEqualTo(2);
+    assertThat(permissionCache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldInvalidateOnNewAuthorization() {
+    // given
+    grantTaskRead("task1", userId, null);
+
+    authenticate();
+    assertThat(taskService.createTaskQuery().list()).extracting(Task::getId).containsExactly("task1");
+
+    // when
+    processEngineConfiguration.setAuthorizationEnabled(false);
+    grantTaskRead("task2", userId, null);
+
+    // then
+    processEngineConfiguration.setAuthorizationEnabled(true);
+    assertThat(taskService.createTaskQuery().list()).extracting(Task::getId).containsExactlyInAnyOrder("task1", "task2");
+  }
+
+  @Test
+  public void shouldNotSelectTasksOfDeletedCachedGrant() {
+    // given
+    Authorization authorization = grantTaskRead("task1", userId, null);
+
+    authenticate();
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(1);
+
+    // when
+    processEngineConfiguration.setAuthorizationEnabled(false);
+    authorizationService.deleteAuthorization(authorization.getId());
+
+    // then
+    processEngineConfiguration.setAuthorizationEnabled(true);
+    assertThat(taskService.createTaskQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldSeeAuthorizationsOfOtherEnginesAfterTimeToLive() {
+    // given
+    grantTaskRead("task1", userId, null);
+
+    authenticate();
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(1);
+
+    // when an authorization is created without invalidating the cache, like another engine of a cluster does
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      AuthorizationEntity authorization = new AuthorizationEntity(AUTH_TYPE_GRANT);
+      authorization.setUserId(userId);
+      authorization.setResource(TASK);
+      authorization.setResourceId("task2");
+      authorization.addPermission(READ);
+      commandContext.getDbEntityManager().insert(authorization);
+      return null;
+    });
+
+    // then
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(1);
+
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + TIME_TO_LIVE));
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldApplyRevokeOfOtherEngineForPreviouslyUnauthorizedGroup() {
+    // given
+    Authorization globalGrant = authorizationService.createNewAuthorization(AUTH_TYPE_GLOBAL);
+    globalGrant.setResource(TASK);
+    globalGrant.setResourceId("task2");
+    globalGrant.addPermission(READ);
+    authorizationService.saveAuthorization(globalGrant);
+    grantTaskRead("task1", null, groupId);
+
+    identityService.setAuthentication(userId, Arrays.asList(groupId, "sales"));
+    processEngineConfiguration.setAuthorizationEnabled(true);
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(2);
+
+    // when a revoke is created for a group without authorizations by another engine of a cluster
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      AuthorizationEntity authorization = new AuthorizationEntity(AUTH_TYPE_REVOKE);
+      authorization.setGroupId("sales");
+      authorization.setResource(TASK);
+      authorization.setResourceId("task2");
+      authorization.removePermission(READ);
+      commandContext.getDbEntityManager().insert(authorization);
+      return null;
+    });
+
+    // then the revoke applies before the cache entries expire
+    assertThat(taskService.createTaskQuery().list()).extracting(Task::getId).containsExactly("task1");
+  }
+
+  @Test
+  public void shouldNotCacheLookupWithoutGrants() {
+    // given
+    authenticate();
+    assertThat(taskService.createTaskQuery().count()).isZero();
+
+    // when an authorization is created without invalidating the cache, like another engine of a cluster does
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      AuthorizationEntity authorization = new AuthorizationEntity(AUTH_TYPE_GRANT);
+      authorization.setUserId(userId);
+      authorization.setResource(TASK);
+      authorization.setResourceId("task1");
+      authorization.addPermission(READ);
+      commandContext.getDbEntityManager().insert(authorization);
+      return null;
+    });
+
+    // then
+    assertThat(permissionCache.size()).isZero();
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(1);
+  }
+
+  protected void authenticate() {
+    identityService.setAuthentication(userId, Collections.singletonList(groupId));
+    processEngineConfiguration.setAuthorizationEnabled(true);
+  }
+
+  protected void createTask(String taskId) {
+    Task task = taskService.newTask(taskId);
+    taskService.saveTask(task);
+  }
+
+  protected Authorization grantTaskRead(String resourceId, String userId, String groupId) {
+    Authorization authorization = authorizationService.createNewAuthorization(AUTH_TYPE_GRANT);
+    authorization.setUserId(userId);
+    authorization.setGroupId(groupId);
+    authorization.setResource(TASK);
+    authorization.setResourceId(resourceId);
+    authorization.addPermission(READ);
+    return authorizationService.saveAuthorization(authorization);
+  }
+
+}
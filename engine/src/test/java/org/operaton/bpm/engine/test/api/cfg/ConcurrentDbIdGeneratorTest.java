@@ -0,0 +1,126 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.operaton.bpm.engine.ManagementService;
+import org.operaton.bpm.engine.impl.cfg.IdGenerator;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.db.ConcurrentDbIdGenerator;
+import org.operaton.bpm.engine.impl.db.DbIdGenerator;
+import org.operaton.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ConcurrentDbIdGeneratorTest {
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> {
+    configuration.setIdGeneratorConcurrent(true);
+    configuration.setIdBlockSize(10);
+  });
+  @Rule
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected ManagementService managementService;
+  protected ConcurrentDbIdGenerator idGenerator;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    managementService = engineRule.getManagementService();
+    idGenerator = (ConcurrentDbIdGenerator) processEngineConfiguration.getIdGenerator();
+  }
+
+  @After
+  public void tearDown() {
+    idGenerator.reset();
+  }
+
+  @Test
+  public void shouldGenerateUniqueIdsConcurrently() throws InterruptedException {
+    // given
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+    List<Thread> threads = new ArrayList<>();
+
+    // when
+    for (int i = 0; i < 20; i++) {
+      Thread thread = new Thread(() -> {
+        for (int j = 0; j < 500; j++) {
+          ids.add(idGenerator.getNextId());
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // then
+    assertThat(ids).hasSize(20 * 500);
+  }
+
+  @Test
+  public void shouldReserveIdsWithNextDbIdProperty() {
+    // when
+    long id = Long.parseLong(idGenerator.getNextId());
+
+    // then the id has been reserved in the database
+    long nextDbId = Long.parseLong(managementService.getProperties().get("next.dbid"));
+    assertThat(nextDbId).isGreaterThan(id);
+
+    // and a non-concurrent generator on the same database continues after the reserved ids
+    DbIdGenerator dbIdGenerator = new DbIdGenerator();
+    dbIdGenerator.setIdBlockSize(10);
+    dbIdGenerator.setCommandExecutor(processEngineConfiguration.getCommandExecutorTxRequiresNew());
+    assertThat(Long.parseLong(dbIdGenerator.getNextId())).isGreaterThanOrEqualTo(nextDbId);
+  }
+
+  @Test
+  public void shouldIncreaseBlockSizeOnFastConsumption() {
+    // given
+    long nextDbIdBefore = Long.parseLong(managementService.getProperties().get("next.dbid"));
+
+    // when consuming many blocks within the target block duration
+    idGenerator.setTargetBlockDurationInMillis(60000);
+    for (int i = 0; i < 1000; i++) {
+      idGenerator.getNextId();
+    }
+
+    // then blocks larger than the configured block size have been reserved
+    long nextDbIdAfter = Long.parseLong(managementService.getProperties().get("next.dbid"));
+    assertThat(nextDbIdAfter - nextDbIdBefore).isGreaterThan(1000 + 10 * 10);
+  }
+
+  @Test
+  public void shouldBeUsedAsIdGenerator() {
+    IdGenerator generator = processEngineConfiguration.getIdGenerator();
+    assertThat(generator).isInstanceOf(ConcurrentDbIdGenerator.class);
+  }
+}
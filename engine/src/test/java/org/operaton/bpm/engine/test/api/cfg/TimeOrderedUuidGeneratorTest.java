@@ -0,0 +1,112 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.operaton.bpm.engine.RuntimeService;
+import org.operaton.bpm.engine.TaskService;
+import org.operaton.bpm.engine.impl.persistence.TimeOrderedUuidGenerator;
+import org.operaton.bpm.engine.runtime.ProcessInstance;
+import org.operaton.bpm.engine.task.Task;
+import org.operaton.bpm.engine.test.api.runtime.migration.models.ProcessModels;
+import org.operaton.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineTestRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class TimeOrderedUuidGeneratorTest {
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setIdGenerator(new TimeOrderedUuidGenerator(true)));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  @Test
+  public void shouldGenerateVersion7Uuids() {
+    // given
+    TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator();
+    long before = System.currentTimeMillis();
+
+    // when
+    UUID uuid = UUID.fromString(generator.getNextId());
+
+    // then
+    assertThat(uuid.version()).isEqualTo(7);
+    assertThat(uuid.variant()).isEqualTo(2);
+    assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, System.currentTimeMillis());
+  }
+
+  @Test
+  public void shouldGenerateOrderedIds() {
+    for (boolean compact : new boolean[] { false, true }) {
+      // given
+      TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(compact);
+      List<String> ids = new ArrayList<>();
+
+      // when generating more ids than the sequence of one millisecond can hold
+      for (int i = 0; i < 10000; i++) {
+        ids.add(generator.getNextId());
+      }
+
+      // then
+      assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+  }
+
+  @Test
+  public void shouldGenerateCompactIds() {
+    // given
+    TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(true);
+
+    // when
+    String id = generator.getNextId();
+
+    // then
+    assertThat(id).hasSize(26).matches("[0-9A-HJKMNP-TV-Z]+");
+  }
+
+  @Test
+  public void shouldUseIdsForEntities() {
+    // given
+    testRule.deploy(ProcessModels.ONE_TASK_PROCESS);
+    RuntimeService runtimeService = engineRule.getRuntimeService();
+    TaskService taskService = engineRule.getTaskService();
+
+    // when
+    ProcessInstance first = runtimeService.startProcessInstanceByKey(ProcessModels.PROCESS_KEY);
+    ProcessInstance second = runtimeService.startProcessInstanceByKey(ProcessModels.PROCESS_KEY);
+
+    // then
+    assertThat(first.getId()).hasSize(26);
+    assertThat(first.getId().compareTo(second.getId())).isNegative();
+    Task task = taskService.createTaskQuery().processInstanceId(second.getId()).singleResult();
+    taskService.complete(task.getId());
+    assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(second.getId()).count()).isZero();
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.api.externaltask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+
+import org.operaton.bpm.engine.BadUserRequestException;
+import org.operaton.bpm.engine.ProcessEngineException;
+import org.operaton.bpm.engine.SuspendedEntityInteractionException;
+import org.operaton.bpm.engine.exception.NotFoundException;
+import org.operaton.bpm.engine.exception.NullValueException;
+import org.operaton.bpm.engine.externaltask.ExternalTaskCompletionResult;
+import org.operaton.bpm.engine.externaltask.LockedExternalTask;
+import org.operaton.bpm.engine.runtime.ProcessInstance;
+import org.operaton.bpm.engine.test.Deployment;
+import org.operaton.bpm.engine.test.api.runtime.FailingDelegate;
+import org.operaton.bpm.engine.test.util.PluggableProcessEngineTest;
+import org.operaton.bpm.engine.variable.Variables;
+import org.operaton.bpm.model.bpmn.Bpmn;
+import org.operaton.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Test;
+
+public class CompleteExternalTaskBatchTest extends PluggableProcessEngineTest {
+
+  protected static final String WORKER_ID = "aWorkerId";
+  protected static final long LOCK_TIME = 10000L;
+  protected static final String TOPIC_NAME = "externalTaskTopic";
+
+  protected static final BpmnModelInstance FAILING_CONTINUATION_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("externalTask").operatonExternalTask(TOPIC_NAME)
+      .serviceTask("failingTask").operatonClass(FailingDelegate.class.getName())
+      .endEvent()
+      .done();
+
+  @Deployment(resources = "org/operaton/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  @Test
+  public void shouldCompleteAllTasks() {
+    // given
+    startProcessInstances("oneExternalTaskProcess", 3);
+    List<LockedExternalTask> externalTasks = fetchAndLock(3);
+
+    // when
+    List<ExternalTaskCompletionResult> results = externalTaskService.completeBatch(WORKER_ID)
+        .complete(externalTasks.get(0).getId())
+        .complete(externalTasks.get(1).getId())
+        .complete(externalTasks.get(2).getId())
+        .execute();
+
+    // then
+    assertThat(results).extracting("externalTaskId", "successful").containsExactly(
+        tuple(externalTasks.get(0).getId(), true),
+        tuple(externalTasks.get(1).getId(), true),
+        tuple(externalTasks.get(2).getId(), true));
+    assertThat(results).extracting("exception").containsOnlyNulls();
+
+    assertThat(externalTaskService.createExternalTaskQuery().count()).isZero();
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+  }
+
+  @Deployment(resources = "org/operaton/bpm/engine/test/api/externaltask/twoExternalTaskProcess.bpmn20.xml")
+  @Test
+  public void shouldCompleteTasksWithVariables() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("twoExternalTaskProcess");
+    LockedExternalTask externalTask = fetchAndLock(1).get(0);
+
+    // when
+    List<ExternalTaskCompletionResult> results = externalTaskService.completeBatch(WORKER_ID)
+        .complete(externalTask.getId(),
+            Variables.createVariables().putValue("var", 42),
+            Variables.createVariables().putValue("localVar", "foo"))
+        .execute();
+
+    // then
+    assertThat(results).hasSize(1);
+    assertThat(results.get(0).isSuccessful()).isTrue();
+
+    assertThat(runtimeService.getVariable(processInstance.getId(), "var")).isEqualTo(42);
+    assertThat(runtimeService.createVariableInstanceQuery().variableName("localVar").count()).isZero();
+    assertThat(historyService.createHistoricVariableInstanceQuery().variableName("localVar").count())
+        .isEqualTo(processEngineConfiguration.getHistoryLevel().getId() >= 2 ? 1 : 0);
+  }
+
+  @Deployment(resources = "org/operaton/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  @Test
+  public void shouldReportInvalidTasksAndCompleteTheOthers() {
+    // given
+    startProcessInstances("oneExternalTaskProcess", 3);
+    List<LockedExternalTask> externalTasks = fetchAndLock(2);
+    String lockedByOtherWorker = externalTaskService.fetchAndLock(1, "otherWorker")
+        .topic(TOPIC_NAME, LOCK_TIME)
+        .execute()
+        .get(0)
+        .getId();
+
+    // when
+    List<ExternalTaskCompletionResult> results = externalTaskService.completeBatch(WORKER_ID)
+        .complete(externalTasks.get(0).getId())
+        .complete("nonExisting")
+        .complete(lockedByOtherWorker)
+        .complete(externalTasks.get(0).getId())
+        .complete(externalTasks.get(1).getId())
+        .execute();
+
+    // then
+    assertThat(results).hasSize(5);
+    assertThat(results.get(0).isSuccessful()).isTrue();
+    assertThat(results.get(1).getExternalTaskId()).isEqualTo("nonExisting");
+    assertThat(results.get(1).getException())
+        .isInstanceOf(NotFoundException.class)
+        .hasMessageContaining("Cannot find external task with id nonExisting");
+    assertThat(results.get(2).getException())
+        .isInstanceOf(BadUserRequestException.class)
+        .hasMessageContaining("It is locked by worker 'otherWorker'");
+    assertThat(results.get(3).getException())
+        .isInstanceOf(BadUserRequestException.class)
+        .hasMessageContaining("is contained more than once in the batch");
+    assertThat(results.get(4).isSuccessful()).isTrue();
+
+    assertThat(externalTaskService.createExternalTaskQuery().list())
+        .extracting("id")
+        .containsExactly(lockedByOtherWorker);
+  }
+
+  @Deployment(resources = "org/operaton/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  @Test
+  public void shouldReportSuspendedTask() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    List<LockedExternalTask> externalTasks = fetchAndLock(2);
+    runtimeService.suspendProcessInstanceById(processInstance.getId());
+
+    // when
+    List<ExternalTaskCompletionResult> results = externalTaskService.completeBatch(WORKER_ID)
+        .complete(externalTasks.get(0).getId())
+        .complete(externalTasks.get(1).getId())
+        .execute();
+
+    // then
+    for (int i = 0; i < 2; i++) {
+      ExternalTaskCompletionResult result = results.get(i);
+      if (externalTasks.get(i).getProcessInstanceId().equals(processInstance.getId())) {
+        assertThat(result.getException()).isInstanceOf(SuspendedEntityInteractionException.class);
+      } else {
+        assertThat(result.isSuccessful()).isTrue();
+      }
+    }
+    assertThat(externalTaskService.createExternalTaskQuery().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldIsolateTaskFailingToContinueProcessInstance() {
+    // given
+    testRule.deploy(FAILING_CONTINUATION_PROCESS);
+    ProcessInstance failing = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("fail", true));
+    runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("fail", false));
+    runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("fail", false));
+    List<LockedExternalTask> externalTasks = fetchAndLock(3);
+
+    // when
+    List<ExternalTaskCompletionResult> results = externalTaskService.completeBatch(WORKER_ID)
+        .complete(externalTasks.get(0).getId())
+        .complete(externalTasks.get(1).getId())
+        .complete(externalTasks.get(2).getId())
+        .execute();
+
+    // then
+    assertThat(results).hasSize(3);
+    for (int i = 0; i < 3; i++) {
+      ExternalTaskCompletionResult result = results.get(i);
+      assertThat(result.getExternalTaskId()).isEqualTo(externalTasks.get(i).getId());
+      if (externalTasks.get(i).getProcessInstanceId().equals(failing.getId())) {
+        assertThat(result.getException())
+            .isInstanceOf(ProcessEngineException.class)
+            .hasMessage(FailingDelegate.EXCEPTION_MESSAGE);
+      } else {
+        assertThat(result.isSuccessful()).isTrue();
+      }
+    }
+
+    assertThat(externalTaskService.createExternalTaskQuery().list())
+        .extracting("processInstanceId")
+        .containsExactly(failing.getId());
+    assertThat(runtimeService.createProcessInstanceQuery().list())
+        .extracting("id")
+        .containsExactly(failing.getId());
+  }
+
+  @Test
+  public void shouldReturnNoResultsForEmptyBatch() {
+    // when
+    List<ExternalTaskCompletionResult> results = externalTaskService.completeBatch(WORKER_ID).execute();
+
+    // then
+    assertThat(results).isEmpty();
+  }
+
+  @Test
+  public void shouldFailWithoutWorkerId() {
+    assertThatThrownBy(() -> externalTaskService.completeBatch(null).complete("anId").execute())
+        .isInstanceOf(NullValueException.class)
+        .hasMessageContaining("workerId is null");
+  }
+
+  @Test
+  public void shouldFailWithoutExternalTaskId() {
+    assertThatThrownBy(() -> externalTaskService.completeBatch(WORKER_ID).complete(null))
+        .isInstanceOf(NullValueException.class)
+        .hasMessageContaining("externalTaskId is null");
+  }
+
+  protected void startProcessInstances(String processDefinitionKey, int count) {
+    for (int i = 0; i < count; i++) {
+      runtimeService.startProcessInstanceByKey(processDefinitionKey);
+    }
+  }
+
+  protected List<LockedExternalTask> fetchAndLock(int maxTasks) {
+    return externalTaskService.fetchAndLock(maxTasks, WORKER_ID)
+        .topic(TOPIC_NAME, LOCK_TIME)
+        .execute();
+  }
+
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.api.externaltask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.operaton.bpm.engine.ExternalTaskService;
+import org.operaton.bpm.engine.ManagementService;
+import org.operaton.bpm.engine.RuntimeService;
+import org.operaton.bpm.engine.externaltask.LockedExternalTask;
+import org.operaton.bpm.engine.impl.ProcessEngineImpl;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.externaltask.DbExternalTaskNotificationChannel;
+import org.operaton.bpm.engine.impl.externaltask.ExternalTaskNotificationListener;
+import org.operaton.bpm.engine.impl.interceptor.CommandExecutor;
+import org.operaton.bpm.engine.test.ProcessEngineRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineTestRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.operaton.bpm.model.bpmn.Bpmn;
+import org.operaton.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+/**
+ * Tests the notification about available external tasks through the database
+ */
+public class ExternalTaskNotificationTest {
+
+  protected static final long ONE_HOUR = 60L * 60 * 1000;
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setExternalTaskNotificationPolling(true)
+        // polls are triggered by the tests
+        .setExternalTaskNotificationPollingIntervalInMillis(ONE_HOUR));
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected static final BpmnModelInstance ONE_TASK_PROCESS = Bpmn.createExecutableProcess("oneTaskProcess")
+      .startEvent()
+      .serviceTask("task")
+        .operatonExternalTask("topicA")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance PARALLEL_TASKS_PROCESS = Bpmn.createExecutableProcess("parallelTasksProcess")
+      .startEvent()
+      .parallelGateway("fork")
+      .serviceTask("task1")
+        .operatonExternalTask("topicA")
+      .endEvent()
+      .moveToNode("fork")
+      .serviceTask("task2")
+        .operatonExternalTask("topicA")
+      .endEvent()
+      .moveToNode("fork")
+      .serviceTask("task3")
+        .operatonExternalTask("topicB")
+      .endEvent()
+      .done();
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected ExternalTaskService externalTaskService;
+  protected ManagementService managementService;
+  protected CommandExecutor commandExecutor;
+
+  protected DbExternalTaskNotificationChannel channel;
+  protected DbExternalTaskNotificationChannel otherNodeChannel;
+
+  protected List<Set<String>> notifications = new CopyOnWriteArrayList<>();
+  protected ExternalTaskNotificationListener listener = notifications::add;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    externalTaskService = engineRule.getExternalTaskService();
+    managementService = engineRule.getManagementService();
+    commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+
+    channel = (DbExternalTaskNotificationChannel) processEngineConfiguration.getExternalTaskNotificationChannel();
+    otherNodeChannel = new DbExternalTaskNotificationChannel(commandExecutor, ONE_HOUR,
+        processEngineConfiguration.getExternalTaskNotificationPollingLookbackInMillis());
+    // read the notifications that are already there
+    channel.poll();
+    otherNodeChannel.poll();
+
+    ProcessEngineImpl.EXT_TASK_NOTIFICATION_LISTENERS.addListener(listener);
+  }
+
+  @After
+  public void tearDown() {
+    ProcessEngineImpl.EXT_TASK_NOTIFICATION_LISTENERS.removeListener(listener);
+
+    Date future = new Date(System.currentTimeMillis() + ONE_HOUR);
+    commandExecutor.execute(commandContext -> {
+      commandContext.getExternalTaskNotificationManager().deleteExternalTaskNotificationsCreatedBefore(future);
+      return null;
+    });
+  }
+
+  @Test
+  public void shouldNotifyListenersOfThisNodeOnCommit() {
+    // given
+    testRule.deploy(ONE_TASK_PROCESS);
+
+    // when
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    // then
+    assertThat(notifications).containsExactly(Set.of("topicA"));
+  }
+
+  @Test
+  public void shouldPublishTopicsOncePerTransaction() {
+    // given
+    testRule.deploy(PARALLEL_TASKS_PROCESS);
+
+    // when
+    runtimeService.startProcessInstanceByKey("parallelTasksProcess");
+
+    // then
+    assertThat(notifications).containsExactly(Set.of("topicA", "topicB"));
+    assertThat(managementService.getTableCount().get("ACT_RU_EXT_TASK_NOTIFY")).isEqualTo(2L);
+  }
+
+  @Test
+  public void shouldNotifyOtherNodeOnPoll() {
+    // given
+    testRule.deploy(PARALLEL_TASKS_PROCESS);
+    runtimeService.startProcessInstanceByKey("parallelTasksProcess");
+    notifications.clear();
+
+    // when
+    Set<String> topicNames = otherNodeChannel.poll();
+
+    // then
+    assertThat(topicNames).containsOnly("topicA", "topicB");
+    assertThat(notifications).containsExactly(Set.of("topicA", "topicB"));
+  }
+
+  @Test
+  public void shouldNotifyOtherNodeOnlyOnce() {
+    // given
+    testRule.deploy(ONE_TASK_PROCESS);
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    otherNodeChannel.poll();
+    notifications.clear();
+
+    // when
+    Set<String> topicNames = otherNodeChannel.poll();
+
+    // then
+    assertThat(topicNames).isEmpty();
+    assertThat(notifications).isEmpty();
+  }
+
+  @Test
+  public void shouldNotNotifyPublishingNodeAgainOnPoll() {
+    // given
+    testRule.deploy(ONE_TASK_PROCESS);
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    notifications.clear();
+
+    // when
+    Set<String> topicNames = channel.poll();
+
+    // then
+    assertThat(topicNames).isEmpty();
+    assertThat(notifications).isEmpty();
+  }
+
+  @Test
+  public void shouldNotifyOnUnlock() {
+    // given
+    testRule.deploy(ONE_TASK_PROCESS);
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    LockedExternalTask task = externalTaskService.fetchAndLock(1, "worker")
+        .topic("topicA", ONE_HOUR)
+        .execute()
+        .get(0);
+    otherNodeChannel.poll();
+    notifications.clear();
+
+    // when
+    externalTaskService.unlock(task.getId());
+
+    // then
+    assertThat(notifications).containsExactly(Set.of("topicA"));
+    assertThat(otherNodeChannel.poll()).containsOnly("topicA");
+  }
+
+  @Test
+  public void shouldRemoveNotificationsOutsideOfLookback() {
+    // given
+    testRule.deploy(ONE_TASK_PROCESS);
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    long lookback = processEngineConfiguration.getExternalTaskNotificationPollingLookbackInMillis();
+    DbExternalTaskNotificationChannel laterChannel = new DbExternalTaskNotificationChannel(commandExecutor, ONE_HOUR, lookback) {
+      @Override
+      protected Date currentTime() {
+        return new Date(System.currentTimeMillis() + 3 * lookback);
+      }
+    };
+
+    // when
+    laterChannel.poll();
+
+    // then
+    assertThat(managementService.getTableCount().get("ACT_RU_EXT_TASK_NOTIFY")).isZero();
+  }
+
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.api.history.removaltime.cleanup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.operaton.bpm.engine.HistoryService;
+import org.operaton.bpm.engine.ManagementService;
+import org.operaton.bpm.engine.ProcessEngineConfiguration;
+import org.operaton.bpm.engine.RuntimeService;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.interceptor.CommandExecutor;
+import org.operaton.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.operaton.bpm.engine.impl.jobexecutor.historycleanup.HistoryPartition;
+import org.operaton.bpm.engine.impl.jobexecutor.historycleanup.HistoryPartitionInterval;
+import org.operaton.bpm.engine.impl.persistence.entity.HistoryPartitionManager;
+import org.operaton.bpm.engine.impl.util.ClockUtil;
+import org.operaton.bpm.engine.runtime.Job;
+import org.operaton.bpm.engine.test.ProcessEngineRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineTestRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.operaton.bpm.engine.variable.Variables;
+import org.operaton.bpm.model.bpmn.Bpmn;
+import org.operaton.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class HistoryCleanupPartitionsTest {
+
+  protected static final Date START_DATE = new Date(1363608000000L);
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setHistoryPartitioning(true)
+        .setHistoryPartitionsCreatedAhead(2)
+        .setHistory(ProcessEngineConfiguration.HISTORY_FULL));
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+  protected ManagementService managementService;
+  protected ProcessEngineConfigurationImpl engineConfiguration;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+    managementService = engineRule.getManagementService();
+    engineConfiguration = engineRule.getProcessEngineConfiguration();
+
+    ClockUtil.setCurrentTime(START_DATE);
+  }
+
+  @After
+  public void tearDown() {
+    CommandExecutor commandExecutor = engineConfiguration.getCommandExecutorTxRequired();
+    commandExecutor.execute(commandContext -> {
+      commandContext.getHistoryPartitionManager()
+        .dropExpiredHistoryPartitions(DateUtils.addYears(ClockUtil.getCurrentTime(), 1), HistoryPartitionInterval.DAY);
+
+      for (Job job : historyService.findHistoryCleanupJobs()) {
+        commandContext.getJobManager().deleteJob(commandContext.getJobManager().findJobById(job.getId()));
+      }
+      commandContext.getHistoricJobLogManager().deleteHistoricJobLogsByHandlerType(HistoryCleanupJobHandler.TYPE);
+      commandContext.getMeterLogManager().deleteAll();
+      return null;
+    });
+
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void shouldCreatePartitionsAhead() {
+    // when
+    runHistoryCleanup();
+
+    // then
+    for (String tableName : HistoryPartitionManager.PARTITIONED_TABLES) {
+      assertThat(findPartitionStartTimes(tableName)).containsExactlyInAnyOrder(
+          dayOfStartDate(0), dayOfStartDate(1), dayOfStartDate(2));
+    }
+  }
+
+  @Test
+  public void shouldCreatePartitionsUpToLargestHistoryTimeToLive() {
+    // given
+    testRule.deploy(createProcess("process", 5));
+
+    // when
+    runHistoryCleanup();
+
+    // then the partitions cover the removal time of rows written now, and two intervals beyond
+    for (String tableName : HistoryPartitionManager.PARTITIONED_TABLES) {
+      assertThat(findPartitionStartTimes(tableName)).containsExactlyInAnyOrder(
+          dayOfStartDate(0), dayOfStartDate(1), dayOfStartDate(2), dayOfStartDate(3),
+          dayOfStartDate(4), dayOfStartDate(5), dayOfStartDate(6), dayOfStartDate(7));
+    }
+  }
+
+  @Test
+  public void shouldRemoveRowsOfDroppedPartitions() {
+    // given
+    testRule.deploy(createProcess("shortLived", 1), createProcess("longLived", 5));
+    runHistoryCleanup();
+
+    String shortLivedInstanceId = runtimeService.startProcessInstanceByKey("shortLived",
+        Variables.createVariables().putValue("aVariable", "aValue")).getId();
+    String longLivedInstanceId = runtimeService.startProcessInstanceByKey("longLived",
+        Variables.createVariables().putValue("aVariable", "aValue")).getId();
+
+    ClockUtil.setCurrentTime(DateUtils.addDays(START_DATE, 2));
+
+    // when
+    int droppedPartitions = engineConfiguration.getCommandExecutorTxRequired().execute(commandContext ->
+        commandContext.getHistoryPartitionManager()
+          .dropExpiredHistoryPartitions(ClockUtil.getCurrentTime(), HistoryPartitionInterval.DAY));
+
+    // then the rows of the partitions of the first two days are removed
+    assertThat(droppedPartitions).isEqualTo(2 * HistoryPartitionManager.PARTITIONED_TABLES.size());
+
+    assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(shortLivedInstanceId).count()).isZero();
+    assertThat(historyService.createHistoricDetailQuery().processInstanceId(shortLivedInstanceId).count()).isZero();
+
+    // and the rows of the partitions that are not expired are kept
+    assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(longLivedInstanceId).count()).isEqualTo(3);
+    assertThat(historyService.createHistoricDetailQuery().processInstanceId(longLivedInstanceId).count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldDropExpiredPartitions() {
+    // given
+    runHistoryCleanup();
+
+    ClockUtil.setCurrentTime(DateUtils.addDays(START_DATE, 2));
+
+    // when
+    runHistoryCleanup();
+
+    // then
+    for (String tableName : HistoryPartitionManager.PARTITIONED_TABLES) {
+      assertThat(findPartitionStartTimes(tableName)).containsExactlyInAnyOrder(
+          dayOfStartDate(2), dayOfStartDate(3), dayOfStartDate(4));
+    }
+  }
+
+  @Test
+  public void shouldDeleteRowsOfDefaultPartition() {
+    // given
+    testRule.deploy(createProcess("process", 5));
+
+    runtimeService.startProcessInstanceByKey("process");
+
+    ClockUtil.setCurrentTime(DateUtils.addDays(START_DATE, 6));
+
+    // when
+    runHistoryCleanup();
+
+    // then
+    // rows are stored in the base table on H2, which takes the role of the default partition
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isZero();
+  }
+
+  protected BpmnModelInstance createProcess(String key, int historyTimeToLive) {
+    return Bpmn.createExecutableProcess(key)
+        .operatonHistoryTimeToLive(historyTimeToLive)
+        .startEvent()
+        .serviceTask().operatonExpression("${true}")
+        .endEvent()
+        .done();
+  }
+
+  protected void runHistoryCleanup() {
+    historyService.cleanUpHistoryAsync(true);
+
+    for (Job job : historyService.findHistoryCleanupJobs()) {
+      managementService.executeJob(job.getId());
+    }
+  }
+
+  protected List<Date> findPartitionStartTimes(String tableName) {
+    return engineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      List<Date> startTimes = new ArrayList<>();
+      for (HistoryPartition partition : commandContext.getHistoryPartitionManager()
+          .findHistoryPartitions(tableName, HistoryPartitionInterval.DAY)) {
+        startTimes.add(partition.getStartTime());
+      }
+      return startTimes;
+    });
+  }
+
+  protected static Date dayOfStartDate(int days) {
+    return DateUtils.addDays(HistoryPartitionInterval.DAY.getStart(START_DATE), days);
+  }
+
+}
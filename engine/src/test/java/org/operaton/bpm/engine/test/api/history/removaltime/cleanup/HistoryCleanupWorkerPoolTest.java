@@ -0,0 +1,146 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.api.history.removaltime.cleanup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Date;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.operaton.bpm.engine.HistoryService;
+import org.operaton.bpm.engine.ManagementService;
+import org.operaton.bpm.engine.ProcessEngineConfiguration;
+import org.operaton.bpm.engine.ProcessEngineException;
+import org.operaton.bpm.engine.RuntimeService;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.operaton.bpm.engine.impl.util.ClockUtil;
+import org.operaton.bpm.engine.management.Metrics;
+import org.operaton.bpm.engine.runtime.Job;
+import org.operaton.bpm.engine.test.ProcessEngineRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineTestRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.operaton.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class HistoryCleanupWorkerPoolTest {
+
+  protected static final Date START_DATE = new Date(1363608000000L);
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setHistoryCleanupWorkerPoolSize(2)
+        .setHistory(ProcessEngineConfiguration.HISTORY_FULL));
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+  protected ManagementService managementService;
+  protected ProcessEngineConfigurationImpl engineConfiguration;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+    managementService = engineRule.getManagementService();
+    engineConfiguration = engineRule.getProcessEngineConfiguration();
+
+    ClockUtil.setCurrentTime(START_DATE);
+  }
+
+  @After
+  public void tearDown() {
+    engineConfiguration.setHistoryCleanupWorkerPoolSize(2);
+
+    engineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      for (Job job : historyService.findHistoryCleanupJobs()) {
+        commandContext.getJobManager().deleteJob(commandContext.getJobManager().findJobById(job.getId()));
+      }
+      commandContext.getHistoricJobLogManager().deleteHistoricJobLogsByHandlerType(HistoryCleanupJobHandler.TYPE);
+      commandContext.getMeterLogManager().deleteAll();
+      return null;
+    });
+
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void shouldCleanUpConcurrently() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+        .operatonHistoryTimeToLive(5)
+        .startEvent()
+        .serviceTask().operatonExpression("${true}")
+        .endEvent()
+        .done());
+
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    ClockUtil.setCurrentTime(DateUtils.addDays(START_DATE, 6));
+
+    // when
+    runHistoryCleanup();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isZero();
+
+    assertThat(managementService.createMetricsQuery()
+        .name(Metrics.HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES)
+        .sum()).isEqualTo(3);
+    assertThat(managementService.createMetricsQuery()
+        .name(Metrics.HISTORY_CLEANUP_REMOVED_ROWS_PREFIX + "act_hi_procinst")
+        .sum()).isEqualTo(3);
+    assertThat(managementService.createMetricsQuery()
+        .name(Metrics.HISTORY_CLEANUP_REMOVED_ROWS_PREFIX + "act_hi_actinst")
+        .sum()).isEqualTo(9);
+  }
+
+  @Test
+  public void shouldRejectInvalidWorkerPoolSize() {
+    // given
+    engineConfiguration.setHistoryCleanupWorkerPoolSize(-1);
+
+    // when/then
+    assertThatThrownBy(() -> engineConfiguration.initHistoryCleanup())
+        .isInstanceOf(ProcessEngineException.class)
+        .hasMessageContaining("historyCleanupWorkerPoolSize");
+  }
+
+  protected void runHistoryCleanup() {
+    historyService.cleanUpHistoryAsync(true);
+
+    for (Job job : historyService.findHistoryCleanupJobs()) {
+      managementService.executeJob(job.getId());
+    }
+  }
+
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.api.queries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.operaton.bpm.engine.BadUserRequestException;
+import org.operaton.bpm.engine.HistoryService;
+import org.operaton.bpm.engine.IdentityService;
+import org.operaton.bpm.engine.ProcessEngineConfiguration;
+import org.operaton.bpm.engine.ProcessEngineException;
+import org.operaton.bpm.engine.RuntimeService;
+import org.operaton.bpm.engine.history.HistoricProcessInstance;
+import org.operaton.bpm.engine.history.HistoricVariableInstance;
+import org.operaton.bpm.engine.query.Query;
+import org.operaton.bpm.engine.runtime.ProcessInstance;
+import org.operaton.bpm.engine.runtime.ProcessInstanceQuery;
+import org.operaton.bpm.engine.test.ProcessEngineRule;
+import org.operaton.bpm.engine.test.RequiredHistoryLevel;
+import org.operaton.bpm.engine.test.util.ProcessEngineTestRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.operaton.bpm.engine.variable.Variables;
+import org.operaton.bpm.model.bpmn.Bpmn;
+import org.operaton.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_AUDIT)
+public class QueryForEachTest {
+
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+
+  protected ProcessEngineTestRule testHelper = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testHelper);
+
+  protected HistoryService historyService;
+  protected RuntimeService runtimeService;
+  protected IdentityService identityService;
+
+  protected BpmnModelInstance simpleProcess = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  @Before
+  public void assignServices() {
+    historyService = engineRule.getHistoryService();
+    runtimeService = engineRule.getRuntimeService();
+    identityService = engineRule.getIdentityService();
+  }
+
+  @After
+  public void reset() {
+    identityService.clearAuthentication();
+
+    engineRule.getProcessEngineConfiguration()
+        .setQueryMaxResultsLimit(Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void shouldPassAllResults() {
+    // given
+    testHelper.deploy(simpleProcess);
+
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    List<HistoricProcessInstance> streamedInstances = new ArrayList<>();
+
+    // when
+    historyService.createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceId().asc()
+        .forEach(streamedInstances::add, 2);
+
+    // then
+    List<HistoricProcessInstance> listedInstances = historyService.createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceId().asc()
+        .list();
+
+    assertThat(streamedInstances)
+        .extracting(HistoricProcessInstance::getId)
+        .containsExactlyElementsOf(listedInstances.stream().map(HistoricProcessInstance::getId).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void shouldFetchVariableValuesStoredInRow() {
+    // given
+    testHelper.deploy(simpleProcess);
+
+    runtimeService.startProcessInstanceByKey("process", Variables.createVariables()
+        .putValue("aString", "foo")
+        .putValue("aList", new ArrayList<>(Collections.singletonList("bar"))));
+
+    List<HistoricVariableInstance> streamedVariables = new ArrayList<>();
+
+    // when
+    historyService.createHistoricVariableInstanceQuery()
+        .disableBinaryFetching()
+        .disableCustomObjectDeserialization()
+        .orderByVariableName().asc()
+        .forEach(streamedVariables::add, 10);
+
+    // then
+    assertThat(streamedVariables)
+        .extracting(HistoricVariableInstance::getName)
+        .containsExactly("aList", "aString");
+    assertThat(streamedVariables.get(1).getValue()).isEqualTo("foo");
+
+    // and the value stored in a byte array was not selected while the results were read
+    assertThatThrownBy(() -> streamedVariables.get(0).getValue())
+        .isInstanceOf(ProcessEngineException.class);
+  }
+
+  @Test
+  public void shouldRejectStreamingVariablesWithValueFetching() {
+    assertThatThrownBy(() -> historyService.createHistoricVariableInstanceQuery().forEach(variable -> { }, 10))
+        .isInstanceOf(BadUserRequestException.class)
+        .hasMessageContaining("disableBinaryFetching()");
+  }
+
+  @Test
+  public void shouldNotApplyMaxResultsLimit() {
+    // given
+    testHelper.deploy(simpleProcess);
+
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    engineRule.getProcessEngineConfiguration().setQueryMaxResultsLimit(2);
+    identityService.setAuthenticatedUserId("foo");
+
+    List<ProcessInstance> streamedInstances = new ArrayList<>();
+
+    // when
+    runtimeService.createProcessInstanceQuery().forEach(streamedInstances::add, 1);
+
+    // then
+    assertThat(streamedInstances).hasSize(3);
+    assertThatThrownBy(() -> runtimeService.createProcessInstanceQuery().list())
+        .isInstanceOf(BadUserRequestException.class);
+  }
+
+  @Test
+  public void shouldApplyTenantCheck() {
+    // given
+    testHelper.deployForTenant("tenant1", simpleProcess);
+    testHelper.deployForTenant("tenant2", simpleProcess);
+
+    runtimeService.createProcessInstanceByKey("process").processDefinitionTenantId("tenant1").execute();
+    runtimeService.createProcessInstanceByKey("process").processDefinitionTenantId("tenant2").execute();
+
+    identityService.setAuthentication("user", null, Collections.singletonList("tenant1"));
+
+    List<HistoricProcessInstance> streamedInstances = new ArrayList<>();
+
+    // when
+    historyService.createHistoricProcessInstanceQuery().forEach(streamedInstances::add, 10);
+
+    // then
+    assertThat(streamedInstances)
+        .extracting("tenantId")
+        .containsExactly("tenant1");
+  }
+
+  @Test
+  public void shouldRestorePagingOfQueryWithoutCursor() {
+    // given
+    testHelper.deploy(simpleProcess);
+
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    ProcessInstanceQuery query = runtimeService.createProcessInstanceQuery();
+    List<ProcessInstance> streamedInstances = new ArrayList<>();
+
+    // when
+    query.forEach(streamedInstances::add, 2);
+
+    // then
+    assertThat(streamedInstances).hasSize(3);
+    assertThat(query.list()).hasSize(3);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldPageThroughResultsByDefault() {
+    // given
+    Query<?, String> query = mock(Query.class);
+    when(query.listPage(0, 2)).thenReturn(Arrays.asList("a", "b"));
+    when(query.listPage(2, 2)).thenReturn(Arrays.asList("c", "d"));
+    when(query.listPage(4, 2)).thenReturn(Collections.singletonList("e"));
+    doCallRealMethod().when(query).forEach(any(), anyInt());
+
+    List<String> results = new ArrayList<>();
+
+    // when
+    query.forEach(results::add, 2);
+
+    // then
+    assertThat(results).containsExactly("a", "b", "c", "d", "e");
+  }
+
+  @Test
+  public void shouldRejectInvalidFetchSize() {
+    assertThatThrownBy(() -> historyService.createHistoricProcessInstanceQuery().forEach(instance -> { }, 0))
+        .isInstanceOf(ProcessEngineException.class)
+        .hasMessageContaining("fetchSize");
+  }
+
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.api.queries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.operaton.bpm.engine.HistoryService;
+import org.operaton.bpm.engine.ProcessEngineConfiguration;
+import org.operaton.bpm.engine.RuntimeService;
+import org.operaton.bpm.engine.TaskService;
+import org.operaton.bpm.engine.exception.NotValidException;
+import org.operaton.bpm.engine.history.HistoricProcessInstance;
+import org.operaton.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.operaton.bpm.engine.impl.util.ClockUtil;
+import org.operaton.bpm.engine.task.Task;
+import org.operaton.bpm.engine.task.TaskQuery;
+import org.operaton.bpm.engine.test.ProcessEngineRule;
+import org.operaton.bpm.engine.test.RequiredHistoryLevel;
+import org.operaton.bpm.engine.test.util.ProcessEngineTestRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.operaton.bpm.model.bpmn.Bpmn;
+import org.operaton.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class QueryListAfterTest {
+
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+
+  protected ProcessEngineTestRule testHelper = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testHelper);
+
+  protected HistoryService historyService;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  protected BpmnModelInstance simpleProcess = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  @Before
+  public void assignServices() {
+    historyService = engineRule.getHistoryService();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+  }
+
+  @After
+  public void resetClock() {
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void shouldPageTasksByCreateTime() {
+    // given
+    testHelper.deploy(simpleProcess);
+
+    // two instances per timestamp, so that pages end within equal create times
+    Date now = new Date(1_700_000_000_000L);
+    for (int i = 0; i < 7; i++) {
+      ClockUtil.setCurrentTime(new Date(now.getTime() + (i / 2) * 1000L));
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    List<String> expected = taskService.createTaskQuery()
+        .orderByTaskCreateTime().desc()
+        .orderByTaskId().desc()
+        .list()
+        .stream()
+        .map(Task::getId)
+        .collect(Collectors.toList());
+
+    // when
+    TaskQuery query = taskService.createTaskQuery().orderByTaskCreateTime().desc();
+    List<String> paged = new ArrayList<>();
+    String cursor = null;
+    List<Task> page;
+    do {
+      page = query.listAfter(cursor, 3);
+      page.forEach(task -> paged.add(task.getId()));
+      cursor = page.isEmpty() ? null : query.cursorOf(page.get(page.size() - 1));
+    } while (page.size() == 3);
+
+    // then
+    assertThat(paged).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  public void shouldPageTasksById() {
+    // given
+    testHelper.deploy(simpleProcess);
+
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    List<String> expected = taskService.createTaskQuery()
+        .orderByTaskId().asc()
+        .list()
+        .stream()
+        .map(Task::getId)
+        .collect(Collectors.toList());
+
+    TaskQuery query = taskService.createTaskQuery();
+    List<Task> firstPage = query.listAfter(null, 2);
+
+    // when
+    List<Task> secondPage = query.listAfter(query.cursorOf(firstPage.get(1)), 2);
+
+    // then
+    assertThat(firstPage).extracting(Task::getId).containsExactlyElementsOf(expected.subList(0, 2));
+    assertThat(secondPage).extracting(Task::getId).containsExactlyElementsOf(expected.subList(2, 4));
+  }
+
+  @Test
+  public void shouldContinueAfterCompletedTask() {
+    // given
+    testHelper.deploy(simpleProcess);
+
+    for (int i = 0; i < 4; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    TaskQuery query = taskService.createTaskQuery().orderByTaskPriority().asc();
+    List<Task> firstPage = query.listAfter(null, 2);
+    String cursor = query.cursorOf(firstPage.get(1));
+
+    // when the last task of the page is completed before the next page is read
+    taskService.complete(firstPage.get(1).getId());
+    List<Task> secondPage = query.listAfter(cursor, 2);
+
+    // then
+    assertThat(secondPage).hasSize(2);
+    assertThat(secondPage).extracting(Task::getId)
+        .doesNotContainAnyElementsOf(firstPage.stream().map(Task::getId).collect(Collectors.toList()));
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+  public void shouldPageHistoricProcessInstancesByStartTime() {
+    // given
+    testHelper.deploy(simpleProcess);
+
+    Date now = new Date(1_700_000_000_000L);
+    for (int i = 0; i < 5; i++) {
+      ClockUtil.setCurrentTime(new Date(now.getTime() + (i / 2) * 1000L));
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    List<String> expected = historyService.createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceStartTime().asc()
+        .orderByProcessInstanceId().asc()
+        .list()
+        .stream()
+        .map(HistoricProcessInstance::getId)
+        .collect(Collectors.toList());
+
+    // when
+    HistoricProcessInstanceQuery query = historyService.createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceStartTime().asc();
+    List<HistoricProcessInstance> firstPage = query.listAfter(null, 3);
+    List<HistoricProcessInstance> secondPage = query.listAfter(query.cursorOf(firstPage.get(2)), 3);
+
+    // then
+    assertThat(firstPage).extracting(HistoricProcessInstance::getId).containsExactlyElementsOf(expected.subList(0, 3));
+    assertThat(secondPage).extracting(HistoricProcessInstance::getId).containsExactlyElementsOf(expected.subList(3, 5));
+  }
+
+  @Test
+  public void shouldRejectUnsupportedOrdering() {
+    // given
+    TaskQuery query = taskService.createTaskQuery().orderByDueDate().asc();
+
+    // when/then
+    assertThatThrownBy(() -> query.listAfter(null, 10))
+      .isInstanceOf(NotValidException.class)
+      .hasMessageContaining("keyset pagination is not supported");
+  }
+
+  @Test
+  public void shouldRejectCursorOfOtherOrdering() {
+    // given
+    testHelper.deploy(simpleProcess);
+    runtimeService.startProcessInstanceByKey("process");
+
+    TaskQuery createTimeQuery = taskService.createTaskQuery().orderByTaskCreateTime().asc();
+    String cursor = createTimeQuery.cursorOf(createTimeQuery.singleResult());
+
+    TaskQuery priorityQuery = taskService.createTaskQuery().orderByTaskPriority().asc();
+
+    // when/then
+    assertThatThrownBy(() -> priorityQuery.listAfter(cursor, 10))
+      .isInstanceOf(NotValidException.class)
+      .hasMessageContaining("does not match the ordering");
+  }
+
+  @Test
+  public void shouldRejectCursorOfOtherDirection() {
+    // given
+    testHelper.deploy(simpleProcess);
+    runtimeService.startProcessInstanceByKey("process");
+
+    TaskQuery ascendingQuery = taskService.createTaskQuery().orderByTaskCreateTime().asc();
+    String cursor = ascendingQuery.cursorOf(ascendingQuery.singleResult());
+
+    TaskQuery descendingQuery = taskService.createTaskQuery().orderByTaskCreateTime().desc();
+
+    // when/then
+    assertThatThrownBy(() -> descendingQuery.listAfter(cursor, 10))
+      .isInstanceOf(NotValidException.class)
+      .hasMessageContaining("does not match the ordering");
+  }
+
+  @Test
+  public void shouldRejectInvalidCursor() {
+    // given
+    TaskQuery query = taskService.createTaskQuery();
+
+    // when/then
+    assertThatThrownBy(() -> query.listAfter("not a cursor", 10))
+      .isInstanceOf(NotValidException.class)
+      .hasMessageContaining("Invalid cursor");
+  }
+
+}
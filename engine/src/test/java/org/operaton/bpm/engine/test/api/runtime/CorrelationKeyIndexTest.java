@@ -0,0 +1,232 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.operaton.bpm.engine.ManagementService;
+import org.operaton.bpm.engine.RuntimeService;
+import org.operaton.bpm.engine.TaskService;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.operaton.bpm.engine.runtime.MessageCorrelationResult;
+import org.operaton.bpm.engine.runtime.ProcessInstance;
+import org.operaton.bpm.engine.test.ProcessEngineRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineTestRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.operaton.bpm.engine.variable.Variables;
+import org.operaton.bpm.model.bpmn.Bpmn;
+import org.operaton.bpm.model.bpmn.BpmnModelInstance;
+import org.operaton.bpm.model.bpmn.impl.BpmnModelConstants;
+import org.operaton.bpm.model.bpmn.instance.Process;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class CorrelationKeyIndexTest {
+
+  protected static final String CORRELATION_KEY_TABLE = "ACT_RU_CORR_KEY";
+
+  protected static final BpmnModelInstance KEYED_PROCESS = declareCorrelationKeys(Bpmn.createExecutableProcess("keyed")
+      .startEvent()
+      .receiveTask("receive").message("message")
+      .userTask("afterReceive")
+      .endEvent()
+      .done(), "keyed", "orderId, customerId");
+
+  protected static final BpmnModelInstance PLAIN_PROCESS = Bpmn.createExecutableProcess("plain")
+      .startEvent()
+      .receiveTask("receive").message("message")
+      .userTask("afterReceive")
+      .endEvent()
+      .done();
+
+  @Rule
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  @Rule
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected ManagementService managementService;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    managementService = engineRule.getManagementService();
+    testRule.deploy(KEYED_PROCESS, PLAIN_PROCESS);
+  }
+
+  @Test
+  public void shouldCorrelateByDeclaredKey() {
+    // given
+    runtimeService.startProcessInstanceByKey("keyed", Variables.createVariables().putValue("orderId", "a"));
+    ProcessInstance second = runtimeService.startProcessInstanceByKey("keyed", Variables.createVariables().putValue("orderId", "b"));
+    runtimeService.startProcessInstanceByKey("keyed", Variables.createVariables().putValue("orderId", "c"));
+
+    // when
+    MessageCorrelationResult result = runtimeService.createMessageCorrelation("message")
+        .processInstanceVariableEquals("orderId", "b")
+        .correlateWithResult();
+
+    // then
+    assertThat(result.getExecution().getProcessInstanceId()).isEqualTo(second.getId());
+    assertThat(countCorrelationKeys()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldCorrelateByDeclaredKeysOfDifferentTypes() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyed", Variables.createVariables()
+        .putValue("orderId", 42)
+        .putValue("customerId", 7L));
+    runtimeService.startProcessInstanceByKey("keyed", Variables.createVariables()
+        .putValue("orderId", 42)
+        .putValue("customerId", 8L));
+
+    // when
+    List<MessageCorrelationResult> results = runtimeService.createMessageCorrelation("message")
+        .processInstanceVariableEquals("orderId", 42)
+        .processInstanceVariableEquals("customerId", 7L)
+        .correlateAllWithResult();
+
+    // then
+    assertThat(results).hasSize(1);
+    assertThat(results.get(0).getExecution().getProcessInstanceId()).isEqualTo(processInstance.getId());
+  }
+
+  @Test
+  public void shouldCorrelateByUpdatedKey() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyed", Variables.createVariables().putValue("orderId", "a"));
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "orderId", "b");
+
+    // then
+    assertThat(correlateAll("orderId", "a")).isEmpty();
+    assertThat(correlateAll("orderId", "b")).hasSize(1);
+    assertThat(countCorrelationKeys()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRemoveEntryOfRemovedKey() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyed", Variables.createVariables().putValue("orderId", "a"));
+
+    // when
+    runtimeService.removeVariable(processInstance.getId(), "orderId");
+
+    // then
+    assertThat(countCorrelationKeys()).isZero();
+    assertThat(correlateAll("orderId", "a")).isEmpty();
+  }
+
+  @Test
+  public void shouldKeepEntryOfKeyRemovedAndSetInSameCommand() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyed", Variables.createVariables().putValue("orderId", "a"));
+
+    // when
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstance.getId());
+      execution.removeVariable("orderId");
+      execution.setVariable("orderId", "b");
+      return null;
+    });
+
+    // then
+    assertThat(countCorrelationKeys()).isEqualTo(1);
+    assertThat(correlateAll("orderId", "b")).hasSize(1);
+  }
+
+  @Test
+  public void shouldNotIndexUndeclaredVariables() {
+    // when
+    runtimeService.startProcessInstanceByKey("keyed", Variables.createVariables().putValue("other", "a"));
+    runtimeService.startProcessInstanceByKey("plain", Variables.createVariables().putValue("orderId", "a"));
+
+    // then
+    assertThat(countCorrelationKeys()).isZero();
+  }
+
+  @Test
+  public void shouldCorrelateProcessInstancesWithoutEntry() {
+    // given
+    ProcessInstance keyed = runtimeService.startProcessInstanceByKey("keyed", Variables.createVariables().putValue("orderId", "a"));
+    ProcessInstance plain = runtimeService.startProcessInstanceByKey("plain", Variables.createVariables().putValue("orderId", "a"));
+    runtimeService.startProcessInstanceByKey("plain", Variables.createVariables().putValue("orderId", "b"));
+
+    // when
+    List<MessageCorrelationResult> results = correlateAll("orderId", "a");
+
+    // then
+    assertThat(results)
+        .extracting(result -> result.getExecution().getProcessInstanceId())
+        .containsExactlyInAnyOrder(keyed.getId(), plain.getId());
+  }
+
+  @Test
+  public void shouldRemoveEntriesOnProcessInstanceEnd() {
+    // given
+    runtimeService.startProcessInstanceByKey("keyed", Variables.createVariables()
+        .putValue("orderId", "a")
+        .putValue("customerId", "c"));
+    correlateAll("orderId", "a");
+
+    // when
+    taskService.complete(taskService.createTaskQuery().singleResult().getId());
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+    assertThat(countCorrelationKeys()).isZero();
+  }
+
+  @Test
+  public void shouldRemoveEntriesOnProcessInstanceDeletion() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyed", Variables.createVariables().putValue("orderId", "a"));
+
+    // when
+    runtimeService.deleteProcessInstance(processInstance.getId(), null);
+
+    // then
+    assertThat(countCorrelationKeys()).isZero();
+  }
+
+  protected List<MessageCorrelationResult> correlateAll(String variableName, Object value) {
+    return runtimeService.createMessageCorrelation("message")
+        .processInstanceVariableEquals(variableName, value)
+        .correlateAllWithResult();
+  }
+
+  protected long countCorrelationKeys() {
+    return managementService.getTableCount().get(processEngineConfiguration.getDatabaseTablePrefix() + CORRELATION_KEY_TABLE);
+  }
+
+  protected static BpmnModelInstance declareCorrelationKeys(BpmnModelInstance modelInstance, String processId, String correlationKeys) {
+    Process process = modelInstance.getModelElementById(processId);
+    process.setAttributeValueNs(BpmnModelConstants.OPERATON_NS, "correlationKeys", correlationKeys);
+    return modelInstance;
+  }
+
+}
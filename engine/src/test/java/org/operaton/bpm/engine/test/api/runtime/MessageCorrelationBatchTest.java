@@ -0,0 +1,217 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.operaton.bpm.engine.RuntimeService;
+import org.operaton.bpm.engine.exception.NullValueException;
+import org.operaton.bpm.engine.runtime.Execution;
+import org.operaton.bpm.engine.runtime.MessageCorrelationBatchResult;
+import org.operaton.bpm.engine.runtime.MessageCorrelationResult;
+import org.operaton.bpm.engine.runtime.MessageCorrelationResultType;
+import org.operaton.bpm.engine.runtime.ProcessInstance;
+import org.operaton.bpm.engine.test.ProcessEngineRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineTestRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.operaton.bpm.engine.variable.Variables;
+import org.operaton.bpm.model.bpmn.Bpmn;
+import org.operaton.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class MessageCorrelationBatchTest {
+
+  protected static final BpmnModelInstance WAITING_PROCESS = Bpmn.createExecutableProcess("waiting")
+      .startEvent()
+      .receiveTask("receive").message("message")
+      .userTask("afterReceive")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance START_PROCESS = Bpmn.createExecutableProcess("start")
+      .startEvent().message("startMessage")
+      .userTask("afterStart")
+      .endEvent()
+      .done();
+
+  @Rule
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  @Rule
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    testRule.deploy(WAITING_PROCESS, START_PROCESS);
+  }
+
+  @Test
+  public void shouldCorrelateByBusinessKey() {
+    // given
+    ProcessInstance first = runtimeService.startProcessInstanceByKey("waiting", "first");
+    ProcessInstance second = runtimeService.startProcessInstanceByKey("waiting", "second");
+    runtimeService.startProcessInstanceByKey("waiting", "third");
+
+    // when
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+        .message("message", "first", null)
+        .message("message", "second", null)
+        .message("message", "unknown", null)
+        .correlateAllWithResult();
+
+    // then
+    assertThat(results).hasSize(3);
+    assertThat(results.get(0).getBusinessKey()).isEqualTo("first");
+    assertCorrelatedTo(results.get(0), first);
+    assertCorrelatedTo(results.get(1), second);
+    assertThat(results.get(2).getCorrelationResults()).isEmpty();
+
+    assertThat(runtimeService.createExecutionQuery().activityId("receive").processInstanceBusinessKey("third").count()).isEqualTo(1);
+    assertThat(runtimeService.createExecutionQuery().activityId("afterReceive").count()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldCorrelateByCorrelationKeys() {
+    // given
+    ProcessInstance first = runtimeService.startProcessInstanceByKey("waiting", Variables.createVariables().putValue("orderId", 1));
+    ProcessInstance second = runtimeService.startProcessInstanceByKey("waiting", Variables.createVariables().putValue("orderId", 2));
+    runtimeService.startProcessInstanceByKey("waiting", Variables.createVariables().putValue("orderId", "2"));
+
+    // when
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+        .message("message", null, Collections.singletonMap("orderId", 2))
+        .message("message", null, Collections.singletonMap("orderId", 1))
+        .message("message", null, Collections.singletonMap("orderId", 3))
+        .correlateAllWithResult();
+
+    // then the variable type has to match like for the execution query
+    assertCorrelatedTo(results.get(0), second);
+    assertCorrelatedTo(results.get(1), first);
+    assertThat(results.get(2).getCorrelationResults()).isEmpty();
+  }
+
+  @Test
+  public void shouldCorrelateByBusinessKeyAndCorrelationKeys() {
+    // given
+    runtimeService.startProcessInstanceByKey("waiting", "order", Variables.createVariables().putValue("status", "open"));
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("waiting", "order", Variables.createVariables().putValue("status", "paid"));
+    runtimeService.startProcessInstanceByKey("waiting", "other", Variables.createVariables().putValue("status", "paid"));
+
+    // when
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+        .message("message", "order", Collections.singletonMap("status", "paid"))
+        .correlateAllWithResult();
+
+    // then
+    assertCorrelatedTo(results.get(0), processInstance);
+  }
+
+  @Test
+  public void shouldNotCorrelateConsumedSubscriptionTwice() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("waiting", "order");
+
+    // when
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+        .message("message", "order", null)
+        .message("message", "order", null)
+        .correlateAllWithResult();
+
+    // then
+    assertCorrelatedTo(results.get(0), processInstance);
+    assertThat(results.get(1).getCorrelationResults()).isEmpty();
+    assertThat(runtimeService.createExecutionQuery().activityId("afterReceive").count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotCorrelateSuspendedExecution() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("waiting", "order");
+    runtimeService.suspendProcessInstanceById(processInstance.getId());
+
+    // when
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+        .message("message", "order", null)
+        .correlateAllWithResult();
+
+    // then
+    assertThat(results.get(0).getCorrelationResults()).isEmpty();
+  }
+
+  @Test
+  public void shouldStartProcessInstances() {
+    // when
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+        .message("startMessage", "first", null, Variables.createVariables().putValue("amount", 10))
+        .message("startMessage", "second", null)
+        .correlateAllWithResult();
+
+    // then
+    MessageCorrelationResult result = results.get(0).getCorrelationResults().get(0);
+    assertThat(result.getResultType()).isEqualTo(MessageCorrelationResultType.ProcessDefinition);
+    assertThat(result.getProcessInstance().getBusinessKey()).isEqualTo("first");
+    assertThat(runtimeService.getVariable(result.getProcessInstance().getId(), "amount")).isEqualTo(10);
+
+    assertThat(results.get(1).getCorrelationResults()).hasSize(1);
+    assertThat(runtimeService.createProcessInstanceQuery().processDefinitionKey("start").count()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldSetVariablesOnCorrelatedExecution() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("waiting", "order");
+
+    // when
+    runtimeService.createMessageCorrelationBatch()
+        .message("message", "order", null, Variables.createVariables().putValue("paid", true))
+        .correlateAllWithResult();
+
+    // then
+    assertThat(runtimeService.getVariable(processInstance.getId(), "paid")).isEqualTo(true);
+  }
+
+  @Test
+  public void shouldReturnEmptyResultForEmptyBatch() {
+    assertThat(runtimeService.createMessageCorrelationBatch().correlateAllWithResult()).isEmpty();
+  }
+
+  @Test
+  public void shouldFailWithoutMessageName() {
+    assertThatThrownBy(() -> runtimeService.createMessageCorrelationBatch().message(null, "order", null))
+      .isInstanceOf(NullValueException.class)
+      .hasMessageContaining("messageName");
+  }
+
+  protected void assertCorrelatedTo(MessageCorrelationBatchResult batchResult, ProcessInstance processInstance) {
+    assertThat(batchResult.getCorrelationResults()).hasSize(1);
+
+    MessageCorrelationResult result = batchResult.getCorrelationResults().get(0);
+    assertThat(result.getResultType()).isEqualTo(MessageCorrelationResultType.Execution);
+
+    Execution execution = result.getExecution();
+    assertThat(execution.getProcessInstanceId()).isEqualTo(processInstance.getId());
+  }
+
+}
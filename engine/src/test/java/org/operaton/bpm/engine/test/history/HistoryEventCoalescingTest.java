@@ -0,0 +1,127 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.operaton.bpm.engine.HistoryService;
+import org.operaton.bpm.engine.ProcessEngineConfiguration;
+import org.operaton.bpm.engine.RuntimeService;
+import org.operaton.bpm.engine.history.HistoricActivityInstance;
+import org.operaton.bpm.engine.history.HistoricProcessInstance;
+import org.operaton.bpm.engine.impl.history.producer.DefaultHistoryEventProducer;
+import org.operaton.bpm.engine.runtime.ProcessInstance;
+import org.operaton.bpm.engine.test.ProcessEngineRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineTestRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.operaton.bpm.model.bpmn.Bpmn;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+/**
+ * The {@link DefaultHistoryEventProducer} creates a new event for the end of an instance;
+ * the database history event handler applies it to the pending event of the instance start.
+ */
+public class HistoryEventCoalescingTest {
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setHistoryEventProducer(new DefaultHistoryEventProducer())
+        .setHistory(ProcessEngineConfiguration.HISTORY_FULL));
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+  }
+
+  @Test
+  public void shouldWriteEndOfActivityInstancesStartedInSameCommand() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+        .operatonHistoryTimeToLive(5)
+        .startEvent("start")
+        .serviceTask("firstTask").operatonExpression("${true}")
+        .serviceTask("secondTask").operatonExpression("${true}")
+        .endEvent("end")
+        .done());
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    List<HistoricActivityInstance> activityInstances = historyService.createHistoricActivityInstanceQuery()
+        .orderPartiallyByOccurrence()
+        .asc()
+        .list();
+    assertThat(activityInstances).extracting("activityId").containsExactly("start", "firstTask", "secondTask", "end");
+    assertThat(activityInstances).extracting("endTime").doesNotContainNull();
+    assertThat(activityInstances).extracting("durationInMillis").doesNotContainNull();
+
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getId()).isEqualTo(processInstance.getId());
+    assertThat(historicProcessInstance.getState()).isEqualTo(HistoricProcessInstance.STATE_COMPLETED);
+    assertThat(historicProcessInstance.getStartActivityId()).isEqualTo("start");
+    assertThat(historicProcessInstance.getEndActivityId()).isEqualTo("end");
+    assertThat(historicProcessInstance.getEndTime()).isNotNull();
+    assertThat(historicProcessInstance.getDurationInMillis()).isNotNull();
+  }
+
+  @Test
+  public void shouldWriteEndOfActivityInstanceStartedInPreviousCommand() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+        .operatonHistoryTimeToLive(5)
+        .startEvent("start")
+        .userTask("userTask")
+        .endEvent("end")
+        .done());
+    runtimeService.startProcessInstanceByKey("process");
+    String taskId = engineRule.getTaskService().createTaskQuery().singleResult().getId();
+
+    // when
+    engineRule.getTaskService().complete(taskId);
+
+    // then
+    HistoricActivityInstance userTask = historyService.createHistoricActivityInstanceQuery()
+        .activityId("userTask")
+        .singleResult();
+    assertThat(userTask.getStartTime()).isNotNull();
+    assertThat(userTask.getEndTime()).isNotNull();
+
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getState()).isEqualTo(HistoricProcessInstance.STATE_COMPLETED);
+    assertThat(historicProcessInstance.getStartTime()).isNotNull();
+    assertThat(historicProcessInstance.getEndTime()).isNotNull();
+  }
+
+}
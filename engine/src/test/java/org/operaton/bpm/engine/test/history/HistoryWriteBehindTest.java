@@ -0,0 +1,316 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.operaton.bpm.engine.HistoryService;
+import org.operaton.bpm.engine.ProcessEngineConfiguration;
+import org.operaton.bpm.engine.ProcessEngineException;
+import org.operaton.bpm.engine.RuntimeService;
+import org.operaton.bpm.engine.TaskService;
+import org.operaton.bpm.engine.history.HistoricActivityInstance;
+import org.operaton.bpm.engine.history.HistoricDecisionInstance;
+import org.operaton.bpm.engine.history.HistoricProcessInstance;
+import org.operaton.bpm.engine.history.HistoricTaskInstance;
+import org.operaton.bpm.engine.history.HistoricVariableInstance;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.history.handler.CompositeHistoryEventHandler;
+import org.operaton.bpm.engine.impl.history.outbox.HistoryEventOutboxWriter;
+import org.operaton.bpm.engine.impl.interceptor.CommandExecutor;
+import org.operaton.bpm.engine.impl.persistence.entity.HistoryEventOutboxEntity;
+import org.operaton.bpm.engine.runtime.ProcessInstance;
+import org.operaton.bpm.engine.task.Task;
+import org.operaton.bpm.engine.test.ProcessEngineRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineTestRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.operaton.bpm.engine.variable.Variables;
+import org.operaton.bpm.model.bpmn.Bpmn;
+import org.operaton.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class HistoryWriteBehindTest {
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setHistoryWriteBehind(true)
+        .setHistoryWriteBehindWriterActivate(false)
+        .setHistory(ProcessEngineConfiguration.HISTORY_FULL));
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected static final BpmnModelInstance USER_TASK_PROCESS = Bpmn.createExecutableProcess("process")
+      .operatonHistoryTimeToLive(5)
+      .startEvent("start")
+      .userTask("userTask")
+      .endEvent("end")
+      .done();
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+  protected CommandExecutor commandExecutor;
+  protected HistoryEventOutboxWriter writer;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+    commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+    writer = processEngineConfiguration.getHistoryEventOutboxWriter();
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration
+      .setHistoryRemovalTimeStrategy(ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_END)
+      .initHistoryRemovalTime();
+
+    // the history of deleted process instances must be written before the database is cleaned
+    for (ProcessInstance processInstance : runtimeService.createProcessInstanceQuery().list()) {
+      runtimeService.deleteProcessInstance(processInstance.getId(), null);
+    }
+    writer.writeNow();
+  }
+
+  @Test
+  public void shouldUseHistoryEventOutboxHandler() {
+    assertThat(processEngineConfiguration.getHistoryEventHandler()).isInstanceOf(CompositeHistoryEventHandler.class);
+    assertThat(writer).isNotNull();
+  }
+
+  @Test
+  public void shouldWriteHistoryOfTransactionToOneOutboxEntry() {
+    // given
+    testRule.deploy(USER_TASK_PROCESS);
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("foo", "bar"));
+
+    // then
+    assertThat(getOutboxEntryCount()).isEqualTo(1);
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricVariableInstanceQuery().count()).isZero();
+
+    // when
+    int writtenEntries = writer.writeNow();
+
+    // then
+    assertThat(writtenEntries).isEqualTo(1);
+    assertThat(getOutboxEntryCount()).isZero();
+
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getId()).isEqualTo(processInstance.getId());
+    assertThat(historicProcessInstance.getState()).isEqualTo(HistoricProcessInstance.STATE_ACTIVE);
+    assertThat(historicProcessInstance.getEndTime()).isNull();
+
+    HistoricVariableInstance historicVariable = historyService.createHistoricVariableInstanceQuery().singleResult();
+    assertThat(historicVariable.getName()).isEqualTo("foo");
+    assertThat(historicVariable.getValue()).isEqualTo("bar");
+
+    HistoricTaskInstance historicTask = historyService.createHistoricTaskInstanceQuery().singleResult();
+    assertThat(historicTask.getTaskDefinitionKey()).isEqualTo("userTask");
+    assertThat(historicTask.getEndTime()).isNull();
+  }
+
+  @Test
+  public void shouldUpdateHistoryWrittenByPreviousEntry() {
+    // given
+    testRule.deploy(USER_TASK_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    Task task = taskService.createTaskQuery().singleResult();
+
+    // when
+    taskService.complete(task.getId());
+
+    // then
+    assertThat(getOutboxEntryCount()).isEqualTo(2);
+
+    // when
+    writer.writeNow();
+
+    // then
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getId()).isEqualTo(processInstance.getId());
+    assertThat(historicProcessInstance.getState()).isEqualTo(HistoricProcessInstance.STATE_COMPLETED);
+    assertThat(historicProcessInstance.getEndTime()).isNotNull();
+    assertThat(historicProcessInstance.getEndActivityId()).isEqualTo("end");
+
+    List<HistoricActivityInstance> activityInstances = historyService.createHistoricActivityInstanceQuery()
+        .orderPartiallyByOccurrence()
+        .asc()
+        .list();
+    assertThat(activityInstances).extracting("activityId").containsExactly("start", "userTask", "end");
+    assertThat(activityInstances).extracting("endTime").doesNotContainNull();
+
+    HistoricTaskInstance historicTask = historyService.createHistoricTaskInstanceQuery().singleResult();
+    assertThat(historicTask.getEndTime()).isNotNull();
+    assertThat(historicTask.getDeleteReason()).isEqualTo("completed");
+  }
+
+  @Test
+  public void shouldWriteOutboxEntriesInBatches() {
+    // given
+    testRule.deploy(USER_TASK_PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    HistoryEventOutboxWriter singleEntryWriter = new HistoryEventOutboxWriter(commandExecutor, 1, 1000);
+
+    // when
+    int writtenEntries = singleEntryWriter.writeNow();
+
+    // then
+    assertThat(writtenEntries).isEqualTo(3);
+    assertThat(getOutboxEntryCount()).isZero();
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldNotWriteOutboxEntryOnRollback() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+        .operatonHistoryTimeToLive(5)
+        .startEvent()
+        .serviceTask()
+          .operatonClass(FirstFailingDelegate.class)
+        .endEvent()
+        .done());
+
+    // when
+    assertThatThrownBy(() -> runtimeService.startProcessInstanceByKey("process"))
+      .isInstanceOf(ProcessEngineException.class);
+
+    // then
+    assertThat(getOutboxEntryCount()).isZero();
+  }
+
+  @Test
+  public void shouldWriteHistoricDecisionInstance() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+          .operatonHistoryTimeToLive(5)
+          .startEvent()
+          .businessRuleTask()
+            .operatonDecisionRef("decision")
+          .endEvent()
+          .done(),
+        "org/operaton/bpm/engine/test/api/dmn/Example.dmn");
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("status", "bronze").putValue("sum", 100));
+    writer.writeNow();
+
+    // then
+    HistoricDecisionInstance historicDecisionInstance = historyService.createHistoricDecisionInstanceQuery()
+        .includeInputs()
+        .includeOutputs()
+        .singleResult();
+    assertThat(historicDecisionInstance.getProcessInstanceId()).isEqualTo(processInstance.getId());
+    assertThat(historicDecisionInstance.getInputs()).hasSize(2);
+    assertThat(historicDecisionInstance.getOutputs()).extracting("value")
+      .contains("notok");
+
+    // the removal time is set when the root process instance ends
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getRemovalTime()).isNotNull();
+    assertThat(historicDecisionInstance.getRemovalTime()).isEqualTo(historicProcessInstance.getRemovalTime());
+  }
+
+  @Test
+  public void shouldSetRemovalTimeOnStart() {
+    // given
+    processEngineConfiguration
+      .setHistoryRemovalTimeStrategy(ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_START)
+      .initHistoryRemovalTime();
+    testRule.deploy(USER_TASK_PROCESS);
+
+    // when
+    runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("foo", "bar"));
+    writer.writeNow();
+
+    // then
+    Date removalTime = historyService.createHistoricProcessInstanceQuery().singleResult().getRemovalTime();
+    assertThat(removalTime).isNotNull();
+    assertThat(historyService.createHistoricTaskInstanceQuery().singleResult().getRemovalTime())
+      .isEqualTo(removalTime);
+    assertThat(historyService.createHistoricVariableInstanceQuery().singleResult().getRemovalTime())
+      .isEqualTo(removalTime);
+  }
+
+  @Test
+  public void shouldRejectClassesOtherThanHistoryEventsOnDeserialization() throws IOException {
+    // given
+    List<Object> events = new ArrayList<>();
+    events.add(new NotAHistoryEvent());
+
+    HistoryEventOutboxEntity entry = new HistoryEventOutboxEntity();
+    entry.setBytes(serialize(events));
+
+    // when/then
+    assertThatThrownBy(entry::getHistoryEvents)
+      .isInstanceOf(ProcessEngineException.class)
+      .hasCauseInstanceOf(InvalidClassException.class);
+  }
+
+  protected byte[] serialize(Object object) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+      oos.writeObject(object);
+    }
+    return baos.toByteArray();
+  }
+
+  protected long getOutboxEntryCount() {
+    return commandExecutor.execute(commandContext ->
+        commandContext.getHistoryEventOutboxManager().findHistoryEventOutboxEntryCount());
+  }
+
+  public static class NotAHistoryEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+  }
+
+}
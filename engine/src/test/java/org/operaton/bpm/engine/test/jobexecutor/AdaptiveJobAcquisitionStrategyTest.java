@@ -0,0 +1,232 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.operaton.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.operaton.bpm.engine.impl.jobexecutor.AdaptiveJobAcquisitionStrategy;
+import org.operaton.bpm.engine.impl.jobexecutor.JobAcquisitionContext;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AdaptiveJobAcquisitionStrategyTest {
+
+  // strategy configuration
+  protected static final long BASE_IDLE_WAIT_TIME = 50;
+  protected static final float IDLE_INCREASE_FACTOR = 1.5f;
+  protected static final long MAX_IDLE_TIME = 500;
+
+  protected static final long BASE_BACKOFF_WAIT_TIME = 0;
+  protected static final float BACKOFF_INCREASE_FACTOR = 2.0f;
+  protected static final long MAX_BACKOFF_TIME = 0;
+
+  protected static final int DECREASE_THRESHOLD = 3;
+  protected static final int NUM_JOBS_TO_ACQUIRE = 4;
+  protected static final int MAX_NUM_JOBS_TO_ACQUIRE = 20;
+
+  // misc
+  protected static final String ENGINE_NAME = "engine";
+  protected static final long QUERY_DURATION = 20;
+
+  protected AdaptiveJobAcquisitionStrategy strategy;
+  protected JobAcquisitionContext context;
+  protected long currentTime = 1000;
+  protected long executedJobs = 0;
+
+  @Before
+  public void setUp() {
+    strategy = new AdaptiveJobAcquisitionStrategy(
+        BASE_IDLE_WAIT_TIME,
+        IDLE_INCREASE_FACTOR,
+        MAX_IDLE_TIME,
+        BASE_BACKOFF_WAIT_TIME,
+        BACKOFF_INCREASE_FACTOR,
+        MAX_BACKOFF_TIME,
+        DECREASE_THRESHOLD,
+        NUM_JOBS_TO_ACQUIRE,
+        MAX_NUM_JOBS_TO_ACQUIRE);
+    context = new JobAcquisitionContext();
+  }
+
+  @Test
+  public void testSlowStartAndLinearIncrease() {
+    // given an engine that provides as many jobs as requested and an executor that keeps up
+
+    // when running acquisition cycles, then the number of jobs to acquire
+    // doubles up to the maximum (slow start threshold) ...
+    Assert.assertEquals(8, acquireAllRequestedJobs());
+    Assert.assertEquals(16, acquireAllRequestedJobs());
+    Assert.assertEquals(20, acquireAllRequestedJobs());
+
+    // ... and never exceeds it
+    Assert.assertEquals(20, acquireAllRequestedJobs());
+    Assert.assertEquals(0L, strategy.getWaitTime());
+  }
+
+  @Test
+  public void testDecreaseOnLockFailure() {
+    // given
+    Assert.assertEquals(8, acquireAllRequestedJobs());
+    Assert.assertEquals(16, acquireAllRequestedJobs());
+
+    // when some of the requested jobs could not be locked
+    runCycle(buildAcquiredJobs(16, 16, 3), 0);
+
+    // then the number of jobs to acquire is halved
+    Assert.assertEquals(8, strategy.getNumJobsToAcquire(ENGINE_NAME));
+
+    // and increases linearly afterwards
+    Assert.assertEquals(9, acquireAllRequestedJobs());
+    Assert.assertEquals(10, acquireAllRequestedJobs());
+  }
+
+  @Test
+  public void testDecreaseOnRejection() {
+    // given
+    Assert.assertEquals(8, acquireAllRequestedJobs());
+
+    // when some of the job batches are rejected for execution
+    context.reset();
+    context.setAcquisitionTime(currentTime);
+    AcquiredJobs acquiredJobs = buildAcquiredJobs(8, 8, 0);
+    context.submitAcquiredJobs(ENGINE_NAME, acquiredJobs);
+    context.submitRejectedBatch(ENGINE_NAME, acquiredJobs.getJobIdBatches().get(0));
+    context.submitRejectedBatch(ENGINE_NAME, acquiredJobs.getJobIdBatches().get(1));
+    context.setNumberOfExecutedJobs(executedJobs);
+    strategy.reconfigure(context);
+
+    // then the window is halved and the rejected batches are subtracted
+    Assert.assertEquals(2, strategy.getNumJobsToAcquire(ENGINE_NAME));
+  }
+
+  @Test
+  public void testDecreaseOnRisingQueryLatency() {
+    // given
+    Assert.assertEquals(8, acquireAllRequestedJobs());
+    Assert.assertEquals(16, acquireAllRequestedJobs());
+
+    // when the acquisition query takes considerably longer than before
+    runCycle(buildAcquiredJobs(16, 16, 0), 0, 5 * QUERY_DURATION);
+
+    // then the number of jobs to acquire is halved
+    Assert.assertEquals(8, strategy.getNumJobsToAcquire(ENGINE_NAME));
+
+    // and increases linearly once the latency is back to normal
+    Assert.assertEquals(9, acquireAllRequestedJobs());
+  }
+
+  @Test
+  public void testNoIncreaseWhileJobsAreQueued() {
+    // given
+    Assert.assertEquals(8, acquireAllRequestedJobs());
+
+    // when job batches are still waiting for execution at the end of the cycle
+    runCycle(buildAcquiredJobs(8, 8, 0), 3);
+
+    // then the window does not grow
+    Assert.assertEquals(8, strategy.getNumJobsToAcquire(ENGINE_NAME));
+  }
+
+  @Test
+  public void testWaitTimeFollowsExecutionRate() {
+    // given an executor that executes 8 jobs every 100 ms
+    acquireAllRequestedJobs();
+    acquireAllRequestedJobs();
+    Assert.assertTrue(strategy.getExecutionRate() > 0);
+
+    // when job batches are queued at the end of the cycle
+    runCycle(buildAcquiredJobs(16, 16, 0), 4);
+
+    // then the strategy waits for the estimated time to drain the queue
+    long expectedWaitTime = (long) (4 / strategy.getExecutionRate());
+    Assert.assertEquals(expectedWaitTime, strategy.getWaitTime());
+    Assert.assertTrue(expectedWaitTime > 0 && expectedWaitTime <= MAX_IDLE_TIME);
+  }
+
+  @Test
+  public void testIdleWaitTime() {
+    // when no jobs are available
+    runCycle(buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, 0, 0), 0);
+
+    // then the idle time applies and the window is not changed
+    Assert.assertEquals(BASE_IDLE_WAIT_TIME, strategy.getWaitTime());
+    Assert.assertEquals(NUM_JOBS_TO_ACQUIRE, strategy.getNumJobsToAcquire(ENGINE_NAME));
+  }
+
+  @Test
+  public void testAcquireNoMoreJobsThanExecutionCapacity() {
+    // given
+    context.setAvailableExecutionCapacity(3);
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE, 0));
+
+    // when
+    strategy.reconfigure(context);
+
+    // then
+    Assert.assertEquals(3, strategy.getNumJobsToAcquire(ENGINE_NAME));
+  }
+
+  /**
+   * Runs a cycle in which the engine provides all requested jobs and the executor
+   * executed 8 jobs within 100 ms.
+   * @return the number of jobs to acquire in the next cycle
+   */
+  protected int acquireAllRequestedJobs() {
+    int numJobsToAcquire = strategy.getNumJobsToAcquire(ENGINE_NAME);
+    runCycle(buildAcquiredJobs(numJobsToAcquire, numJobsToAcquire, 0), 0);
+    return strategy.getNumJobsToAcquire(ENGINE_NAME);
+  }
+
+  protected void runCycle(AcquiredJobs acquiredJobs, int numberOfQueuedJobBatches) {
+    runCycle(acquiredJobs, numberOfQueuedJobBatches, QUERY_DURATION);
+  }
+
+  protected void runCycle(AcquiredJobs acquiredJobs, int numberOfQueuedJobBatches, long queryDuration) {
+    context.reset();
+    context.setAcquisitionTime(currentTime);
+    context.submitAcquiredJobs(ENGINE_NAME, acquiredJobs);
+    context.submitAcquisitionQueryDuration(ENGINE_NAME, queryDuration);
+
+    currentTime += 100;
+    executedJobs += 8;
+    context.setAcquisitionDuration(currentTime - context.getAcquisitionTime());
+    context.setNumberOfQueuedJobBatches(numberOfQueuedJobBatches);
+    context.setNumberOfExecutedJobs(executedJobs);
+
+    strategy.reconfigure(context);
+  }
+
+  /**
+   * numJobsToAcquire >= numJobsAcquired >= numJobsFailedToLock must hold
+   */
+  protected AcquiredJobs buildAcquiredJobs(int numJobsToAcquire, int numJobsAcquired, int numJobsFailedToLock) {
+    AcquiredJobs acquiredJobs = new AcquiredJobs(numJobsToAcquire);
+    for (int i = 0; i < numJobsAcquired; i++) {
+      acquiredJobs.addJobIdBatch(new ArrayList<>(Arrays.asList(Integer.toString(i))));
+    }
+
+    for (int i = 0; i < numJobsFailedToLock; i++) {
+      acquiredJobs.removeJobId(Integer.toString(i));
+    }
+
+    return acquiredJobs;
+  }
+
+}
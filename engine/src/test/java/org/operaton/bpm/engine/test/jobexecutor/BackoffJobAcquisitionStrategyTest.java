@@ -161,6 +161,62 @@ public class BackoffJobAcquisitionStrategyTest {
     Assert.assertEquals(BackoffJobAcquisitionStrategy.DEFAULT_EXECUTION_SATURATION_WAIT_TIME, strategy.getWaitTime());
   }
 
+  @Test
+  public void testAcquireNoMoreJobsThanExecutionCapacity() {
+    // given a job acquisition strategy and a job acquisition context
+    // with acquired jobs and a job executor that can only accept three more job batches
+    JobAcquisitionContext context = new JobAcquisitionContext();
+
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE, 0));
+    context.setAvailableExecutionCapacity(3);
+
+    // when reconfiguring the strategy
+    strategy.reconfigure(context);
+
+    // then the strategy only attempts to acquire as many jobs as can be executed
+    Assert.assertEquals(3, strategy.getNumJobsToAcquire(ENGINE_NAME));
+
+    // without a timeout
+    Assert.assertEquals(0, strategy.getWaitTime());
+  }
+
+  @Test
+  public void testWaitTimeOnExhaustedExecutionCapacity() {
+    // given a job acquisition strategy and a job acquisition context
+    // with a job executor that cannot accept any more job batches
+    JobAcquisitionContext context = new JobAcquisitionContext();
+
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE, 0));
+    context.setAvailableExecutionCapacity(0);
+
+    // when reconfiguring the strategy
+    strategy.reconfigure(context);
+
+    // then no jobs are acquired and there is a slight wait time
+    Assert.assertEquals(0, strategy.getNumJobsToAcquire(ENGINE_NAME));
+    Assert.assertEquals(BackoffJobAcquisitionStrategy.DEFAULT_EXECUTION_SATURATION_WAIT_TIME, strategy.getWaitTime());
+  }
+
+  @Test
+  public void testConvertExecutionCapacityFromJobBatchesToJobs() {
+    // given a job acquisition strategy and a job acquisition context
+    // with batches of two acquired jobs and a job executor that can only accept three more job batches
+    JobAcquisitionContext context = new JobAcquisitionContext();
+
+    AcquiredJobs acquiredJobs = new AcquiredJobs(NUM_JOBS_TO_ACQUIRE);
+    for (int i = 0; i < NUM_JOBS_TO_ACQUIRE; i += 2) {
+      acquiredJobs.addJobIdBatch(Arrays.asList(Integer.toString(i), Integer.toString(i + 1)));
+    }
+    context.submitAcquiredJobs(ENGINE_NAME, acquiredJobs);
+    context.setAvailableExecutionCapacity(3);
+
+    // when reconfiguring the strategy
+    strategy.reconfigure(context);
+
+    // then the strategy attempts to acquire as many jobs as fit into three job batches
+    Assert.assertEquals(6, strategy.getNumJobsToAcquire(ENGINE_NAME));
+  }
+
   /**
    * numJobsToAcquire >= numJobsAcquired >= numJobsFailedToLock must hold
    */
@@ -0,0 +1,301 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.operaton.bpm.engine.ManagementService;
+import org.operaton.bpm.engine.RuntimeService;
+import org.operaton.bpm.engine.TaskService;
+import org.operaton.bpm.engine.impl.ProcessEngineImpl;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.interceptor.Command;
+import org.operaton.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.operaton.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.operaton.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.operaton.bpm.engine.impl.persistence.entity.JobEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.operaton.bpm.engine.runtime.Job;
+import org.operaton.bpm.engine.test.ProcessEngineRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineTestRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.operaton.bpm.model.bpmn.Bpmn;
+import org.operaton.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class JobExecutorLocalHandOffTest {
+
+  protected static final BpmnModelInstance ASYNC_TASK = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("task")
+      .operatonAsyncBefore()
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance PARALLEL_ASYNC_TASKS = Bpmn.createExecutableProcess("parallelProcess")
+      .startEvent()
+      .parallelGateway("fork")
+        .userTask("task1")
+        .operatonAsyncBefore()
+        .endEvent()
+      .moveToNode("fork")
+        .userTask("task2")
+        .operatonAsyncBefore()
+        .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance ASYNC_TASK_AND_WAIT_STATE = Bpmn.createExecutableProcess("asyncAndWaitProcess")
+      .startEvent()
+      .parallelGateway("fork")
+        .userTask("task1")
+        .operatonAsyncBefore()
+        .endEvent()
+      .moveToNode("fork")
+        .userTask("waitState")
+        .userTask("task2")
+        .operatonAsyncBefore()
+        .endEvent()
+      .done();
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> configuration
+      .setJobExecutorLocalHandOff(true)
+      .setJobExecutor(new RecordingJobExecutor()));
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected RecordingJobExecutor jobExecutor;
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+  protected TaskService taskService;
+
+  @Before
+  public void setUp() {
+    jobExecutor = (RecordingJobExecutor) engineRule.getProcessEngineConfiguration().getJobExecutor();
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+    taskService = engineRule.getTaskService();
+  }
+
+  @After
+  public void tearDown() {
+    jobExecutor.shutdown();
+  }
+
+  @Test
+  public void shouldNotLockJobsWhenJobExecutorIsInactive() {
+    // given
+    testRule.deploy(ASYNC_TASK);
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    JobEntity job = (JobEntity) managementService.createJobQuery().singleResult();
+    assertThat(job.getLockOwner()).isNull();
+    assertThat(job.getLockExpirationTime()).isNull();
+    assertThat(jobExecutor.handedOffBatches).isEmpty();
+  }
+
+  @Test
+  public void shouldHandOffAndExecuteJob() {
+    // given
+    testRule.deploy(ASYNC_TASK);
+    jobExecutor.start();
+
+    // when
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+
+    // then the job is handed off to the job executor
+    assertThat(jobExecutor.handedOffBatches).hasSize(1);
+
+    // and executed
+    waitForTask(processInstanceId);
+    assertThat(managementService.createJobQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldExecuteHandedOffJobWithoutAcquisition() throws InterruptedException {
+    // given
+    testRule.deploy(ASYNC_TASK);
+    jobExecutor.start();
+    waitForAcquisition();
+    int acquisitions = jobExecutor.acquisitions.get();
+
+    // when
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+
+    // then
+    waitForTask(processInstanceId);
+    assertThat(jobExecutor.acquisitions.get()).isEqualTo(acquisitions);
+  }
+
+  @Test
+  public void shouldHandOffExclusiveJobsOfProcessInstanceAsOneBatch() {
+    // given
+    testRule.deploy(PARALLEL_ASYNC_TASKS);
+    jobExecutor.start();
+
+    // when
+    String processInstanceId = runtimeService.startProcessInstanceByKey("parallelProcess").getId();
+
+    // then
+    assertThat(jobExecutor.handedOffBatches).hasSize(1);
+    assertThat(jobExecutor.handedOffBatches.get(0)).hasSize(2);
+
+    waitForTask(processInstanceId);
+  }
+
+  @Test
+  public void shouldLockJobOnInsert() {
+    // given
+    testRule.deploy(ASYNC_TASK);
+    jobExecutor.executeHandedOffJobs = false;
+    jobExecutor.start();
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    JobEntity job = (JobEntity) managementService.createJobQuery().singleResult();
+    assertThat(job.getLockOwner()).isEqualTo(jobExecutor.getLockOwner());
+    assertThat(job.getLockExpirationTime()).isNotNull();
+
+    List<String> handedOffJobIds = jobExecutor.handedOffBatches.stream()
+        .flatMap(List::stream)
+        .collect(Collectors.toList());
+    assertThat(handedOffJobIds).containsExactly(job.getId());
+  }
+
+  @Test
+  public void shouldNotHandOffExclusiveJobWhileExclusiveJobOfProcessInstanceIsLocked() {
+    // given an exclusive job of the process instance that is locked by the job executor
+    testRule.deploy(ASYNC_TASK_AND_WAIT_STATE);
+    jobExecutor.executeHandedOffJobs = false;
+    jobExecutor.start();
+
+    String processInstanceId = runtimeService.startProcessInstanceByKey("asyncAndWaitProcess").getId();
+    assertThat(jobExecutor.handedOffBatches).hasSize(1);
+
+    // when another exclusive job of the process instance is created outside of the job executor
+    String taskId = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId();
+    taskService.complete(taskId);
+
+    // then it is not handed off and left to the acquisition
+    assertThat(jobExecutor.handedOffBatches).hasSize(1);
+
+    JobEntity job = (JobEntity) managementService.createJobQuery().activityId("task2").singleResult();
+    assertThat(job.getLockOwner()).isNull();
+  }
+
+  @Test
+  public void shouldNotHandOffHistoryCleanupJobWhenHistoryCleanupIsDisabled() {
+    // given
+    ProcessEngineConfigurationImpl configuration = engineRule.getProcessEngineConfiguration();
+    configuration.setHistoryCleanupEnabled(false);
+    jobExecutor.executeHandedOffJobs = false;
+    jobExecutor.start();
+
+    try {
+      // when
+      configuration.getCommandExecutorTxRequired().execute(commandContext -> {
+        MessageEntity message = new MessageEntity();
+        message.setJobHandlerType(HistoryCleanupJobHandler.TYPE);
+        commandContext.getJobManager().send(message);
+        return null;
+      });
+
+      // then
+      assertThat(jobExecutor.handedOffBatches).isEmpty();
+
+      JobEntity job = (JobEntity) managementService.createJobQuery().singleResult();
+      assertThat(job.getLockOwner()).isNull();
+    }
+    finally {
+      jobExecutor.shutdown();
+      configuration.setHistoryCleanupEnabled(true);
+      testRule.deleteHistoryCleanupJobs();
+    }
+  }
+
+  protected void waitForAcquisition() throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (jobExecutor.acquisitions.get() == 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(jobExecutor.acquisitions.get()).isPositive();
+  }
+
+  protected void waitForTask(String processInstanceId) {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (managementService.createJobQuery().processInstanceId(processInstanceId).count() > 0
+        && System.currentTimeMillis() < deadline) {
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+
+    List<Job> jobs = managementService.createJobQuery().processInstanceId(processInstanceId).list();
+    assertThat(jobs).isEmpty();
+  }
+
+  public static class RecordingJobExecutor extends DefaultJobExecutor {
+
+    protected List<List<String>> handedOffBatches = Collections.synchronizedList(new ArrayList<>());
+    protected boolean executeHandedOffJobs = true;
+    protected AtomicInteger acquisitions = new AtomicInteger();
+
+    public RecordingJobExecutor() {
+      // do not acquire jobs on idle acquisition cycles during the test
+      waitTimeInMillis = 60 * 1000;
+    }
+
+    @Override
+    public Command<AcquiredJobs> getAcquireJobsCmd(int numJobs) {
+      Command<AcquiredJobs> acquireJobsCmd = super.getAcquireJobsCmd(numJobs);
+      return commandContext -> {
+        acquisitions.incrementAndGet();
+        return acquireJobsCmd.execute(commandContext);
+      };
+    }
+
+    @Override
+    public void handOffJobs(List<List<String>> jobIdBatches, ProcessEngineImpl processEngine) {
+      handedOffBatches.addAll(jobIdBatches);
+      if (executeHandedOffJobs) {
+        super.handOffJobs(jobIdBatches, processEngine);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.operaton.bpm.engine.ManagementService;
+import org.operaton.bpm.engine.RuntimeService;
+import org.operaton.bpm.engine.TaskService;
+import org.operaton.bpm.engine.impl.ProcessEngineImpl;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.operaton.bpm.engine.impl.interceptor.CommandExecutor;
+import org.operaton.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.operaton.bpm.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.operaton.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.operaton.bpm.engine.impl.jobexecutor.ExecuteJobsRunnable;
+import org.operaton.bpm.engine.impl.jobexecutor.JobFailureCollector;
+import org.operaton.bpm.engine.impl.jobexecutor.JobMicroBatch;
+import org.operaton.bpm.engine.runtime.Job;
+import org.operaton.bpm.engine.test.ProcessEngineRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineTestRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.operaton.bpm.model.bpmn.Bpmn;
+import org.operaton.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class JobExecutorMicroBatchTest {
+
+  protected static final BpmnModelInstance ASYNC_TASK = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("task")
+      .operatonAsyncBefore()
+      .operatonExclusive(false)
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance FAILING_ASYNC_TASK = Bpmn.createExecutableProcess("failingProcess")
+      .startEvent()
+      .serviceTask("failingTask")
+      .operatonClass(FailingDelegate.class)
+      .operatonAsyncBefore()
+      .operatonExclusive(false)
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance EXCLUSIVE_ASYNC_TASK = Bpmn.createExecutableProcess("exclusiveProcess")
+      .startEvent()
+      .userTask("task")
+      .operatonAsyncBefore()
+      .endEvent()
+      .done();
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> configuration
+      .setJobExecutorBatchableJobHandlerTypes(Collections.singleton(AsyncContinuationJobHandler.TYPE))
+      .setJobExecutorMicroBatchSize(3)
+      .setJobExecutor(new RecordingJobExecutor()));
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+  protected TaskService taskService;
+  protected CommandExecutor commandExecutor;
+  protected RecordingJobExecutor jobExecutor;
+
+  @Before
+  public void setUp() {
+    ProcessEngineConfigurationImpl configuration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+    taskService = engineRule.getTaskService();
+    commandExecutor = configuration.getCommandExecutorTxRequired();
+    jobExecutor = (RecordingJobExecutor) configuration.getJobExecutor();
+  }
+
+  @Test
+  public void shouldAcquireBatchableJobsInMicroBatches() {
+    // given
+    testRule.deploy(ASYNC_TASK);
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    // when
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(jobExecutor, 5));
+
+    // then
+    assertThat(acquiredJobs.getJobIdBatches())
+        .extracting(List::size)
+        .containsExactlyInAnyOrder(3, 2);
+    assertThat(acquiredJobs.getJobIdBatches()).hasOnlyElementsOfType(JobMicroBatch.class);
+  }
+
+  @Test
+  public void shouldNotAcquireExclusiveJobsInMicroBatches() {
+    // given
+    testRule.deploy(EXCLUSIVE_ASYNC_TASK);
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("exclusiveProcess");
+    }
+
+    // when
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(jobExecutor, 3));
+
+    // then
+    assertThat(acquiredJobs.getJobIdBatches()).hasSize(3);
+    assertThat(acquiredJobs.getJobIdBatches()).doesNotHaveAnyElementsOfTypes(JobMicroBatch.class);
+  }
+
+  @Test
+  public void shouldExecuteMicroBatchThroughExecuteJobHook() {
+    // given
+    testRule.deploy(ASYNC_TASK);
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(jobExecutor, 3));
+    List<String> microBatch = acquiredJobs.getJobIdBatches().get(0);
+
+    // assume
+    assertThat(microBatch).isInstanceOf(JobMicroBatch.class).hasSize(3);
+
+    jobExecutor.start();
+    try {
+      RecordingExecuteJobsRunnable runnable = new RecordingExecuteJobsRunnable(microBatch,
+          (ProcessEngineImpl) engineRule.getProcessEngine());
+
+      // when
+      runnable.run();
+
+      // then the jobs are executed by the hook in one micro-batch
+      assertThat(runnable.executedMicroBatches).isEqualTo(1);
+      assertThat(runnable.executedJobIds).containsExactlyElementsOf(microBatch);
+      assertThat(managementService.createJobQuery().count()).isZero();
+      assertThat(taskService.createTaskQuery().count()).isEqualTo(3);
+    }
+    finally {
+      jobExecutor.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldExecuteOtherJobBatchesOneByOne() {
+    // given
+    testRule.deploy(ASYNC_TASK);
+    for (int i = 0; i < 2; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+    List<String> jobIds = getJobIds();
+
+    jobExecutor.start();
+    try {
+      RecordingExecuteJobsRunnable runnable = new RecordingExecuteJobsRunnable(jobIds,
+          (ProcessEngineImpl) engineRule.getProcessEngine());
+
+      // when
+      runnable.run();
+
+      // then
+      assertThat(runnable.executedMicroBatches).isZero();
+      assertThat(runnable.executedJobIds).containsExactlyElementsOf(jobIds);
+      assertThat(managementService.createJobQuery().count()).isZero();
+    }
+    finally {
+      jobExecutor.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldFallBackToSingleJobExecutionOnFailure() {
+    // given
+    testRule.deploy(ASYNC_TASK, FAILING_ASYNC_TASK);
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("failingProcess");
+    runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(10000);
+
+    // then the jobs were handed to the job executor as one micro-batch
+    assertThat(jobExecutor.executedBatches).extracting(List::size).contains(3);
+
+    // and the jobs that did not fail are executed nevertheless
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(2);
+
+    Job failedJob = managementService.createJobQuery().singleResult();
+    assertThat(failedJob.getRetries()).isZero();
+    assertThat(failedJob.getExceptionMessage()).isEqualTo("Expected Exception");
+  }
+
+  protected List<String> getJobIds() {
+    return managementService.createJobQuery().list().stream()
+        .map(Job::getId)
+        .collect(Collectors.toList());
+  }
+
+  public static class RecordingExecuteJobsRunnable extends ExecuteJobsRunnable {
+
+    protected int executedMicroBatches = 0;
+    protected List<String> executedJobIds = new ArrayList<>();
+
+    public RecordingExecuteJobsRunnable(List<String> jobIds, ProcessEngineImpl processEngine) {
+      super(jobIds, processEngine);
+    }
+
+    @Override
+    protected void executeJob(String nextJobId, CommandExecutor commandExecutor, JobFailureCollector jobFailureCollector) {
+      executedJobIds.add(nextJobId);
+      super.executeJob(nextJobId, commandExecutor, jobFailureCollector);
+    }
+
+    @Override
+    protected boolean executeMicroBatch(List<String> jobIds, CommandExecutor commandExecutor, ProcessEngineConfigurationImpl engineConfiguration) {
+      boolean executed = super.executeMicroBatch(jobIds, commandExecutor, engineConfiguration);
+      if (executed) {
+        executedMicroBatches++;
+      }
+      return executed;
+    }
+  }
+
+  public static class RecordingJobExecutor extends DefaultJobExecutor {
+
+    protected List<List<String>> executedBatches = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+      executedBatches.add(new ArrayList<>(jobIds));
+      super.executeJobs(jobIds, processEngine);
+    }
+  }
+
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+
+import org.operaton.bpm.engine.ManagementService;
+import org.operaton.bpm.engine.RuntimeService;
+import org.operaton.bpm.engine.impl.ProcessEngineImpl;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.operaton.bpm.engine.impl.interceptor.CommandExecutor;
+import org.operaton.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.operaton.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.operaton.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.operaton.bpm.engine.impl.jobexecutor.JobPartitionRange;
+import org.operaton.bpm.engine.impl.persistence.entity.JobAcquisitionLeaseEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.JobEntity;
+import org.operaton.bpm.engine.impl.util.ClockUtil;
+import org.operaton.bpm.engine.runtime.Job;
+import org.operaton.bpm.engine.test.ProcessEngineRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineTestRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.operaton.bpm.model.bpmn.Bpmn;
+import org.operaton.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class JobExecutorPartitionedAcquisitionTest {
+
+  protected static final long LEASE_TIME = 60 * 1000;
+
+  protected static final BpmnModelInstance ASYNC_TASK = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .operatonAsyncBefore()
+      .userTask("task")
+      .endEvent()
+      .done();
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> configuration
+      .setJobExecutorPartitionedAcquisition(true)
+      .setJobExecutorPartitionLeaseTimeInMillis(LEASE_TIME));
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+  protected CommandExecutor commandExecutor;
+  protected JobExecutor jobExecutor;
+
+  @Before
+  public void setUp() {
+    ProcessEngineConfigurationImpl configuration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+    commandExecutor = configuration.getCommandExecutorTxRequired();
+    jobExecutor = configuration.getJobExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    ClockUtil.reset();
+    commandExecutor.execute(commandContext -> {
+      for (JobAcquisitionLeaseEntity lease : commandContext.getJobAcquisitionLeaseManager().findJobAcquisitionLeases()) {
+        commandContext.getDbEntityManager().delete(lease);
+      }
+      return null;
+    });
+  }
+
+  @Test
+  public void shouldAssignPartitionKeyOfProcessInstance() {
+    // given
+    testRule.deploy(ASYNC_TASK);
+
+    // when
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+
+    // then
+    Job job = managementService.createJobQuery().singleResult();
+    JobEntity jobEntity = commandExecutor.execute(commandContext -> commandContext.getJobManager().findJobById(job.getId()));
+    assertThat(jobEntity.getPartitionKey()).isEqualTo(JobPartitionRange.getPartitionKey(processInstanceId));
+  }
+
+  @Test
+  public void shouldDivideKeySpaceBetweenNodes() {
+    int expectedFrom = 0;
+    for (int i = 0; i < 3; i++) {
+      JobPartitionRange range = JobPartitionRange.forNode(i, 3);
+      assertThat(range.getFrom()).isEqualTo(expectedFrom);
+      expectedFrom = range.getTo();
+    }
+    assertThat(expectedFrom).isEqualTo(JobPartitionRange.NUMBER_OF_PARTITIONS);
+  }
+
+  @Test
+  public void shouldOwnWholeKeySpaceAsSingleNode() {
+    // when
+    JobPartitionRange range = acquirePartitionRange();
+
+    // then
+    assertThat(range.getFrom()).isZero();
+    assertThat(range.getTo()).isEqualTo(JobPartitionRange.NUMBER_OF_PARTITIONS);
+  }
+
+  @Test
+  public void shouldAcquireOnlyJobsOfOwnPartitionRange() {
+    // given another live node
+    insertLease(otherLockOwner(), new Date(ClockUtil.getCurrentTime().getTime() + LEASE_TIME));
+
+    testRule.deploy(ASYNC_TASK);
+    for (int i = 0; i < 20; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    // when
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(jobExecutor, 20));
+
+    // then
+    JobPartitionRange range = acquirePartitionRange();
+    assertThat(range.getTo() - range.getFrom()).isEqualTo(JobPartitionRange.NUMBER_OF_PARTITIONS / 2);
+
+    List<Job> jobs = managementService.createJobQuery().list();
+    long jobsInRange = jobs.stream()
+        .filter(job -> range.contains(JobPartitionRange.getPartitionKey(job.getProcessInstanceId())))
+        .count();
+    assertThat(acquiredJobs.size()).isEqualTo((int) jobsInRange);
+
+    for (List<String> batch : acquiredJobs.getJobIdBatches()) {
+      for (String jobId : batch) {
+        Job job = managementService.createJobQuery().jobId(jobId).singleResult();
+        assertThat(range.contains(JobPartitionRange.getPartitionKey(job.getProcessInstanceId()))).isTrue();
+      }
+    }
+  }
+
+  @Test
+  public void shouldRebalanceWhenLeaseOfOtherNodeExpires() {
+    // given
+    insertLease(otherLockOwner(), new Date(ClockUtil.getCurrentTime().getTime() + LEASE_TIME));
+    assertThat(acquirePartitionRange().getTo() - acquirePartitionRange().getFrom())
+        .isEqualTo(JobPartitionRange.NUMBER_OF_PARTITIONS / 2);
+
+    // when the other node stops renewing its lease
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + LEASE_TIME + 1000));
+
+    // then
+    JobPartitionRange range = acquirePartitionRange();
+    assertThat(range.getFrom()).isZero();
+    assertThat(range.getTo()).isEqualTo(JobPartitionRange.NUMBER_OF_PARTITIONS);
+  }
+
+  @Test
+  public void shouldDeleteLeasesOfDeadNodes() {
+    // given a lease that expired more than a lease time ago
+    insertLease(otherLockOwner(), new Date(ClockUtil.getCurrentTime().getTime() - 2 * LEASE_TIME));
+
+    // when
+    acquirePartitionRange();
+
+    // then
+    List<JobAcquisitionLeaseEntity> leases = commandExecutor.execute(commandContext ->
+        commandContext.getJobAcquisitionLeaseManager().findJobAcquisitionLeases());
+    assertThat(leases).extracting(JobAcquisitionLeaseEntity::getId).containsExactly(jobExecutor.getLockOwner());
+  }
+
+  @Test
+  public void shouldIgnoreLeaseDeletedByOtherNodeOnRenewal() {
+    // given an own lease that has to be renewed
+    insertLease(jobExecutor.getLockOwner(), new Date(ClockUtil.getCurrentTime().getTime() + LEASE_TIME / 4));
+
+    // when another node deletes the lease before it is renewed
+    JobPartitionRange range = commandExecutor.execute(commandContext -> {
+      JobPartitionRange acquiredRange = commandContext.getJobAcquisitionLeaseManager()
+          .acquirePartitionRange(jobExecutor.getLockOwner(), LEASE_TIME);
+
+      engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequiresNew().execute(otherCommandContext -> {
+        otherCommandContext.getJobAcquisitionLeaseManager().deleteJobAcquisitionLease(jobExecutor.getLockOwner());
+        return null;
+      });
+
+      return acquiredRange;
+    });
+
+    // then the acquisition is not rolled back
+    assertThat(range.getFrom()).isZero();
+    assertThat(range.getTo()).isEqualTo(JobPartitionRange.NUMBER_OF_PARTITIONS);
+
+    // and the lease is inserted again in the next cycle
+    acquirePartitionRange();
+    List<JobAcquisitionLeaseEntity> leases = commandExecutor.execute(commandContext ->
+        commandContext.getJobAcquisitionLeaseManager().findJobAcquisitionLeases());
+    assertThat(leases).extracting(JobAcquisitionLeaseEntity::getId).containsExactly(jobExecutor.getLockOwner());
+  }
+
+  @Test
+  public void shouldTakeOverPartitionRangeWhenOtherNodeShutsDown() {
+    // given another node that acquires jobs
+    JobExecutor otherJobExecutor = new DefaultJobExecutor();
+    otherJobExecutor.setLockOwner(otherLockOwner());
+    otherJobExecutor.registerProcessEngine((ProcessEngineImpl) engineRule.getProcessEngine());
+    commandExecutor.execute(new AcquireJobsCmd(otherJobExecutor, 1));
+
+    try {
+      otherJobExecutor.start();
+
+      assertThat(acquirePartitionRange().getTo() - acquirePartitionRange().getFrom())
+          .isEqualTo(JobPartitionRange.NUMBER_OF_PARTITIONS / 2);
+    }
+    finally {
+      // when the other node shuts down
+      otherJobExecutor.shutdown();
+    }
+
+    // then its lease is released and the whole key space is taken over right away
+    JobPartitionRange range = acquirePartitionRange();
+    assertThat(range.getFrom()).isZero();
+    assertThat(range.getTo()).isEqualTo(JobPartitionRange.NUMBER_OF_PARTITIONS);
+  }
+
+  @Test
+  public void shouldReleaseLeaseWhenProcessEngineIsUnregistered() {
+    // given another node that acquires jobs
+    ProcessEngineImpl processEngine = (ProcessEngineImpl) engineRule.getProcessEngine();
+    JobExecutor otherJobExecutor = new DefaultJobExecutor();
+    otherJobExecutor.setLockOwner(otherLockOwner());
+    otherJobExecutor.registerProcessEngine(processEngine);
+    commandExecutor.execute(new AcquireJobsCmd(otherJobExecutor, 1));
+
+    // when
+    otherJobExecutor.unregisterProcessEngine(processEngine);
+
+    // then
+    List<JobAcquisitionLeaseEntity> leases = commandExecutor.execute(commandContext ->
+        commandContext.getJobAcquisitionLeaseManager().findJobAcquisitionLeases());
+    assertThat(leases).extracting(JobAcquisitionLeaseEntity::getId).doesNotContain(otherLockOwner());
+  }
+
+  protected JobPartitionRange acquirePartitionRange() {
+    return commandExecutor.execute(commandContext -> commandContext.getJobAcquisitionLeaseManager()
+        .acquirePartitionRange(jobExecutor.getLockOwner(), LEASE_TIME));
+  }
+
+  protected void insertLease(String lockOwner, Date leaseExpirationTime) {
+    commandExecutor.execute(commandContext -> {
+      commandContext.getDbEntityManager().insert(new JobAcquisitionLeaseEntity(lockOwner, leaseExpirationTime));
+      return null;
+    });
+  }
+
+  protected String otherLockOwner() {
+    return jobExecutor.getLockOwner() + "-other";
+  }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.operaton.bpm.engine.impl.ProcessEngineImpl;
+import org.operaton.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.operaton.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.operaton.bpm.engine.impl.jobexecutor.JobAcquisitionContext;
+import org.operaton.bpm.engine.impl.jobexecutor.JobSchedulingInfo;
+import org.operaton.bpm.engine.impl.jobexecutor.PrioritizedJobsRunnable;
+import org.operaton.bpm.engine.impl.jobexecutor.PriorityJobQueue;
+import org.operaton.bpm.engine.impl.util.ClockUtil;
+import org.operaton.bpm.engine.test.jobexecutor.VirtualThreadJobExecutorTest.RecordingRejectedJobsHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PriorityJobQueueTest {
+
+  protected PriorityJobQueue queue;
+
+  @Before
+  public void setUp() {
+    ClockUtil.setCurrentTime(new Date());
+    queue = new PriorityJobQueue(10);
+  }
+
+  @After
+  public void tearDown() {
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void shouldPollByPriority() {
+    // given
+    queue.offer(runnable("low", 1, "def"));
+    queue.offer(runnable("high", 10, "def"));
+    queue.offer(runnable("medium", 5, "def"));
+
+    // then
+    assertThat(pollAll()).containsExactly("high", "medium", "low");
+  }
+
+  @Test
+  public void shouldAgeWaitingEntries() {
+    // given
+    long now = ClockUtil.getCurrentTime().getTime();
+    queue.setAgingIntervalInMillis(1000);
+    queue.offer(runnable("old", 1, "def"));
+
+    ClockUtil.setCurrentTime(new Date(now + 5000));
+    queue.offer(runnable("new", 5, "def"));
+
+    // when the old entry has waited for more than four aging intervals longer
+    ClockUtil.setCurrentTime(new Date(now + 11000));
+
+    // then
+    assertThat(pollAll()).containsExactly("old", "new");
+  }
+
+  @Test
+  public void shouldShareFairlyBetweenJobDefinitions() {
+    // given
+    for (int i = 0; i < 4; i++) {
+      queue.offer(runnable("a" + i, 0, "defA"));
+    }
+    queue.offer(runnable("b0", 0, "defB"));
+    queue.offer(runnable("b1", 0, "defB"));
+
+    // then
+    assertThat(pollAll()).containsExactly("a0", "b0", "a1", "b1", "a2", "a3");
+  }
+
+  @Test
+  public void shouldRespectFairnessWeights() {
+    // given
+    Map<String, Integer> weights = new HashMap<>();
+    weights.put("defA", 2);
+    queue.setFairnessWeights(weights);
+
+    for (int i = 0; i < 4; i++) {
+      queue.offer(runnable("a" + i, 0, "defA"));
+    }
+    queue.offer(runnable("b0", 0, "defB"));
+    queue.offer(runnable("b1", 0, "defB"));
+
+    // then
+    assertThat(pollAll()).containsExactly("a0", "b0", "a1", "a2", "b1", "a3");
+  }
+
+  @Test
+  public void shouldDisplaceLowestPriorityEntryWhenFull() {
+    // given
+    queue = new PriorityJobQueue(2);
+    PrioritizedJobsRunnable low = runnable("low", 1, "def");
+    queue.offer(low);
+    queue.offer(runnable("medium", 5, "def"));
+    assertThat(queue.offer(runnable("high", 10, "def"))).isFalse();
+
+    // when
+    Runnable displaced = queue.offerByDisplacing(runnable("high", 10, "def"));
+    Runnable rejected = queue.offerByDisplacing(runnable("lowest", 0, "def"));
+
+    // then
+    assertThat(displaced).isSameAs(low);
+    assertThat(((PrioritizedJobsRunnable) rejected).getJobIds()).containsExactly("lowest");
+    assertThat(pollAll()).containsExactly("high", "medium");
+  }
+
+  @Test
+  public void shouldRejectDisplacedJobsOfSaturatedJobExecutor() {
+    // given a job executor that can execute one batch and queue one more
+    CountDownLatch latch = new CountDownLatch(1);
+    RecordingRejectedJobsHandler rejectedJobsHandler = new RecordingRejectedJobsHandler();
+
+    DefaultJobExecutor jobExecutor = new DefaultJobExecutor() {
+      @Override
+      public Runnable getExecuteJobsRunnable(List<String> jobIds, ProcessEngineImpl processEngine) {
+        return () -> {
+          try {
+            latch.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+      }
+    };
+    jobExecutor.setPrioritizedQueue(true);
+    jobExecutor.setCorePoolSize(1);
+    jobExecutor.setMaxPoolSize(1);
+    jobExecutor.setQueueSize(1);
+    jobExecutor.setRejectedJobsHandler(rejectedJobsHandler);
+    jobExecutor.start();
+
+    try {
+      jobExecutor.executeJobs(Collections.singletonList("1"), null, new JobSchedulingInfo(0, "def", null));
+      waitForEmptyQueue(jobExecutor);
+      jobExecutor.executeJobs(Collections.singletonList("2"), null, new JobSchedulingInfo(0, "def", null));
+
+      // when
+      jobExecutor.executeJobs(Collections.singletonList("3"), null, new JobSchedulingInfo(10, "def", null));
+
+      // then the waiting batch of lower priority is rejected
+      assertThat(rejectedJobsHandler.rejectedJobIds).containsExactly("2");
+
+    } finally {
+      latch.countDown();
+      jobExecutor.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldKeepSchedulingInfoOfRejectedJobs() {
+    // given
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    AcquiredJobs acquiredJobs = new AcquiredJobs(2);
+    acquiredJobs.addJobIdBatch("1");
+    acquiredJobs.addJobSchedulingInfo("1", new JobSchedulingInfo(5, "def", null));
+    acquiredJobs.addJobIdBatch("2");
+    acquiredJobs.addJobSchedulingInfo("2", new JobSchedulingInfo(7, "def", null));
+    context.submitAcquiredJobs("engine", acquiredJobs);
+    context.submitRejectedBatch("engine", Collections.singletonList("2"));
+
+    // when
+    context.reset();
+
+    // then
+    assertThat(context.getJobSchedulingInfo(Collections.singletonList("1"))).isNull();
+    assertThat(context.getJobSchedulingInfo(Collections.singletonList("2")).getPriority()).isEqualTo(7);
+  }
+
+  protected PrioritizedJobsRunnable runnable(String jobId, long priority, String jobDefinitionId) {
+    return new PrioritizedJobsRunnable(() -> {}, Collections.singletonList(jobId), null,
+        new JobSchedulingInfo(priority, jobDefinitionId, null));
+  }
+
+  protected List<String> pollAll() {
+    List<String> jobIds = new ArrayList<>();
+    Runnable runnable;
+    while ((runnable = queue.poll()) != null) {
+      jobIds.addAll(((PrioritizedJobsRunnable) runnable).getJobIds());
+    }
+    return jobIds;
+  }
+
+  protected void waitForEmptyQueue(DefaultJobExecutor jobExecutor) {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (!jobExecutor.getThreadPoolExecutor().getQueue().isEmpty() && System.currentTimeMillis() < deadline) {
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.operaton.bpm.engine.impl.ProcessEngineImpl;
+import org.operaton.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.operaton.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
+import org.operaton.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
+import org.operaton.bpm.engine.test.ProcessEngineRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineTestRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.operaton.bpm.model.bpmn.Bpmn;
+import org.operaton.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class VirtualThreadJobExecutorTest {
+
+  protected static final BpmnModelInstance ASYNC_TASK = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .operatonAsyncBefore()
+      .userTask("task")
+      .endEvent()
+      .done();
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setJobExecutor(new VirtualThreadJobExecutor()));
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  @Test
+  public void shouldExecuteJobs() {
+    // given
+    testRule.deploy(ASYNC_TASK);
+    for (int i = 0; i < 10; i++) {
+      engineRule.getRuntimeService().startProcessInstanceByKey("process");
+    }
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(10000);
+
+    // then
+    assertThat(engineRule.getManagementService().createJobQuery().count()).isZero();
+    assertThat(engineRule.getTaskService().createTaskQuery().count()).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldRejectJobsWhenSaturated() throws Exception {
+    // given
+    CountDownLatch latch = new CountDownLatch(1);
+    RecordingRejectedJobsHandler rejectedJobsHandler = new RecordingRejectedJobsHandler();
+
+    VirtualThreadJobExecutor jobExecutor = new VirtualThreadJobExecutor() {
+      @Override
+      public Runnable getExecuteJobsRunnable(List<String> jobIds, ProcessEngineImpl processEngine) {
+        return () -> {
+          try {
+            latch.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+      }
+    };
+    jobExecutor.setMaxConcurrentJobs(1);
+    jobExecutor.setRejectedJobsHandler(rejectedJobsHandler);
+    jobExecutor.start();
+
+    try {
+      // when
+      jobExecutor.executeJobs(Collections.singletonList("1"), null);
+      jobExecutor.executeJobs(Collections.singletonList("2"), null);
+
+      // then
+      assertThat(rejectedJobsHandler.rejectedJobIds).containsExactly("2");
+      assertThat(jobExecutor.getAvailableExecutionCapacity()).isZero();
+
+      // and the permit is released once the job completes
+      latch.countDown();
+      long deadline = System.currentTimeMillis() + 10000;
+      while (jobExecutor.getAvailableExecutionCapacity() == 0 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(jobExecutor.getAvailableExecutionCapacity()).isEqualTo(1);
+
+    } finally {
+      latch.countDown();
+      jobExecutor.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldRejectJobsBeforeStart() {
+    // given
+    RecordingRejectedJobsHandler rejectedJobsHandler = new RecordingRejectedJobsHandler();
+    VirtualThreadJobExecutor jobExecutor = new VirtualThreadJobExecutor();
+    jobExecutor.setRejectedJobsHandler(rejectedJobsHandler);
+
+    // when
+    jobExecutor.executeJobs(Collections.singletonList("1"), null);
+
+    // then
+    assertThat(rejectedJobsHandler.rejectedJobIds).containsExactly("1");
+  }
+
+  public static class RecordingRejectedJobsHandler implements RejectedJobsHandler {
+
+    protected List<String> rejectedJobIds = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void jobsRejected(List<String> jobIds, ProcessEngineImpl processEngine, JobExecutor jobExecutor) {
+      rejectedJobIds.addAll(jobIds);
+    }
+  }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.standalone.db.entitymanager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.operaton.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.operaton.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.operaton.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
+import org.operaton.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.operaton.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.JobEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.TimerEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DbEntityCacheTest {
+
+  protected DbEntityCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new DbEntityCache(DbEntityCacheKeyMapping.defaultEntityCacheKeyMapping());
+  }
+
+  @Test
+  public void shouldPutGetAndRemoveManyEntities() {
+    // given
+    List<ExecutionEntity> executions = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      ExecutionEntity execution = execution(String.valueOf(i));
+      executions.add(execution);
+      cache.putPersistent(execution);
+    }
+
+    // when
+    for (int i = 0; i < 1000; i += 2) {
+      assertThat(cache.remove(executions.get(i))).isTrue();
+    }
+
+    // then
+    assertThat(cache.size()).isEqualTo(500);
+    for (int i = 0; i < 1000; i++) {
+      ExecutionEntity cachedExecution = cache.get(ExecutionEntity.class, String.valueOf(i));
+      if (i % 2 == 0) {
+        assertThat(cachedExecution).isNull();
+      } else {
+        assertThat(cachedExecution).isSameAs(executions.get(i));
+      }
+    }
+    assertThat(cache.getEntitiesByType(ExecutionEntity.class)).hasSize(500);
+    assertThat(cache.getCachedEntities()).hasSize(500);
+  }
+
+  @Test
+  public void shouldSeparateEntityTypesWithSameId() {
+    // given
+    ExecutionEntity execution = execution("1");
+    TaskEntity task = new TaskEntity("1");
+
+    // when
+    cache.putTransient(execution);
+    cache.putTransient(task);
+
+    // then
+    assertThat(cache.get(ExecutionEntity.class, "1")).isSameAs(execution);
+    assertThat(cache.get(TaskEntity.class, "1")).isSameAs(task);
+    assertThat(cache.getEntitiesByType(TaskEntity.class)).containsExactly(task);
+  }
+
+  @Test
+  public void shouldGetEntitiesBySubtypeOfCacheKey() {
+    // given
+    TimerEntity timer = new TimerEntity();
+    timer.setId("1");
+    MessageEntity message = new MessageEntity();
+    message.setId("2");
+
+    // when
+    cache.putTransient(timer);
+    cache.putTransient(message);
+
+    // then
+    assertThat(cache.get(JobEntity.class, "1")).isSameAs(timer);
+    assertThat(cache.getEntitiesByType(AcquirableJobEntity.class)).containsExactlyInAnyOrder(timer, message);
+    assertThat(cache.getEntitiesByType(TimerEntity.class)).containsExactly(timer);
+  }
+
+  @Test
+  public void shouldLinkEntitiesByState() {
+    // given
+    ExecutionEntity transientExecution = execution("1");
+    ExecutionEntity persistentExecution = execution("2");
+    ExecutionEntity mergedExecution = execution("3");
+    cache.putTransient(transientExecution);
+    cache.putPersistent(persistentExecution);
+    cache.putMerged(mergedExecution);
+
+    // when
+    cache.setDeleted(persistentExecution);
+    cache.getCachedEntity(transientExecution).setEntityState(DbEntityState.PERSISTENT);
+
+    // then
+    assertThat(entitiesInState(DbEntityState.TRANSIENT)).isEmpty();
+    assertThat(entitiesInState(DbEntityState.PERSISTENT)).containsExactly(transientExecution);
+    assertThat(entitiesInState(DbEntityState.MERGED)).containsExactly(mergedExecution);
+    assertThat(entitiesInState(DbEntityState.DELETED_PERSISTENT)).containsExactly(persistentExecution);
+
+    // and when
+    cache.remove(persistentExecution);
+    cache.putMerged(mergedExecution);
+
+    // then
+    assertThat(entitiesInState(DbEntityState.DELETED_PERSISTENT)).isEmpty();
+    assertThat(entitiesInState(DbEntityState.MERGED)).containsExactly(mergedExecution);
+    assertThat(entitiesInState(DbEntityState.PERSISTENT)).containsExactly(transientExecution);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  protected List<Object> entitiesInState(DbEntityState entityState) {
+    List<Object> entities = new ArrayList<>();
+    for (CachedDbEntity cachedEntity = cache.getFirstCachedEntity(entityState); cachedEntity != null; cachedEntity = cachedEntity.getNextInState()) {
+      entities.add(cachedEntity.getEntity());
+    }
+    return entities;
+  }
+
+  protected ExecutionEntity execution(String id) {
+    ExecutionEntity execution = new ExecutionEntity();
+    execution.setId(id);
+    return execution;
+  }
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.standalone.db.entitymanager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.operaton.bpm.engine.HistoryService;
+import org.operaton.bpm.engine.ProcessEngineConfiguration;
+import org.operaton.bpm.engine.ProcessEngineException;
+import org.operaton.bpm.engine.RuntimeService;
+import org.operaton.bpm.engine.history.HistoricVariableInstance;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.db.sql.MultiRowInsertSqlSource;
+import org.operaton.bpm.engine.impl.interceptor.CommandExecutor;
+import org.operaton.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.operaton.bpm.engine.runtime.ProcessInstance;
+import org.operaton.bpm.engine.test.RequiredHistoryLevel;
+import org.operaton.bpm.engine.test.api.runtime.migration.models.ProcessModels;
+import org.operaton.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.operaton.bpm.engine.test.util.ProcessEngineTestRule;
+import org.operaton.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class MultiRowInsertTest {
+
+  protected static final StatementRecorder STATEMENT_RECORDER = new StatementRecorder();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> {
+    configuration.setJdbcMultiRowInsertMaxRows(10);
+  });
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+  protected List<String> byteArrayIds = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+
+    org.apache.ibatis.session.Configuration configuration = processEngineConfiguration.getSqlSessionFactory().getConfiguration();
+    if (!configuration.getInterceptors().contains(STATEMENT_RECORDER)) {
+      configuration.addInterceptor(STATEMENT_RECORDER);
+    }
+    STATEMENT_RECORDER.clear();
+  }
+
+  @After
+  public void tearDown() {
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+    commandExecutor.execute(commandContext -> {
+      for (String byteArrayId : byteArrayIds) {
+        ByteArrayEntity byteArray = commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, byteArrayId);
+        if (byteArray != null) {
+          commandContext.getDbEntityManager().delete(byteArray);
+        }
+      }
+      return null;
+    });
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+  public void shouldInsertVariablesWithMultiRowStatement() {
+    // given
+    testRule.deploy(ProcessModels.ONE_TASK_PROCESS);
+    Map<String, Object> variables = new HashMap<>();
+    for (int i = 0; i < 25; i++) {
+      variables.put("var" + i, "value" + i);
+    }
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(ProcessModels.PROCESS_KEY, variables);
+
+    // then
+    assertThat(STATEMENT_RECORDER.getStatementIds()).contains(MultiRowInsertSqlSource.STATEMENT_ID);
+    assertThat(runtimeService.getVariables(processInstance.getId())).isEqualTo(variables);
+
+    List<HistoricVariableInstance> historicVariables = historyService.createHistoricVariableInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .list();
+    assertThat(historicVariables).hasSize(25);
+    for (HistoricVariableInstance historicVariable : historicVariables) {
+      assertThat(historicVariable.getValue()).isEqualTo(variables.get(historicVariable.getName()));
+    }
+  }
+
+  @Test
+  public void shouldInsertByteArraysWithMultiRowStatement() {
+    // given
+    List<ByteArrayEntity> byteArrays = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      byteArrays.add(new ByteArrayEntity("name" + i, new byte[] { (byte) i, 1, 2 }));
+    }
+
+    // when
+    insertByteArrays(byteArrays);
+
+    // then
+    assertThat(STATEMENT_RECORDER.getStatementIds())
+      .containsExactly(MultiRowInsertSqlSource.STATEMENT_ID);
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      for (int i = 0; i < 5; i++) {
+        ByteArrayEntity byteArray = commandContext.getDbEntityManager()
+            .selectById(ByteArrayEntity.class, byteArrays.get(i).getId());
+        assertThat(byteArray.getName()).isEqualTo("name" + i);
+        assertThat(byteArray.getBytes()).containsExactly((byte) i, 1, 2);
+      }
+      return null;
+    });
+  }
+
+  @Test
+  public void shouldRollbackAllRowsOfFailedMultiRowStatement() {
+    // given
+    ByteArrayEntity existing = new ByteArrayEntity("existing", new byte[] { 1 });
+    insertByteArrays(Collections.singletonList(existing));
+
+    List<ByteArrayEntity> byteArrays = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      byteArrays.add(new ByteArrayEntity("name" + i, new byte[] { (byte) i }));
+    }
+    ByteArrayEntity duplicate = new ByteArrayEntity("duplicate", new byte[] { 2 });
+    duplicate.setId(existing.getId());
+    byteArrays.add(duplicate);
+
+    // when
+    assertThatThrownBy(() -> insertByteArrays(byteArrays))
+      .isInstanceOf(ProcessEngineException.class);
+
+    // then
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      for (int i = 0; i < 3; i++) {
+        assertThat(commandContext.getDbEntityManager()
+            .selectById(ByteArrayEntity.class, byteArrays.get(i).getId())).isNull();
+      }
+      assertThat(commandContext.getDbEntityManager()
+          .selectById(ByteArrayEntity.class, existing.getId()).getName()).isEqualTo("existing");
+      return null;
+    });
+  }
+
+  protected void insertByteArrays(List<ByteArrayEntity> byteArrays) {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      for (ByteArrayEntity byteArray : byteArrays) {
+        commandContext.getDbEntityManager().insert(byteArray);
+        byteArrayIds.add(byteArray.getId());
+      }
+      STATEMENT_RECORDER.clear();
+      return null;
+    });
+  }
+
+  @Intercepts(@Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }))
+  public static class StatementRecorder implements Interceptor {
+
+    protected final List<String> statementIds = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      statementIds.add(((MappedStatement) invocation.getArgs()[0]).getId());
+      return invocation.proceed();
+    }
+
+    @Override
+    public Object plugin(Object target) {
+      return Plugin.wrap(target, this);
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+    }
+
+    public List<String> getStatementIds() {
+      return new ArrayList<>(statementIds);
+    }
+
+    public void clear() {
+      statementIds.clear();
+    }
+  }
+
+}
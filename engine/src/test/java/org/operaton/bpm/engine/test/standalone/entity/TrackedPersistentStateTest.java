@@ -0,0 +1,150 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.engine.test.standalone.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+
+import org.operaton.bpm.engine.impl.db.DbEntity;
+import org.operaton.bpm.engine.impl.db.HasTrackedPersistentState;
+import org.operaton.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.TimerEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/**
+ * Changes every field of the entities with tracked persistent state and checks that
+ * the tracking detects exactly the changes {@link DbEntity#getPersistentState()} reveals.
+ */
+@RunWith(Parameterized.class)
+public class TrackedPersistentStateTest {
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(new Object[][] {
+        { ExecutionEntity.class },
+        { TaskEntity.class },
+        { VariableInstanceEntity.class },
+        { AcquirableJobEntity.class },
+        { MessageEntity.class },
+        { TimerEntity.class },
+        { ExternalTaskEntity.class }
+    });
+  }
+
+  @Parameterized.Parameter(0)
+  public Class<? extends DbEntity> entityType;
+
+  @Test
+  public void shouldNotBeChangedAfterTracking() throws Exception {
+    // given
+    DbEntity entity = entityType.getDeclaredConstructor().newInstance();
+
+    // when
+    ((HasTrackedPersistentState) entity).trackPersistentState();
+
+    // then
+    assertThat(((HasTrackedPersistentState) entity).hasPersistentStateChanged()).isFalse();
+  }
+
+  @Test
+  public void shouldTrackEveryChangeOfPersistentState() throws Exception {
+    DbEntity entity = entityType.getDeclaredConstructor().newInstance();
+    HasTrackedPersistentState trackedEntity = (HasTrackedPersistentState) entity;
+
+    for (Class<?> type = entityType; type != Object.class; type = type.getSuperclass()) {
+      for (Field field : type.getDeclaredFields()) {
+        Object changedValue = changedValue(field, entity);
+        if (changedValue == null) {
+          continue;
+        }
+
+        // given
+        trackedEntity.trackPersistentState();
+        Object persistentState = entity.getPersistentState();
+        Object value = field.get(entity);
+
+        // when
+        field.set(entity, changedValue);
+
+        // then
+        boolean isChanged = !entity.getPersistentState().equals(persistentState);
+        assertThat(trackedEntity.hasPersistentStateChanged())
+          .describedAs("change of %s.%s detected", type.getSimpleName(), field.getName())
+          .isEqualTo(isChanged);
+
+        // and when
+        field.set(entity, value);
+
+        // then
+        assertThat(trackedEntity.hasPersistentStateChanged())
+          .describedAs("restored %s.%s", type.getSimpleName(), field.getName())
+          .isFalse();
+      }
+    }
+  }
+
+  /**
+   * @return a value different from the current value of the field or null if the field is not
+   * a plain value that could be part of the persistent state
+   */
+  protected Object changedValue(Field field, Object entity) throws IllegalAccessException {
+    int modifiers = field.getModifiers();
+    if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isTransient(modifiers)) {
+      return null;
+    }
+    field.setAccessible(true);
+    Class<?> type = field.getType();
+    Object value = field.get(entity);
+
+    if (type == String.class) {
+      return value + "-changed";
+    }
+    if (type == int.class || type == Integer.class) {
+      return value == null ? 1 : (Integer) value + 1;
+    }
+    if (type == long.class || type == Long.class) {
+      return value == null ? 1L : (Long) value + 1;
+    }
+    if (type == double.class || type == Double.class) {
+      return value == null ? 1.0 : (Double) value + 1;
+    }
+    if (type == boolean.class || type == Boolean.class) {
+      return value == null || !(Boolean) value;
+    }
+    if (type == Date.class) {
+      return value == null ? new Date(0) : new Date(((Date) value).getTime() + 1);
+    }
+    if (type.isEnum()) {
+      Object[] constants = type.getEnumConstants();
+      return value == constants[0] && constants.length > 1 ? constants[1] : constants[0];
+    }
+    return null;
+  }
+
+}
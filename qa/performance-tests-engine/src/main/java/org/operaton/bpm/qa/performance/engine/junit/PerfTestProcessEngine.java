@@ -25,9 +25,12 @@ import org.apache.tomcat.jdbc.pool.DataSource;
 import org.apache.tomcat.jdbc.pool.PoolProperties;
 import org.operaton.bpm.engine.ProcessEngine;
 import org.operaton.bpm.engine.ProcessEngineConfiguration;
+import org.operaton.bpm.engine.impl.cfg.IdGenerator;
 import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.operaton.bpm.engine.impl.cfg.ProcessEnginePlugin;
 import org.operaton.bpm.engine.impl.cfg.StandaloneProcessEngineConfiguration;
+import org.operaton.bpm.engine.impl.persistence.StrongUuidGenerator;
+import org.operaton.bpm.engine.impl.persistence.TimeOrderedUuidGenerator;
 import org.operaton.bpm.engine.impl.util.IoUtil;
 import org.operaton.bpm.engine.impl.util.ReflectUtil;
 import org.operaton.bpm.qa.performance.engine.framework.PerfTestException;
@@ -40,6 +43,11 @@ public class PerfTestProcessEngine {
 
   public static final String PROPERTIES_FILE_NAME = "perf-test-config.properties";
 
+  public static final String ID_GENERATOR_DB = "db";
+  public static final String ID_GENERATOR_STRONG_UUID = "strong-uuid";
+  public static final String ID_GENERATOR_TIME_ORDERED_UUID = "time-ordered-uuid";
+  public static final String ID_GENERATOR_TIME_ORDERED_UUID_COMPACT = "time-ordered-uuid-compact";
+
   protected static ProcessEngine processEngine;
 
   public static ProcessEngine getInstance() {
@@ -64,6 +72,8 @@ public class PerfTestProcessEngine {
 
     processEngineConfiguration.setJdbcBatchProcessing(Boolean.valueOf(properties.getProperty("jdbcBatchProcessing")));
 
+    processEngineConfiguration.setIdGenerator(createIdGenerator(properties.getProperty("idGenerator", "")));
+
     // load plugins
     String processEnginePlugins = properties.getProperty("processEnginePlugins", "");
     for (String pluginName : processEnginePlugins.split(",")) {
@@ -87,6 +97,25 @@ public class PerfTestProcessEngine {
     return processEngineConfiguration.buildProcessEngine();
   }
 
+  /**
+   * @return the id generator for the given name or null to use the engine's default {@link org.operaton.bpm.engine.impl.db.DbIdGenerator}
+   */
+  protected static IdGenerator createIdGenerator(String idGeneratorName) {
+    switch (idGeneratorName) {
+    case "":
+    case ID_GENERATOR_DB:
+      return null;
+    case ID_GENERATOR_STRONG_UUID:
+      return new StrongUuidGenerator();
+    case ID_GENERATOR_TIME_ORDERED_UUID:
+      return new TimeOrderedUuidGenerator();
+    case ID_GENERATOR_TIME_ORDERED_UUID_COMPACT:
+      return new TimeOrderedUuidGenerator(true);
+    default:
+      throw new PerfTestException("Unknown id generator " + idGeneratorName);
+    }
+  }
+
   public static Properties loadProperties() {
     InputStream propertyInputStream = null;
     try {
@@ -0,0 +1,80 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.qa.performance.engine.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import org.operaton.bpm.engine.ProcessEngine;
+import org.operaton.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.operaton.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.operaton.bpm.qa.performance.engine.framework.PerfTestException;
+import org.operaton.bpm.qa.performance.engine.framework.aggregate.TabularResultSet;
+
+/**
+ * <p>Reads the disk space used by the indexes of the engine tables, e.g. to compare
+ * the index growth caused by different id generators.</p>
+ *
+ * <p>Supported on PostgreSQL, where only the size of the indexes is reported, and on H2,
+ * where the reported size includes the table data.</p>
+ */
+public class IndexSizeUtil {
+
+  protected static final String POSTGRES_INDEX_SIZE_QUERY =
+      "select upper(relname), pg_indexes_size(oid) from pg_class where relkind = 'r' and upper(relname) like ? order by relname";
+
+  protected static final String H2_INDEX_SIZE_QUERY =
+      "select TABLE_NAME, DISK_SPACE_USED(TABLE_SCHEMA || '.' || TABLE_NAME) from INFORMATION_SCHEMA.TABLES where TABLE_NAME like ? order by TABLE_NAME";
+
+  public static TabularResultSet getIndexSizes(ProcessEngine processEngine, String tableNamePrefix) {
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+
+    String query;
+    String databaseType = configuration.getDatabaseType();
+    if (DbSqlSessionFactory.POSTGRES.equals(databaseType)) {
+      query = POSTGRES_INDEX_SIZE_QUERY;
+    }
+    else if (DbSqlSessionFactory.H2.equals(databaseType)) {
+      query = H2_INDEX_SIZE_QUERY;
+    }
+    else {
+      throw new PerfTestException("Reading index sizes is not supported on database " + databaseType);
+    }
+
+    TabularResultSet resultSet = new TabularResultSet();
+    resultSet.setResultColumnNames(Arrays.asList("Table", "Size in bytes"));
+
+    try (Connection connection = configuration.getDataSource().getConnection();
+         PreparedStatement statement = connection.prepareStatement(query)) {
+      statement.setString(1, tableNamePrefix.toUpperCase().replace("_", "\\_") + "%");
+      try (ResultSet rows = statement.executeQuery()) {
+        while (rows.next()) {
+          resultSet.addResultRow(Arrays.<Object>asList(rows.getString(1), rows.getLong(2)));
+        }
+      }
+    }
+    catch (SQLException e) {
+      throw new PerfTestException("Could not read index sizes", e);
+    }
+
+    return resultSet;
+  }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.qa.performance.engine.microbenchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.operaton.bpm.engine.impl.db.DbEntity;
+import org.operaton.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.operaton.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.operaton.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
+import org.operaton.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.operaton.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.operaton.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>Compares the {@link DbEntityCache} with its previous map-of-maps layout
+ * ({@link HashMapDbEntityCache}) for the access patterns of a long running command:
+ * filling the cache, looking up entities by id, listing entities by type and
+ * walking the cache at flush time.</p>
+ *
+ * <p>Run with <code>mvn clean install -Pmicrobenchmark -Djmh.includes=DbEntityCacheBenchmark</code>;
+ * add <code>-prof gc</code> to the JMH arguments to compare allocation rates.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DbEntityCacheBenchmark {
+
+  @Param({ "100", "10000" })
+  public int numberOfEntities;
+
+  protected DbEntityCacheKeyMapping cacheKeyMapping = DbEntityCacheKeyMapping.defaultEntityCacheKeyMapping();
+
+  protected List<DbEntity> entities;
+
+  protected DbEntityCache cache;
+  protected HashMapDbEntityCache hashMapCache;
+
+  @Setup(Level.Trial)
+  public void createEntities() {
+    entities = new ArrayList<>(numberOfEntities);
+    for (int i = 0; i < numberOfEntities; i++) {
+      // the typical mix of a multi-instance activity: an execution, a task and a variable per instance
+      DbEntity entity;
+      switch (i % 3) {
+        case 0:
+          entity = new ExecutionEntity();
+          break;
+        case 1:
+          entity = new TaskEntity();
+          break;
+        default:
+          entity = new VariableInstanceEntity();
+      }
+      entity.setId(String.valueOf(1000000 + i));
+      entities.add(entity);
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void fillCaches() {
+    cache = new DbEntityCache(cacheKeyMapping);
+    hashMapCache = new HashMapDbEntityCache(cacheKeyMapping);
+    for (DbEntity entity : entities) {
+      cache.putTransient(entity);
+      hashMapCache.putTransient(entity);
+    }
+  }
+
+  @Benchmark
+  public DbEntityCache put() {
+    DbEntityCache cache = new DbEntityCache(cacheKeyMapping);
+    for (DbEntity entity : entities) {
+      cache.putTransient(entity);
+    }
+    return cache;
+  }
+
+  @Benchmark
+  public HashMapDbEntityCache putHashMap() {
+    HashMapDbEntityCache cache = new HashMapDbEntityCache(cacheKeyMapping);
+    for (DbEntity entity : entities) {
+      cache.putTransient(entity);
+    }
+    return cache;
+  }
+
+  @Benchmark
+  public void get(Blackhole blackhole) {
+    for (DbEntity entity : entities) {
+      blackhole.consume(cache.getCachedEntity(entity.getClass(), entity.getId()));
+    }
+  }
+
+  @Benchmark
+  public void getHashMap(Blackhole blackhole) {
+    for (DbEntity entity : entities) {
+      blackhole.consume(hashMapCache.getCachedEntity(entity.getClass(), entity.getId()));
+    }
+  }
+
+  @Benchmark
+  public List<ExecutionEntity> getEntitiesByType() {
+    return cache.getEntitiesByType(ExecutionEntity.class);
+  }
+
+  @Benchmark
+  public List<ExecutionEntity> getEntitiesByTypeHashMap() {
+    return hashMapCache.getEntitiesByType(ExecutionEntity.class);
+  }
+
+  /**
+   * Walks the cache the way a flush does without performing dirty checks,
+   * which cost the same with both layouts.
+   */
+  @Benchmark
+  public void flush(Blackhole blackhole) {
+    for (DbEntityState entityState : DbEntityState.values()) {
+      for (CachedDbEntity cachedEntity = cache.getFirstCachedEntity(entityState); cachedEntity != null; cachedEntity = cachedEntity.getNextInState()) {
+        blackhole.consume(cachedEntity);
+      }
+    }
+  }
+
+  @Benchmark
+  public void flushHashMap(Blackhole blackhole) {
+    for (CachedDbEntity cachedEntity : hashMapCache.getCachedEntities()) {
+      blackhole.consume(cachedEntity);
+    }
+  }
+
+  @Benchmark
+  public void putAndRemove() {
+    DbEntityCache cache = new DbEntityCache(cacheKeyMapping);
+    for (DbEntity entity : entities) {
+      cache.putTransient(entity);
+    }
+    for (DbEntity entity : entities) {
+      cache.remove(entity);
+    }
+  }
+
+  @Benchmark
+  public void putAndRemoveHashMap() {
+    HashMapDbEntityCache cache = new HashMapDbEntityCache(cacheKeyMapping);
+    for (DbEntity entity : entities) {
+      cache.putTransient(entity);
+    }
+    for (DbEntity entity : entities) {
+      cache.remove(entity);
+    }
+  }
+
+}
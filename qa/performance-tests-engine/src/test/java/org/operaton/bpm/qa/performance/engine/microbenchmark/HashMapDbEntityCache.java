@@ -0,0 +1,103 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.qa.performance.engine.microbenchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.operaton.bpm.engine.impl.db.DbEntity;
+import org.operaton.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.operaton.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.operaton.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
+import org.operaton.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+
+/**
+ * The previous layout of the {@link DbEntityCache}, a map of maps keyed by entity type and id,
+ * reduced to the operations used by {@link DbEntityCacheBenchmark}. Serves as the baseline.
+ */
+public class HashMapDbEntityCache {
+
+  protected Map<Class<?>, Map<String, CachedDbEntity>> cachedEntites = new HashMap<Class<?>, Map<String, CachedDbEntity>>();
+
+  protected DbEntityCacheKeyMapping cacheKeyMapping;
+
+  public HashMapDbEntityCache(DbEntityCacheKeyMapping cacheKeyMapping) {
+    this.cacheKeyMapping = cacheKeyMapping;
+  }
+
+  public CachedDbEntity getCachedEntity(Class<?> type, String id) {
+    Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(type);
+    Map<String, CachedDbEntity> entitiesByType = cachedEntites.get(cacheKey);
+    if(entitiesByType != null) {
+      return entitiesByType.get(id);
+    } else {
+      return null;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T extends DbEntity> List<T> getEntitiesByType(Class<T> type) {
+    Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(type);
+    Map<String, CachedDbEntity> entities = cachedEntites.get(cacheKey);
+    if(entities == null) {
+      return Collections.emptyList();
+    }
+    List<T> result = new ArrayList<T>();
+    for (CachedDbEntity cachedEntity : entities.values()) {
+      if (type == cacheKey || type.isAssignableFrom(cachedEntity.getEntityType())) {
+        result.add((T) cachedEntity.getEntity());
+      }
+    }
+    return result;
+  }
+
+  public void putTransient(DbEntity e) {
+    CachedDbEntity cachedDbEntity = new CachedDbEntity();
+    cachedDbEntity.setEntity(e);
+    cachedDbEntity.setEntityState(DbEntityState.TRANSIENT);
+
+    Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(e.getClass());
+    Map<String, CachedDbEntity> map = cachedEntites.get(cacheKey);
+    if(map == null) {
+      map = new HashMap<String, CachedDbEntity>();
+      cachedEntites.put(cacheKey, map);
+    }
+    map.put(e.getId(), cachedDbEntity);
+  }
+
+  public boolean remove(DbEntity e) {
+    Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(e.getClass());
+    Map<String, CachedDbEntity> typeMap = cachedEntites.get(cacheKey);
+    if(typeMap != null) {
+      return typeMap.remove(e.getId()) != null;
+    } else {
+      return false;
+    }
+  }
+
+  public List<CachedDbEntity> getCachedEntities() {
+    List<CachedDbEntity> result = new ArrayList<CachedDbEntity>();
+    for (Map<String, CachedDbEntity> typeCache : cachedEntites.values()) {
+      result.addAll(typeCache.values());
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.operaton.bpm.qa.performance.engine.persistence;
+
+import java.io.File;
+
+import org.operaton.bpm.engine.ProcessEngine;
+import org.operaton.bpm.engine.test.Deployment;
+import org.operaton.bpm.qa.performance.engine.framework.aggregate.TabularResultSet;
+import org.operaton.bpm.qa.performance.engine.junit.PerfTestProcessEngine;
+import org.operaton.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.operaton.bpm.qa.performance.engine.steps.StartProcessInstanceStep;
+import org.operaton.bpm.qa.performance.engine.util.CsvUtil;
+import org.operaton.bpm.qa.performance.engine.util.IndexSizeUtil;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+/**
+ * <p>Compares the id generators by insert throughput and index growth.</p>
+ *
+ * <p>Run the benchmark once per id generator on the same (empty) database, e.g.
+ * <code>mvn clean install -Pbenchmark,h2 -Dtest.includes=IdGenerator -DidGenerator=time-ordered-uuid</code>.
+ * Besides the usual results, the disk space used by the indexes of the runtime and history tables
+ * is written to <code>target/results/IdGeneratorPerformanceTest.indexSizes.&lt;idGenerator&gt;.csv</code>
+ * (H2 and PostgreSQL only).</p>
+ */
+public class IdGeneratorPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  protected static final String SEQUENCE_PROCESS = "org/operaton/bpm/qa/performance/engine/bpmn/SequencePerformanceTest.syncSequence15Steps.bpmn";
+  protected static final String USER_TASK_PROCESS = "org/operaton/bpm/qa/performance/engine/bpmn/UserTaskPerformanceTest.singleTask.bpmn";
+
+  @Test
+  @Deployment(resources = SEQUENCE_PROCESS)
+  public void insertHistory() {
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process"))
+    .run();
+  }
+
+  @Test
+  @Deployment(resources = USER_TASK_PROCESS)
+  public void insertRuntimeAndHistory() {
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process"))
+    .run();
+  }
+
+  @AfterClass
+  public static void reportIndexSizes() {
+    ProcessEngine processEngine = PerfTestProcessEngine.getInstance();
+    String idGenerator = PerfTestProcessEngine.loadProperties().getProperty("idGenerator");
+
+    TabularResultSet indexSizes = IndexSizeUtil.getIndexSizes(processEngine, "ACT_RU_");
+    indexSizes.getResults().addAll(IndexSizeUtil.getIndexSizes(processEngine, "ACT_HI_").getResults());
+
+    File directory = new File("target" + File.separatorChar + "results");
+    if (!directory.exists()) {
+      directory.mkdir();
+    }
+    String fileName = directory.getPath() + File.separatorChar + "IdGeneratorPerformanceTest.indexSizes." + idGenerator + ".csv";
+    CsvUtil.saveResultSetToFile(fileName, indexSizes);
+  }
+
+}